@@ -0,0 +1,115 @@
+package com.example.jacksonparse.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+
+import com.example.jacksonparse.controller.AccessLog;
+import com.example.jacksonparse.model.Person;
+import com.sun.management.ThreadMXBean;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.FileAppender;
+
+/**
+ * Cost on the request thread of logging one {@code POST /api/person}: the former {@code log.info} in the controller
+ * ({@code LOGGER}) against {@link AccessLog} logging synchronously ({@code SYNC}) or handing the entry to its writer
+ * thread ({@code ASYNC}). Both logs go to {@code target/access-log-benchmark.log}; entries the asynchronous writer
+ * could not keep up with are reported as dropped when the trial ends.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(1)
+@Fork(1)
+public class AccessLogBenchmark {
+    private static final Logger log = LoggerFactory.getLogger(AccessLogBenchmark.class);
+    private static final long REQUEST_TOKENS = 1024;
+
+    @Param({ "LOGGER", "SYNC", "ASYNC" })
+    private Sink sink;
+
+    private SimpleMeterRegistry registry;
+    private AccessLog accessLog;
+    private FileAppender<ILoggingEvent> appender;
+    private Person person;
+
+    public enum Sink {
+        LOGGER, SYNC, ASYNC
+    }
+
+    @Setup
+    public void setup() {
+        registry = new SimpleMeterRegistry();
+        accessLog = new AccessLog(registry, sink == Sink.ASYNC, 1.0, 1 << 16);
+        accessLog.start();
+        appender = BenchmarkLogging.toFile("access-log-benchmark.log", AccessLogBenchmark.class, AccessLog.class);
+        person = new Person();
+        person.setId(1L);
+        person.setName("John Doe");
+    }
+
+    @TearDown
+    public void tearDown() {
+        accessLog.stop();
+        appender.stop();
+        System.out.printf("%n%s dropped: %.0f%n", sink, registry.get("access.log.dropped").functionCounter().count());
+    }
+
+    @Benchmark
+    public void logRequest(RequestThread thread) {
+        thread.requests++;
+        Blackhole.consumeCPU(REQUEST_TOKENS);
+        if (sink == Sink.LOGGER) {
+            log.info("POST /api/person - Content-Type: {}, Accept: {}, Person[id={}, name={}]",
+                    MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, person.getId(),
+                    person.getName());
+        } else {
+            accessLog.preHandle(null, null, null);
+            accessLog.record(MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, person);
+        }
+    }
+
+    /**
+     * Allocations of the request thread alone, which {@code -prof gc} cannot tell apart from the writer's.
+     */
+    @State(Scope.Thread)
+    public static class RequestThread {
+        private static final ThreadMXBean THREADS = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        private long allocatedAtStart;
+        private long requests;
+
+        @Setup
+        public void setup() {
+            allocatedAtStart = THREADS.getCurrentThreadAllocatedBytes();
+        }
+
+        @TearDown
+        public void tearDown() {
+            long allocated = THREADS.getCurrentThreadAllocatedBytes() - allocatedAtStart;
+            System.out.printf("%nrequest thread: %.1f B/op%n", (double) allocated / requests);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.jacksonparse.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+
+import com.example.jacksonparse.config.JacksonConfig;
+import com.example.jacksonparse.config.MapperProperties;
+import com.example.jacksonparse.model.Person;
+import com.example.jacksonparse.service.PersonBatchService;
+import com.example.jacksonparse.service.PersonBulkService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+/**
+ * Binds a batch of {@link Payload#FIXTURE} people, as a JSON array or a {@code <persons>} document, through
+ * {@link PersonBatchService} with 1 to 8 threads, and through {@link PersonBulkService} on the calling thread
+ * ({@code BULK}) for the baseline. Every record goes to the pool, whatever the batch size. The speed-up is bounded by
+ * the processors available to the JVM and by the sequential scan for record boundaries, so compare runs on the same
+ * machine.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchBenchmark {
+    @Param({ "1000", "10000" })
+    private int records;
+
+    @Param({ "JSON", "XML" })
+    private String format;
+
+    @Param({ "BULK", "1", "2", "4", "8" })
+    private String threads;
+
+    private PersonBulkService bulkService;
+    private PersonBatchService batchService;
+    private MediaType contentType;
+    private byte[] body;
+
+    @Setup
+    public void setUp() throws IOException {
+        JacksonConfig config = new JacksonConfig(new MapperProperties());
+        ObjectMapper jsonMapper = config.objectMapper();
+        XmlMapper xmlMapper = config.xmlMapper();
+        bulkService = new PersonBulkService(jsonMapper, xmlMapper);
+        if (!threads.equals("BULK")) {
+            batchService = new PersonBatchService(bulkService, jsonMapper, Integer.parseInt(threads), 0, 256);
+        }
+
+        Person person = Payload.FIXTURE.person(jsonMapper);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (format.equals("XML")) {
+            contentType = MediaType.APPLICATION_XML;
+            String element = xmlMapper.writeValueAsString(person);
+            String document = "<persons>" + String.join("", Collections.nCopies(records, element)) + "</persons>";
+            out.writeBytes(document.getBytes(StandardCharsets.UTF_8));
+        } else {
+            contentType = MediaType.APPLICATION_JSON;
+            jsonMapper.writeValue(out, Collections.nCopies(records, person));
+        }
+        body = out.toByteArray();
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (batchService != null) {
+            batchService.destroy();
+        }
+    }
+
+    @Benchmark
+    public Object bind() throws IOException {
+        if (batchService == null) {
+            return bulkService.process(new ByteArrayInputStream(body), contentType,
+                    OutputStream.nullOutputStream());
+        }
+        return batchService.process(body, contentType, OutputStream.nullOutputStream());
+    }
+}
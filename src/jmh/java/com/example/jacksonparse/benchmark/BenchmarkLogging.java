@@ -0,0 +1,41 @@
+package com.example.jacksonparse.benchmark;
+
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.FileAppender;
+
+/**
+ * Sends the log of the classes under measurement to a file in {@code target}, with full stack traces as in
+ * production, so that logging costs what it would in a deployment without flooding the benchmark output.
+ */
+public final class BenchmarkLogging {
+    private BenchmarkLogging() {
+    }
+
+    /**
+     * @return the appender, to be stopped when the benchmark is torn down
+     */
+    public static FileAppender<ILoggingEvent> toFile(String file, Class<?>... loggers) {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss.SSS} %5p [%t] %logger{39} : %m%n%ex");
+        encoder.start();
+        FileAppender<ILoggingEvent> appender = new FileAppender<>();
+        appender.setContext(context);
+        appender.setFile("target/" + file);
+        appender.setAppend(false);
+        appender.setEncoder(encoder);
+        appender.start();
+        for (Class<?> type : loggers) {
+            Logger logger = context.getLogger(type);
+            logger.setAdditive(false);
+            logger.addAppender(appender);
+        }
+        return appender;
+    }
+}
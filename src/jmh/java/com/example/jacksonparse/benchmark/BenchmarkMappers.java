@@ -0,0 +1,47 @@
+package com.example.jacksonparse.benchmark;
+
+import com.example.jacksonparse.config.JacksonConfig;
+import com.example.jacksonparse.config.MapperProperties;
+import com.example.jacksonparse.config.MapperProperties.BindingMode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+/**
+ * Builds the mappers exactly as the application context does, without starting Spring.
+ */
+public final class BenchmarkMappers {
+    private BenchmarkMappers() {
+    }
+
+    public static ObjectMapper jsonMapper(BindingMode binding) {
+        return jsonMapper(properties(binding));
+    }
+
+    public static XmlMapper xmlMapper(BindingMode binding) {
+        return xmlMapper(properties(binding));
+    }
+
+    public static ObjectMapper jsonMapper(MapperProperties properties) {
+        return new JacksonConfig(properties).objectMapper();
+    }
+
+    public static XmlMapper xmlMapper(MapperProperties properties) {
+        return new JacksonConfig(properties).xmlMapper();
+    }
+
+    public static SmileMapper smileMapper(BindingMode binding) {
+        return new JacksonConfig(properties(binding)).smileMapper();
+    }
+
+    public static CBORMapper cborMapper(BindingMode binding) {
+        return new JacksonConfig(properties(binding)).cborMapper();
+    }
+
+    public static MapperProperties properties(BindingMode binding) {
+        MapperProperties properties = new MapperProperties();
+        properties.setBinding(binding);
+        return properties;
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.jacksonparse.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.xml.MappingJackson2XmlHttpMessageConverter;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import com.example.jacksonparse.config.BodyMetrics;
+import com.example.jacksonparse.config.HttpMessageConverterConfig;
+import com.example.jacksonparse.config.MapperProperties;
+import com.example.jacksonparse.config.MapperProperties.BindingMode;
+import com.example.jacksonparse.config.MapperProperties.XmlStreamMode;
+import com.example.jacksonparse.model.Person;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+
+/**
+ * Cost of {@link BodyMetrics} on the MVC converters: one {@link Payload#FIXTURE} document read and written per
+ * operation, through the plain Jackson converters and through the metered ones recording into a Prometheus registry
+ * with the {@code http.body} histograms enabled, as configured in {@code application.yml}. Compare throughput and the
+ * {@code gc.alloc.rate.norm} column of the {@code gc} profiler between the two {@code metered} settings.
+ * <p>
+ * The metered converters allocate nothing themselves: with {@code -XX:-DoEscapeAnalysis} both settings allocate the
+ * same bytes per operation. With the default inlining limits, the extra call layer can keep C2 from scalar-replacing
+ * a few of Spring's and Jackson's short-lived objects (about 70 bytes per JSON read); raising
+ * {@code -XX:FreqInlineSize} makes the two settings match again.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BodyMetricsBenchmark {
+    @Param({ "false", "true" })
+    private boolean metered;
+
+    private AbstractJackson2HttpMessageConverter jsonConverter;
+    private AbstractJackson2HttpMessageConverter xmlConverter;
+    private Person person;
+    private byte[] json;
+    private byte[] xml;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper jsonMapper = BenchmarkMappers.jsonMapper(BindingMode.BEAN);
+        XmlMapper xmlMapper = BenchmarkMappers.xmlMapper(BindingMode.BEAN);
+        if (metered) {
+            PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+            registry.config().meterFilter(new MeterFilter() {
+                @Override
+                public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                    return DistributionStatisticConfig.builder().percentilesHistogram(true).build().merge(config);
+                }
+            });
+            HttpMessageConverterConfig config = new HttpMessageConverterConfig();
+            BodyMetrics metrics = config.bodyMetrics(registry);
+            jsonConverter = config.mappingJackson2HttpMessageConverter(jsonMapper, metrics);
+            MapperProperties properties = BenchmarkMappers.properties(BindingMode.BEAN);
+            properties.setXmlReader(XmlStreamMode.MAPPER);
+            properties.setXmlWriter(XmlStreamMode.MAPPER);
+            xmlConverter = config.mappingJackson2XmlHttpMessageConverter(xmlMapper, metrics, properties, null, null);
+        } else {
+            jsonConverter = new MappingJackson2HttpMessageConverter(jsonMapper);
+            xmlConverter = new MappingJackson2XmlHttpMessageConverter(xmlMapper);
+        }
+        person = Payload.FIXTURE.person(jsonMapper);
+        json = jsonMapper.writeValueAsBytes(person);
+        xml = xmlMapper.writeValueAsBytes(person);
+    }
+
+    @Benchmark
+    public Object readJson() throws IOException {
+        return jsonConverter.read(Person.class, null, input(json, MediaType.APPLICATION_JSON));
+    }
+
+    @Benchmark
+    public Object readXml() throws IOException {
+        return xmlConverter.read(Person.class, null, input(xml, MediaType.APPLICATION_XML));
+    }
+
+    @Benchmark
+    public MockHttpOutputMessage writeJson() throws IOException {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        jsonConverter.write(person, MediaType.APPLICATION_JSON, output);
+        return output;
+    }
+
+    @Benchmark
+    public MockHttpOutputMessage writeXml() throws IOException {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        xmlConverter.write(person, MediaType.APPLICATION_XML, output);
+        return output;
+    }
+
+    private static MockHttpInputMessage input(byte[] body, MediaType contentType) {
+        MockHttpInputMessage input = new MockHttpInputMessage(body);
+        input.getHeaders().setContentType(contentType);
+        return input;
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.jacksonparse.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.example.jacksonparse.config.CompressionConfig;
+import com.example.jacksonparse.config.CompressionProperties;
+import com.example.jacksonparse.config.MapperProperties.BindingMode;
+import com.example.jacksonparse.controller.ContentEncodingFilter;
+import com.example.jacksonparse.model.Person;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Bytes on the wire and time per response of {@link ContentEncodingFilter}: a {@link Payload} serialized to JSON or
+ * XML through the filter, as the MVC converters do, either uncompressed ({@code identity}: the filter passes the
+ * response through) or compressed with {@code gzip} or {@code zstd}. Payloads below the 2 KB threshold, like
+ * {@link Payload#FIXTURE}, are held back and sent uncompressed with their length. The response only counts the bytes
+ * sent, and the count for the last response is printed when the trial ends.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompressionBenchmark {
+    @Param({ "FIXTURE", "MEDIUM", "LARGE" })
+    private Payload payload;
+
+    @Param({ "JSON", "XML" })
+    private String format;
+
+    @Param({ "identity", "gzip", "zstd" })
+    private String encoding;
+
+    private ContentEncodingFilter filter;
+    private HttpServlet servlet;
+    private WireResponse last;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper mapper = format.equals("XML") ? BenchmarkMappers.xmlMapper(BindingMode.BEAN)
+                : BenchmarkMappers.jsonMapper(BindingMode.BEAN);
+        String contentType = format.equals("XML") ? MediaType.APPLICATION_XML_VALUE : MediaType.APPLICATION_JSON_VALUE;
+        Person person = payload.person(BenchmarkMappers.jsonMapper(BindingMode.BEAN));
+        filter = new ContentEncodingFilter(new CompressionProperties(), new CompressionConfig().bufferPool());
+        servlet = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                response.setContentType(contentType);
+                mapper.writeValue(response.getOutputStream(), person);
+            }
+        };
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.out.printf("%n%s %s %s: %d bytes on the wire%n", payload, format, encoding, last.bytes);
+    }
+
+    @Benchmark
+    public WireResponse respond() throws IOException, ServletException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/person");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, encoding);
+        WireResponse response = new WireResponse();
+        filter.doFilter(request, response, new MockFilterChain(servlet));
+        last = response;
+        return response;
+    }
+
+    /**
+     * Response that counts the bytes sent instead of keeping them, so that all settings pay the same for the wire.
+     */
+    public static class WireResponse extends MockHttpServletResponse {
+        private long bytes;
+
+        private final ServletOutputStream wire = new ServletOutputStream() {
+            @Override
+            public void write(int b) {
+                bytes++;
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                bytes += len;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener listener) {
+                throw new UnsupportedOperationException();
+            }
+        };
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return wire;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.jacksonparse.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.jacksonparse.config.MapperProperties;
+import com.example.jacksonparse.config.MapperProperties.BindingMode;
+import com.example.jacksonparse.model.Person;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+/**
+ * Effect of {@code app.jackson.date-codec} on a {@link Payload#MEDIUM} document, which carries two timestamps per
+ * address. Compare the {@code gc.alloc.rate.norm} column of the {@code gc} profiler between the two settings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DateCodecBenchmark {
+    @Param({ "true", "false" })
+    private boolean dateCodec;
+
+    private ObjectReader jsonReader;
+    private ObjectReader xmlReader;
+    private ObjectWriter jsonWriter;
+    private ObjectWriter xmlWriter;
+
+    private Person person;
+    private byte[] json;
+    private byte[] xml;
+
+    @Setup
+    public void setUp() throws IOException {
+        MapperProperties properties = BenchmarkMappers.properties(BindingMode.BEAN);
+        properties.setDateCodec(dateCodec);
+        ObjectMapper jsonMapper = BenchmarkMappers.jsonMapper(properties);
+        XmlMapper xmlMapper = BenchmarkMappers.xmlMapper(properties);
+        jsonReader = jsonMapper.readerFor(Person.class);
+        xmlReader = xmlMapper.readerFor(Person.class);
+        jsonWriter = jsonMapper.writerFor(Person.class);
+        xmlWriter = xmlMapper.writerFor(Person.class);
+
+        person = Payload.MEDIUM.person(jsonMapper);
+        json = jsonWriter.writeValueAsBytes(person);
+        xml = xmlWriter.writeValueAsBytes(person);
+    }
+
+    @Benchmark
+    public Person readJson() throws IOException {
+        return jsonReader.readValue(json);
+    }
+
+    @Benchmark
+    public Person readXml() throws IOException {
+        return xmlReader.readValue(xml);
+    }
+
+    @Benchmark
+    public void writeJson() throws IOException {
+        jsonWriter.writeValue(OutputStream.nullOutputStream(), person);
+    }
+
+    @Benchmark
+    public void writeXml() throws IOException {
+        xmlWriter.writeValue(OutputStream.nullOutputStream(), person);
+    }
+}
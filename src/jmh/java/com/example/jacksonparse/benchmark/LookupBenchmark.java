@@ -0,0 +1,155 @@
+package com.example.jacksonparse.benchmark;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.jacksonparse.config.MapperProperties.BindingMode;
+import com.example.jacksonparse.model.Address;
+import com.example.jacksonparse.model.Person;
+import com.example.jacksonparse.storage.PersonQuery;
+import com.example.jacksonparse.storage.SegmentLogRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Latency of the {@link SegmentLogRepository} lookups behind {@code GET /api/person} with 1 and 10 million stored
+ * persons under {@code target/lookup-benchmark}: by id, by an id that is not stored, by email, and the 10 newest by zip
+ * code, of which there are 100 000, and by city, of which there are 1 000. The persons are written when the trial
+ * starts and the repository is then reopened, which rebuilds the index from the segments; the time that takes, the
+ * size of the index, the heap in use after a full collection and the time of that collection are printed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class LookupBenchmark {
+    private static final int BATCH = 10_000;
+
+    @Param({ "1000000", "10000000" })
+    private int records;
+
+    private Path directory;
+    private SegmentLogRepository repository;
+
+    @Setup
+    public void setup() throws IOException {
+        ObjectMapper mapper = BenchmarkMappers.jsonMapper(BindingMode.BEAN);
+        directory = Files.createDirectories(Path.of("target", "lookup-benchmark"));
+        deleteSegments();
+        try (SegmentLogRepository writer = new SegmentLogRepository(directory, 1L << 30, mapper)) {
+            List<Person> batch = new ArrayList<>(BATCH);
+            for (int id = 0; id < records; id++) {
+                batch.add(person(id));
+                if (batch.size() == BATCH) {
+                    writer.append(batch);
+                    writer.sync();
+                    batch.clear();
+                }
+            }
+        }
+        long start = System.nanoTime();
+        repository = new SegmentLogRepository(directory, 1L << 30, mapper);
+        long rebuilt = System.nanoTime() - start;
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        repository.bindTo(registry);
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        start = System.nanoTime();
+        System.gc();
+        long collected = System.nanoTime() - start;
+        System.out.printf("%n%d records: index rebuilt in %.1f s, %.0f MiB of index, %d MiB of heap in use after a"
+                + " full GC of %d ms%n", records, rebuilt / 1e9,
+                registry.get(SegmentLogRepository.BYTES_METRIC).gauge().value() / (1 << 20),
+                memory.getHeapMemoryUsage().getUsed() >> 20, collected / 1_000_000);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        repository.close();
+        deleteSegments();
+    }
+
+    @Benchmark
+    public byte[] findById() throws IOException {
+        return repository.findById(ThreadLocalRandom.current().nextInt(records));
+    }
+
+    @Benchmark
+    public byte[] findMissingId() throws IOException {
+        return repository.findById(records + ThreadLocalRandom.current().nextInt(records));
+    }
+
+    @Benchmark
+    public List<byte[]> findByEmail() throws IOException {
+        return repository.find(new PersonQuery(email(ThreadLocalRandom.current().nextInt(records)), null, null, 10));
+    }
+
+    @Benchmark
+    public List<byte[]> findByZipCode() throws IOException {
+        return repository.find(new PersonQuery(null, null, zipCode(ThreadLocalRandom.current().nextInt(records)), 10));
+    }
+
+    @Benchmark
+    public List<byte[]> findByCity() throws IOException {
+        return repository.find(new PersonQuery(null, city(ThreadLocalRandom.current().nextInt(records)), null, 10));
+    }
+
+    private static Person person(int id) {
+        Address address = new Address();
+        address.setStreet(id + " Main St");
+        address.setCity(city(id));
+        address.setZipCode(zipCode(id));
+        Person person = new Person();
+        person.setId((long) id);
+        person.setName("Person " + id);
+        person.setEmail(email(id));
+        person.setAddresses(List.of(address));
+        return person;
+    }
+
+    private static String email(int id) {
+        return "person" + id + "@example.com";
+    }
+
+    private static String zipCode(int id) {
+        return String.format("%05d", id % 100_000);
+    }
+
+    private static String city(int id) {
+        return "City " + id % 1000;
+    }
+
+    private void deleteSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+}
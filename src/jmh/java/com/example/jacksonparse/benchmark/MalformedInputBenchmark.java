@@ -0,0 +1,97 @@
+package com.example.jacksonparse.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import com.example.jacksonparse.config.MapperProperties.BindingMode;
+import com.example.jacksonparse.exception.GlobalExceptionHandler;
+import com.example.jacksonparse.model.Person;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.FileAppender;
+
+/**
+ * Request throughput of {@code POST /api/person} when half of the XML bodies are malformed, as during a storm from a
+ * misbehaving client. Each invocation binds one valid {@link Payload#FIXTURE} document and fails on one malformed one,
+ * which is answered either by the catch-all {@code handleException} ({@code GENERIC}: error log with stack trace,
+ * string body) or by {@code handleMalformedInput} ({@code FAST}: counter, rate-limited log, problem body). The
+ * handler's log goes to {@code target/malformed-input-benchmark.log} with full stack traces, as in production.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class MalformedInputBenchmark {
+    private static final byte[] MALFORMED = "<person version=\"1.1\"><id>1</id><name>John Doe</nme></person>"
+            .getBytes(StandardCharsets.UTF_8);
+
+    @Param({ "GENERIC", "FAST" })
+    private ErrorPath errorPath;
+
+    private ObjectReader xmlReader;
+    private byte[] xml;
+    private GlobalExceptionHandler handler;
+    private MockHttpServletRequest request;
+    private FileAppender<ILoggingEvent> appender;
+
+    public enum ErrorPath {
+        GENERIC, FAST
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        XmlMapper xmlMapper = BenchmarkMappers.xmlMapper(BindingMode.BEAN);
+        xmlReader = xmlMapper.readerFor(Person.class);
+        xml = xmlMapper.writeValueAsBytes(Payload.FIXTURE.person(BenchmarkMappers.jsonMapper(BindingMode.BEAN)));
+        handler = new GlobalExceptionHandler(new SimpleMeterRegistry(), 10);
+        request = new MockHttpServletRequest("POST", "/api/person");
+        request.setContentType(MediaType.APPLICATION_XML_VALUE);
+        appender = BenchmarkLogging.toFile("malformed-input-benchmark.log", GlobalExceptionHandler.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        appender.stop();
+    }
+
+    @Benchmark
+    public void halfMalformed(Blackhole blackhole) throws IOException {
+        blackhole.consume(xmlReader.readValue(xml));
+        try {
+            blackhole.consume(xmlReader.readValue(MALFORMED));
+        } catch (JsonProcessingException e) {
+            HttpMessageNotReadableException error = new HttpMessageNotReadableException(
+                    "JSON parse error: " + e.getOriginalMessage(), e, new MockHttpInputMessage(MALFORMED));
+            blackhole.consume(errorPath == ErrorPath.GENERIC ? handler.handleException(error, request)
+                    : handler.handleMalformedInput(error, request));
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.jacksonparse.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.core.io.ClassPathResource;
+
+import com.example.jacksonparse.model.Address;
+import com.example.jacksonparse.model.Person;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Benchmark payload sizes, from the {@code person.json} test fixture up to documents with thousands of addresses and a
+ * large {@code extra} map.
+ */
+public enum Payload {
+    FIXTURE(0, 0), MEDIUM(100, 100), LARGE(5_000, 2_000);
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 1, 15, 10, 30, 0);
+
+    private final int addresses;
+    private final int extras;
+
+    Payload(int addresses, int extras) {
+        this.addresses = addresses;
+        this.extras = extras;
+    }
+
+    /**
+     * Builds the {@link Person} for this payload. The fixture is loaded through the given mapper, the generated
+     * payloads are built in code.
+     */
+    public Person person(ObjectMapper jsonMapper) throws IOException {
+        if (this == FIXTURE) {
+            try (InputStream inputStream = new ClassPathResource("person.json").getInputStream()) {
+                return jsonMapper.readValue(inputStream, Person.class);
+            }
+        }
+
+        Person person = new Person();
+        person.setVersion("1.1");
+        person.setId(1L);
+        person.setName("John Doe");
+        person.setEmail("john.doe@example.com");
+        person.setBirthDate(LocalDateTime.of(1990, 5, 15, 8, 0, 0));
+        person.setRegisteredAt(LocalDateTime.of(2024, 1, 1, 12, 0, 0));
+
+        List<Address> list = new ArrayList<>(addresses);
+        for (int i = 0; i < addresses; i++) {
+            Address address = new Address();
+            address.setPrimary(i == 0);
+            address.setStreet(i + " Main St");
+            address.setCity("Springfield");
+            address.setZipCode(String.format("%05d", i % 100_000));
+            address.setCreatedAt(BASE_TIME.plusMinutes(i));
+            address.setUpdatedAt(BASE_TIME.plusHours(i));
+            list.add(address);
+        }
+        person.setAddresses(list);
+
+        for (int i = 0; i < extras; i++) {
+            person.setExtra("unknown" + i, "value-" + i);
+        }
+        return person;
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.jacksonparse.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.jacksonparse.config.MapperProperties.BindingMode;
+import com.example.jacksonparse.model.Person;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+/**
+ * Baseline cost of the {@code JacksonConfig} mappers per {@link Person} document: plain reads and writes per format
+ * plus the four JSON/XML in/out combinations served by {@code /api/person}, for each {@link BindingMode}.
+ * <p>
+ * Run with {@code make benchmark} (or {@code mvn -Pbenchmark test-compile exec:exec}); the {@code gc} profiler is
+ * enabled by default to report allocation rates, and {@link Mode#SampleTime} reports latency percentiles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersonMapperBenchmark {
+    @Param({ "FIXTURE", "MEDIUM", "LARGE" })
+    private Payload payload;
+
+    @Param({ "BEAN", "BLACKBIRD", "CODEC" })
+    private BindingMode binding;
+
+    private ObjectReader jsonReader;
+    private ObjectReader xmlReader;
+    private ObjectWriter jsonWriter;
+    private ObjectWriter xmlWriter;
+
+    private Person person;
+    private byte[] json;
+    private byte[] xml;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper jsonMapper = BenchmarkMappers.jsonMapper(binding);
+        XmlMapper xmlMapper = BenchmarkMappers.xmlMapper(binding);
+        jsonReader = jsonMapper.readerFor(Person.class);
+        xmlReader = xmlMapper.readerFor(Person.class);
+        jsonWriter = jsonMapper.writerFor(Person.class);
+        xmlWriter = xmlMapper.writerFor(Person.class);
+
+        person = payload.person(jsonMapper);
+        json = jsonWriter.writeValueAsBytes(person);
+        xml = xmlWriter.writeValueAsBytes(person);
+    }
+
+    @Benchmark
+    public Person readJson() throws IOException {
+        return jsonReader.readValue(json);
+    }
+
+    @Benchmark
+    public Person readXml() throws IOException {
+        return xmlReader.readValue(xml);
+    }
+
+    @Benchmark
+    public void writeJson() throws IOException {
+        jsonWriter.writeValue(OutputStream.nullOutputStream(), person);
+    }
+
+    @Benchmark
+    public void writeXml() throws IOException {
+        xmlWriter.writeValue(OutputStream.nullOutputStream(), person);
+    }
+
+    @Benchmark
+    public void jsonToJson() throws IOException {
+        jsonWriter.writeValue(OutputStream.nullOutputStream(), jsonReader.readValue(json));
+    }
+
+    @Benchmark
+    public void jsonToXml() throws IOException {
+        xmlWriter.writeValue(OutputStream.nullOutputStream(), jsonReader.readValue(json));
+    }
+
+    @Benchmark
+    public void xmlToJson() throws IOException {
+        jsonWriter.writeValue(OutputStream.nullOutputStream(), xmlReader.readValue(xml));
+    }
+
+    @Benchmark
+    public void xmlToXml() throws IOException {
+        xmlWriter.writeValue(OutputStream.nullOutputStream(), xmlReader.readValue(xml));
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.jacksonparse.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.jacksonparse.config.MapperProperties.BindingMode;
+import com.example.jacksonparse.model.Person;
+import com.example.jacksonparse.storage.PersonStore;
+import com.example.jacksonparse.storage.PersonStore.Ack;
+import com.example.jacksonparse.storage.SegmentLogRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Persons stored per second by 16 request threads through {@link PersonStore} into a {@link SegmentLogRepository} under
+ * {@code target/storage-benchmark}, for several {@code app.storage.batch-size} values and both acknowledgements. A
+ * batch size of 1 forces every person on its own, as a synchronous write per request would. Requests wait for room
+ * instead of being refused, so {@code ENQUEUE} measures how fast the writer keeps up rather than how fast the queue
+ * fills. The mean batch actually committed is printed when the trial ends.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class StorageBenchmark {
+    @Param({ "1", "16", "64", "256" })
+    private int batchSize;
+
+    @Param({ "ENQUEUE", "FSYNC" })
+    private Ack ack;
+
+    @Param({ "FIXTURE", "MEDIUM" })
+    private Payload payload;
+
+    private Path directory;
+    private SimpleMeterRegistry registry;
+    private SegmentLogRepository repository;
+    private PersonStore store;
+    private Person person;
+
+    @Setup
+    public void setup() throws IOException {
+        ObjectMapper mapper = BenchmarkMappers.jsonMapper(BindingMode.BEAN);
+        directory = Files.createDirectories(Path.of("target", "storage-benchmark"));
+        deleteSegments();
+        registry = new SimpleMeterRegistry();
+        repository = new SegmentLogRepository(directory, 64L << 20, mapper);
+        store = new PersonStore(repository, 8192, batchSize, ack, Duration.ofMinutes(1), Duration.ofMinutes(1),
+                registry);
+        store.start();
+        person = payload.person(mapper);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        store.stop();
+        repository.close();
+        DistributionSummary batches = registry.get("storage.batch.size").summary();
+        System.out.printf("%n%s batch-size=%d: %d commits, mean batch %.1f%n", ack, batchSize, batches.count(),
+                batches.mean());
+        deleteSegments();
+    }
+
+    @Benchmark
+    public void save() {
+        store.save(person);
+    }
+
+    private void deleteSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+}
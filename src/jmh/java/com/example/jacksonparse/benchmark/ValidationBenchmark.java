@@ -0,0 +1,73 @@
+package com.example.jacksonparse.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.jacksonparse.codec.PersonRules;
+import com.example.jacksonparse.codec.PersonXmlReader;
+import com.example.jacksonparse.config.JacksonConfig;
+import com.example.jacksonparse.config.MapperProperties;
+import com.example.jacksonparse.config.MapperProperties.BindingMode;
+import com.example.jacksonparse.model.Person;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * Reads each valid {@link Payload} with and without {@code app.jackson.validation}, from JSON and XML with the bean
+ * binding and from XML with {@link PersonXmlReader}, to show what checking {@link PersonRules} while reading costs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidationBenchmark {
+    @Param({ "FIXTURE", "MEDIUM", "LARGE" })
+    private Payload payload;
+
+    @Param({ "JSON", "XML", "STAX" })
+    private String reader;
+
+    @Param({ "false", "true" })
+    private boolean validation;
+
+    private ObjectReader mapperReader;
+    private PersonXmlReader staxReader;
+    private boolean stax;
+    private byte[] content;
+
+    @Setup
+    public void setUp() throws IOException {
+        MapperProperties properties = BenchmarkMappers.properties(BindingMode.BEAN);
+        properties.setValidation(validation);
+        JacksonConfig config = new JacksonConfig(properties);
+        ObjectMapper mapper = reader.equals("JSON") ? config.objectMapper() : config.xmlMapper();
+        mapperReader = mapper.readerFor(Person.class);
+        staxReader = config.personXmlReader(config.xmlMapper());
+        stax = reader.equals("STAX");
+
+        content = mapper.writeValueAsBytes(payload.person(config.objectMapper()));
+        Person person = mapperReader.readValue(content);
+        if (stax && !person.equals(staxReader.read(content))) {
+            throw new IllegalStateException(payload + " is not read like the mapper does");
+        }
+    }
+
+    @Benchmark
+    public Person read() throws IOException {
+        return stax ? staxReader.read(content) : mapperReader.readValue(content);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.jacksonparse.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.jacksonparse.config.MapperProperties.BindingMode;
+import com.example.jacksonparse.model.Person;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Size and cost of the four formats negotiated by {@code /api/person}: each {@link Payload} is read from and written
+ * to JSON, XML, Smile and CBOR with the {@code JacksonConfig} mappers, for each {@link BindingMode}. The encoded size
+ * is printed when the trial starts; the {@code gc} profiler reports the allocation per document.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+    @Param({ "FIXTURE", "MEDIUM", "LARGE" })
+    private Payload payload;
+
+    @Param({ "JSON", "XML", "SMILE", "CBOR" })
+    private String format;
+
+    @Param({ "BEAN", "CODEC" })
+    private BindingMode binding;
+
+    private ObjectReader reader;
+    private ObjectWriter writer;
+
+    private Person person;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper mapper = switch (format) {
+        case "XML" -> BenchmarkMappers.xmlMapper(binding);
+        case "SMILE" -> BenchmarkMappers.smileMapper(binding);
+        case "CBOR" -> BenchmarkMappers.cborMapper(binding);
+        default -> BenchmarkMappers.jsonMapper(binding);
+        };
+        reader = mapper.readerFor(Person.class);
+        writer = mapper.writerFor(Person.class);
+
+        person = payload.person(BenchmarkMappers.jsonMapper(binding));
+        encoded = writer.writeValueAsBytes(person);
+        System.out.printf("%n%s %s: %d bytes%n", payload, format, encoded.length);
+    }
+
+    @Benchmark
+    public Person read() throws IOException {
+        return reader.readValue(encoded);
+    }
+
+    @Benchmark
+    public void write() throws IOException {
+        writer.writeValue(OutputStream.nullOutputStream(), person);
+    }
+}
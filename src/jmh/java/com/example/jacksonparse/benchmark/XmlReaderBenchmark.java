@@ -0,0 +1,67 @@
+package com.example.jacksonparse.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.jacksonparse.codec.PersonXmlReader;
+import com.example.jacksonparse.config.JacksonConfig;
+import com.example.jacksonparse.config.MapperProperties.BindingMode;
+import com.example.jacksonparse.model.Person;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+/**
+ * Reads each {@link Payload} from XML with the XML mapper, for each {@link BindingMode}, and with
+ * {@link PersonXmlReader}, which skips {@code FromXmlParser} and the deserializers. The reader accepts every payload,
+ * so no run falls back to the mapper.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class XmlReaderBenchmark {
+    @Param({ "FIXTURE", "MEDIUM", "LARGE" })
+    private Payload payload;
+
+    @Param({ "BEAN", "CODEC", "STAX" })
+    private String reader;
+
+    private ObjectReader mapperReader;
+    private PersonXmlReader staxReader;
+    private boolean stax;
+    private byte[] xml;
+
+    @Setup
+    public void setUp() throws IOException {
+        BindingMode binding = reader.equals("CODEC") ? BindingMode.CODEC : BindingMode.BEAN;
+        JacksonConfig config = new JacksonConfig(BenchmarkMappers.properties(binding));
+        XmlMapper xmlMapper = config.xmlMapper();
+        mapperReader = xmlMapper.readerFor(Person.class);
+        staxReader = config.personXmlReader(xmlMapper);
+        stax = reader.equals("STAX");
+
+        xml = xmlMapper.writeValueAsBytes(payload.person(config.objectMapper()));
+        if (!mapperReader.readValue(xml).equals(staxReader.read(xml))) {
+            throw new IllegalStateException(payload + " is not read like the mapper does");
+        }
+    }
+
+    @Benchmark
+    public Person read() throws IOException {
+        return stax ? staxReader.read(xml) : mapperReader.readValue(xml);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.jacksonparse.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.jacksonparse.codec.PersonXmlWriter;
+import com.example.jacksonparse.config.JacksonConfig;
+import com.example.jacksonparse.config.MapperProperties.BindingMode;
+import com.example.jacksonparse.model.Person;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+/**
+ * Writes each {@link Payload} as XML with the XML mapper, for each {@link BindingMode}, and with
+ * {@link PersonXmlWriter}, which skips {@code ToXmlGenerator} and the serializers. Both produce the same bytes, which
+ * is checked when the trial starts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class XmlWriterBenchmark {
+    @Param({ "FIXTURE", "MEDIUM", "LARGE" })
+    private Payload payload;
+
+    @Param({ "BEAN", "CODEC", "STAX" })
+    private String writer;
+
+    private ObjectWriter mapperWriter;
+    private PersonXmlWriter staxWriter;
+    private boolean stax;
+    private Person person;
+
+    @Setup
+    public void setUp() throws IOException, XMLStreamException {
+        BindingMode binding = writer.equals("CODEC") ? BindingMode.CODEC : BindingMode.BEAN;
+        JacksonConfig config = new JacksonConfig(BenchmarkMappers.properties(binding));
+        XmlMapper xmlMapper = config.xmlMapper();
+        mapperWriter = xmlMapper.writerFor(Person.class);
+        staxWriter = config.personXmlWriter(xmlMapper);
+        stax = writer.equals("STAX");
+
+        person = payload.person(config.objectMapper());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        staxWriter.write(person, out);
+        if (!staxWriter.accepts(person) || !Arrays.equals(mapperWriter.writeValueAsBytes(person), out.toByteArray())) {
+            throw new IllegalStateException(payload + " is not written like the mapper does");
+        }
+    }
+
+    @Benchmark
+    public void write() throws IOException, XMLStreamException {
+        if (stax) {
+            staxWriter.write(person, OutputStream.nullOutputStream());
+        } else {
+            mapperWriter.writeValue(OutputStream.nullOutputStream(), person);
+        }
+    }
+}
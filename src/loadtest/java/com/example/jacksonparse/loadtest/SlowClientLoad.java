@@ -0,0 +1,222 @@
+package com.example.jacksonparse.loadtest;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test for connection scalability under slow clients, to be run against a started application: once with
+ * {@code make run} (servlet stack on Tomcat) and once with {@code make run-reactive} (WebFlux on Netty).
+ * <p>
+ * It opens {@code connections} connections that send the headers of a {@code POST /api/person} at once and then drip
+ * the JSON body one byte every {@code interval}, like clients on a poor network. While they are sending, a single fast
+ * client posts the same body every 100 ms and records how long each request takes. On the servlet stack each slow
+ * request holds a worker thread while its body arrives, so once there are more slow clients than worker threads the
+ * fast requests queue behind them; on Netty the slow bodies hold no thread and the fast requests are unaffected.
+ * <p>
+ * Arguments: {@code host port connections interval-ms duration-s}, defaulting to
+ * {@code localhost 8080 1000 100 30}.
+ */
+public final class SlowClientLoad {
+    private static final String BODY = """
+            {"version":"1.1","id":1,"name":"John Doe","email":"john.doe@example.com","addresses":[{"primary":true,\
+            "street":"123 Main St","city":"Springfield","zipCode":"12345","createdAt":"2024-01-15T10:30:00"}],\
+            "birthDate":"1990-05-15T08:00:00"}""";
+
+    private SlowClientLoad() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String host = args.length > 0 ? args[0] : "localhost";
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : 8080;
+        int connections = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+        long interval = args.length > 3 ? Long.parseLong(args[3]) : 100;
+        long duration = args.length > 4 ? Long.parseLong(args[4]) : 30;
+
+        byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+        FastClient fast = new FastClient(URI.create("http://" + host + ":" + port + "/api/person"));
+        Thread fastThread = new Thread(fast, "fast-client");
+
+        try (Selector selector = Selector.open()) {
+            List<SlowClient> slow = new ArrayList<>(connections);
+            for (int i = 0; i < connections; i++) {
+                slow.add(SlowClient.open(selector, new InetSocketAddress(host, port), body));
+            }
+            fastThread.start();
+            long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(duration);
+            long nextDrip = System.nanoTime();
+            while (System.nanoTime() < end) {
+                selector.select(Math.max(1, TimeUnit.NANOSECONDS.toMillis(nextDrip - System.nanoTime())));
+                for (SelectionKey key : selector.selectedKeys()) {
+                    ((SlowClient) key.attachment()).ready(key);
+                }
+                selector.selectedKeys().clear();
+                if (System.nanoTime() >= nextDrip) {
+                    slow.forEach(SlowClient::drip);
+                    nextDrip += TimeUnit.MILLISECONDS.toNanos(interval);
+                }
+            }
+            fast.stop();
+            fastThread.join();
+            report(slow, fast, connections);
+            for (SlowClient client : slow) {
+                client.channel.close();
+            }
+        }
+    }
+
+    private static void report(List<SlowClient> slow, FastClient fast, int connections) {
+        long connected = slow.stream().filter(client -> client.connected).count();
+        long failed = slow.stream().filter(client -> client.failed).count();
+        long answered = slow.stream().filter(client -> client.answered).count();
+        System.out.printf("Slow clients: %d opened, %d connected, %d failed, %d answered%n", connections, connected,
+                failed, answered);
+
+        List<Long> latencies = fast.latencies;
+        Collections.sort(latencies);
+        System.out.printf("Fast client: %d ok, %d errors, %d timeouts%n", latencies.size(), fast.errors,
+                fast.timeouts);
+        if (!latencies.isEmpty()) {
+            System.out.printf("Fast client latency (ms): p50=%d p99=%d max=%d%n", percentile(latencies, 0.50),
+                    percentile(latencies, 0.99), latencies.get(latencies.size() - 1));
+        }
+    }
+
+    private static long percentile(List<Long> sorted, double p) {
+        return sorted.get((int) Math.min(sorted.size() - 1, Math.ceil(p * sorted.size()) - 1));
+    }
+
+    /**
+     * A connection that sends its headers at once and its body one byte per drip.
+     */
+    private static final class SlowClient {
+        private final SocketChannel channel;
+        private final ByteBuffer request;
+        private final ByteBuffer response = ByteBuffer.allocate(64);
+        private boolean connected;
+        private boolean failed;
+        private boolean answered;
+
+        private SlowClient(SocketChannel channel, ByteBuffer request) {
+            this.channel = channel;
+            this.request = request;
+        }
+
+        static SlowClient open(Selector selector, InetSocketAddress address, byte[] body) throws IOException {
+            String headers = "POST /api/person HTTP/1.1\r\nHost: " + address.getHostString() + "\r\n"
+                    + "Content-Type: application/json\r\nAccept: application/json\r\nContent-Length: " + body.length
+                    + "\r\n\r\n";
+            byte[] head = headers.getBytes(StandardCharsets.US_ASCII);
+            ByteBuffer request = ByteBuffer.allocate(head.length + body.length).put(head).put(body).flip();
+            // Everything up to the body goes out with the first write
+            request.limit(head.length);
+
+            SocketChannel channel = SocketChannel.open();
+            channel.configureBlocking(false);
+            SlowClient client = new SlowClient(channel, request);
+            channel.connect(address);
+            channel.register(selector, SelectionKey.OP_CONNECT, client);
+            return client;
+        }
+
+        void ready(SelectionKey key) {
+            try {
+                if (key.isConnectable()) {
+                    channel.finishConnect();
+                    connected = true;
+                    channel.write(request);
+                    key.interestOps(SelectionKey.OP_READ);
+                } else if (key.isReadable()) {
+                    response.clear();
+                    if (channel.read(response) < 0) {
+                        key.cancel();
+                    } else {
+                        answered = true;
+                    }
+                }
+            } catch (IOException e) {
+                failed = true;
+                key.cancel();
+            }
+        }
+
+        void drip() {
+            if (!connected || failed || request.limit() == request.capacity()) {
+                return;
+            }
+            request.limit(request.limit() + 1);
+            try {
+                channel.write(request);
+            } catch (IOException e) {
+                failed = true;
+            }
+        }
+    }
+
+    /**
+     * Posts complete bodies back to back and records the latency of each.
+     */
+    private static final class FastClient implements Runnable {
+        private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        private final HttpRequest request;
+        private final List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        private volatile boolean running = true;
+        private int errors;
+        private int timeouts;
+
+        FastClient(URI uri) {
+            this.request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(10))
+                    .header("Content-Type", "application/json").header("Accept", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(BODY)).build();
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                long start = System.nanoTime();
+                try {
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() == 200) {
+                        latencies.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                    } else {
+                        errors++;
+                    }
+                } catch (HttpTimeoutException e) {
+                    timeouts++;
+                } catch (IOException e) {
+                    errors++;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                sleep(100);
+            }
+        }
+
+        void stop() {
+            running = false;
+        }
+
+        private static void sleep(long millis) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
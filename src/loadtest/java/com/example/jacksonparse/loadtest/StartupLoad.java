@@ -0,0 +1,198 @@
+package com.example.jacksonparse.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup benchmark comparing how soon a fresh instance answers {@code POST /api/person}, and how soon it answers at
+ * its steady-state latency, when started as the plain jar, as the AOT-processed jar with the AppCDS archive built by
+ * {@code mvn -Pstartup package}, and as the native executable built by {@code mvn -Pnative native:compile}. Variants
+ * that have not been built are skipped.
+ * <p>
+ * Each run starts the application and, from the moment the process is launched, sends one request at a time, cycling
+ * through JSON and XML request and response bodies, for {@code duration} seconds. It reports:
+ * <ul>
+ * <li>the time from launch to the first successful response, and the latency of that first request;</li>
+ * <li>the steady-state latency: median and 99th percentile of the last fifth of the requests;</li>
+ * <li>the time to steady state: from launch until the end of the first window of 1000 requests whose median is within
+ * 25% of the steady-state median. Pauses only make a window slower, so they do not move this point.</li>
+ * </ul>
+ * All requests are sequential, so latencies are not inflated by queueing, and every request carries its own id, so
+ * that a response cache, if enabled, would not answer them.
+ * <p>
+ * Arguments: {@code jar duration-s}, defaulting to {@code target/jackson-parse-1.0.0-SNAPSHOT.jar 30}. The AOT build is
+ * looked for in the {@code startup} directory next to the jar and the native executable next to it as
+ * {@code jackson-parse}.
+ */
+public final class StartupLoad {
+    private static final String JSON_BODY = """
+            {"version":"1.1","id":%d,"name":"John Doe","email":"john.doe@example.com","addresses":[{"primary":true,\
+            "street":"123 Main St","city":"Springfield","zipCode":"12345","createdAt":"2024-01-15T10:30:00"}],\
+            "birthDate":"1990-05-15T08:00:00"}""";
+    private static final String XML_BODY = """
+            <person version="1.1"><id>%d</id><name>John Doe</name><email>john.doe@example.com</email>\
+            <address primary="true"><street>123 Main St</street><city>Springfield</city><zipCode>12345</zipCode>\
+            <createdAt>2024-01-15T10:30:00</createdAt></address><birthDate>1990-05-15T08:00:00</birthDate></person>""";
+    private static final String[][] FORMATS = { { "application/json", "application/json" },
+            { "application/json", "application/xml" }, { "application/xml", "application/json" },
+            { "application/xml", "application/xml" } };
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+    private static final int WINDOW = 1000;
+    private static final double STEADY_RATIO = 1.25;
+
+    private StartupLoad() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Path jar = Path.of(args.length > 0 ? args[0] : "target/jackson-parse-1.0.0-SNAPSHOT.jar").toAbsolutePath();
+        long duration = args.length > 1 ? Long.parseLong(args[1]) : 30;
+        String java = ProcessHandle.current().info().command().orElse("java");
+        Path archive = jar.resolveSibling("startup").resolve("application.jsa");
+        Path executable = jar.resolveSibling("jackson-parse");
+
+        List<Result> results = new ArrayList<>();
+        results.add(run("jar", List.of(java, "-jar", jar.toString()), duration));
+        if (Files.exists(archive)) {
+            results.add(run("aot+cds", List.of(java, "-XX:SharedArchiveFile=" + archive, "-Dspring.aot.enabled=true",
+                    "-jar", archive.resolveSibling(jar.getFileName()).toString()), duration));
+        } else {
+            System.out.printf("Skipping the AOT run: %s does not exist, run mvn -Pstartup package%n", archive);
+        }
+        if (Files.isExecutable(executable)) {
+            results.add(run("native", List.of(executable.toString()), duration));
+        } else {
+            System.out.printf("Skipping the native run: %s does not exist, run mvn -Pnative native:compile%n",
+                    executable);
+        }
+
+        System.out.printf("%n%-8s %16s %14s %14s %10s %14s %14s %7s%n", "mode", "first response s", "first req ms",
+                "steady after s", "requests", "steady p50 us", "steady p99 us", "errors");
+        for (Result result : results) {
+            System.out.printf("%-8s %16.2f %14.1f %14.2f %10d %14d %14d %7d%n", result.mode,
+                    result.firstResponse / 1e9, result.firstLatency / 1e6, result.steadyAfter / 1e9, result.requests,
+                    result.p50 / 1000, result.p99 / 1000, result.errors);
+        }
+    }
+
+    private static Result run(String mode, List<String> command, long duration)
+            throws IOException, InterruptedException {
+        int port = freePort();
+        List<String> arguments = new ArrayList<>(command);
+        arguments.add("--server.port=" + port);
+        arguments.add("--logging.level.root=WARN");
+        System.out.printf("Starting %s and sending requests for %d s%n", mode, duration);
+        URI uri = URI.create("http://localhost:" + port + "/api/person");
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        long launched = System.nanoTime();
+        Process app = new ProcessBuilder(arguments).redirectErrorStream(true)
+                .redirectOutput(new File("target/startup-" + mode + ".log")).start();
+        try {
+            long firstLatency = awaitFirstResponse(client, uri, launched);
+            long firstResponse = System.nanoTime() - launched;
+            long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(duration);
+            long[] latencies = new long[1024];
+            long[] completions = new long[1024];
+            int count = 0;
+            long errors = 0;
+            while (System.nanoTime() < end) {
+                long start = System.nanoTime();
+                int status = send(client, request(uri, count + 1));
+                long now = System.nanoTime();
+                if (status != 200) {
+                    errors++;
+                    continue;
+                }
+                if (count == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, count * 2);
+                    completions = Arrays.copyOf(completions, count * 2);
+                }
+                latencies[count] = now - start;
+                completions[count++] = now - launched;
+            }
+            return result(mode, firstResponse, firstLatency, Arrays.copyOf(latencies, count),
+                    Arrays.copyOf(completions, count), errors);
+        } finally {
+            app.destroy();
+            app.waitFor(30, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Sends the first request until it succeeds, as soon as the previous attempt fails.
+     *
+     * @return the latency of the successful attempt
+     */
+    private static long awaitFirstResponse(HttpClient client, URI uri, long launched)
+            throws IOException, InterruptedException {
+        HttpRequest request = request(uri, 0);
+        while (System.nanoTime() - launched < STARTUP_TIMEOUT.toNanos()) {
+            long start = System.nanoTime();
+            if (send(client, request) == 200) {
+                return System.nanoTime() - start;
+            }
+            Thread.sleep(5);
+        }
+        throw new IOException("Application did not answer within " + STARTUP_TIMEOUT);
+    }
+
+    private static int send(HttpClient client, HttpRequest request) throws InterruptedException {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            // Not listening yet
+            return -1;
+        }
+    }
+
+    private static HttpRequest request(URI uri, int id) {
+        String[] format = FORMATS[id % FORMATS.length];
+        String body = String.format(format[0].endsWith("json") ? JSON_BODY : XML_BODY, id);
+        return HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).header("Content-Type", format[0])
+                .header("Accept", format[1]).POST(HttpRequest.BodyPublishers.ofString(body)).build();
+    }
+
+    private static Result result(String mode, long firstResponse, long firstLatency, long[] latencies,
+            long[] completions, long errors) {
+        int tail = Math.max(WINDOW, latencies.length / 5);
+        long[] steady = Arrays.copyOfRange(latencies, Math.max(0, latencies.length - tail), latencies.length);
+        Arrays.sort(steady);
+        long p50 = percentile(steady, 0.50);
+        long steadyAfter = completions.length > 0 ? completions[completions.length - 1] : firstResponse;
+        for (int from = 0; from + WINDOW <= latencies.length; from += WINDOW) {
+            long[] window = Arrays.copyOfRange(latencies, from, from + WINDOW);
+            Arrays.sort(window);
+            if (percentile(window, 0.50) <= STEADY_RATIO * p50) {
+                steadyAfter = completions[from + WINDOW - 1];
+                break;
+            }
+        }
+        return new Result(mode, firstResponse, firstLatency, steadyAfter, latencies.length, p50,
+                percentile(steady, 0.99), errors);
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted.length == 0 ? 0 : sorted[(int) Math.max(0, Math.ceil(p * sorted.length) - 1)];
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private record Result(String mode, long firstResponse, long firstLatency, long steadyAfter, int requests, long p50,
+            long p99, long errors) {
+    }
+}
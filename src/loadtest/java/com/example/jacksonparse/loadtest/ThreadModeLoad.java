@@ -0,0 +1,182 @@
+package com.example.jacksonparse.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Load test harness comparing Tomcat request handling on platform threads and on virtual threads. It starts the
+ * application jar twice, with {@code spring.threads.virtual.enabled} off and on, and for each run keeps
+ * {@code concurrency} requests in flight over as many connections for {@code duration} seconds, after a warm-up of a
+ * third of that. Throughput and latency percentiles of both runs are printed side by side.
+ * <p>
+ * Virtual threads need JDK 21: on an older JVM the property has no effect, so only the platform run is made. Every
+ * connection is a file descriptor on both ends, so {@code ulimit -n} has to allow well over {@code concurrency}.
+ * <p>
+ * Arguments: {@code jar concurrency duration-s}, defaulting to
+ * {@code target/jackson-parse-1.0.0-SNAPSHOT.jar 10000 30}.
+ */
+public final class ThreadModeLoad {
+    private static final String BODY = """
+            {"version":"1.1","id":1,"name":"John Doe","email":"john.doe@example.com","addresses":[{"primary":true,\
+            "street":"123 Main St","city":"Springfield","zipCode":"12345","createdAt":"2024-01-15T10:30:00"}],\
+            "birthDate":"1990-05-15T08:00:00"}""";
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private ThreadModeLoad() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String jar = args.length > 0 ? args[0] : "target/jackson-parse-1.0.0-SNAPSHOT.jar";
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        long duration = args.length > 2 ? Long.parseLong(args[2]) : 30;
+
+        List<Result> results = new ArrayList<>();
+        results.add(run(jar, false, concurrency, duration));
+        if (Runtime.version().feature() >= 21) {
+            results.add(run(jar, true, concurrency, duration));
+        } else {
+            System.out.printf("Skipping the virtual thread run: JDK %d has no virtual threads%n",
+                    Runtime.version().feature());
+        }
+
+        System.out.printf("%n%-10s %12s %10s %10s %10s %8s%n", "threads", "requests/s", "p50 ms", "p99 ms", "max ms",
+                "errors");
+        for (Result result : results) {
+            System.out.printf("%-10s %12.0f %10d %10d %10d %8d%n", result.mode, result.throughput, result.p50,
+                    result.p99, result.max, result.errors);
+        }
+    }
+
+    private static Result run(String jar, boolean virtual, int concurrency, long duration)
+            throws IOException, InterruptedException {
+        String mode = virtual ? "virtual" : "platform";
+        int port = freePort();
+        Process app = new ProcessBuilder(ProcessHandle.current().info().command().orElse("java"), "-jar", jar,
+                "--server.port=" + port, "--spring.threads.virtual.enabled=" + virtual,
+                "--server.tomcat.max-connections=" + (concurrency + 1000), "--server.tomcat.accept-count=1000",
+                "--logging.level.root=WARN")
+                .redirectErrorStream(true).redirectOutput(new File("target/load-" + mode + ".log")).start();
+        try {
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            awaitStartup(client, port);
+            System.out.printf("Running %d concurrent requests against %s threads for %d s%n", concurrency, mode,
+                    duration);
+            Load load = new Load(client, URI.create("http://localhost:" + port + "/api/person"));
+            load.run(concurrency, TimeUnit.SECONDS.toNanos(Math.max(1, duration / 3)), false);
+            return load.run(concurrency, TimeUnit.SECONDS.toNanos(duration), true).result(mode, duration);
+        } finally {
+            app.destroy();
+            app.waitFor(30, TimeUnit.SECONDS);
+        }
+    }
+
+    private static void awaitStartup(HttpClient client, int port) throws IOException, InterruptedException {
+        HttpRequest health = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health"))
+                .timeout(Duration.ofSeconds(5)).build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(500);
+        }
+        throw new IOException("Application did not start within " + STARTUP_TIMEOUT);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private record Result(String mode, double throughput, long p50, long p99, long max, long errors) {
+    }
+
+    /**
+     * Closed-loop load: every client sends its next request as soon as the previous one completes. Latencies go into
+     * a histogram of 1 ms buckets.
+     */
+    private static final class Load {
+        private static final int BUCKETS = 60_000;
+
+        private final HttpClient client;
+        private final HttpRequest request;
+        private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+        private final LongAdder errors = new LongAdder();
+        private volatile boolean recording;
+        private long end;
+
+        Load(HttpClient client, URI uri) {
+            this.client = client;
+            this.request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json").header("Accept", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(BODY)).build();
+        }
+
+        Load run(int concurrency, long nanos, boolean record) {
+            recording = record;
+            end = System.nanoTime() + nanos;
+            CompletableFuture<?>[] clients = new CompletableFuture<?>[concurrency];
+            for (int i = 0; i < concurrency; i++) {
+                clients[i] = next();
+            }
+            CompletableFuture.allOf(clients).join();
+            return this;
+        }
+
+        private CompletableFuture<Void> next() {
+            if (System.nanoTime() >= end) {
+                return CompletableFuture.completedFuture(null);
+            }
+            long start = System.nanoTime();
+            return client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).handle((response, failure) -> {
+                if (recording) {
+                    if (failure == null && response.statusCode() == 200) {
+                        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                        histogram.incrementAndGet((int) Math.min(millis, BUCKETS - 1));
+                    } else {
+                        errors.increment();
+                    }
+                }
+                return null;
+            }).thenCompose(ignored -> next());
+        }
+
+        Result result(String mode, long seconds) {
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                total += histogram.get(i);
+            }
+            return new Result(mode, (double) total / seconds, percentile(total, 0.50), percentile(total, 0.99),
+                    percentile(total, 1.0), errors.sum());
+        }
+
+        private long percentile(long total, double p) {
+            long rank = (long) Math.ceil(p * total);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += histogram.get(i);
+                if (seen >= rank && seen > 0) {
+                    return i;
+                }
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.jacksonparse.codec;
+
+import java.io.IOException;
+
+import com.example.jacksonparse.model.Address;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+
+/**
+ * Reads an {@link Address} with a direct switch over the property names. The {@code primary} attribute of the XML
+ * element arrives as a regular property. Unknown properties are reported through
+ * {@link DeserializationContext#handleUnknownProperty}, which honors {@code FAIL_ON_UNKNOWN_PROPERTIES}.
+ */
+final class AddressDeserializer extends ModelDeserializer<Address> implements ContextualDeserializer {
+    private static final long serialVersionUID = 1L;
+
+    AddressDeserializer() {
+        super(Address.class);
+    }
+
+    private AddressDeserializer(AddressDeserializer src, DeserializationContext ctxt) throws JsonMappingException {
+        super(src, ctxt);
+    }
+
+    @Override
+    public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property)
+            throws JsonMappingException {
+        return new AddressDeserializer(this, ctxt);
+    }
+
+    @Override
+    protected Address newInstance() {
+        return new Address();
+    }
+
+    @Override
+    protected void readProperty(JsonParser p, DeserializationContext ctxt, Address address, String name)
+            throws IOException {
+        switch (name) {
+        case "primary" -> address.setPrimary(_parseBooleanPrimitive(p, ctxt));
+        case "street" -> address.setStreet(readString(p, ctxt));
+        case "city" -> address.setCity(readString(p, ctxt));
+        case "zipCode" -> address.setZipCode(readString(p, ctxt));
+        case "createdAt" -> address.setCreatedAt(readDate(p, ctxt));
+        case "updatedAt" -> address.setUpdatedAt(readDate(p, ctxt));
+        default -> ctxt.handleUnknownProperty(p, this, Address.class, name);
+        }
+    }
+}
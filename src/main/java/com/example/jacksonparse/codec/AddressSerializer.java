@@ -0,0 +1,52 @@
+package com.example.jacksonparse.codec;
+
+import java.io.IOException;
+
+import com.example.jacksonparse.model.Address;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.dataformat.xml.ser.ToXmlGenerator;
+
+/**
+ * Writes an {@link Address} in the same property order as the bean serializer, with {@code primary} as an attribute
+ * in XML.
+ */
+final class AddressSerializer extends ModelSerializer<Address> implements ContextualSerializer {
+    private static final long serialVersionUID = 1L;
+
+    AddressSerializer() {
+        super(Address.class);
+    }
+
+    private AddressSerializer(AddressSerializer src, SerializerProvider provider) throws JsonMappingException {
+        super(src, provider);
+    }
+
+    @Override
+    public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property)
+            throws JsonMappingException {
+        return new AddressSerializer(this, provider);
+    }
+
+    @Override
+    public void serialize(Address address, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(address);
+        if (gen instanceof ToXmlGenerator xmlGenerator) {
+            xmlGenerator.setNextIsAttribute(true);
+            gen.writeBooleanField("primary", address.isPrimary());
+            xmlGenerator.setNextIsAttribute(false);
+        } else {
+            gen.writeBooleanField("primary", address.isPrimary());
+        }
+        writeString(gen, "street", address.getStreet());
+        writeString(gen, "city", address.getCity());
+        writeString(gen, "zipCode", address.getZipCode());
+        writeDate(gen, "createdAt", address.getCreatedAt(), provider);
+        writeDate(gen, "updatedAt", address.getUpdatedAt(), provider);
+        gen.writeEndObject();
+    }
+}
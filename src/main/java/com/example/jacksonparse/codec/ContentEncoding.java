@@ -0,0 +1,100 @@
+package com.example.jacksonparse.codec;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.util.ClassUtils;
+
+import com.github.luben.zstd.RecyclingBufferPool;
+import com.github.luben.zstd.ZstdInputStreamNoFinalizer;
+import com.github.luben.zstd.ZstdOutputStreamNoFinalizer;
+
+/**
+ * HTTP content codings for request and response bodies. {@code gzip} is built into the JDK; {@code zstd} needs
+ * {@code zstd-jni}, which is a dependency of this project but can be excluded, and is then reported as not
+ * {@linkplain #isAvailable() available}.
+ */
+public enum ContentEncoding {
+    GZIP("gzip", true) {
+        @Override
+        public OutputStream encode(OutputStream out) throws IOException {
+            return new GZIPOutputStream(out, BUFFER_SIZE);
+        }
+
+        @Override
+        public InputStream decode(InputStream in) throws IOException {
+            return new GZIPInputStream(in, BUFFER_SIZE);
+        }
+    },
+    ZSTD("zstd", ClassUtils.isPresent("com.github.luben.zstd.ZstdOutputStreamNoFinalizer",
+            ContentEncoding.class.getClassLoader())) {
+        @Override
+        public OutputStream encode(OutputStream out) throws IOException {
+            return Zstd.encode(out);
+        }
+
+        @Override
+        public InputStream decode(InputStream in) throws IOException {
+            return Zstd.decode(in);
+        }
+    };
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final String token;
+    private final boolean available;
+
+    ContentEncoding(String token, boolean available) {
+        this.token = token;
+        this.available = available;
+    }
+
+    /**
+     * @return the coding as named in {@code Content-Encoding} and {@code Accept-Encoding}
+     */
+    public String token() {
+        return token;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * Wraps {@code out} in a compressing stream, which writes its trailer when closed and then closes {@code out}.
+     */
+    public abstract OutputStream encode(OutputStream out) throws IOException;
+
+    /**
+     * Wraps {@code in} in a decompressing stream.
+     */
+    public abstract InputStream decode(InputStream in) throws IOException;
+
+    /**
+     * @return the coding named {@code token}, ignoring case, or {@code null} for any other coding
+     */
+    public static ContentEncoding of(String token) {
+        return switch (token.trim().toLowerCase(Locale.ROOT)) {
+        case "gzip", "x-gzip" -> GZIP;
+        case "zstd" -> ZSTD;
+        default -> null;
+        };
+    }
+
+    /**
+     * Keeps the {@code zstd-jni} types out of the enum, so that they are only loaded when zstd is used.
+     */
+    private static final class Zstd {
+        static OutputStream encode(OutputStream out) throws IOException {
+            return new ZstdOutputStreamNoFinalizer(out, RecyclingBufferPool.INSTANCE);
+        }
+
+        static InputStream decode(InputStream in) throws IOException {
+            return new ZstdInputStreamNoFinalizer(in, RecyclingBufferPool.INSTANCE);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.jacksonparse.codec;
+
+/**
+ * Caps applied to the unknown properties of one {@code Person} when they are kept raw: how many there may be, how
+ * deeply each may nest and how many characters of names and values each may hold.
+ */
+public record ExtraLimits(int maxCount, int maxDepth, int maxBytes) {
+}
@@ -0,0 +1,164 @@
+package com.example.jacksonparse.codec;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.example.jacksonparse.model.Person;
+import com.example.jacksonparse.model.RawExtraValue;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadCapability;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+/**
+ * Reads the value of an unknown {@link Person} property. Scalars go through the mapper's untyped deserializer as
+ * before; objects and arrays are copied into a {@link TokenBuffer} and kept as a {@link RawExtraValue}, so no maps,
+ * lists or boxed numbers are built unless {@link Person#getExtra()} is called. Numbers are stored by value, with
+ * floating-point ones in the type the untyped deserializer would read them as, which keeps the written output the
+ * same. When the format allows duplicate names within an object (XML repeated elements) and one occurs, the value is
+ * materialized right away, since the untyped deserializer turns such names into lists.
+ * <p>
+ * The {@link ExtraLimits} are enforced while reading; exceeding one fails with a {@link MismatchedInputException}.
+ * The size of an unknown property counts its name and, whether it is a scalar or a structure, the names and values in
+ * it.
+ */
+final class ExtraValueDeserializer extends StdDeserializer<Object> {
+    private static final long serialVersionUID = 1L;
+    private static final JavaType OBJECT_TYPE = TypeFactory.defaultInstance().constructType(Object.class);
+
+    private final ExtraLimits limits;
+
+    ExtraValueDeserializer(ExtraLimits limits) {
+        super(Object.class);
+        this.limits = limits;
+    }
+
+    @Override
+    public Object deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        boolean structured = p.isExpectedStartObjectToken() || p.isExpectedStartArrayToken();
+        Object owner = structured ? p.getParsingContext().getParent().getCurrentValue()
+                : p.getParsingContext().getCurrentValue();
+        if (owner instanceof Person person && person.extraProperties().size() >= limits.maxCount()) {
+            throw limitExceeded(p, "Too many unknown properties (max %d)", limits.maxCount());
+        }
+        String property = p.currentName();
+        int size = property != null ? property.length() : 0;
+        if (!structured) {
+            if (size + p.getTextLength() > limits.maxBytes()) {
+                throw tooLarge(p);
+            }
+            return untyped(ctxt).deserialize(p, ctxt);
+        }
+
+        TokenBuffer buffer = ctxt.bufferForInputBuffering(p);
+        List<Set<String>> names = ctxt.isEnabled(StreamReadCapability.DUPLICATE_PROPERTIES) ? new ArrayList<>() : null;
+        boolean duplicates = false;
+        int depth = 0;
+        for (JsonToken token = p.currentToken(); token != null; token = p.nextToken()) {
+            switch (token) {
+            case START_OBJECT, START_ARRAY -> {
+                if (++depth > limits.maxDepth()) {
+                    throw limitExceeded(p, "Unknown property nested too deeply (max %d)", limits.maxDepth());
+                }
+                if (names != null) {
+                    names.add(token == JsonToken.START_OBJECT ? new HashSet<>() : Set.of());
+                }
+                buffer.copyCurrentEvent(p);
+                size++;
+            }
+            case END_OBJECT, END_ARRAY -> {
+                depth--;
+                if (names != null) {
+                    names.remove(names.size() - 1);
+                }
+                buffer.copyCurrentEvent(p);
+                size++;
+            }
+            case FIELD_NAME -> {
+                String name = p.currentName();
+                duplicates |= names != null && !names.get(names.size() - 1).add(name);
+                buffer.writeFieldName(name);
+                size += name.length();
+            }
+            case VALUE_NUMBER_INT -> {
+                copyInt(p, buffer);
+                size += p.getTextLength();
+            }
+            case VALUE_NUMBER_FLOAT -> {
+                copyFloat(p, ctxt, buffer);
+                size += p.getTextLength();
+            }
+            default -> {
+                buffer.copyCurrentEvent(p);
+                size += p.getTextLength();
+            }
+            }
+            if (size > limits.maxBytes()) {
+                throw tooLarge(p);
+            }
+            if (depth == 0) {
+                break;
+            }
+        }
+        if (duplicates) {
+            try (JsonParser tokens = buffer.asParserOnFirstToken()) {
+                return untyped(ctxt).deserialize(tokens, ctxt);
+            }
+        }
+        return new RawExtraValue(buffer);
+    }
+
+    /**
+     * Looks up the untyped deserializer from the mapper's cache. The bean deserializer does not contextualize a value
+     * deserializer that is already set on its any-setter, so it cannot be resolved up front.
+     */
+    private static JsonDeserializer<Object> untyped(DeserializationContext ctxt) throws JsonMappingException {
+        return ctxt.findNonContextualValueDeserializer(OBJECT_TYPE);
+    }
+
+    /**
+     * Stores an integer by value; {@link TokenBuffer#copyCurrentEvent} keeps big integers as text, which it cannot
+     * write back out.
+     */
+    private static void copyInt(JsonParser p, TokenBuffer buffer) throws IOException {
+        switch (p.getNumberType()) {
+        case INT -> buffer.writeNumber(p.getIntValue());
+        case LONG -> buffer.writeNumber(p.getLongValue());
+        default -> buffer.writeNumber(p.getBigIntegerValue());
+        }
+    }
+
+    /**
+     * Stores a floating-point number as the type the untyped deserializer reads it as, rather than as its text.
+     */
+    private static void copyFloat(JsonParser p, DeserializationContext ctxt, TokenBuffer buffer) throws IOException {
+        JsonParser.NumberTypeFP type = p.getNumberTypeFP();
+        if (type == JsonParser.NumberTypeFP.BIG_DECIMAL
+                || !p.isNaN() && ctxt.isEnabled(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)) {
+            buffer.writeNumber(p.getDecimalValue());
+        } else if (type == JsonParser.NumberTypeFP.FLOAT32) {
+            buffer.writeNumber(p.getFloatValue());
+        } else {
+            buffer.writeNumber(p.getDoubleValue());
+        }
+    }
+
+    private static MismatchedInputException limitExceeded(JsonParser p, String message, int limit) {
+        return MismatchedInputException.from(p, Object.class, String.format(message, limit));
+    }
+
+    private MismatchedInputException tooLarge(JsonParser p) {
+        return limitExceeded(p, "Unknown property too large (max %d characters)", limits.maxBytes());
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.jacksonparse.codec;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.springframework.core.io.buffer.DataBufferLimitException;
+
+import com.fasterxml.jackson.core.exc.StreamConstraintsException;
+
+/**
+ * Reports a request body that crosses one of the {@code app.jackson.limits}. It is thrown as soon as the limit is
+ * crossed, while the body is still being read, so the rest of it is never read or bound.
+ */
+public class InputLimitException extends StreamConstraintsException {
+    private static final long serialVersionUID = 1L;
+
+    private final Limit limit;
+
+    public InputLimitException(Limit limit, long max) {
+        super(limit.description + " exceeds the limit of " + max + " (app.jackson.limits." + limit.property + ")");
+        this.limit = limit;
+    }
+
+    public Limit getLimit() {
+        return limit;
+    }
+
+    /**
+     * Finds the limit that {@code e} or one of its causes reports. Besides this exception, that covers the limits
+     * Woodstox enforces on XML, which reach the application as parse errors, and the buffer limit of the WebFlux
+     * decoders, {@code spring.codec.max-in-memory-size}, which bounds the body size there.
+     *
+     * @return the limit, or {@code null} if the exception does not come from one
+     */
+    public static Limit limitOf(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof InputLimitException exceeded) {
+                return exceeded.limit;
+            }
+            if (t instanceof DataBufferLimitException) {
+                return Limit.BODY_SIZE;
+            }
+            if (t instanceof XMLStreamException && t.getMessage() != null) {
+                String message = t.getMessage();
+                if (message.startsWith("Maximum Element Depth limit")) {
+                    return Limit.DEPTH;
+                }
+                if (message.startsWith("Attribute limit")) {
+                    return Limit.ATTRIBUTES;
+                }
+                if (message.startsWith("Text size limit") || message.startsWith("Maximum attribute size limit")) {
+                    return Limit.STRING_LENGTH;
+                }
+            }
+        }
+        return null;
+    }
+
+    public enum Limit {
+        BODY_SIZE("max-body-size", "Request body size"),
+        DEPTH("max-depth", "Nesting depth"),
+        STRING_LENGTH("max-string-length", "String length"),
+        ATTRIBUTES("max-attributes", "Number of XML attributes"),
+        ADDRESSES("max-addresses", "Number of addresses"),
+        EXTRAS("max-extras", "Number of unknown properties");
+
+        private final String property;
+        private final String description;
+
+        Limit(String property, String description) {
+            this.property = property;
+            this.description = description;
+        }
+
+        /**
+         * @return the property under {@code app.jackson.limits} that sets the limit, such as {@code max-depth}
+         */
+        public String property() {
+            return property;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.jacksonparse.codec;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+/**
+ * Registers the allocation-light ISO {@link LocalDateTime} serializer and deserializer. Must be added after
+ * {@code JavaTimeModule} so that it takes precedence.
+ */
+public class IsoDateTimeModule extends SimpleModule {
+    private static final long serialVersionUID = 1L;
+
+    public IsoDateTimeModule() {
+        super(IsoDateTimeModule.class.getSimpleName());
+        addSerializer(LocalDateTime.class, new IsoLocalDateTimeSerializer());
+        addDeserializer(LocalDateTime.class, new IsoLocalDateTimeDeserializer());
+    }
+}
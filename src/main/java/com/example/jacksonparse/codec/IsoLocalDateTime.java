@@ -0,0 +1,123 @@
+package com.example.jacksonparse.codec;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Reads and writes the {@code yyyy-MM-ddTHH:mm:ss[.fraction]} shape that {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME}
+ * produces for four-digit years, directly on a {@code char[]}. Anything outside that shape is left to the formatter:
+ * parsing returns {@code null} and formatting returns {@code -1}.
+ */
+final class IsoLocalDateTime {
+    /** Length of {@code yyyy-MM-ddTHH:mm:ss.nnnnnnnnn}. */
+    static final int MAX_LENGTH = 29;
+
+    private static final int SECONDS_LENGTH = 19;
+    private static final int[] SCALE = { 100_000_000, 10_000_000, 1_000_000, 100_000, 10_000, 1_000, 100, 10, 1 };
+
+    private IsoLocalDateTime() {
+    }
+
+    /**
+     * Writes {@code value} into {@code buf}, which must hold at least {@link #MAX_LENGTH} chars, and returns the number
+     * of chars written. The fraction is omitted when zero and otherwise written without trailing zeros, exactly like
+     * the formatter.
+     */
+    static int format(LocalDateTime value, char[] buf) {
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            return -1;
+        }
+        write4(buf, 0, year);
+        buf[4] = '-';
+        write2(buf, 5, value.getMonthValue());
+        buf[7] = '-';
+        write2(buf, 8, value.getDayOfMonth());
+        buf[10] = 'T';
+        write2(buf, 11, value.getHour());
+        buf[13] = ':';
+        write2(buf, 14, value.getMinute());
+        buf[16] = ':';
+        write2(buf, 17, value.getSecond());
+        int nano = value.getNano();
+        if (nano == 0) {
+            return SECONDS_LENGTH;
+        }
+        buf[SECONDS_LENGTH] = '.';
+        int len = SECONDS_LENGTH + 1;
+        for (int i = 0; nano != 0; i++) {
+            int digit = nano / SCALE[i];
+            buf[len++] = (char) ('0' + digit);
+            nano -= digit * SCALE[i];
+        }
+        return len;
+    }
+
+    /**
+     * Parses {@code len} chars of {@code buf} starting at {@code off}, or returns {@code null} if they do not have the
+     * expected shape or do not denote a valid date and time.
+     */
+    static LocalDateTime parse(char[] buf, int off, int len) {
+        if (len != SECONDS_LENGTH && (len < SECONDS_LENGTH + 2 || len > MAX_LENGTH
+                || buf[off + SECONDS_LENGTH] != '.')) {
+            return null;
+        }
+        if (buf[off + 4] != '-' || buf[off + 7] != '-' || buf[off + 10] != 'T' || buf[off + 13] != ':'
+                || buf[off + 16] != ':') {
+            return null;
+        }
+        int year = digits(buf, off, 4);
+        int month = digits(buf, off + 5, 2);
+        int day = digits(buf, off + 8, 2);
+        int hour = digits(buf, off + 11, 2);
+        int minute = digits(buf, off + 14, 2);
+        int second = digits(buf, off + 17, 2);
+        int fractionLength = Math.max(len - SECONDS_LENGTH - 1, 0);
+        int fraction = digits(buf, off + SECONDS_LENGTH + 1, fractionLength);
+        if ((year | month | day | hour | minute | second | fraction) < 0) {
+            return null;
+        }
+        try {
+            return LocalDateTime.of(year, month, day, hour, minute, second,
+                    fraction * SCALE[Math.max(fractionLength - 1, 0)]);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parses {@code text} like {@link #parse(char[], int, int)}.
+     */
+    static LocalDateTime parse(String text) {
+        if (text.length() > MAX_LENGTH) {
+            return null;
+        }
+        char[] buf = new char[MAX_LENGTH];
+        text.getChars(0, text.length(), buf, 0);
+        return parse(buf, 0, text.length());
+    }
+
+    /** Returns the value of {@code count} decimal digits, or {@code -1} if one of them is not a digit. */
+    private static int digits(char[] buf, int off, int count) {
+        int value = 0;
+        for (int i = off; i < off + count; i++) {
+            int digit = buf[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static void write2(char[] buf, int off, int value) {
+        buf[off] = (char) ('0' + value / 10);
+        buf[off + 1] = (char) ('0' + value % 10);
+    }
+
+    private static void write4(char[] buf, int off, int value) {
+        write2(buf, off, value / 100);
+        write2(buf, off + 2, value % 100);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.jacksonparse.codec;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.type.LogicalType;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
+
+/**
+ * Reads ISO {@link LocalDateTime} strings through {@link IsoLocalDateTime}, straight from the parser's character
+ * buffer when it exposes one. Everything else, including the error reporting for invalid values, is left to
+ * {@link LocalDateTimeDeserializer}, which also handles values with a {@code @JsonFormat} pattern.
+ */
+final class IsoLocalDateTimeDeserializer extends StdScalarDeserializer<LocalDateTime>
+        implements ContextualDeserializer {
+    private static final long serialVersionUID = 1L;
+
+    private final JsonDeserializer<?> delegate;
+
+    IsoLocalDateTimeDeserializer() {
+        this(LocalDateTimeDeserializer.INSTANCE);
+    }
+
+    private IsoLocalDateTimeDeserializer(JsonDeserializer<?> delegate) {
+        super(LocalDateTime.class);
+        this.delegate = delegate;
+    }
+
+    @Override
+    public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property)
+            throws JsonMappingException {
+        JsonDeserializer<?> contextual = LocalDateTimeDeserializer.INSTANCE.createContextual(ctxt, property);
+        if (findFormatOverrides(ctxt, property, LocalDateTime.class).hasPattern()) {
+            return contextual;
+        }
+        return new IsoLocalDateTimeDeserializer(contextual);
+    }
+
+    @Override
+    public LogicalType logicalType() {
+        return LogicalType.DateTime;
+    }
+
+    @Override
+    public LocalDateTime deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.hasToken(JsonToken.VALUE_STRING)) {
+            LocalDateTime value = p.hasTextCharacters() ? IsoLocalDateTime.parse(p.getTextCharacters(),
+                    p.getTextOffset(), p.getTextLength()) : IsoLocalDateTime.parse(p.getText());
+            if (value != null) {
+                return value;
+            }
+        }
+        return (LocalDateTime) delegate.deserialize(p, ctxt);
+    }
+}
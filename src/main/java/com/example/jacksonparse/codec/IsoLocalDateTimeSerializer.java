@@ -0,0 +1,61 @@
+package com.example.jacksonparse.codec;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+
+/**
+ * Writes {@link LocalDateTime} values as ISO strings through {@link IsoLocalDateTime}, producing the same text as
+ * {@link LocalDateTimeSerializer} without going through a {@code DateTimeFormatter}. Values with a {@code @JsonFormat}
+ * pattern or shape, timestamps and years outside {@code 0000-9999} are written by {@link LocalDateTimeSerializer}.
+ */
+final class IsoLocalDateTimeSerializer extends StdScalarSerializer<LocalDateTime> implements ContextualSerializer {
+    private static final long serialVersionUID = 1L;
+
+    private final JsonSerializer<Object> delegate;
+
+    @SuppressWarnings("unchecked")
+    IsoLocalDateTimeSerializer() {
+        this((JsonSerializer<Object>) (JsonSerializer<?>) LocalDateTimeSerializer.INSTANCE);
+    }
+
+    private IsoLocalDateTimeSerializer(JsonSerializer<Object> delegate) {
+        super(LocalDateTime.class);
+        this.delegate = delegate;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property)
+            throws JsonMappingException {
+        JsonSerializer<?> contextual = LocalDateTimeSerializer.INSTANCE.createContextual(provider, property);
+        JsonFormat.Value format = findFormatOverrides(provider, property, LocalDateTime.class);
+        if (format.hasPattern() || format.hasShape()) {
+            return contextual;
+        }
+        return new IsoLocalDateTimeSerializer((JsonSerializer<Object>) contextual);
+    }
+
+    @Override
+    public void serialize(LocalDateTime value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (!provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+            char[] buf = new char[IsoLocalDateTime.MAX_LENGTH];
+            int len = IsoLocalDateTime.format(value, buf);
+            if (len > 0) {
+                gen.writeString(buf, 0, len);
+                return;
+            }
+        }
+        delegate.serialize(value, gen, provider);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.jacksonparse.codec;
+
+import com.example.jacksonparse.codec.InputLimitException.Limit;
+import com.fasterxml.jackson.core.StreamReadConstraints;
+
+/**
+ * {@link StreamReadConstraints} that report a crossed nesting depth or string length as an
+ * {@link InputLimitException}, so that it is answered and counted like the other {@code app.jackson.limits}. The
+ * parsers check them as they go: a nested object or array is refused when it is opened and a string once the characters
+ * read for it pass the limit. Property names are held to the string length.
+ */
+public final class LimitedReadConstraints extends StreamReadConstraints {
+    private static final long serialVersionUID = 1L;
+
+    public LimitedReadConstraints(int maxDepth, int maxStringLength) {
+        super(maxDepth, DEFAULT_MAX_DOC_LEN, DEFAULT_MAX_NUM_LEN, maxStringLength, maxStringLength,
+                DEFAULT_MAX_TOKEN_COUNT);
+    }
+
+    @Override
+    public void validateNestingDepth(int depth) throws InputLimitException {
+        if (depth > _maxNestingDepth) {
+            throw new InputLimitException(Limit.DEPTH, _maxNestingDepth);
+        }
+    }
+
+    @Override
+    public void validateStringLength(int length) throws InputLimitException {
+        if (length > _maxStringLen) {
+            throw new InputLimitException(Limit.STRING_LENGTH, _maxStringLen);
+        }
+    }
+
+    @Override
+    public void validateNameLength(int length) throws InputLimitException {
+        if (length > _maxNameLen) {
+            throw new InputLimitException(Limit.STRING_LENGTH, _maxNameLen);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.jacksonparse.codec;
+
+import com.example.jacksonparse.model.Address;
+import com.example.jacksonparse.model.Person;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+/**
+ * Registers dedicated, reflection-free serializers and deserializers for the model package. They replace the
+ * {@code BeanSerializer}/{@code BeanDeserializer} pair Jackson would otherwise build by introspecting the Lombok
+ * accessors, while producing and accepting the same JSON and XML. Unknown {@link Person} properties are kept raw as
+ * with {@link RawExtrasModule} when {@link ExtraLimits} are given, and read into maps and lists when they are
+ * {@code null}.
+ */
+public class ModelCodecModule extends SimpleModule {
+    private static final long serialVersionUID = 1L;
+
+    public ModelCodecModule(ExtraLimits rawExtras) {
+        super(ModelCodecModule.class.getSimpleName());
+        addSerializer(Person.class, new PersonSerializer());
+        addSerializer(Address.class, new AddressSerializer());
+        addDeserializer(Person.class, new PersonDeserializer(rawExtras));
+        addDeserializer(Address.class, new AddressDeserializer());
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.jacksonparse.codec;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.ValueInstantiator;
+import com.fasterxml.jackson.databind.deser.impl.NullsConstantProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.type.LogicalType;
+import com.fasterxml.jackson.dataformat.xml.deser.FromXmlParser;
+
+/**
+ * Base for the model deserializers: object start handling shared by JSON and XML, scalar coercions identical to the
+ * ones the bean deserializer applies, and {@link LocalDateTime} values through the deserializer the mapper has
+ * registered for them.
+ */
+abstract class ModelDeserializer<T> extends StdDeserializer<T> {
+    private static final long serialVersionUID = 1L;
+
+    protected final JsonDeserializer<Object> dateDeserializer;
+
+    protected ModelDeserializer(Class<T> type) {
+        super(type);
+        this.dateDeserializer = null;
+    }
+
+    protected ModelDeserializer(ModelDeserializer<T> src, DeserializationContext ctxt) throws JsonMappingException {
+        super(src);
+        this.dateDeserializer = ctxt.findRootValueDeserializer(ctxt.constructType(LocalDateTime.class));
+    }
+
+    protected abstract T newInstance();
+
+    @Override
+    public LogicalType logicalType() {
+        return LogicalType.POJO;
+    }
+
+    @Override
+    public Object getEmptyValue(DeserializationContext ctxt) {
+        return newInstance();
+    }
+
+    /**
+     * Describes the model types as default-constructible only, so that a non-empty string is reported as a
+     * mismatched input rather than a missing creator, as it is for the bean deserializer.
+     */
+    @Override
+    public ValueInstantiator getValueInstantiator() {
+        return new ValueInstantiator.Base(handledType()) {
+            @Override
+            public boolean canCreateUsingDefault() {
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Creates the value and fills it one property at a time through
+     * {@link #readProperty(JsonParser, DeserializationContext, Object, String)}. Strings are handled by
+     * {@link #_deserializeFromString(JsonParser, DeserializationContext)}, which coerces the empty string of an empty
+     * XML element to {@link #getEmptyValue} the same way the bean deserializer does; any other token is reported as
+     * unexpected.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        String name;
+        if (p.isExpectedStartObjectToken()) {
+            name = p.nextFieldName();
+        } else if (p.hasToken(JsonToken.FIELD_NAME)) {
+            name = p.currentName();
+        } else if (p.hasToken(JsonToken.VALUE_STRING)) {
+            return _deserializeFromString(p, ctxt);
+        } else {
+            return (T) ctxt.handleUnexpectedToken(getValueType(ctxt), p);
+        }
+        T value = newInstance();
+        p.assignCurrentValue(value);
+        for (; name != null; name = p.nextFieldName()) {
+            p.nextToken();
+            readProperty(p, ctxt, value, name);
+        }
+        return value;
+    }
+
+    /**
+     * Reads the value of the named property, with the parser positioned on its first token.
+     */
+    protected abstract void readProperty(JsonParser p, DeserializationContext ctxt, T value, String name)
+            throws IOException;
+
+    protected String readString(JsonParser p, DeserializationContext ctxt) throws IOException {
+        return p.hasToken(JsonToken.VALUE_NULL) ? null : _parseString(p, ctxt, NullsConstantProvider.nuller());
+    }
+
+    protected LocalDateTime readDate(JsonParser p, DeserializationContext ctxt) throws IOException {
+        return p.hasToken(JsonToken.VALUE_NULL) ? null : (LocalDateTime) dateDeserializer.deserialize(p, ctxt);
+    }
+
+    /**
+     * Tells whether {@code p} reads XML, looking through delegating parsers such as {@link ValidatingParser}.
+     */
+    protected static boolean isXml(JsonParser p) {
+        while (p instanceof JsonParserDelegate delegate) {
+            p = delegate.delegate();
+        }
+        return p instanceof FromXmlParser;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.jacksonparse.codec;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.dataformat.xml.ser.ToXmlGenerator;
+
+/**
+ * Base for the model serializers: null handling that follows the mapper's default property inclusion, XML attribute
+ * output and {@link LocalDateTime} values through the serializer the mapper has registered for them.
+ */
+abstract class ModelSerializer<T> extends StdSerializer<T> {
+    private static final long serialVersionUID = 1L;
+    private static final Set<JsonInclude.Include> NULL_INCLUSIONS = EnumSet.of(JsonInclude.Include.ALWAYS,
+            JsonInclude.Include.USE_DEFAULTS);
+
+    protected final boolean suppressNulls;
+    protected final JsonSerializer<Object> dateSerializer;
+
+    protected ModelSerializer(Class<T> type) {
+        super(type);
+        this.suppressNulls = false;
+        this.dateSerializer = null;
+    }
+
+    protected ModelSerializer(ModelSerializer<T> src, SerializerProvider provider) throws JsonMappingException {
+        super(src.handledType());
+        this.suppressNulls = !NULL_INCLUSIONS.contains(
+                provider.getConfig().getDefaultPropertyInclusion(src.handledType()).getValueInclusion());
+        this.dateSerializer = provider.findValueSerializer(LocalDateTime.class, null);
+    }
+
+    protected void writeAttribute(JsonGenerator gen, String name, String value) throws IOException {
+        if (value == null && suppressNulls) {
+            return;
+        }
+        if (gen instanceof ToXmlGenerator xmlGenerator) {
+            xmlGenerator.setNextIsAttribute(true);
+            gen.writeStringField(name, value);
+            xmlGenerator.setNextIsAttribute(false);
+        } else {
+            gen.writeStringField(name, value);
+        }
+    }
+
+    protected void writeString(JsonGenerator gen, String name, String value) throws IOException {
+        if (value != null || !suppressNulls) {
+            gen.writeStringField(name, value);
+        }
+    }
+
+    protected void writeDate(JsonGenerator gen, String name, LocalDateTime value, SerializerProvider provider)
+            throws IOException {
+        if (value != null) {
+            gen.writeFieldName(name);
+            dateSerializer.serialize(value, gen, provider);
+        } else if (!suppressNulls) {
+            gen.writeFieldName(name);
+            gen.writeNull();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.jacksonparse.codec;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.jacksonparse.model.Address;
+import com.example.jacksonparse.model.Person;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+
+/**
+ * Reads a {@link Person} with a direct switch over the property names. In JSON {@code addresses} is an array; in XML
+ * each repeated {@code <address>} element adds one entry, including elements that are not adjacent. Every other
+ * property goes to {@link Person#setExtra(String, Object)} through the mapper's untyped deserializer, as with
+ * {@code @JsonAnySetter}, or through an {@link ExtraValueDeserializer} when created with {@link ExtraLimits}.
+ */
+final class PersonDeserializer extends ModelDeserializer<Person> implements ContextualDeserializer {
+    private static final long serialVersionUID = 1L;
+    private static final JavaType ADDRESS_LIST = TypeFactory.defaultInstance().constructCollectionType(List.class,
+            Address.class);
+
+    private final JsonDeserializer<Object> longDeserializer;
+    private final JsonDeserializer<Object> addressDeserializer;
+    private final JsonDeserializer<Object> extraDeserializer;
+    private final ExtraLimits rawExtras;
+
+    PersonDeserializer(ExtraLimits rawExtras) {
+        super(Person.class);
+        this.rawExtras = rawExtras;
+        this.longDeserializer = null;
+        this.addressDeserializer = null;
+        this.extraDeserializer = null;
+    }
+
+    private PersonDeserializer(PersonDeserializer src, DeserializationContext ctxt) throws JsonMappingException {
+        super(src, ctxt);
+        this.longDeserializer = ctxt.findRootValueDeserializer(ctxt.constructType(Long.class));
+        this.addressDeserializer = ctxt.findRootValueDeserializer(ctxt.constructType(Address.class));
+        this.rawExtras = src.rawExtras;
+        this.extraDeserializer = rawExtras != null ? new ExtraValueDeserializer(rawExtras)
+                : ctxt.findRootValueDeserializer(ctxt.constructType(Object.class));
+    }
+
+    @Override
+    public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property)
+            throws JsonMappingException {
+        return new PersonDeserializer(this, ctxt);
+    }
+
+    @Override
+    protected Person newInstance() {
+        return new Person();
+    }
+
+    @Override
+    protected void readProperty(JsonParser p, DeserializationContext ctxt, Person person, String name)
+            throws IOException {
+        boolean xml = isXml(p);
+        switch (name) {
+        case "version" -> person.setVersion(readString(p, ctxt));
+        case "id" -> person.setId(readLong(p, ctxt));
+        case "name" -> person.setName(readString(p, ctxt));
+        case "email" -> person.setEmail(readString(p, ctxt));
+        case "birthDate" -> person.setBirthDate(readDate(p, ctxt));
+        case "registeredAt" -> person.setRegisteredAt(readDate(p, ctxt));
+        case "addresses" -> readAddressesOrExtra(p, ctxt, person, name, !xml);
+        case "address" -> readAddressesOrExtra(p, ctxt, person, name, xml);
+        default -> person.setExtra(name, readExtra(p, ctxt));
+        }
+    }
+
+    private Long readLong(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+            return p.getLongValue();
+        }
+        return token == JsonToken.VALUE_NULL ? null : (Long) longDeserializer.deserialize(p, ctxt);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readAddressesOrExtra(JsonParser p, DeserializationContext ctxt, Person person, String name,
+            boolean addresses) throws IOException {
+        if (!addresses) {
+            person.setExtra(name, readExtra(p, ctxt));
+            return;
+        }
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            person.setAddresses(null);
+            return;
+        }
+        List<Address> list = person.getAddresses() != null ? person.getAddresses() : new ArrayList<>();
+        if (token == JsonToken.START_ARRAY) {
+            while (p.nextToken() != JsonToken.END_ARRAY) {
+                list.add(readAddress(p, ctxt));
+            }
+        } else if (isXml(p)) {
+            list.add(readAddress(p, ctxt));
+        } else {
+            list = (List<Address>) ctxt.handleUnexpectedToken(ADDRESS_LIST, p);
+        }
+        person.setAddresses(list);
+    }
+
+    private Address readAddress(JsonParser p, DeserializationContext ctxt) throws IOException {
+        return p.hasToken(JsonToken.VALUE_NULL) ? null : (Address) addressDeserializer.deserialize(p, ctxt);
+    }
+
+    private Object readExtra(JsonParser p, DeserializationContext ctxt) throws IOException {
+        return p.hasToken(JsonToken.VALUE_NULL) ? null : extraDeserializer.deserialize(p, ctxt);
+    }
+}
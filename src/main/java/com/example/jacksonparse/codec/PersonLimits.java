@@ -0,0 +1,10 @@
+package com.example.jacksonparse.codec;
+
+/**
+ * Caps on the size of one {@code Person}: how many addresses and how many unknown properties it may have. They are
+ * checked as the properties are read, whatever the format and binding.
+ */
+public record PersonLimits(int maxAddresses, int maxExtras) {
+    /** No cap on either count. */
+    public static final PersonLimits NONE = new PersonLimits(Integer.MAX_VALUE, Integer.MAX_VALUE);
+}
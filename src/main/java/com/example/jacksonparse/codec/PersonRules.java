@@ -0,0 +1,96 @@
+package com.example.jacksonparse.codec;
+
+/**
+ * The validation rules for {@code Person} documents, written out as character checks rather than regular expressions
+ * so that they cost a single pass over a value and allocate nothing. A person needs an {@code id} and a
+ * {@code name} with at least one non-whitespace character; an {@code email}, when given, has to be a plain
+ * {@code local@domain} address, and an address {@code zipCode}, when given, a five-digit ZIP code or ZIP+4.
+ */
+public final class PersonRules {
+    static final String REQUIRED = "is required";
+    static final String BLANK = "must not be blank";
+    static final String EMAIL = "must be a valid email address";
+    static final String ZIP_CODE = "must be a 5-digit ZIP code or ZIP+4";
+
+    private static final int MAX_EMAIL = 254;
+    private static final int MAX_LOCAL_PART = 64;
+    private static final int MAX_LABEL = 63;
+    private static final String LOCAL_SPECIALS = "!#$%&'*+-/=?^_`{|}~";
+
+    private PersonRules() {
+    }
+
+    /**
+     * @return whether {@code text} holds a character other than whitespace
+     */
+    public static boolean hasText(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (!Character.isWhitespace(text.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Accepts a dot-atom local part of up to 64 characters, an {@code @} and a domain of at least two dot-separated
+     * labels of letters, digits and inner hyphens, up to 254 characters overall. Quoted local parts, comments and IP
+     * literals are not accepted.
+     */
+    public static boolean isEmail(String text) {
+        int at = text.indexOf('@');
+        if (at < 1 || at > MAX_LOCAL_PART || text.length() > MAX_EMAIL) {
+            return false;
+        }
+        char previous = '.';
+        for (int i = 0; i < at; i++) {
+            char c = text.charAt(i);
+            if (c == '.' ? previous == '.' : !isAlphanumeric(c) && LOCAL_SPECIALS.indexOf(c) < 0) {
+                return false;
+            }
+            previous = c;
+        }
+        if (previous == '.') {
+            return false;
+        }
+        int labels = 0;
+        int start = at + 1;
+        for (int i = start; i <= text.length(); i++) {
+            if (i < text.length() && text.charAt(i) != '.') {
+                char c = text.charAt(i);
+                if (!isAlphanumeric(c) && c != '-') {
+                    return false;
+                }
+                continue;
+            }
+            int length = i - start;
+            if (length == 0 || length > MAX_LABEL || text.charAt(start) == '-' || text.charAt(i - 1) == '-') {
+                return false;
+            }
+            labels++;
+            start = i + 1;
+        }
+        return labels >= 2;
+    }
+
+    /**
+     * Accepts five digits, optionally followed by a hyphen and four more.
+     */
+    public static boolean isZipCode(String text) {
+        int length = text.length();
+        if (length != 5 && (length != 10 || text.charAt(5) != '-')) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (i != 5 && (c < '0' || c > '9')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAlphanumeric(char c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9';
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.jacksonparse.codec;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import com.example.jacksonparse.model.Address;
+import com.example.jacksonparse.model.Person;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.dataformat.xml.ser.ToXmlGenerator;
+
+/**
+ * Writes a {@link Person} in the same property order as the bean serializer: {@code version} (an attribute in XML),
+ * the scalar properties, {@code addresses} (unwrapped, repeated {@code <address>} elements in XML) and finally the
+ * {@code extra} properties inline.
+ */
+final class PersonSerializer extends ModelSerializer<Person> implements ContextualSerializer {
+    private static final long serialVersionUID = 1L;
+
+    private final JsonSerializer<Object> addressSerializer;
+
+    PersonSerializer() {
+        super(Person.class);
+        this.addressSerializer = null;
+    }
+
+    private PersonSerializer(PersonSerializer src, SerializerProvider provider) throws JsonMappingException {
+        super(src, provider);
+        this.addressSerializer = provider.findValueSerializer(Address.class, null);
+    }
+
+    @Override
+    public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property)
+            throws JsonMappingException {
+        return new PersonSerializer(this, provider);
+    }
+
+    @Override
+    public void serialize(Person person, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(person);
+        writeAttribute(gen, "version", person.getVersion());
+        if (person.getId() != null) {
+            gen.writeNumberField("id", person.getId());
+        } else if (!suppressNulls) {
+            gen.writeNullField("id");
+        }
+        writeString(gen, "name", person.getName());
+        writeString(gen, "email", person.getEmail());
+        writeAddresses(gen, person.getAddresses(), provider);
+        writeDate(gen, "birthDate", person.getBirthDate(), provider);
+        writeDate(gen, "registeredAt", person.getRegisteredAt(), provider);
+        writeExtra(gen, person.extraProperties(), provider);
+        gen.writeEndObject();
+    }
+
+    private void writeAddresses(JsonGenerator gen, List<Address> addresses, SerializerProvider provider)
+            throws IOException {
+        String name = gen instanceof ToXmlGenerator ? "address" : "addresses";
+        if (addresses == null) {
+            if (!suppressNulls) {
+                gen.writeNullField(name);
+            }
+            return;
+        }
+        gen.writeFieldName(name);
+        gen.writeStartArray(addresses, addresses.size());
+        for (Address address : addresses) {
+            if (address == null) {
+                gen.writeNull();
+            } else {
+                addressSerializer.serialize(address, gen, provider);
+            }
+        }
+        gen.writeEndArray();
+    }
+
+    private void writeExtra(JsonGenerator gen, Map<String, Object> extra, SerializerProvider provider)
+            throws IOException {
+        for (Map.Entry<String, Object> entry : extra.entrySet()) {
+            if (entry.getValue() != null) {
+                provider.defaultSerializeField(entry.getKey(), entry.getValue(), gen);
+            } else if (!suppressNulls) {
+                gen.writeNullField(entry.getKey());
+            }
+        }
+    }
+}
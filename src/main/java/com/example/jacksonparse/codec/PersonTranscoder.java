@@ -0,0 +1,449 @@
+package com.example.jacksonparse.codec;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.xml.namespace.QName;
+
+import com.example.jacksonparse.model.Person;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.xml.deser.FromXmlParser;
+import com.fasterxml.jackson.dataformat.xml.ser.ToXmlGenerator;
+
+/**
+ * Checks a {@link Person} document in one pass over its tokens and, given a generator, copies it to JSON or XML
+ * without building a {@code Person}. The rules follow the model annotations: {@code version} and {@code primary} are
+ * written as attributes when they come before any element, the JSON {@code addresses} array maps to repeated
+ * {@code <address>} elements and every other property passes through as an extra.
+ * <p>
+ * Only documents in the plain shapes the bindings produce are accepted: strings for the text properties, integers (or
+ * their text) for {@code id}, booleans (or their text) for {@code primary}, ISO timestamps for the dates and no
+ * unknown {@code Address} properties. For anything else, including other coercions and extras that would not survive
+ * the change of format (JSON nulls going to XML, repeated XML names going to JSON), {@link #copy} returns
+ * {@code false} and the caller should bind the document instead. When validating, documents that break
+ * {@link PersonRules} are left to the binding as well, which reports every violation, and so are documents with more
+ * addresses or unknown properties than the {@link PersonLimits} allow. With raw extras, so are documents whose unknown
+ * properties exceed the {@link ExtraLimits}, counted as the raw binding counts them. Otherwise check-only calls skip
+ * over the extras without looking at their values.
+ */
+public class PersonTranscoder {
+    private static final QName PERSON = new QName("person");
+
+    private final boolean validate;
+    private final PersonLimits limits;
+    private final ExtraLimits rawExtras;
+
+    /**
+     * @param validate
+     *            whether the mappers validate {@code Person} documents
+     * @param limits
+     *            the limits on addresses and unknown properties the mappers enforce
+     * @param rawExtras
+     *            the limits on unknown properties the mappers enforce in {@code raw} mode, or {@code null} in
+     *            {@code map} mode
+     */
+    public PersonTranscoder(boolean validate, PersonLimits limits, ExtraLimits rawExtras) {
+        this.validate = validate;
+        this.limits = limits;
+        this.rawExtras = rawExtras;
+    }
+
+    /**
+     * Reads one {@code Person} document from {@code p}, which must not have been advanced yet.
+     *
+     * @param gen
+     *            where to copy the document to, or {@code null} to only check it
+     * @return whether the document was accepted; when {@code false}, {@code gen} may hold partial output
+     */
+    public boolean copy(JsonParser p, JsonGenerator gen) throws IOException {
+        return new Copy(p, gen, validate, limits, rawExtras).person();
+    }
+
+    private enum Group {
+        NONE, OPEN, CLOSED
+    }
+
+    private static final class Copy {
+        private final JsonParser p;
+        private final JsonGenerator out;
+        private final ToXmlGenerator xml;
+        private final boolean xmlIn;
+        private final boolean crossFormat;
+        private final boolean validate;
+        private final PersonLimits limits;
+        private final ExtraLimits rawExtras;
+        private final Set<String> extraNames = new HashSet<>();
+        private int addressCount;
+        private int extraCount;
+        private int extraSize;
+        private boolean elementWritten;
+        private boolean idGiven;
+        private boolean nameGiven;
+
+        Copy(JsonParser p, JsonGenerator out, boolean validate, PersonLimits limits, ExtraLimits rawExtras) {
+            this.p = p;
+            this.out = out;
+            this.validate = validate;
+            this.limits = limits;
+            this.rawExtras = rawExtras;
+            this.xml = out instanceof ToXmlGenerator generator ? generator : null;
+            this.xmlIn = p instanceof FromXmlParser;
+            this.crossFormat = out != null && xmlIn != (xml != null);
+        }
+
+        boolean person() throws IOException {
+            if (p.nextToken() != JsonToken.START_OBJECT) {
+                return false;
+            }
+            if (xml != null) {
+                xml.initGenerator();
+                xml.setNextName(PERSON);
+            }
+            startObject();
+            String addressName = xmlIn ? "address" : "addresses";
+            Group addresses = Group.NONE;
+            for (String name = p.nextFieldName(); name != null; name = p.nextFieldName()) {
+                JsonToken token = p.nextToken();
+                boolean address = name.equals(addressName);
+                if (addresses == Group.OPEN && !address) {
+                    endArray();
+                    addresses = Group.CLOSED;
+                }
+                boolean accepted;
+                if (address) {
+                    addresses = addresses(token, addresses);
+                    accepted = addresses != null;
+                } else {
+                    accepted = switch (name) {
+                    case "version" -> string(name, token, true);
+                    case "name", "email" -> valid(name, token) && string(name, token, false);
+                    case "id" -> valid(name, token) && id(token);
+                    case "birthDate", "registeredAt" -> date(name, token);
+                    default -> extra(name, token);
+                    };
+                }
+                if (!accepted) {
+                    return false;
+                }
+            }
+            if (addresses == Group.OPEN) {
+                endArray();
+            }
+            if (validate && !(idGiven && nameGiven)) {
+                return false;
+            }
+            endObject();
+            return p.nextToken() == null;
+        }
+
+        /**
+         * Reads the {@code addresses} array of a JSON document, or one {@code <address>} element of an XML one; the
+         * elements of an XML document must be adjacent, since the bindings disagree on how to merge separate groups.
+         *
+         * @return the state of the address group after reading, or {@code null} when the value is not accepted
+         */
+        private Group addresses(JsonToken token, Group group) throws IOException {
+            if (xmlIn) {
+                if (token != JsonToken.START_OBJECT || group == Group.CLOSED) {
+                    return null;
+                }
+                if (group == Group.NONE && out != null && xml == null) {
+                    out.writeFieldName("addresses");
+                    out.writeStartArray();
+                }
+                return address() ? Group.OPEN : null;
+            }
+            if (group != Group.NONE) {
+                return null;
+            }
+            if (token != JsonToken.START_ARRAY) {
+                return nullValue("addresses", token) ? Group.CLOSED : null;
+            }
+            if (out != null && xml == null) {
+                out.writeFieldName("addresses");
+                out.writeStartArray();
+            }
+            while ((token = p.nextToken()) != JsonToken.END_ARRAY) {
+                if (token != JsonToken.START_OBJECT || !address()) {
+                    return null;
+                }
+            }
+            endArray();
+            return Group.CLOSED;
+        }
+
+        private boolean address() throws IOException {
+            if (++addressCount > limits.maxAddresses()) {
+                return false;
+            }
+            if (xml != null) {
+                xml.writeFieldName("address");
+            }
+            startObject();
+            for (String name = p.nextFieldName(); name != null; name = p.nextFieldName()) {
+                JsonToken token = p.nextToken();
+                boolean accepted = switch (name) {
+                case "primary" -> bool(name, token);
+                case "street", "city" -> string(name, token, false);
+                case "zipCode" -> valid(name, token) && string(name, token, false);
+                case "createdAt", "updatedAt" -> date(name, token);
+                default -> false;
+                };
+                if (!accepted) {
+                    return false;
+                }
+            }
+            endObject();
+            elementWritten = true;
+            return true;
+        }
+
+        /**
+         * Applies {@link PersonRules} to a property when validating, and notes the required ones given.
+         */
+        private boolean valid(String name, JsonToken token) throws IOException {
+            if (!validate) {
+                return true;
+            }
+            String text = token == JsonToken.VALUE_STRING ? p.getText() : null;
+            return switch (name) {
+            case "id" -> {
+                idGiven = true;
+                yield token != JsonToken.VALUE_NULL;
+            }
+            case "name" -> {
+                nameGiven = true;
+                yield text != null && PersonRules.hasText(text);
+            }
+            case "email" -> text == null || PersonRules.isEmail(text);
+            default -> text == null || PersonRules.isZipCode(text);
+            };
+        }
+
+        private boolean string(String name, JsonToken token, boolean attribute) throws IOException {
+            if (token != JsonToken.VALUE_STRING) {
+                return nullValue(name, token);
+            }
+            if (out != null) {
+                boolean asAttribute = attribute && startAttribute();
+                out.writeStringField(name, p.getText());
+                endAttribute(asAttribute);
+            }
+            return true;
+        }
+
+        private boolean id(JsonToken token) throws IOException {
+            long id;
+            if (token == JsonToken.VALUE_NUMBER_INT && p.getNumberType() != JsonParser.NumberType.BIG_INTEGER) {
+                id = p.getLongValue();
+            } else if (token == JsonToken.VALUE_STRING && isLong(p.getText())) {
+                id = Long.parseLong(p.getText());
+            } else {
+                return nullValue("id", token);
+            }
+            if (out != null) {
+                out.writeNumberField("id", id);
+                elementWritten = true;
+            }
+            return true;
+        }
+
+        private boolean date(String name, JsonToken token) throws IOException {
+            if (token != JsonToken.VALUE_STRING) {
+                return nullValue(name, token);
+            }
+            if (IsoLocalDateTime.parse(p.getTextCharacters(), p.getTextOffset(), p.getTextLength()) == null) {
+                return false;
+            }
+            return string(name, token, false);
+        }
+
+        private boolean bool(String name, JsonToken token) throws IOException {
+            boolean value;
+            if (token.isBoolean()) {
+                value = token == JsonToken.VALUE_TRUE;
+            } else if (token == JsonToken.VALUE_STRING
+                    && (p.getText().equals("true") || p.getText().equals("false"))) {
+                value = p.getText().equals("true");
+            } else {
+                return false;
+            }
+            if (out != null) {
+                boolean asAttribute = startAttribute();
+                out.writeBooleanField(name, value);
+                endAttribute(asAttribute);
+            }
+            return true;
+        }
+
+        /**
+         * Accepts a {@code null}, which is written as {@code null} to JSON and left out of XML like the mapper's
+         * {@code NON_NULL} inclusion does.
+         */
+        private boolean nullValue(String name, JsonToken token) throws IOException {
+            if (token != JsonToken.VALUE_NULL) {
+                return false;
+            }
+            if (out != null && xml == null) {
+                out.writeNullField(name);
+            }
+            return true;
+        }
+
+        private boolean extra(String name, JsonToken token) throws IOException {
+            if (++extraCount > limits.maxExtras() || rawExtras != null && extraCount > rawExtras.maxCount()) {
+                return false;
+            }
+            extraSize = name.length();
+            if (token.isScalarValue() && !withinRawLimits(0, p.getTextLength())) {
+                return false;
+            }
+            if (out == null) {
+                return skipExtra(token);
+            }
+            if (crossFormat && (name.equals(xmlIn ? "addresses" : "address") || xmlIn && !extraNames.add(name))) {
+                return false;
+            }
+            out.writeFieldName(name);
+            elementWritten = true;
+            return value(token, 0);
+        }
+
+        /**
+         * Skips over an extra without copying it, walking its tokens when it is an object or array kept raw.
+         */
+        private boolean skipExtra(JsonToken token) throws IOException {
+            if (rawExtras == null || !token.isStructStart()) {
+                p.skipChildren();
+                return true;
+            }
+            for (int depth = 0;; token = p.nextToken()) {
+                if (token.isStructStart()) {
+                    depth++;
+                } else if (token.isStructEnd()) {
+                    depth--;
+                }
+                int size = token == JsonToken.FIELD_NAME ? p.currentName().length()
+                        : token.isScalarValue() ? p.getTextLength() : 1;
+                if (!withinRawLimits(depth, size)) {
+                    return false;
+                }
+                if (depth == 0) {
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * Adds to the size of the current extra and checks it, and the depth of a structure in it, against the
+         * {@link ExtraLimits}. Like the raw binding, the name of the extra and every name and scalar in it count their
+         * length, and every start and end token inside it one.
+         */
+        private boolean withinRawLimits(int depth, int size) {
+            extraSize += size;
+            return rawExtras == null || depth <= rawExtras.maxDepth() && extraSize <= rawExtras.maxBytes();
+        }
+
+        /**
+         * @param depth
+         *            how many objects and arrays of the extra enclose the value
+         */
+        private boolean value(JsonToken token, int depth) throws IOException {
+            if (depth > 0 && token.isScalarValue() && !withinRawLimits(depth, p.getTextLength())) {
+                return false;
+            }
+            switch (token) {
+            case START_OBJECT -> {
+                if (!withinRawLimits(depth + 1, 2)) {
+                    return false;
+                }
+                out.writeStartObject();
+                Set<String> names = crossFormat && xmlIn ? new HashSet<>() : null;
+                for (String name = p.nextFieldName(); name != null; name = p.nextFieldName()) {
+                    if (names != null && !names.add(name) || !withinRawLimits(depth + 1, name.length())) {
+                        return false;
+                    }
+                    out.writeFieldName(name);
+                    if (!value(p.nextToken(), depth + 1)) {
+                        return false;
+                    }
+                }
+                out.writeEndObject();
+            }
+            case START_ARRAY -> {
+                if (!withinRawLimits(depth + 1, 2)) {
+                    return false;
+                }
+                out.writeStartArray();
+                while ((token = p.nextToken()) != JsonToken.END_ARRAY) {
+                    if (!value(token, depth + 1)) {
+                        return false;
+                    }
+                }
+                out.writeEndArray();
+            }
+            case VALUE_NULL -> {
+                if (crossFormat && xml != null) {
+                    return false;
+                }
+                out.writeNull();
+            }
+            case VALUE_NUMBER_FLOAT -> out.writeNumber(p.getDoubleValue());
+            default -> out.copyCurrentEvent(p);
+            }
+            return true;
+        }
+
+        private boolean startAttribute() {
+            if (xml == null || elementWritten) {
+                return false;
+            }
+            xml.setNextIsAttribute(true);
+            return true;
+        }
+
+        private void endAttribute(boolean attribute) {
+            if (attribute) {
+                xml.setNextIsAttribute(false);
+            } else {
+                elementWritten = true;
+            }
+        }
+
+        private void startObject() throws IOException {
+            elementWritten = false;
+            if (out != null) {
+                out.writeStartObject();
+            }
+        }
+
+        private void endObject() throws IOException {
+            if (out != null) {
+                out.writeEndObject();
+            }
+        }
+
+        private void endArray() throws IOException {
+            if (out != null && xml == null) {
+                out.writeEndArray();
+            }
+        }
+
+        private static boolean isLong(String text) {
+            int start = text.startsWith("-") ? 1 : 0;
+            int length = text.length() - start;
+            if (length == 0 || length > 18) {
+                return false;
+            }
+            for (int i = start; i < text.length(); i++) {
+                if (text.charAt(i) < '0' || text.charAt(i) > '9') {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
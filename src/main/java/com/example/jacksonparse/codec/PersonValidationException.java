@@ -0,0 +1,48 @@
+package com.example.jacksonparse.codec;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonMappingException;
+
+/**
+ * Reports a {@code Person} document that breaks {@link PersonRules}, with every violation found in it. Being a
+ * {@link JsonMappingException}, it takes the same paths as a binding failure: a {@code 400} answer for a request
+ * body and a rejected record in a bulk upload.
+ */
+public class PersonValidationException extends JsonMappingException {
+    private static final long serialVersionUID = 1L;
+
+    private final transient List<Violation> violations;
+
+    PersonValidationException(JsonParser p, List<Violation> violations) {
+        super(p, violations.stream().map(Violation::toString)
+                .collect(Collectors.joining("; ", "Invalid person: ", "")));
+        this.violations = List.copyOf(violations);
+    }
+
+    /**
+     * @return the violations in document order, except for missing properties, which come last
+     */
+    public List<Violation> getViolations() {
+        return violations;
+    }
+
+    /**
+     * One broken rule.
+     *
+     * @param location
+     *            the offending property as a JSON Pointer for JSON, Smile and CBOR documents, such as
+     *            {@code /addresses/1/zipCode}, or as an XPath for XML ones, such as
+     *            {@code /person/address[2]/zipCode}
+     * @param message
+     *            what the rule requires
+     */
+    public record Violation(String location, String message) {
+        @Override
+        public String toString() {
+            return location + " " + message;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.jacksonparse.codec;
+
+import com.example.jacksonparse.model.Person;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerBase;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.xml.deser.WrapperHandlingDeserializer;
+
+/**
+ * Checks every {@link Person} the mapper reads against {@link PersonRules} and {@link PersonLimits} while it is being
+ * bound, whichever binding is configured. Its deserializer reads through a {@link ValidatingParser}, so a violation
+ * stops the binding at the offending token; the rest of the document is then only scanned for further violations, and
+ * a {@link PersonValidationException} reports them all. A crossed limit stops the reading with an
+ * {@link InputLimitException}.
+ */
+public class PersonValidationModule extends SimpleModule {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * @param xml
+     *            whether the module is for an {@code XmlMapper}, whose documents are located by XPath
+     * @param rules
+     *            whether to check {@link PersonRules}, or only the limits
+     * @param limits
+     *            the limits on addresses and unknown properties
+     */
+    public PersonValidationModule(boolean xml, boolean rules, PersonLimits limits) {
+        super(PersonValidationModule.class.getSimpleName());
+        setDeserializerModifier(new BeanDeserializerModifier() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public JsonDeserializer<?> modifyDeserializer(DeserializationConfig config, BeanDescription beanDesc,
+                    JsonDeserializer<?> deserializer) {
+                if (beanDesc.getBeanClass() != Person.class) {
+                    return deserializer;
+                }
+                // The XML module runs after this modifier and only wraps bean deserializers it sees directly, so the
+                // handling of unwrapped <address> lists is added here
+                if (xml && deserializer instanceof BeanDeserializerBase bean) {
+                    deserializer = new WrapperHandlingDeserializer(bean);
+                }
+                return new ValidatingDeserializer(deserializer, xml, rules, limits);
+            }
+        });
+    }
+}
@@ -0,0 +1,275 @@
+package com.example.jacksonparse.codec;
+
+import java.io.ByteArrayInputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.springframework.util.StringUtils;
+
+import com.example.jacksonparse.model.Address;
+import com.example.jacksonparse.model.Person;
+
+/**
+ * Reads a {@link Person} XML document straight off a StAX cursor, without the token stream that
+ * {@code FromXmlParser} derives from the XML and without a deserializer on top of it. The XML shape of the model is
+ * fixed here: {@code version}, {@code id}, {@code name}, {@code email}, {@code birthDate} and {@code registeredAt} as
+ * attributes or text elements, unwrapped {@code <address>} elements collected into the address list as they are read,
+ * and every other attribute or text element as an extra holding its text.
+ * <p>
+ * Only documents that every binding reads alike are accepted; for anything else, including malformed XML,
+ * {@link #read} returns {@code null} and the caller should bind the document with the XML mapper, which then applies
+ * its coercions and error reporting. That covers nested unknown elements, non-adjacent {@code <address>} groups (which
+ * the bindings collect differently), namespaced attributes such as {@code xsi:nil}, values the mapper would coerce,
+ * such as {@code +1} or {@code True}, unknown properties beyond the raw-mode count limit and documents beyond the
+ * {@link PersonLimits}, which the mapper reports as input limit errors. When validating, it also
+ * covers documents that break {@link PersonRules}: the reader stops at the first violation and leaves the mapper to
+ * report all of them.
+ */
+public final class PersonXmlReader {
+    private static final NotAccepted NOT_ACCEPTED = new NotAccepted();
+
+    private final XMLInputFactory inputFactory;
+    private final ExtraLimits rawExtras;
+    private final boolean validate;
+    private final PersonLimits limits;
+
+    /**
+     * @param inputFactory
+     *            the factory of the XML mapper, so that both read documents under the same settings
+     * @param rawExtras
+     *            the limits of the mapper's raw-mode extras, or {@code null} in map mode
+     * @param validate
+     *            whether the mapper validates {@code Person} documents
+     * @param limits
+     *            the limits on addresses and unknown properties the mapper enforces
+     */
+    public PersonXmlReader(XMLInputFactory inputFactory, ExtraLimits rawExtras, boolean validate,
+            PersonLimits limits) {
+        this.inputFactory = inputFactory;
+        this.rawExtras = rawExtras;
+        this.validate = validate;
+        this.limits = limits;
+    }
+
+    /**
+     * Reads one UTF-8 {@code Person} document.
+     *
+     * @return the person, or {@code null} if the document has to be bound with the XML mapper instead
+     */
+    public Person read(byte[] body) {
+        try {
+            XMLStreamReader reader = inputFactory.createXMLStreamReader(new ByteArrayInputStream(body));
+            try {
+                return readPerson(reader);
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException | NotAccepted e) {
+            return null;
+        }
+    }
+
+    private Person readPerson(XMLStreamReader reader) throws XMLStreamException, NotAccepted {
+        reader.nextTag();
+        Person person = new Person();
+        int extras = 0;
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            if (StringUtils.hasLength(reader.getAttributeNamespace(i))) {
+                throw NOT_ACCEPTED;
+            }
+            if (setProperty(person, reader.getAttributeLocalName(i), reader.getAttributeValue(i))) {
+                extras = countExtra(extras);
+            }
+        }
+        List<Address> addresses = null;
+        boolean inAddresses = false;
+        for (int event = reader.nextTag(); event == XMLStreamConstants.START_ELEMENT; event = reader.nextTag()) {
+            String name = reader.getLocalName();
+            if (!name.equals("address")) {
+                inAddresses = false;
+                if (setProperty(person, name, readText(reader))) {
+                    extras = countExtra(extras);
+                }
+                continue;
+            }
+            if (addresses == null) {
+                addresses = new ArrayList<>();
+                person.setAddresses(addresses);
+            } else if (!inAddresses) {
+                throw NOT_ACCEPTED;
+            }
+            if (addresses.size() >= limits.maxAddresses()) {
+                throw NOT_ACCEPTED;
+            }
+            addresses.add(readAddress(reader));
+            inAddresses = true;
+        }
+        check(person.getId() != null && person.getName() != null);
+        return person;
+    }
+
+    /**
+     * @return whether {@code name} is an unknown property, held as an extra
+     */
+    private boolean setProperty(Person person, String name, String text) throws NotAccepted {
+        switch (name) {
+        case "version" -> person.setVersion(text);
+        case "id" -> {
+            person.setId(parseLong(text));
+            check(person.getId() != null);
+        }
+        case "name" -> {
+            check(PersonRules.hasText(text));
+            person.setName(text);
+        }
+        case "email" -> {
+            check(PersonRules.isEmail(text));
+            person.setEmail(text);
+        }
+        case "birthDate" -> person.setBirthDate(parseDate(text));
+        case "registeredAt" -> person.setRegisteredAt(parseDate(text));
+        case "address" -> throw NOT_ACCEPTED;
+        default -> {
+            if (rawExtras != null && person.extraProperties().size() >= rawExtras.maxCount()) {
+                throw NOT_ACCEPTED;
+            }
+            person.setExtra(name, text);
+            return true;
+        }
+        }
+        return false;
+    }
+
+    /**
+     * Counts an unknown property like the mapper does, each occurrence of a repeated name included.
+     */
+    private int countExtra(int extras) throws NotAccepted {
+        if (extras >= limits.maxExtras()) {
+            throw NOT_ACCEPTED;
+        }
+        return extras + 1;
+    }
+
+    private Address readAddress(XMLStreamReader reader) throws XMLStreamException, NotAccepted {
+        Address address = new Address();
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            if (StringUtils.hasLength(reader.getAttributeNamespace(i))) {
+                throw NOT_ACCEPTED;
+            }
+            setProperty(address, reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+        }
+        for (int event = reader.nextTag(); event == XMLStreamConstants.START_ELEMENT; event = reader.nextTag()) {
+            setProperty(address, reader.getLocalName(), readText(reader));
+        }
+        return address;
+    }
+
+    private void setProperty(Address address, String name, String text) throws NotAccepted {
+        switch (name) {
+        case "primary" -> address.setPrimary(parseBoolean(text));
+        case "street" -> address.setStreet(text);
+        case "city" -> address.setCity(text);
+        case "zipCode" -> {
+            check(PersonRules.isZipCode(text));
+            address.setZipCode(text);
+        }
+        case "createdAt" -> address.setCreatedAt(parseDate(text));
+        case "updatedAt" -> address.setUpdatedAt(parseDate(text));
+        default -> throw NOT_ACCEPTED;
+        }
+    }
+
+    private void check(boolean valid) throws NotAccepted {
+        if (validate && !valid) {
+            throw NOT_ACCEPTED;
+        }
+    }
+
+    /**
+     * Reads the text of the element at the cursor, skipping comments and processing instructions like the mapper
+     * does, and leaves the cursor at its end tag. Elements with attributes or child elements are not accepted.
+     */
+    private static String readText(XMLStreamReader reader) throws XMLStreamException, NotAccepted {
+        if (reader.getAttributeCount() > 0) {
+            throw NOT_ACCEPTED;
+        }
+        String text = "";
+        StringBuilder builder = null;
+        for (int event = reader.next(); event != XMLStreamConstants.END_ELEMENT; event = reader.next()) {
+            switch (event) {
+            case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA -> {
+                if (builder != null) {
+                    builder.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                } else if (text.isEmpty()) {
+                    text = reader.getText();
+                } else {
+                    builder = new StringBuilder(text).append(reader.getText());
+                }
+            }
+            case XMLStreamConstants.COMMENT, XMLStreamConstants.PROCESSING_INSTRUCTION -> {
+            }
+            default -> throw NOT_ACCEPTED;
+            }
+        }
+        return builder != null ? builder.toString() : text;
+    }
+
+    /** Parses an optionally negative run of up to 18 digits; an empty element reads as {@code null}. */
+    private static Long parseLong(String text) throws NotAccepted {
+        if (text.isEmpty()) {
+            return null;
+        }
+        int start = text.charAt(0) == '-' ? 1 : 0;
+        int digits = text.length() - start;
+        if (digits == 0 || digits > 18) {
+            throw NOT_ACCEPTED;
+        }
+        for (int i = start; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                throw NOT_ACCEPTED;
+            }
+        }
+        return Long.parseLong(text);
+    }
+
+    private static boolean parseBoolean(String text) throws NotAccepted {
+        if (text.equals("true")) {
+            return true;
+        }
+        if (text.equals("false")) {
+            return false;
+        }
+        throw NOT_ACCEPTED;
+    }
+
+    /** Parses an ISO timestamp through {@link IsoLocalDateTime}; an empty element reads as {@code null}. */
+    private static LocalDateTime parseDate(String text) throws NotAccepted {
+        if (text.isEmpty()) {
+            return null;
+        }
+        LocalDateTime value = IsoLocalDateTime.parse(text);
+        if (value == null) {
+            throw NOT_ACCEPTED;
+        }
+        return value;
+    }
+
+    /**
+     * Signals a document outside the accepted shape. A single instance without a stack trace is thrown, since this is
+     * not an error but the way back to the mapper.
+     */
+    private static final class NotAccepted extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        NotAccepted() {
+            super(null, null, false, false);
+        }
+    }
+}
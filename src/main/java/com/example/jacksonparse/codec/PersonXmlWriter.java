@@ -0,0 +1,204 @@
+package com.example.jacksonparse.codec;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+
+import org.codehaus.stax2.XMLStreamWriter2;
+import org.codehaus.stax2.ri.Stax2WriterAdapter;
+import org.springframework.util.StreamUtils;
+
+import com.example.jacksonparse.model.Address;
+import com.example.jacksonparse.model.Person;
+
+/**
+ * Writes a {@link Person} as XML straight to a StAX writer, without {@code ToXmlGenerator} and the serializers in
+ * front of it, producing the same bytes as the XML mapper: the {@code version} and {@code primary} attributes,
+ * unwrapped {@code <address>} elements, null properties left out, and the unknown properties last, with lists written
+ * as repeated elements and null map entries left out. Element names are written as given, without the generator's
+ * name handling or a pretty printer, and the StAX writer flushes its buffer to the target as it fills up. The writer
+ * is closed completely, over a stream that ignores the close, so that Woodstox returns its buffers to its per-thread
+ * pool like it does for the mapper's generators.
+ * <p>
+ * Only people whose unknown properties hold the values Jackson's untyped deserializer produces (strings, booleans,
+ * numbers, maps with string keys and lists) are {@link #accepts accepted}; raw extras and any other value should be
+ * written with the XML mapper.
+ */
+public final class PersonXmlWriter {
+    private final XMLOutputFactory outputFactory;
+
+    /**
+     * @param outputFactory
+     *            the factory of the XML mapper, so that both escape and close elements the same way
+     */
+    public PersonXmlWriter(XMLOutputFactory outputFactory) {
+        this.outputFactory = outputFactory;
+    }
+
+    /**
+     * Returns whether {@link #write} produces the XML mapper's output for {@code person}.
+     */
+    public boolean accepts(Person person) {
+        for (Object value : person.extraProperties().values()) {
+            if (!accepts(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean accepts(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (!(entry.getKey() instanceof String) || !accepts(entry.getValue())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (value instanceof List<?> list) {
+            for (Object item : list) {
+                if (!accepts(item)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return value == null || value instanceof String || value instanceof Boolean || value instanceof Integer
+                || value instanceof Long || value instanceof Double || value instanceof BigInteger
+                || value instanceof BigDecimal;
+    }
+
+    /**
+     * Writes {@code person}, which must be {@link #accepts accepted}, to {@code out} in UTF-8. The stream is flushed
+     * but not closed.
+     */
+    public void write(Person person, OutputStream out) throws XMLStreamException {
+        XMLStreamWriter2 writer = Stax2WriterAdapter.wrapIfNecessary(
+                outputFactory.createXMLStreamWriter(StreamUtils.nonClosing(out), "UTF-8"));
+        writer.writeStartElement("person");
+        if (person.getVersion() != null) {
+            writer.writeAttribute("version", person.getVersion());
+        }
+        if (person.getId() != null) {
+            writer.writeStartElement("id");
+            writer.writeLong(person.getId());
+            writer.writeEndElement();
+        }
+        writeText(writer, "name", person.getName());
+        writeText(writer, "email", person.getEmail());
+        if (person.getAddresses() != null) {
+            for (Address address : person.getAddresses()) {
+                writeAddress(writer, address);
+            }
+        }
+        writeDate(writer, "birthDate", person.getBirthDate());
+        writeDate(writer, "registeredAt", person.getRegisteredAt());
+        for (Map.Entry<String, Object> entry : person.extraProperties().entrySet()) {
+            writeProperty(writer, entry.getKey(), entry.getValue());
+        }
+        writer.writeEndElement();
+        writer.writeEndDocument();
+        writer.closeCompletely();
+    }
+
+    private static void writeAddress(XMLStreamWriter2 writer, Address address) throws XMLStreamException {
+        if (address == null) {
+            writer.writeEmptyElement("address");
+            return;
+        }
+        writer.writeStartElement("address");
+        writer.writeBooleanAttribute(null, "", "primary", address.isPrimary());
+        writeText(writer, "street", address.getStreet());
+        writeText(writer, "city", address.getCity());
+        writeText(writer, "zipCode", address.getZipCode());
+        writeDate(writer, "createdAt", address.getCreatedAt());
+        writeDate(writer, "updatedAt", address.getUpdatedAt());
+        writer.writeEndElement();
+    }
+
+    private static void writeText(XMLStreamWriter2 writer, String name, String value) throws XMLStreamException {
+        if (value != null) {
+            writer.writeStartElement(name);
+            writer.writeCharacters(value);
+            writer.writeEndElement();
+        }
+    }
+
+    /**
+     * Writes a date like {@code IsoLocalDateTimeSerializer} and {@code JavaTimeModule} do, which agree on the text.
+     */
+    private static void writeDate(XMLStreamWriter2 writer, String name, LocalDateTime value)
+            throws XMLStreamException {
+        if (value == null) {
+            return;
+        }
+        writer.writeStartElement(name);
+        char[] buf = new char[IsoLocalDateTime.MAX_LENGTH];
+        int len = IsoLocalDateTime.format(value, buf);
+        if (len > 0) {
+            writer.writeCharacters(buf, 0, len);
+        } else {
+            writer.writeCharacters(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+        }
+        writer.writeEndElement();
+    }
+
+    /** Writes a property of a person or map; null values are left out, as the mapper's inclusion does. */
+    private static void writeProperty(XMLStreamWriter2 writer, String name, Object value) throws XMLStreamException {
+        if (value != null) {
+            writeElement(writer, name, value);
+        }
+    }
+
+    /**
+     * Writes {@code value} as an element named {@code name}: a list as one element per item, nested lists included,
+     * a null item as an empty element and a map as nested elements.
+     */
+    private static void writeElement(XMLStreamWriter2 writer, String name, Object value) throws XMLStreamException {
+        if (value instanceof List<?> list) {
+            for (Object item : list) {
+                writeElement(writer, name, item);
+            }
+            return;
+        }
+        if (value == null) {
+            writer.writeEmptyElement(name);
+            return;
+        }
+        writer.writeStartElement(name);
+        if (value instanceof Map<?, ?> map) {
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeProperty(writer, (String) entry.getKey(), entry.getValue());
+            }
+        } else {
+            writeScalar(writer, value);
+        }
+        writer.writeEndElement();
+    }
+
+    private static void writeScalar(XMLStreamWriter2 writer, Object value) throws XMLStreamException {
+        if (value instanceof String text) {
+            writer.writeCharacters(text);
+        } else if (value instanceof Boolean bool) {
+            writer.writeBoolean(bool);
+        } else if (value instanceof Integer number) {
+            writer.writeInt(number);
+        } else if (value instanceof Long number) {
+            writer.writeLong(number);
+        } else if (value instanceof Double number) {
+            writer.writeDouble(number);
+        } else if (value instanceof BigInteger number) {
+            writer.writeInteger(number);
+        } else {
+            writer.writeDecimal((BigDecimal) value);
+        }
+    }
+}
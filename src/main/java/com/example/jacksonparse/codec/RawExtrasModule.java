@@ -0,0 +1,36 @@
+package com.example.jacksonparse.codec;
+
+import com.example.jacksonparse.model.Person;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerBuilder;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.deser.SettableAnyProperty;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+/**
+ * Makes the bean deserializer of {@link Person} keep unknown properties raw, by giving its {@code @JsonAnySetter} an
+ * {@link ExtraValueDeserializer}. {@link ModelCodecModule} does the same for the dedicated deserializer when created
+ * with {@link ExtraLimits}.
+ */
+public class RawExtrasModule extends SimpleModule {
+    private static final long serialVersionUID = 1L;
+
+    public RawExtrasModule(ExtraLimits limits) {
+        super(RawExtrasModule.class.getSimpleName());
+        setDeserializerModifier(new BeanDeserializerModifier() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public BeanDeserializerBuilder updateBuilder(DeserializationConfig config, BeanDescription beanDesc,
+                    BeanDeserializerBuilder builder) {
+                if (beanDesc.getBeanClass() == Person.class) {
+                    SettableAnyProperty anySetter = builder.getAnySetter();
+                    builder.setAnySetter(null);
+                    builder.setAnySetter(anySetter.withValueDeserializer(new ExtraValueDeserializer(limits)));
+                }
+                return builder;
+            }
+        });
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.jacksonparse.codec;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.deser.std.DelegatingDeserializer;
+
+/**
+ * Binds a {@code Person} with the configured deserializer reading through a {@link ValidatingParser}.
+ */
+final class ValidatingDeserializer extends DelegatingDeserializer {
+    private static final long serialVersionUID = 1L;
+
+    private final boolean xml;
+    private final boolean rules;
+    private final PersonLimits limits;
+
+    ValidatingDeserializer(JsonDeserializer<?> delegatee, boolean xml, boolean rules, PersonLimits limits) {
+        super(delegatee);
+        this.xml = xml;
+        this.rules = rules;
+        this.limits = limits;
+    }
+
+    @Override
+    protected JsonDeserializer<?> newDelegatingInstance(JsonDeserializer<?> newDelegatee) {
+        return new ValidatingDeserializer(newDelegatee, xml, rules, limits);
+    }
+
+    @Override
+    public Object deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        ValidatingParser parser = new ValidatingParser(p, xml, rules, limits);
+        Object person = null;
+        try {
+            person = _delegatee.deserialize(parser, ctxt);
+        } catch (PersonValidationException e) {
+            // The first violation; finish() reads on to report the others
+        }
+        parser.finish();
+        return person;
+    }
+}
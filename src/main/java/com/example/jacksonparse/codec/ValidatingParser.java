@@ -0,0 +1,278 @@
+package com.example.jacksonparse.codec;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.jacksonparse.codec.InputLimitException.Limit;
+import com.example.jacksonparse.codec.PersonValidationException.Violation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.JsonTokenId;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
+
+/**
+ * Checks the tokens of one {@code Person} against {@link PersonRules} and {@link PersonLimits} as a deserializer pulls
+ * them. Only the nesting, the current property names and the numbers of addresses and unknown properties are tracked,
+ * so the cost per token is a switch and the checked values are read as text the deserializer reads anyway.
+ * <p>
+ * The first violation is thrown from {@link #nextToken()}, which stops the binding at that token. {@link #finish()}
+ * then reads the rest of the person without binding it, collects any further violations, adds missing properties and
+ * throws them all together. A crossed limit is thrown right away as an {@link InputLimitException}, even while
+ * scanning, so that nothing more of the person is read.
+ */
+final class ValidatingParser extends JsonParserDelegate {
+    private final boolean xml;
+    private final boolean rules;
+    private final PersonLimits limits;
+    private final List<Violation> violations = new ArrayList<>(2);
+    private boolean failed;
+    private boolean id;
+    private boolean name;
+
+    /** Nesting within the person, 1 for its properties and 0 once it has ended. */
+    private int depth;
+    private String property;
+    /** Depth of the properties of the address being read, 0 outside of one. */
+    private int addressDepth;
+    /** Depth of the elements of the address array being read, 0 outside of one. */
+    private int arrayDepth;
+    private int addressCount;
+    private int extraCount;
+    private String addressProperty;
+    /** Whether the last token opened an XML {@code <address>}, which the XML module may turn into an array. */
+    private boolean addressOpened;
+
+    /**
+     * @param p
+     *            the parser positioned on the first token of the person
+     * @param xml
+     *            whether to report XPath rather than JSON Pointer locations, and to count {@code <address>} elements
+     *            rather than array elements
+     * @param rules
+     *            whether to check {@link PersonRules}, or only the limits
+     * @param limits
+     *            the limits on addresses and unknown properties
+     */
+    ValidatingParser(JsonParser p, boolean xml, boolean rules, PersonLimits limits) throws IOException {
+        super(p);
+        this.xml = xml;
+        this.rules = rules;
+        this.limits = limits;
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.FIELD_NAME) {
+            depth = 1;
+            property(p.currentName());
+        } else if (token == JsonToken.START_OBJECT) {
+            depth = 1;
+        }
+    }
+
+    @Override
+    public JsonToken nextToken() throws IOException {
+        JsonToken token = delegate.nextToken();
+        if (depth > 0 && token != null) {
+            observe(token);
+        }
+        return token;
+    }
+
+    @Override
+    public JsonToken nextValue() throws IOException {
+        JsonToken token = nextToken();
+        return token == JsonToken.FIELD_NAME ? nextToken() : token;
+    }
+
+    @Override
+    public JsonParser skipChildren() throws IOException {
+        JsonToken current = delegate.currentToken();
+        if (current != JsonToken.START_OBJECT && current != JsonToken.START_ARRAY) {
+            return this;
+        }
+        for (int open = 1; open > 0;) {
+            JsonToken token = nextToken();
+            if (token == null) {
+                break;
+            }
+            open += token.isStructStart() ? 1 : token.isStructEnd() ? -1 : 0;
+        }
+        return this;
+    }
+
+    /**
+     * Follows the XML module when a deserializer has it read an {@code <address>} as the virtual array of a group of
+     * them.
+     */
+    @Override
+    public boolean isExpectedStartArrayToken() {
+        boolean array = delegate.isExpectedStartArrayToken();
+        if (array && addressOpened) {
+            addressOpened = false;
+            group();
+        }
+        return array;
+    }
+
+    /**
+     * Reads what is left of the person after a violation, then checks that the required properties were given.
+     *
+     * @throws PersonValidationException
+     *             listing every violation, if there is any
+     */
+    void finish() throws IOException {
+        failed = true;
+        while (depth > 0 && nextToken() != null) {
+            // Only observed
+        }
+        if (!rules) {
+            return;
+        }
+        if (!id) {
+            violations.add(new Violation(location("id"), PersonRules.REQUIRED));
+        }
+        if (!name) {
+            violations.add(new Violation(location("name"), PersonRules.REQUIRED));
+        }
+        if (!violations.isEmpty()) {
+            throw new PersonValidationException(delegate, violations);
+        }
+    }
+
+    private void observe(JsonToken token) throws IOException {
+        addressOpened = false;
+        switch (token.id()) {
+        case JsonTokenId.ID_START_OBJECT, JsonTokenId.ID_START_ARRAY -> start(token);
+        case JsonTokenId.ID_END_OBJECT, JsonTokenId.ID_END_ARRAY -> {
+            if (depth == addressDepth) {
+                addressDepth = 0;
+            } else if (depth == arrayDepth) {
+                arrayDepth = 0;
+            }
+            depth--;
+        }
+        case JsonTokenId.ID_FIELD_NAME -> {
+            if (depth == 1) {
+                property(delegate.currentName());
+            } else if (depth == addressDepth) {
+                addressProperty = delegate.currentName();
+                if (xml && depth == 2 && addressProperty.equals("address")) {
+                    // Scanning after a violation: the virtual group is not turned into an array but read as an
+                    // object holding the <address> elements
+                    group();
+                }
+            }
+        }
+        default -> value(token);
+        }
+    }
+
+    private void start(JsonToken token) throws InputLimitException {
+        depth++;
+        if (depth == 2 && isAddresses()) {
+            if (token == JsonToken.START_ARRAY) {
+                arrayDepth = depth;
+                addressCount = 0;
+            } else if (xml) {
+                countAddress();
+                addressDepth = depth;
+                addressOpened = true;
+            }
+        } else if (arrayDepth > 0 && depth == arrayDepth + 1) {
+            countAddress();
+            addressDepth = token == JsonToken.START_OBJECT ? depth : 0;
+        }
+    }
+
+    private void value(JsonToken token) throws IOException {
+        if (depth == 1) {
+            switch (property) {
+            case "id" -> {
+                id = true;
+                if (rules && !hasText(token)) {
+                    violation(location("id"), PersonRules.REQUIRED);
+                }
+            }
+            case "name" -> {
+                name = true;
+                if (rules && !hasText(token)) {
+                    violation(location("name"), PersonRules.BLANK);
+                }
+            }
+            case "email" -> {
+                if (rules && token != JsonToken.VALUE_NULL && !PersonRules.isEmail(delegate.getText())) {
+                    violation(location("email"), PersonRules.EMAIL);
+                }
+            }
+            default -> {
+                if (xml && isAddresses()) {
+                    countAddress();
+                }
+            }
+            }
+        } else if (depth == addressDepth) {
+            if (rules && "zipCode".equals(addressProperty) && token != JsonToken.VALUE_NULL
+                    && !PersonRules.isZipCode(delegate.getText())) {
+                violation(addressLocation(), PersonRules.ZIP_CODE);
+            }
+        } else if (depth == arrayDepth) {
+            countAddress();
+        }
+    }
+
+    /**
+     * Takes the name of a property of the person and counts it if it is unknown.
+     */
+    private void property(String name) throws InputLimitException {
+        property = name;
+        switch (name) {
+        case "id", "name", "email", "version", "birthDate", "registeredAt" -> {
+        }
+        default -> {
+            if (!isAddresses() && ++extraCount > limits.maxExtras()) {
+                throw new InputLimitException(Limit.EXTRAS, limits.maxExtras());
+            }
+        }
+        }
+    }
+
+    private void countAddress() throws InputLimitException {
+        if (++addressCount > limits.maxAddresses()) {
+            throw new InputLimitException(Limit.ADDRESSES, limits.maxAddresses());
+        }
+    }
+
+    private boolean hasText(JsonToken token) throws IOException {
+        return token != JsonToken.VALUE_NULL && (token != JsonToken.VALUE_STRING
+                || PersonRules.hasText(delegate.getText()));
+    }
+
+    private void violation(String location, String message) throws PersonValidationException {
+        violations.add(new Violation(location, message));
+        if (!failed) {
+            failed = true;
+            throw new PersonValidationException(delegate, violations);
+        }
+    }
+
+    /**
+     * Takes the XML address just opened for the group of {@code <address>} elements the XML module wraps it in.
+     */
+    private void group() {
+        addressDepth = 0;
+        addressCount--;
+        arrayDepth = depth;
+    }
+
+    private boolean isAddresses() {
+        return property.equals(xml ? "address" : "addresses");
+    }
+
+    private String location(String property) {
+        return (xml ? "/person/" : "/") + property;
+    }
+
+    private String addressLocation() {
+        return (xml ? "/person/address[" + addressCount + "]/" : "/addresses/" + (addressCount - 1) + "/")
+                + addressProperty;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.jacksonparse.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.example.jacksonparse.controller.AccessLog;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Registers {@link AccessLog} for the single-person endpoint, so that it knows when each request reached its handler.
+ */
+@Configuration
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class AccessLogConfig implements WebMvcConfigurer {
+    private final AccessLog accessLog;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(accessLog).addPathPatterns("/api/person");
+    }
+}
@@ -0,0 +1,308 @@
+package com.example.jacksonparse.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.example.jacksonparse.model.Person;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Meters the bodies read and written by the MVC Jackson converters:
+ * <ul>
+ * <li>{@code http.body.read} and {@code http.body.write}: time to read a body (Jackson parses and binds in a single
+ * pass, so this covers both) and to write one</li>
+ * <li>{@code http.body.read.bytes} and {@code http.body.write.bytes}: body sizes</li>
+ * <li>{@code person.addresses} and {@code person.extras}: addresses and unknown properties per {@link Person}</li>
+ * </ul>
+ * The body meters are tagged with the request's {@code content.type}, its {@code accept} type and the
+ * {@code outcome}; the {@code Person} ones with the {@code direction} and {@code format}. Each meter is registered on
+ * first use and then looked up by index, and the byte-counting wrappers around the bodies are reused per thread, so
+ * recording allocates nothing once warmed up.
+ */
+public class BodyMetrics {
+    private static final Format[] FORMATS = Format.values();
+
+    private final Direction reads;
+    private final Direction writes;
+    private final ThreadLocal<CountingInputMessage> inputs = ThreadLocal.withInitial(CountingInputMessage::new);
+    private final ThreadLocal<CountingOutputMessage> outputs = ThreadLocal.withInitial(CountingOutputMessage::new);
+
+    public BodyMetrics(MeterRegistry registry) {
+        this.reads = new Direction(registry, "read");
+        this.writes = new Direction(registry, "write");
+    }
+
+    /**
+     * Starts timing the read of a request body in {@code format}; the returned message must be read in its place and
+     * passed to {@link #endRead}.
+     */
+    CountingInputMessage startRead(Format format, HttpInputMessage message) {
+        CountingInputMessage counting = inputs.get();
+        counting.start(message, format, Format.of(requestHeader(HttpHeaders.ACCEPT)));
+        return counting;
+    }
+
+    /**
+     * @param body
+     *            the value read, or {@code null} when reading failed
+     */
+    void endRead(CountingInputMessage counting, Object body) {
+        reads.record(counting.contentType, counting.accept, body != null, counting.stream.count,
+                System.nanoTime() - counting.startNanos, body);
+        counting.clear();
+    }
+
+    /**
+     * Starts timing the write of a response body in {@code format}; the returned message must be written in its place
+     * and passed to {@link #endWrite}.
+     */
+    CountingOutputMessage startWrite(Format format, HttpOutputMessage message) {
+        CountingOutputMessage counting = outputs.get();
+        counting.start(message, Format.of(requestHeader(HttpHeaders.CONTENT_TYPE)), format);
+        return counting;
+    }
+
+    void endWrite(CountingOutputMessage counting, Object body, boolean written) {
+        writes.record(counting.contentType, counting.accept, written, counting.stream.count,
+                System.nanoTime() - counting.startNanos, body);
+        counting.clear();
+    }
+
+    /**
+     * Reads a header of the current request from the servlet request rather than from {@link HttpHeaders}, whose
+     * case-insensitive lookup allocates a lower-cased copy of the name on every call.
+     */
+    private static String requestHeader(String name) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes servlet ? servlet.getRequest().getHeader(name) : null;
+    }
+
+    /**
+     * Coarse media type of a {@code Content-Type} or {@code Accept} header, which keeps the tag values bounded.
+     */
+    enum Format {
+        JSON, XML, SMILE, CBOR, OTHER, NONE;
+
+        private static final Format[] NAMED = { JSON, XML, SMILE, CBOR };
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+
+        /**
+         * @return the format whose name occurs in the header, {@link #OTHER} if none or several do
+         */
+        static Format of(String header) {
+            if (header == null || header.isEmpty()) {
+                return NONE;
+            }
+            Format found = OTHER;
+            for (Format format : NAMED) {
+                if (header.contains(format.tag)) {
+                    if (found != OTHER) {
+                        return OTHER;
+                    }
+                    found = format;
+                }
+            }
+            return found;
+        }
+    }
+
+    /**
+     * The meters of one direction, indexed by content type, accept type and outcome. The meters of a slot are
+     * published together in one holder, so a thread never sees half of them; two threads that fill the same slot at
+     * once get the same meters back from the registry.
+     */
+    private static final class Direction {
+        private final MeterRegistry registry;
+        private final String name;
+        private final AtomicReferenceArray<BodyMeters> bodies = new AtomicReferenceArray<>(
+                FORMATS.length * FORMATS.length * 2);
+        private final AtomicReferenceArray<PersonMeters> persons = new AtomicReferenceArray<>(FORMATS.length);
+
+        Direction(MeterRegistry registry, String name) {
+            this.registry = registry;
+            this.name = name;
+        }
+
+        void record(Format contentType, Format accept, boolean success, long size, long nanos, Object body) {
+            int i = (contentType.ordinal() * FORMATS.length + accept.ordinal()) * 2 + (success ? 1 : 0);
+            BodyMeters meters = bodies.get(i);
+            if (meters == null) {
+                String[] tags = { "content.type", contentType.tag, "accept", accept.tag, "outcome",
+                        success ? "success" : "failure" };
+                meters = new BodyMeters(Timer.builder("http.body." + name).tags(tags).register(registry),
+                        DistributionSummary.builder("http.body." + name + ".bytes").baseUnit("bytes").tags(tags)
+                                .register(registry));
+                bodies.set(i, meters);
+            }
+            meters.timer().record(nanos, TimeUnit.NANOSECONDS);
+            meters.bytes().record(size);
+            if (success && body instanceof Person person) {
+                Format format = name.equals("read") ? contentType : accept;
+                PersonMeters personMeters = persons.get(format.ordinal());
+                if (personMeters == null) {
+                    personMeters = new PersonMeters(summary("person.addresses", format),
+                            summary("person.extras", format));
+                    persons.set(format.ordinal(), personMeters);
+                }
+                personMeters.addresses().record(person.getAddresses() != null ? person.getAddresses().size() : 0);
+                personMeters.extras().record(person.extraProperties().size());
+            }
+        }
+
+        private DistributionSummary summary(String metric, Format format) {
+            return DistributionSummary.builder(metric).tags("direction", name, "format", format.tag)
+                    .register(registry);
+        }
+    }
+
+    private record BodyMeters(Timer timer, DistributionSummary bytes) {
+    }
+
+    private record PersonMeters(DistributionSummary addresses, DistributionSummary extras) {
+    }
+
+    /**
+     * Per-thread {@link HttpInputMessage} that counts the bytes read from the body of the message it stands in for.
+     */
+    static final class CountingInputMessage implements HttpInputMessage {
+        private final CountingInputStream stream = new CountingInputStream();
+        private HttpInputMessage message;
+        private Format contentType;
+        private Format accept;
+        private long startNanos;
+
+        void start(HttpInputMessage message, Format contentType, Format accept) {
+            this.message = message;
+            this.contentType = contentType;
+            this.accept = accept;
+            stream.in = null;
+            stream.count = 0;
+            startNanos = System.nanoTime();
+        }
+
+        void clear() {
+            message = null;
+            stream.in = null;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return message.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            stream.in = message.getBody();
+            return stream;
+        }
+    }
+
+    /**
+     * Per-thread {@link HttpOutputMessage} that counts the bytes written to the body of the message it stands in for.
+     */
+    static final class CountingOutputMessage implements HttpOutputMessage {
+        private final CountingOutputStream stream = new CountingOutputStream();
+        private HttpOutputMessage message;
+        private Format contentType;
+        private Format accept;
+        private long startNanos;
+
+        void start(HttpOutputMessage message, Format contentType, Format accept) {
+            this.message = message;
+            this.contentType = contentType;
+            this.accept = accept;
+            stream.out = null;
+            stream.count = 0;
+            startNanos = System.nanoTime();
+        }
+
+        void clear() {
+            message = null;
+            stream.out = null;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return message.getHeaders();
+        }
+
+        @Override
+        public OutputStream getBody() throws IOException {
+            stream.out = message.getBody();
+            return stream;
+        }
+    }
+
+    private static final class CountingInputStream extends InputStream {
+        private InputStream in;
+        private long count;
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = in.read(b, off, len);
+            count += Math.max(n, 0);
+            return n;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return in.available();
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private OutputStream out;
+        private long count;
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+}
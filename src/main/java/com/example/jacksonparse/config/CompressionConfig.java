@@ -0,0 +1,22 @@
+package com.example.jacksonparse.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.jacksonparse.service.BufferPool;
+
+/**
+ * Buffers for bodies that are built in memory before they are sent, such as compressed and transcoded responses.
+ */
+@Configuration
+@EnableConfigurationProperties(CompressionProperties.class)
+public class CompressionConfig {
+    /**
+     * Segments of 8 KiB, of which up to 256 (2 MiB) are kept when idle.
+     */
+    @Bean
+    public BufferPool bufferPool() {
+        return new BufferPool(8 * 1024, 256);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.jacksonparse.config;
+
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.http.MediaType;
+import org.springframework.util.unit.DataSize;
+
+import com.example.jacksonparse.codec.ContentEncoding;
+
+import lombok.Data;
+
+/**
+ * Request and response body compression, bound from {@code app.compression.*}.
+ */
+@Data
+@ConfigurationProperties("app.compression")
+public class CompressionProperties {
+    /**
+     * Whether compressed request bodies are accepted and responses are compressed. Off by default.
+     */
+    private boolean enabled;
+
+    /**
+     * The codings used, in order of preference when a client accepts several. Codings whose library is missing are
+     * skipped.
+     */
+    private List<ContentEncoding> encodings = List.of(ContentEncoding.ZSTD, ContentEncoding.GZIP);
+
+    /**
+     * Smallest response body that is compressed; smaller ones are sent as they are, with their length.
+     */
+    private DataSize minResponseSize = DataSize.ofKilobytes(2);
+
+    /**
+     * Response types that are compressed.
+     */
+    private List<MediaType> mimeTypes = List.of(MediaType.APPLICATION_JSON, MediaType.valueOf("application/*+json"),
+            MediaType.APPLICATION_XML, MediaType.valueOf("application/*+xml"), MediaType.valueOf("text/*"));
+}
@@ -0,0 +1,99 @@
+package com.example.jacksonparse.config;
+
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.xml.MappingJackson2XmlHttpMessageConverter;
+
+import com.example.jacksonparse.codec.PersonXmlReader;
+import com.example.jacksonparse.codec.PersonXmlWriter;
+import com.example.jacksonparse.config.BodyMetrics.Format;
+import com.example.jacksonparse.config.MapperProperties.XmlStreamMode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Registers the MVC Jackson converters explicitly so that request and response bodies go through the
+ * {@link JacksonConfig} mappers. Without this, Boot builds its own {@link XmlMapper} for the XML converter, with its
+ * own configuration and cold serializer caches. The Smile and CBOR converters, which Boot does not register, let
+ * service-to-service callers exchange the same documents in a binary format. XML {@code Person} bodies are read by
+ * {@link PersonXmlReader} and written by {@link PersonXmlWriter} unless {@code app.jackson.xml-reader} or
+ * {@code xml-writer} is {@code mapper}. All converters report to {@link BodyMetrics}.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class HttpMessageConverterConfig {
+    @Bean
+    public BodyMetrics bodyMetrics(MeterRegistry registry) {
+        return new BodyMetrics(registry);
+    }
+
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper,
+            BodyMetrics bodyMetrics) {
+        return new MeteredJsonHttpMessageConverter(objectMapper, bodyMetrics);
+    }
+
+    @Bean
+    public MappingJackson2XmlHttpMessageConverter mappingJackson2XmlHttpMessageConverter(XmlMapper xmlMapper,
+            BodyMetrics bodyMetrics, MapperProperties properties, PersonXmlReader personXmlReader,
+            PersonXmlWriter personXmlWriter) {
+        return new MeteredXmlHttpMessageConverter(xmlMapper, bodyMetrics,
+                properties.getXmlReader() == XmlStreamMode.STAX ? personXmlReader : null,
+                properties.getXmlWriter() == XmlStreamMode.STAX ? personXmlWriter : null);
+    }
+
+    @Bean
+    public AbstractJackson2HttpMessageConverter mappingJackson2SmileHttpMessageConverter(SmileMapper smileMapper,
+            BodyMetrics bodyMetrics) {
+        return new MeteredBinaryHttpMessageConverter(Format.SMILE, smileMapper, bodyMetrics);
+    }
+
+    @Bean
+    public AbstractJackson2HttpMessageConverter mappingJackson2CborHttpMessageConverter(CBORMapper cborMapper,
+            BodyMetrics bodyMetrics) {
+        return new MeteredBinaryHttpMessageConverter(Format.CBOR, cborMapper, bodyMetrics);
+    }
+
+    /**
+     * Combines the converter beans with the MVC defaults like Boot does, but drops the default Jackson converters that
+     * Boot would otherwise keep behind ours as fallbacks, each with a mapper of its own. Boot only puts a bean in the
+     * place of a default converter of its class, so the binary converters, which share one class, are moved to the
+     * places of the default Smile and CBOR converters here rather than staying ahead of the JSON one.
+     */
+    @Bean
+    public HttpMessageConverters messageConverters(ObjectProvider<HttpMessageConverter<?>> converters) {
+        List<HttpMessageConverter<?>> configured = converters.orderedStream().toList();
+        List<HttpMessageConverter<?>> binary = configured.stream()
+                .filter(MeteredBinaryHttpMessageConverter.class::isInstance).toList();
+        return new HttpMessageConverters(configured) {
+            @Override
+            protected List<HttpMessageConverter<?>> postProcessConverters(List<HttpMessageConverter<?>> combined) {
+                combined.removeAll(binary);
+                combined.replaceAll(converter -> converter instanceof AbstractJackson2HttpMessageConverter
+                        && !configured.contains(converter) ? replacement(converter, binary) : converter);
+                combined.removeIf(Objects::isNull);
+                return combined;
+            }
+        };
+    }
+
+    private static HttpMessageConverter<?> replacement(HttpMessageConverter<?> converter,
+            List<HttpMessageConverter<?>> binary) {
+        return binary.stream()
+                .filter(candidate -> candidate.getSupportedMediaTypes().equals(converter.getSupportedMediaTypes()))
+                .findFirst().orElse(null);
+    }
+}
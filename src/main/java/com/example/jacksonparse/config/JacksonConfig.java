@@ -1,30 +1,205 @@
 package com.example.jacksonparse.config;
 
+import javax.xml.stream.XMLInputFactory;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.context.annotation.Primary;
 
+import com.ctc.wstx.api.WstxInputProperties;
+import com.ctc.wstx.stax.WstxInputFactory;
+import com.ctc.wstx.stax.WstxOutputFactory;
+import com.example.jacksonparse.codec.ExtraLimits;
+import com.example.jacksonparse.codec.IsoDateTimeModule;
+import com.example.jacksonparse.codec.LimitedReadConstraints;
+import com.example.jacksonparse.codec.ModelCodecModule;
+import com.example.jacksonparse.codec.PersonLimits;
+import com.example.jacksonparse.codec.PersonTranscoder;
+import com.example.jacksonparse.codec.PersonValidationModule;
+import com.example.jacksonparse.codec.PersonXmlReader;
+import com.example.jacksonparse.codec.PersonXmlWriter;
+import com.example.jacksonparse.codec.RawExtrasModule;
+import com.example.jacksonparse.config.MapperProperties.ExtrasMode;
+import com.example.jacksonparse.config.MapperProperties.Limits;
+import com.example.jacksonparse.service.PersonFileTranscoder;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.StreamReadConstraints;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.cfg.MapperBuilder;
 import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlFactory;
 import com.fasterxml.jackson.dataformat.xml.XmlMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+import lombok.RequiredArgsConstructor;
 
 @Configuration
+@RequiredArgsConstructor
+@EnableConfigurationProperties(MapperProperties.class)
+@ImportRuntimeHints(ModelRuntimeHints.class)
 public class JacksonConfig {
+    /**
+     * Media type of Smile bodies, for which {@code MediaType} has no constant.
+     */
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    private final MapperProperties properties;
+
     @Bean
     @Primary
     public ObjectMapper objectMapper() {
-        return JsonMapper.builder().addModule(new JavaTimeModule())
-                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
-                .enable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES).build();
+        return configure(JsonMapper.builder(JsonFactory.builder().streamReadConstraints(constraints()).build()))
+                .build();
     }
 
+    /**
+     * XML mapper used by the MVC XML converter as well as directly. Null values are omitted, as they were when the
+     * converter used Boot's builder with {@code spring.jackson.default-property-inclusion: non_null}; an empty element
+     * would otherwise read back as an empty string.
+     */
     @Bean
     public XmlMapper xmlMapper() {
-        return XmlMapper.builder().addModule(new JavaTimeModule())
-                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
-                .enable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES).build();
+        return configure(XmlMapper.builder(xmlFactory(properties.getLimits())))
+                .serializationInclusion(JsonInclude.Include.NON_NULL).build();
+    }
+
+    /**
+     * Smile mapper for {@value #APPLICATION_SMILE_VALUE} bodies, with the same settings and
+     * model binding as the JSON mapper. Smile writes each property name once per document and refers back to it after
+     * that, which suits repeated {@code Address} objects.
+     */
+    @Bean
+    public SmileMapper smileMapper() {
+        return configure(SmileMapper.builder(SmileFactory.builder().streamReadConstraints(constraints()).build()))
+                .build();
+    }
+
+    /**
+     * CBOR mapper for {@code application/cbor} bodies, with the same settings and model binding as the JSON mapper.
+     */
+    @Bean
+    public CBORMapper cborMapper() {
+        return configure(CBORMapper.builder(CBORFactory.builder().streamReadConstraints(constraints()).build()))
+                .build();
+    }
+
+    /**
+     * Token-level JSON/XML converter for {@code Person} documents, following the same model, validation rules and limits
+     * as the two mappers.
+     */
+    @Bean
+    public PersonTranscoder personTranscoder() {
+        return new PersonTranscoder(properties.isValidation(), properties.getLimits().person(), rawExtras());
+    }
+
+    /**
+     * Converter of {@code Person} files, with JSON and XML mappers and a transcoder of its own. It reads files rather
+     * than request bodies, so it keeps the other settings of {@link MapperProperties} but none of its limits.
+     */
+    @Bean
+    public PersonFileTranscoder personFileTranscoder() {
+        JacksonConfig files = new JacksonConfig(properties.withoutLimits());
+        return new PersonFileTranscoder(files.objectMapper(), files.xmlMapper(), files.personTranscoder());
+    }
+
+    /**
+     * StAX reader for XML {@code Person} bodies, reading under the XML mapper's input factory, limits and validation
+     * and falling back to the mapper for documents outside its shape.
+     */
+    @Bean
+    public PersonXmlReader personXmlReader(XmlMapper xmlMapper) {
+        return new PersonXmlReader(xmlMapper.getFactory().getXMLInputFactory(), rawExtras(),
+                properties.isValidation(), properties.getLimits().person());
+    }
+
+    /**
+     * StAX writer for XML {@code Person} bodies, writing through the XML mapper's output factory the same bytes as the
+     * mapper.
+     */
+    @Bean
+    public PersonXmlWriter personXmlWriter(XmlMapper xmlMapper) {
+        return new PersonXmlWriter(xmlMapper.getFactory().getXMLOutputFactory());
+    }
+
+    /**
+     * Applies the settings shared by all mappers, including the {@code LocalDateTime} codec, the model binding, the
+     * handling of unknown properties, the validation and the person limits selected by {@link MapperProperties}.
+     */
+    private <M extends ObjectMapper, B extends MapperBuilder<M, B>> B configure(B builder) {
+        builder.addModule(new JavaTimeModule()).disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .enable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        if (properties.isDateCodec()) {
+            builder.addModule(new IsoDateTimeModule());
+        }
+        ExtraLimits rawExtras = rawExtras();
+        if (rawExtras != null) {
+            builder.addModule(new RawExtrasModule(rawExtras));
+        }
+        switch (properties.getBinding()) {
+        case BLACKBIRD -> builder.addModule(new BlackbirdModule());
+        case CODEC -> builder.addModule(new ModelCodecModule(rawExtras));
+        default -> {
+        }
+        }
+        PersonLimits limits = properties.getLimits().person();
+        if (properties.isValidation() || !limits.equals(PersonLimits.NONE)) {
+            builder.addModule(new PersonValidationModule(builder instanceof XmlMapper.Builder,
+                    properties.isValidation(), limits));
+        }
+        return builder;
+    }
+
+    /**
+     * Returns the constraints on nesting and string length that the JSON, Smile and CBOR parsers check as they read.
+     */
+    private StreamReadConstraints constraints() {
+        Limits limits = properties.getLimits();
+        return new LimitedReadConstraints(limits.getMaxDepth(), limits.getMaxStringLength());
+    }
+
+    /**
+     * Returns the limits on unknown properties in {@code raw} mode, or {@code null} in {@code map} mode.
+     */
+    private ExtraLimits rawExtras() {
+        return properties.getExtras().getMode() == ExtrasMode.RAW ? properties.getExtras().limits() : null;
+    }
+
+    /**
+     * Creates the single Woodstox-backed factory shared by every XML parser and generator of the mapper. The StAX
+     * factories are created and tuned once: DTDs and external entities are disabled, ID uniqueness checks are skipped,
+     * namespace URIs are interned and the input buffer is enlarged. Writer-side attribute and content validation is
+     * skipped since Jackson only emits escaped text; name validation stays on because extra property names come from
+     * the client.
+     * <p>
+     * The XML parser does not check Jackson's {@link StreamReadConstraints}, so the limits on nesting, text and
+     * attributes are set on Woodstox, which checks them as it reads.
+     */
+    static XmlFactory xmlFactory(Limits limits) {
+        WstxInputFactory inputFactory = new WstxInputFactory();
+        inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        inputFactory.getConfig().doXmlIdUniqChecks(false);
+        inputFactory.getConfig().doInternNsURIs(true);
+        inputFactory.getConfig().setInputBufferLength(8000);
+        inputFactory.setProperty(WstxInputProperties.P_MAX_ELEMENT_DEPTH, limits.getMaxDepth());
+        inputFactory.setProperty(WstxInputProperties.P_MAX_TEXT_LENGTH, limits.getMaxStringLength());
+        inputFactory.setProperty(WstxInputProperties.P_MAX_ATTRIBUTE_SIZE, limits.getMaxStringLength());
+        inputFactory.setProperty(WstxInputProperties.P_MAX_ATTRIBUTES_PER_ELEMENT, limits.getMaxAttributes());
+
+        WstxOutputFactory outputFactory = new WstxOutputFactory();
+        outputFactory.getConfig().doValidateAttributes(false);
+        outputFactory.getConfig().doValidateContent(false);
+
+        return XmlFactory.builder().xmlInputFactory(inputFactory).xmlOutputFactory(outputFactory).build();
     }
 }
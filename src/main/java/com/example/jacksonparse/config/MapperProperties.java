@@ -0,0 +1,149 @@
+package com.example.jacksonparse.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import com.example.jacksonparse.codec.ExtraLimits;
+import com.example.jacksonparse.codec.PersonLimits;
+import com.fasterxml.jackson.core.StreamReadConstraints;
+
+import lombok.Data;
+
+/**
+ * Tuning of the {@link JacksonConfig} mappers, bound from {@code app.jackson.*}.
+ */
+@Data
+@ConfigurationProperties("app.jackson")
+public class MapperProperties {
+    /**
+     * How {@code Person} and {@code Address} are bound.
+     */
+    private BindingMode binding = BindingMode.BEAN;
+
+    /**
+     * Whether {@code LocalDateTime} values are read and written by {@code IsoDateTimeModule} instead of
+     * {@code JavaTimeModule}'s formatter. The wire format is the same either way.
+     */
+    private boolean dateCodec = true;
+
+    /**
+     * Whether {@code Person} documents are checked against {@code PersonRules} as they are read, by every mapper, the
+     * StAX reader and the transcoder. Off unless configured, so that mappers built by hand bind any document;
+     * {@code application.yml} turns it on for the service.
+     */
+    private boolean validation;
+
+    /**
+     * How {@code Person} XML request bodies are read.
+     */
+    private XmlStreamMode xmlReader = XmlStreamMode.STAX;
+
+    /**
+     * How {@code Person} XML response bodies are written.
+     */
+    private XmlStreamMode xmlWriter = XmlStreamMode.STAX;
+
+    /**
+     * How the unknown properties of a {@code Person} are held.
+     */
+    private Extras extras = new Extras();
+
+    @Data
+    public static class Extras {
+        private ExtrasMode mode = ExtrasMode.MAP;
+
+        /** Maximum number of unknown properties per person, applied in {@code raw} mode. */
+        private int maxCount = 256;
+
+        /** Maximum nesting of objects and arrays within one unknown property, applied in {@code raw} mode. */
+        private int maxDepth = 16;
+
+        /** Maximum characters of names and values within one unknown property, applied in {@code raw} mode. */
+        private int maxBytes = 64 * 1024;
+
+        public ExtraLimits limits() {
+            return new ExtraLimits(maxCount, maxDepth, maxBytes);
+        }
+    }
+
+    /**
+     * Caps on the request bodies the mappers read, checked while they are read.
+     */
+    private Limits limits = new Limits();
+
+    /**
+     * The caps on request bodies. The defaults are those of Jackson and Woodstox, with no cap on the person counts, so
+     * that mappers built by hand read what they did before; {@code application.yml} sets the service's limits.
+     */
+    @Data
+    public static class Limits {
+        /** Maximum bytes of a request body, after decompression; the bulk endpoint streams and is not capped. */
+        private DataSize maxBodySize = DataSize.ofMegabytes(1);
+
+        /** Maximum bytes of a batch request body, which is read into memory before it is bound. */
+        private DataSize maxBatchBodySize = DataSize.ofMegabytes(64);
+
+        /** Maximum nesting of objects and arrays, or of XML elements. */
+        private int maxDepth = StreamReadConstraints.DEFAULT_MAX_DEPTH;
+
+        /** Maximum characters of a string, property name, XML text or attribute value. */
+        private int maxStringLength = StreamReadConstraints.DEFAULT_MAX_STRING_LEN;
+
+        /** Maximum attributes of an XML element. */
+        private int maxAttributes = 1000;
+
+        /** Maximum addresses of a person. */
+        private int maxAddresses = Integer.MAX_VALUE;
+
+        /** Maximum unknown properties of a person, in every extras mode. */
+        private int maxExtras = Integer.MAX_VALUE;
+
+        public PersonLimits person() {
+            return new PersonLimits(maxAddresses, maxExtras);
+        }
+    }
+
+    /**
+     * Returns a copy of these properties with the default {@link Limits}, which cap no person counts, and no caps on
+     * unknown properties, for mappers that read files the application was given rather than request bodies.
+     */
+    public MapperProperties withoutLimits() {
+        MapperProperties copy = new MapperProperties();
+        copy.setBinding(binding);
+        copy.setDateCodec(dateCodec);
+        copy.setValidation(validation);
+        copy.setXmlReader(xmlReader);
+        copy.setXmlWriter(xmlWriter);
+        copy.getExtras().setMode(extras.getMode());
+        copy.getExtras().setMaxCount(Integer.MAX_VALUE);
+        copy.getExtras().setMaxDepth(Integer.MAX_VALUE);
+        copy.getExtras().setMaxBytes(Integer.MAX_VALUE);
+        return copy;
+    }
+
+    public enum BindingMode {
+        /** Jackson's reflective bean serializers and deserializers, built from the model annotations. */
+        BEAN,
+        /** The bean serializers and deserializers with LambdaMetafactory-generated accessors from Blackbird. */
+        BLACKBIRD,
+        /** The dedicated serializers and deserializers of {@code ModelCodecModule}. */
+        CODEC
+    }
+
+    public enum XmlStreamMode {
+        /** The XML mapper, through {@code FromXmlParser} or {@code ToXmlGenerator} and the configured binding. */
+        MAPPER,
+        /**
+         * {@code PersonXmlReader} or {@code PersonXmlWriter} directly on StAX, with the XML mapper for documents
+         * outside their shape.
+         */
+        STAX
+    }
+
+    public enum ExtrasMode {
+        /** Maps, lists and boxed scalars built by Jackson's untyped deserializer. */
+        MAP,
+        /** Objects and arrays kept as token buffers, materialized when {@code Person.getExtra()} is called. */
+        RAW
+    }
+}
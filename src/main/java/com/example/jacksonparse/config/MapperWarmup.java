@@ -0,0 +1,76 @@
+package com.example.jacksonparse.config;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import com.example.jacksonparse.model.Address;
+import com.example.jacksonparse.model.Person;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pre-warms the serializer and deserializer caches of every mapper for {@link Person} and {@link Address} by
+ * round-tripping a fully populated sample. Runs once all singletons exist, before the web server starts accepting
+ * requests, so the first request after a deploy does not pay for introspection and serializer construction.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MapperWarmup implements SmartInitializingSingleton {
+    private final ObjectMapper objectMapper;
+    private final XmlMapper xmlMapper;
+    private final SmileMapper smileMapper;
+    private final CBORMapper cborMapper;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        long start = System.nanoTime();
+        Person sample = samplePerson();
+        warm(objectMapper, sample);
+        warm(xmlMapper, sample);
+        warm(smileMapper, sample);
+        warm(cborMapper, sample);
+        log.info("Pre-warmed JSON, XML, Smile and CBOR mappers in {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static void warm(ObjectMapper mapper, Person sample) {
+        try {
+            mapper.readValue(mapper.writeValueAsBytes(sample), Person.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to pre-warm " + mapper.getClass().getSimpleName(), e);
+        }
+    }
+
+    static Person samplePerson() {
+        Address address = new Address();
+        address.setPrimary(true);
+        address.setStreet("123 Main St");
+        address.setCity("Springfield");
+        address.setZipCode("12345");
+        address.setCreatedAt(LocalDateTime.of(2024, 1, 15, 10, 30, 0));
+        address.setUpdatedAt(LocalDateTime.of(2024, 1, 20, 14, 45, 0));
+
+        Person person = new Person();
+        person.setVersion("1.1");
+        person.setId(1L);
+        person.setName("John Doe");
+        person.setEmail("john.doe@example.com");
+        person.setAddresses(List.of(address, new Address()));
+        person.setBirthDate(LocalDateTime.of(1990, 5, 15, 8, 0, 0));
+        person.setRegisteredAt(LocalDateTime.of(2024, 1, 1, 12, 0, 0));
+        person.setExtra("unknownA", "A");
+        person.setExtra("unknownB", Map.of("nested", "B"));
+        return person;
+    }
+}
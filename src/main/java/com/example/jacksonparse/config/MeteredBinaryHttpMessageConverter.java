@@ -0,0 +1,62 @@
+package com.example.jacksonparse.config;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+
+import com.example.jacksonparse.config.BodyMetrics.CountingInputMessage;
+import com.example.jacksonparse.config.BodyMetrics.CountingOutputMessage;
+import com.example.jacksonparse.config.BodyMetrics.Format;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Smile or CBOR converter that reports every body it reads or writes to {@link BodyMetrics}. Like Spring's
+ * {@code MappingJackson2SmileHttpMessageConverter} and {@code MappingJackson2CborHttpMessageConverter}, it reads and
+ * writes the media type of its format with the mapper of that format.
+ */
+class MeteredBinaryHttpMessageConverter extends AbstractJackson2HttpMessageConverter {
+    private final Format format;
+    private final BodyMetrics metrics;
+
+    MeteredBinaryHttpMessageConverter(Format format, ObjectMapper mapper, BodyMetrics metrics) {
+        super(mapper, mediaType(format));
+        this.format = format;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        CountingInputMessage counting = metrics.startRead(format, inputMessage);
+        Object body = null;
+        try {
+            body = super.read(type, contextClass, counting);
+            return body;
+        } finally {
+            metrics.endRead(counting, body);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        CountingOutputMessage counting = metrics.startWrite(format, outputMessage);
+        boolean written = false;
+        try {
+            super.writeInternal(object, type, counting);
+            written = true;
+        } finally {
+            metrics.endWrite(counting, object, written);
+        }
+    }
+
+    private static MediaType mediaType(Format format) {
+        return switch (format) {
+        case SMILE -> MediaType.parseMediaType(JacksonConfig.APPLICATION_SMILE_VALUE);
+        case CBOR -> MediaType.APPLICATION_CBOR;
+        default -> throw new IllegalArgumentException("Not a binary format: " + format);
+        };
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.jacksonparse.config;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import com.example.jacksonparse.config.BodyMetrics.CountingInputMessage;
+import com.example.jacksonparse.config.BodyMetrics.CountingOutputMessage;
+import com.example.jacksonparse.config.BodyMetrics.Format;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * {@link MappingJackson2HttpMessageConverter} that reports every body it reads or writes to {@link BodyMetrics}.
+ */
+class MeteredJsonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+    private final BodyMetrics metrics;
+
+    MeteredJsonHttpMessageConverter(ObjectMapper mapper, BodyMetrics metrics) {
+        super(mapper);
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        CountingInputMessage counting = metrics.startRead(Format.JSON, inputMessage);
+        Object body = null;
+        try {
+            body = super.read(type, contextClass, counting);
+            return body;
+        } finally {
+            metrics.endRead(counting, body);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        CountingOutputMessage counting = metrics.startWrite(Format.JSON, outputMessage);
+        boolean written = false;
+        try {
+            super.writeInternal(object, type, counting);
+            written = true;
+        } finally {
+            metrics.endWrite(counting, object, written);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.jacksonparse.config;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.xml.MappingJackson2XmlHttpMessageConverter;
+
+import com.example.jacksonparse.codec.PersonXmlReader;
+import com.example.jacksonparse.codec.PersonXmlWriter;
+import com.example.jacksonparse.config.BodyMetrics.CountingInputMessage;
+import com.example.jacksonparse.config.BodyMetrics.CountingOutputMessage;
+import com.example.jacksonparse.config.BodyMetrics.Format;
+import com.example.jacksonparse.model.Person;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+/**
+ * {@link MappingJackson2XmlHttpMessageConverter} that reports every body it reads or writes to {@link BodyMetrics}.
+ * Given a {@link PersonXmlReader}, it reads UTF-8 {@code Person} bodies with it first and binds them with the mapper
+ * only when the reader does not accept them. Given a {@link PersonXmlWriter}, it writes the UTF-8 {@code Person}
+ * bodies that writer accepts straight to the response.
+ */
+class MeteredXmlHttpMessageConverter extends MappingJackson2XmlHttpMessageConverter {
+    private final BodyMetrics metrics;
+    private final PersonXmlReader personReader;
+    private final PersonXmlWriter personWriter;
+
+    MeteredXmlHttpMessageConverter(XmlMapper mapper, BodyMetrics metrics, PersonXmlReader personReader,
+            PersonXmlWriter personWriter) {
+        super(mapper);
+        this.metrics = metrics;
+        this.personReader = personReader;
+        this.personWriter = personWriter;
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        CountingInputMessage counting = metrics.startRead(Format.XML, inputMessage);
+        Object body = null;
+        try {
+            body = readsPerson(type, counting) ? readPerson(contextClass, counting)
+                    : super.read(type, contextClass, counting);
+            return body;
+        } finally {
+            metrics.endRead(counting, body);
+        }
+    }
+
+    private boolean readsPerson(Type type, HttpInputMessage inputMessage) {
+        return personReader != null && type == Person.class && isUtf8(inputMessage.getHeaders());
+    }
+
+    private Object readPerson(Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        byte[] bytes = inputMessage.getBody().readAllBytes();
+        Person person = personReader.read(bytes);
+        if (person != null) {
+            return person;
+        }
+        return super.read(Person.class, contextClass, new HttpInputMessage() {
+            @Override
+            public InputStream getBody() {
+                return new ByteArrayInputStream(bytes);
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return inputMessage.getHeaders();
+            }
+        });
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        CountingOutputMessage counting = metrics.startWrite(Format.XML, outputMessage);
+        boolean written = false;
+        try {
+            if (writesPerson(object, counting)) {
+                writePerson((Person) object, counting);
+            } else {
+                super.writeInternal(object, type, counting);
+            }
+            written = true;
+        } finally {
+            metrics.endWrite(counting, object, written);
+        }
+    }
+
+    private boolean writesPerson(Object object, HttpOutputMessage outputMessage) {
+        return personWriter != null && object.getClass() == Person.class && personWriter.accepts((Person) object)
+                && isUtf8(outputMessage.getHeaders());
+    }
+
+    private void writePerson(Person person, HttpOutputMessage outputMessage) throws IOException {
+        try {
+            personWriter.write(person, outputMessage.getBody());
+        } catch (XMLStreamException e) {
+            throw new HttpMessageNotWritableException("Could not write XML: " + e.getMessage(), e);
+        }
+    }
+
+    private static boolean isUtf8(HttpHeaders headers) {
+        MediaType contentType = headers.getContentType();
+        Charset charset = contentType != null ? contentType.getCharset() : null;
+        return charset == null || charset.equals(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.jacksonparse.config;
+
+import java.util.List;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.ExecutableMode;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import com.example.jacksonparse.model.Address;
+import com.example.jacksonparse.model.Person;
+import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlElementWrapper;
+import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
+import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlRootElement;
+
+/**
+ * Reflection hints for a GraalVM native image, registered with {@link JacksonConfig}. The mappers bind
+ * {@link Person} and {@link Address} through their constructors, fields and accessors, and read their element names
+ * from the Jackson XML annotations; none of that is reachable from code the image builder can see. The any-setter and
+ * any-getter of unknown properties are not bean accessors, so they are registered on their own. Everything else
+ * the mappers need is created directly: the modules, the custom codecs and the Woodstox factories, which are not
+ * looked up through {@code XMLInputFactory.newFactory()}. The configuration class itself is covered by the bean
+ * definitions Spring AOT generates for it.
+ * <p>
+ * {@code app.jackson.binding: blackbird} defines accessor classes at run time, which a native image cannot do, so a
+ * native image should run with {@code bean} or {@code codec} binding.
+ */
+class ModelRuntimeHints implements RuntimeHintsRegistrar {
+    private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        bindingRegistrar.registerReflectionHints(hints.reflection(), Person.class, Address.class);
+        hints.reflection().registerType(Person.class,
+                type -> type.withMethod("setExtra", TypeReference.listOf(String.class, Object.class),
+                        ExecutableMode.INVOKE).withMethod("extraProperties", List.of(), ExecutableMode.INVOKE));
+        hints.reflection().registerTypes(TypeReference.listOf(JacksonXmlRootElement.class, JacksonXmlProperty.class,
+                JacksonXmlElementWrapper.class), type -> type.withMembers(MemberCategory.INVOKE_PUBLIC_METHODS));
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.jacksonparse.config;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.stereotype.Component;
+
+import com.example.jacksonparse.model.Address;
+import com.example.jacksonparse.model.Person;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerBase;
+import com.fasterxml.jackson.databind.deser.DefaultDeserializationContext;
+import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
+import com.fasterxml.jackson.databind.deser.std.DelegatingDeserializer;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.std.BeanSerializerBase;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import com.fasterxml.jackson.databind.util.ClassUtil;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Publishes {@value #METRIC}: one gauge per {@link Person}/{@link Address} bean property, mapper and direction, set to
+ * {@code 1} when the property is accessed through reflection and {@code 0} when it goes through a generated Blackbird
+ * accessor. With {@code app.jackson.binding: blackbird} this shows which properties Blackbird left on reflection, for
+ * example those with a non-standard serializer such as the {@code LocalDateTime} ones. The dedicated codecs do not
+ * use bean properties, so no gauges are registered for them.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReflectiveAccessMetrics implements MeterBinder {
+    static final String METRIC = "jackson.binding.reflective";
+
+    private static final List<Class<?>> MODEL = List.of(Person.class, Address.class);
+    private static final String BLACKBIRD_PACKAGE = "com.fasterxml.jackson.module.blackbird";
+
+    private final ObjectMapper objectMapper;
+    private final XmlMapper xmlMapper;
+    private final SmileMapper smileMapper;
+    private final CBORMapper cborMapper;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bind(registry, "json", objectMapper);
+        bind(registry, "xml", xmlMapper);
+        bind(registry, "smile", smileMapper);
+        bind(registry, "cbor", cborMapper);
+    }
+
+    private static void bind(MeterRegistry registry, String format, ObjectMapper mapper) {
+        for (Class<?> type : MODEL) {
+            forEachWriter(mapper, type, writer -> Gauge
+                    .builder(METRIC, writer, w -> isReflective(w) ? 1 : 0).strongReference(true)
+                    .tags("format", format, "type", type.getSimpleName(), "property", writer.getName(), "direction",
+                            "serialize")
+                    .register(registry));
+            forEachProperty(mapper, type, property -> Gauge
+                    .builder(METRIC, property, p -> isReflective(p) ? 1 : 0).strongReference(true)
+                    .tags("format", format, "type", type.getSimpleName(), "property", property.getName(), "direction",
+                            "deserialize")
+                    .register(registry));
+        }
+    }
+
+    private static void forEachWriter(ObjectMapper mapper, Class<?> type, Consumer<PropertyWriter> action) {
+        try {
+            JsonSerializer<Object> serializer = mapper.getSerializerProviderInstance().findValueSerializer(type);
+            if (serializer instanceof BeanSerializerBase beanSerializer) {
+                beanSerializer.properties().forEachRemaining(action);
+            }
+        } catch (JsonMappingException e) {
+            throw new IllegalStateException("Cannot resolve serializer for " + type.getName(), e);
+        }
+    }
+
+    private static void forEachProperty(ObjectMapper mapper, Class<?> type, Consumer<SettableBeanProperty> action) {
+        DeserializationContext ctxt = ((DefaultDeserializationContext) mapper.getDeserializationContext())
+                .createDummyInstance(mapper.getDeserializationConfig());
+        try {
+            JsonDeserializer<?> deserializer = ctxt.findRootValueDeserializer(mapper.constructType(type));
+            while (deserializer instanceof DelegatingDeserializer delegating) {
+                deserializer = delegating.getDelegatee();
+            }
+            if (deserializer instanceof BeanDeserializerBase beanDeserializer) {
+                beanDeserializer.properties().forEachRemaining(action);
+            }
+        } catch (JsonMappingException e) {
+            throw new IllegalStateException("Cannot resolve deserializer for " + type.getName(), e);
+        }
+    }
+
+    /**
+     * Blackbird keeps its writer in place but delegates to the reflective one once a non-standard value serializer is
+     * assigned; this mirrors that rule.
+     */
+    static boolean isReflective(PropertyWriter writer) {
+        if (!isBlackbird(writer)) {
+            return true;
+        }
+        JsonSerializer<Object> serializer = ((BeanPropertyWriter) writer).getSerializer();
+        return serializer != null
+                && (!ClassUtil.isJacksonStdImpl(serializer) || serializer instanceof ToStringSerializer);
+    }
+
+    static boolean isReflective(SettableBeanProperty property) {
+        return !isBlackbird(property);
+    }
+
+    private static boolean isBlackbird(Object accessor) {
+        return accessor.getClass().getPackageName().startsWith(BLACKBIRD_PACKAGE);
+    }
+}
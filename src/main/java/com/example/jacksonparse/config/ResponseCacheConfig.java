@@ -0,0 +1,25 @@
+package com.example.jacksonparse.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.jacksonparse.service.ResponseCache;
+
+/**
+ * The {@link ResponseCache} behind {@code PersonResponseCacheFilter}, created when {@code app.response-cache.enabled}
+ * is set and {@code app.storage.enabled} is not. Its meters are bound to the registry like any other
+ * {@code MeterBinder} bean.
+ */
+@Configuration
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+@ConditionalOnExpression("${app.response-cache.enabled:false} and !${app.storage.enabled:false}")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ResponseCacheConfig {
+    @Bean
+    public ResponseCache responseCache(ResponseCacheProperties properties) {
+        return new ResponseCache(properties.getMaxSize().toBytes(), properties.getTtl());
+    }
+}
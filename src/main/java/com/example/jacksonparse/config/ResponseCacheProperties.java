@@ -0,0 +1,35 @@
+package com.example.jacksonparse.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import lombok.Data;
+
+/**
+ * Cache of {@code POST /api/person} responses, bound from {@code app.response-cache.*}.
+ */
+@Data
+@ConfigurationProperties("app.response-cache")
+public class ResponseCacheProperties {
+    /**
+     * Whether responses are cached. Off by default, and the switch to turn the cache off if it misbehaves.
+     */
+    private boolean enabled;
+
+    /**
+     * Total size of the request and response bodies kept.
+     */
+    private DataSize maxSize = DataSize.ofMegabytes(64);
+
+    /**
+     * Largest request body whose response is cached; larger ones, and bodies of unknown length, are always bound.
+     */
+    private DataSize maxBodySize = DataSize.ofKilobytes(64);
+
+    /**
+     * Time after which a response is dropped, whether or not it was requested again.
+     */
+    private Duration ttl = Duration.ofMinutes(10);
+}
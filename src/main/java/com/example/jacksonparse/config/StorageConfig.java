@@ -0,0 +1,59 @@
+package com.example.jacksonparse.config;
+
+import java.io.IOException;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+
+import com.example.jacksonparse.codec.PersonTranscoder;
+import com.example.jacksonparse.service.BufferPool;
+import com.example.jacksonparse.storage.PersonRepository;
+import com.example.jacksonparse.storage.PersonStore;
+import com.example.jacksonparse.storage.SegmentLogRepository;
+import com.example.jacksonparse.storage.StoredPersons;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * The {@link PersonStore} behind {@code PersonController}, created when {@code app.storage.enabled} is set. It writes
+ * to a {@link SegmentLogRepository} in {@code app.storage.directory}, unless the context defines another
+ * {@link PersonRepository}, which {@code PersonLookupController} also looks persons up in. The repository is declared
+ * as a {@code SegmentLogRepository} so that its index metrics are bound.
+ */
+@Configuration
+@EnableConfigurationProperties(StorageProperties.class)
+@ConditionalOnProperty(name = "app.storage.enabled", havingValue = "true")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class StorageConfig {
+    @Bean
+    @ConditionalOnMissingBean(PersonRepository.class)
+    public SegmentLogRepository personRepository(StorageProperties properties, ObjectMapper objectMapper)
+            throws IOException {
+        return new SegmentLogRepository(properties.getDirectory(), properties.getSegmentSize().toBytes(),
+                objectMapper);
+    }
+
+    @Bean
+    public PersonStore personStore(PersonRepository repository, StorageProperties properties,
+            MeterRegistry registry) {
+        return new PersonStore(repository, properties.getQueueCapacity(), properties.getBatchSize(),
+                properties.getAck(), properties.getEnqueueTimeout(), properties.getAckTimeout(), registry);
+    }
+
+    @Bean
+    public HttpMessageConverter<StoredPersons> storedPersonsHttpMessageConverter(ObjectMapper objectMapper,
+            XmlMapper xmlMapper, SmileMapper smileMapper, CBORMapper cborMapper, PersonTranscoder personTranscoder,
+            BufferPool bufferPool, BodyMetrics bodyMetrics) {
+        return new StoredPersonsHttpMessageConverter(objectMapper, xmlMapper, smileMapper, cborMapper,
+                personTranscoder, bufferPool, bodyMetrics);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.jacksonparse.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import com.example.jacksonparse.storage.PersonStore.Ack;
+
+import lombok.Data;
+
+/**
+ * Storage of accepted persons, bound from {@code app.storage.*}.
+ */
+@Data
+@ConfigurationProperties("app.storage")
+public class StorageProperties {
+    /**
+     * Whether {@code POST /api/person} stores the persons it accepts.
+     */
+    private boolean enabled;
+
+    /**
+     * Directory of the segment log.
+     */
+    private Path directory = Path.of("data", "persons");
+
+    /**
+     * Size after which a new segment is started.
+     */
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+    /**
+     * Number of persons that can wait for the writer before requests are refused.
+     */
+    private int queueCapacity = 8192;
+
+    /**
+     * Largest number of persons written and forced to disk together.
+     */
+    private int batchSize = 256;
+
+    /**
+     * When a request is answered: once its person is queued, or once it has been forced to disk.
+     */
+    private Ack ack = Ack.FSYNC;
+
+    /**
+     * How long a request waits for room in a full queue before it is refused.
+     */
+    private Duration enqueueTimeout = Duration.ofMillis(100);
+
+    /**
+     * How long a request waits for its person to be forced to disk with {@code ack: fsync}.
+     */
+    private Duration ackTimeout = Duration.ofSeconds(5);
+}
@@ -0,0 +1,171 @@
+package com.example.jacksonparse.config;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+
+import com.example.jacksonparse.codec.PersonTranscoder;
+import com.example.jacksonparse.config.BodyMetrics.CountingOutputMessage;
+import com.example.jacksonparse.config.BodyMetrics.Format;
+import com.example.jacksonparse.model.Person;
+import com.example.jacksonparse.service.BufferPool;
+import com.example.jacksonparse.service.PooledOutputStream;
+import com.example.jacksonparse.storage.StoredPersons;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+/**
+ * Writes {@link StoredPersons} from their stored JSON without binding them. JSON is written as it was stored, with a
+ * {@code Content-Length}, and an array of persons is the stored documents joined by commas. XML is transcoded person
+ * by person by the {@link PersonTranscoder}, falling back to binding the person for the documents it does not accept,
+ * and an array is wrapped in {@code <persons>} as bulk requests are. Smile and CBOR are the JSON tokens copied as they
+ * are parsed. Bodies are reported to {@link BodyMetrics}.
+ */
+class StoredPersonsHttpMessageConverter extends AbstractHttpMessageConverter<StoredPersons> {
+    private static final byte[] XML_START = "<persons>".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] XML_END = "</persons>".getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper;
+    private final XmlMapper xmlMapper;
+    private final ObjectWriter xmlWriter;
+    private final SmileMapper smileMapper;
+    private final CBORMapper cborMapper;
+    private final PersonTranscoder transcoder;
+    private final BufferPool bufferPool;
+    private final BodyMetrics metrics;
+
+    StoredPersonsHttpMessageConverter(ObjectMapper objectMapper, XmlMapper xmlMapper, SmileMapper smileMapper,
+            CBORMapper cborMapper, PersonTranscoder transcoder, BufferPool bufferPool, BodyMetrics metrics) {
+        super(MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML,
+                MediaType.parseMediaType(JacksonConfig.APPLICATION_SMILE_VALUE), MediaType.APPLICATION_CBOR);
+        this.objectMapper = objectMapper;
+        this.xmlMapper = xmlMapper;
+        this.xmlWriter = xmlMapper.writerFor(Person.class).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.smileMapper = smileMapper;
+        this.cborMapper = cborMapper;
+        this.transcoder = transcoder;
+        this.bufferPool = bufferPool;
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz == StoredPersons.class;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected StoredPersons readInternal(Class<? extends StoredPersons> clazz, HttpInputMessage inputMessage) {
+        throw new UnsupportedOperationException("Stored persons are only written");
+    }
+
+    @Override
+    protected Long getContentLength(StoredPersons persons, MediaType contentType) {
+        if (!MediaType.APPLICATION_JSON.isCompatibleWith(contentType)) {
+            return null;
+        }
+        long length = persons.array() ? Math.max(2L, 1L + persons.json().size()) : 0;
+        for (byte[] json : persons.json()) {
+            length += json.length;
+        }
+        return length;
+    }
+
+    @Override
+    protected void writeInternal(StoredPersons persons, HttpOutputMessage outputMessage) throws IOException {
+        MediaType contentType = outputMessage.getHeaders().getContentType();
+        Format format = MediaType.APPLICATION_JSON.isCompatibleWith(contentType) ? Format.JSON
+                : MediaType.APPLICATION_XML.isCompatibleWith(contentType) ? Format.XML
+                        : MediaType.APPLICATION_CBOR.isCompatibleWith(contentType) ? Format.CBOR : Format.SMILE;
+        CountingOutputMessage counting = metrics.startWrite(format, outputMessage);
+        boolean written = false;
+        try {
+            OutputStream out = counting.getBody();
+            switch (format) {
+            case JSON -> writeJson(persons, out);
+            case XML -> writeXml(persons, out);
+            default -> writeTokens(persons, format == Format.CBOR ? cborMapper : smileMapper, out);
+            }
+            written = true;
+        } finally {
+            metrics.endWrite(counting, persons, written);
+        }
+    }
+
+    private static void writeJson(StoredPersons persons, OutputStream out) throws IOException {
+        if (persons.array()) {
+            out.write('[');
+        }
+        for (int i = 0; i < persons.json().size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.write(persons.json().get(i));
+        }
+        if (persons.array()) {
+            out.write(']');
+        }
+    }
+
+    private void writeXml(StoredPersons persons, OutputStream out) throws IOException {
+        if (persons.array()) {
+            out.write(XML_START);
+        }
+        for (byte[] json : persons.json()) {
+            PooledOutputStream transcoded = bufferPool.newOutputStream();
+            try {
+                if (transcode(json, transcoded)) {
+                    transcoded.writeTo(out);
+                } else {
+                    xmlWriter.writeValue(out, objectMapper.readValue(json, Person.class));
+                }
+            } finally {
+                transcoded.release();
+            }
+        }
+        if (persons.array()) {
+            out.write(XML_END);
+        }
+    }
+
+    /**
+     * @return whether the transcoder accepted the person; if not, {@code transcoded} holds part of it
+     */
+    private boolean transcode(byte[] json, PooledOutputStream transcoded) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(json);
+                JsonGenerator generator = xmlMapper.createGenerator(transcoded)) {
+            return transcoder.copy(parser, generator);
+        }
+    }
+
+    private void writeTokens(StoredPersons persons, ObjectMapper mapper, OutputStream out) throws IOException {
+        try (JsonGenerator generator = mapper.createGenerator(out).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            if (persons.array()) {
+                generator.writeStartArray();
+            }
+            for (byte[] json : persons.json()) {
+                try (JsonParser parser = objectMapper.createParser(json)) {
+                    parser.nextToken();
+                    generator.copyCurrentStructure(parser);
+                }
+            }
+            if (persons.array()) {
+                generator.writeEndArray();
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.jacksonparse.config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Reports virtual threads that block while pinned to their carrier thread, typically inside a {@code synchronized}
+ * block, from the JFR {@value #PINNED_EVENT} events of the running JVM. Each event longer than
+ * {@code app.threads.pinned-threshold} increments {@value #METRIC}, tagged with the first frame outside the JDK (for
+ * example a Woodstox or Jackson method), and the first event for each such frame is logged with its stack trace.
+ * Active with {@code spring.threads.virtual.enabled} on JDK 21 or later, like Tomcat's virtual thread executor.
+ */
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    static final String METRIC = "jvm.threads.virtual.pinned";
+    static final String UNKNOWN_FRAME = "unknown";
+    private static final List<String> JDK_PACKAGES = List.of("java.", "jdk.", "sun.");
+
+    private final MeterRegistry registry;
+    private final String eventName;
+    private final Duration threshold;
+    private final Set<String> reported = ConcurrentHashMap.newKeySet();
+    private RecordingStream stream;
+
+    @Autowired
+    public VirtualThreadPinningMonitor(MeterRegistry registry,
+            @Value("${app.threads.pinned-threshold:20ms}") Duration threshold) {
+        this(registry, PINNED_EVENT, threshold);
+    }
+
+    VirtualThreadPinningMonitor(MeterRegistry registry, String eventName, Duration threshold) {
+        this.registry = registry;
+        this.eventName = eventName;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable(eventName).withThreshold(threshold).withStackTrace();
+        stream.onEvent(eventName, this::pinned);
+        stream.startAsync();
+        log.info("Reporting virtual threads pinned for more than {} ms", threshold.toMillis());
+    }
+
+    @Override
+    public void stop() {
+        stream.close();
+        stream = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    private void pinned(RecordedEvent event) {
+        String frame = culprit(event.getStackTrace());
+        registry.counter(METRIC, "frame", frame).increment();
+        if (reported.add(frame)) {
+            log.warn("Virtual thread pinned for {} ms at {}:\n{}", event.getDuration().toMillis(), frame,
+                    format(event.getStackTrace()));
+        }
+    }
+
+    /**
+     * Returns the first frame of the stack trace that is not in the JDK, as {@code class.method}.
+     */
+    static String culprit(RecordedStackTrace trace) {
+        if (trace == null) {
+            return UNKNOWN_FRAME;
+        }
+        return trace.getFrames().stream().filter(Predicate.not(VirtualThreadPinningMonitor::isJdk)).findFirst()
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName())
+                .orElse(UNKNOWN_FRAME);
+    }
+
+    private static boolean isJdk(RecordedFrame frame) {
+        String type = frame.getMethod().getType().getName();
+        return JDK_PACKAGES.stream().anyMatch(type::startsWith);
+    }
+
+    static String format(RecordedStackTrace trace) {
+        if (trace == null) {
+            return "\t(no stack trace)";
+        }
+        return trace.getFrames().stream().map(frame -> "\tat " + frame.getMethod().getType().getName() + "."
+                + frame.getMethod().getName() + ":" + frame.getLineNumber()).collect(Collectors.joining("\n"));
+    }
+}
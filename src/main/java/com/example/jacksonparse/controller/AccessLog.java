@@ -0,0 +1,224 @@
+package com.example.jacksonparse.controller;
+
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.example.jacksonparse.model.Person;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Access log of {@code POST /api/person}. As a {@link HandlerInterceptor} it notes when the handler was selected;
+ * {@link PersonController} then {@linkplain #record records} the content type, accept type, id and name of each bound
+ * {@code Person} together with the time spent reading and binding its body.
+ * <p>
+ * By default ({@code app.access-log.async: true}) entries are copied into the preallocated slots of a ring buffer of
+ * {@code app.access-log.buffer-size} entries, without boxing, formatting or locking on the request thread: a request
+ * reserves one of the free slots and then takes the next sequence number, both with a single atomic update. A
+ * dedicated writer thread formats and logs the entries in sequence order, in batches, and frees their slots. When the
+ * writer falls behind and the buffer is full, entries are dropped and counted in {@value #DROPPED_METRIC} rather than
+ * blocking requests. With {@code app.access-log.async: false} each entry is logged synchronously on the request
+ * thread, which is easier to follow while debugging. {@code app.access-log.sample-rate} (between 0 and 1) selects the
+ * share of requests logged.
+ */
+@Slf4j
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class AccessLog implements HandlerInterceptor, SmartLifecycle {
+    static final String DROPPED_METRIC = "access.log.dropped";
+
+    private static final long PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final boolean async;
+    private final double sampleRate;
+    private final Entry[] ring;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicInteger free;
+    private final LongAdder dropped = new LongAdder();
+    private final ThreadLocal<long[]> handlerStart = ThreadLocal.withInitial(() -> new long[1]);
+    private final StringBuilder line = new StringBuilder(256);
+    private long consumed;
+    private volatile Thread writer;
+
+    public AccessLog(MeterRegistry registry, @Value("${app.access-log.async:true}") boolean async,
+            @Value("${app.access-log.sample-rate:1.0}") double sampleRate,
+            @Value("${app.access-log.buffer-size:8192}") int bufferSize) {
+        if (Integer.bitCount(bufferSize) != 1) {
+            throw new IllegalArgumentException("app.access-log.buffer-size must be a power of two: " + bufferSize);
+        }
+        this.async = async;
+        this.sampleRate = sampleRate;
+        this.ring = new Entry[bufferSize];
+        this.mask = bufferSize - 1;
+        this.free = new AtomicInteger(bufferSize);
+        for (int i = 0; i < bufferSize; i++) {
+            ring[i] = new Entry();
+        }
+        FunctionCounter.builder(DROPPED_METRIC, dropped, LongAdder::sum).register(registry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        handlerStart.get()[0] = System.nanoTime();
+        return true;
+    }
+
+    /**
+     * Logs a bound {@code Person}, unless it is not sampled.
+     */
+    public void record(String contentType, String accept, Person person) {
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        long nanos = System.nanoTime() - handlerStart.get()[0];
+        if (!async) {
+            Entry entry = new Entry();
+            entry.fill(contentType, accept, person, nanos);
+            log.info(entry.format(new StringBuilder(256)).toString());
+            return;
+        }
+        if (free.getAndDecrement() <= 0) {
+            free.incrementAndGet();
+            dropped.increment();
+            return;
+        }
+        long sequence = claimed.getAndIncrement();
+        Entry entry = ring[(int) (sequence & mask)];
+        entry.fill(contentType, accept, person, nanos);
+        entry.published = sequence + 1;
+    }
+
+    @Override
+    public void start() {
+        if (async) {
+            Thread thread = new Thread(this::drain, "access-log");
+            thread.setDaemon(true);
+            writer = thread;
+            thread.start();
+        }
+    }
+
+    @Override
+    public void stop() {
+        Thread thread = writer;
+        writer = null;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return writer != null;
+    }
+
+    /**
+     * Stops after the web server, so that entries of the last requests are still written.
+     */
+    @Override
+    public int getPhase() {
+        return WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 2048;
+    }
+
+    /**
+     * Writer loop: logs every published entry in order, then parks briefly when there are none left. Runs until
+     * {@link #stop()}, after which the remaining entries are still written.
+     */
+    private void drain() {
+        boolean running = true;
+        while (running) {
+            running = writer != null;
+            if (writeBatch() == 0 && running) {
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+        }
+    }
+
+    /**
+     * Logs the entries published so far, in order, and frees their slots.
+     *
+     * @return the number of entries logged
+     */
+    int writeBatch() {
+        int written = 0;
+        long next = consumed;
+        Entry entry = ring[(int) (next & mask)];
+        while (entry.published == next + 1) {
+            line.setLength(0);
+            log.info(entry.format(line).toString());
+            entry.clear();
+            consumed = ++next;
+            free.incrementAndGet();
+            written++;
+            entry = ring[(int) (next & mask)];
+        }
+        return written;
+    }
+
+    /**
+     * One slot of the ring buffer, holding the fields of an entry until the writer formats it.
+     */
+    private static final class Entry {
+        private volatile long published;
+        private long timestamp;
+        private long nanos;
+        private String contentType;
+        private String accept;
+        private boolean hasId;
+        private long id;
+        private String name;
+
+        void fill(String contentType, String accept, Person person, long nanos) {
+            this.timestamp = System.currentTimeMillis();
+            this.nanos = nanos;
+            this.contentType = contentType;
+            this.accept = accept;
+            Long personId = person.getId();
+            this.hasId = personId != null;
+            this.id = hasId ? personId : 0;
+            this.name = person.getName();
+        }
+
+        void clear() {
+            contentType = null;
+            accept = null;
+            name = null;
+        }
+
+        StringBuilder format(StringBuilder out) {
+            out.append("POST /api/person - Content-Type: ").append(contentType).append(", Accept: ").append(accept)
+                    .append(", Person[id=");
+            if (hasId) {
+                out.append(id);
+            } else {
+                out.append("null");
+            }
+            return out.append(", name=").append(name).append("], received ").append(Instant.ofEpochMilli(timestamp))
+                    .append(", bound in ").append(TimeUnit.NANOSECONDS.toMicros(nanos)).append(" us");
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.jacksonparse.controller;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.example.jacksonparse.codec.InputLimitException;
+import com.example.jacksonparse.codec.InputLimitException.Limit;
+import com.example.jacksonparse.config.MapperProperties;
+import com.example.jacksonparse.exception.GlobalExceptionHandler;
+
+/**
+ * Caps the request bodies of {@code /api/person} at {@code app.jackson.limits.max-body-size}, and those of
+ * {@code /api/person/batch}, which are read into memory whole, at {@code max-batch-body-size}. A body whose
+ * {@code Content-Length} is over the cap is answered with {@code 413 Payload Too Large} before it is read. Any other
+ * body, including a compressed or chunked one, is counted as it is read and the read that crosses the cap throws an
+ * {@link InputLimitException}, so an oversized body is never held in full. The bulk endpoint streams its records and
+ * is only subject to the per-record limits of the mappers.
+ * <p>
+ * Runs after {@link ContentEncodingFilter}, so the decompressed size is what counts, and before the filters that buffer
+ * the body. The rejection is written by {@link GlobalExceptionHandler}, whether it happens here, in a later filter or
+ * while a message converter reads the body.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 15)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class BodySizeLimitFilter extends OncePerRequestFilter {
+    private static final String BULK_PATH = PersonPassthroughFilter.PATH + "/bulk";
+    private static final String BATCH_PATH = PersonPassthroughFilter.PATH + "/batch";
+
+    private final long maxBodySize;
+    private final long maxBatchBodySize;
+    private final GlobalExceptionHandler handler;
+
+    public BodySizeLimitFilter(MapperProperties properties, GlobalExceptionHandler handler) {
+        this.maxBodySize = properties.getLimits().getMaxBodySize().toBytes();
+        this.maxBatchBodySize = properties.getLimits().getMaxBatchBodySize().toBytes();
+        this.handler = handler;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().equals(request.getContextPath() + BULK_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long limit = request.getRequestURI().equals(request.getContextPath() + BATCH_PATH) ? maxBatchBodySize
+                : maxBodySize;
+        if (request.getContentLengthLong() > limit) {
+            reject(new InputLimitException(Limit.BODY_SIZE, limit), request, response);
+            return;
+        }
+        try {
+            chain.doFilter(new LimitedRequest(request, limit), response);
+        } catch (InputLimitException e) {
+            // Crossed while a filter read the body, outside of the MVC exception handling
+            if (response.isCommitted()) {
+                throw e;
+            }
+            response.reset();
+            reject(e, request, response);
+        }
+    }
+
+    private void reject(InputLimitException e, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        ResponseEntity<byte[]> problem = handler.handleMalformedInput(e, request);
+        response.setStatus(problem.getStatusCode().value());
+        response.setHeader(HttpHeaders.CONTENT_TYPE, problem.getHeaders().getFirst(HttpHeaders.CONTENT_TYPE));
+        response.setContentLength(problem.getBody().length);
+        response.getOutputStream().write(problem.getBody());
+    }
+
+    /**
+     * Request whose body throws an {@link InputLimitException} once more than the limit has been read from it.
+     */
+    static final class LimitedRequest extends HttpServletRequestWrapper {
+        private final long limit;
+        private ServletInputStream body;
+
+        LimitedRequest(HttpServletRequest request, long limit) {
+            super(request);
+            this.limit = limit;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (body == null) {
+                body = new LimitedInputStream(super.getInputStream(), limit);
+            }
+            return body;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String charset = getCharacterEncoding();
+            return new BufferedReader(
+                    new InputStreamReader(getInputStream(), charset != null ? charset : "ISO-8859-1"));
+        }
+    }
+
+    private static final class LimitedInputStream extends ServletInputStream {
+        private final ServletInputStream in;
+        private final long limit;
+        private long count;
+
+        LimitedInputStream(ServletInputStream in, long limit) {
+            this.in = in;
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b >= 0) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = in.read(b, off, len);
+            if (n > 0) {
+                count(n);
+            }
+            return n;
+        }
+
+        private void count(int n) throws InputLimitException {
+            count += n;
+            if (count > limit) {
+                throw new InputLimitException(Limit.BODY_SIZE, limit);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+
+        @Override
+        public boolean isFinished() {
+            return in.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return in.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener listener) {
+            in.setReadListener(listener);
+        }
+    }
+}
@@ -0,0 +1,473 @@
+package com.example.jacksonparse.controller;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.example.jacksonparse.codec.ContentEncoding;
+import com.example.jacksonparse.config.CompressionProperties;
+import com.example.jacksonparse.service.BufferPool;
+import com.example.jacksonparse.service.PooledOutputStream;
+
+/**
+ * Decompresses request bodies sent with a {@code Content-Encoding} and compresses responses for clients that send an
+ * {@code Accept-Encoding}, with the codings of {@link CompressionProperties}. An unsupported request coding is answered
+ * with {@code 415 Unsupported Media Type} and the supported ones in {@code Accept-Encoding}.
+ * <p>
+ * A response that may be compressed is held back in {@link BufferPool} segments while the handler writes it. Once the
+ * handler is done, a body of at least {@code app.compression.min-response-size} bytes is compressed in one pass and
+ * both kinds are sent in one piece with their {@code Content-Length}. Responses of other types than
+ * {@code app.compression.mime-types}, or that already have a {@code Content-Encoding}, are streamed to the client as
+ * they are written, like the NDJSON results of the bulk endpoint. Enabled by {@code app.compression.enabled}, and
+ * ordered ahead of the other filters so that they see plain bodies.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(name = "app.compression.enabled", havingValue = "true")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ContentEncodingFilter extends OncePerRequestFilter {
+    private final List<ContentEncoding> encodings;
+    private final String supported;
+    private final int minResponseSize;
+    private final List<MediaType> mimeTypes;
+    private final BufferPool bufferPool;
+
+    public ContentEncodingFilter(CompressionProperties properties, BufferPool bufferPool) {
+        this.encodings = properties.getEncodings().stream().filter(ContentEncoding::isAvailable).toList();
+        this.supported = encodings.stream().map(ContentEncoding::token).collect(Collectors.joining(", "));
+        this.minResponseSize = Math.toIntExact(properties.getMinResponseSize().toBytes());
+        this.mimeTypes = properties.getMimeTypes();
+        this.bufferPool = bufferPool;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String coding = request.getHeader(HttpHeaders.CONTENT_ENCODING);
+        if (coding != null && !coding.equalsIgnoreCase("identity")) {
+            ContentEncoding decoding = ContentEncoding.of(coding);
+            if (decoding == null || !encodings.contains(decoding)) {
+                response.setStatus(HttpStatus.UNSUPPORTED_MEDIA_TYPE.value());
+                response.setHeader(HttpHeaders.ACCEPT_ENCODING, supported);
+                return;
+            }
+            request = new DecodedRequest(request, decoding);
+        }
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        ContentEncoding encoding = HttpMethod.HEAD.matches(request.getMethod()) ? null
+                : negotiate(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        if (encoding == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        EncodedResponse encoded = new EncodedResponse(response, encoding);
+        try {
+            chain.doFilter(request, encoded);
+            encoded.finish();
+        } finally {
+            encoded.release();
+        }
+    }
+
+    /**
+     * Picks the coding of an {@code Accept-Encoding} header with the highest quality, preferring the configuration's
+     * order between equal ones.
+     *
+     * @return the coding, or {@code null} when none is acceptable
+     */
+    ContentEncoding negotiate(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return null;
+        }
+        ContentEncoding best = null;
+        float bestQuality = 0;
+        for (ContentEncoding encoding : encodings) {
+            float quality = quality(acceptEncoding, encoding.token());
+            if (quality > bestQuality) {
+                best = encoding;
+                bestQuality = quality;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @return the quality the header gives to {@code token}, by name or through {@code *}, or {@code 0} if neither
+     */
+    private static float quality(String acceptEncoding, String token) {
+        float wildcard = 0;
+        for (String entry : acceptEncoding.split(",")) {
+            int semicolon = entry.indexOf(';');
+            String coding = (semicolon < 0 ? entry : entry.substring(0, semicolon)).trim();
+            float quality = semicolon < 0 ? 1 : parseQuality(entry.substring(semicolon + 1).trim());
+            if (coding.equalsIgnoreCase(token)) {
+                return quality;
+            }
+            if (coding.equals("*")) {
+                wildcard = quality;
+            }
+        }
+        return wildcard;
+    }
+
+    private static float parseQuality(String parameter) {
+        if (!parameter.startsWith("q=")) {
+            return 1;
+        }
+        try {
+            return Float.parseFloat(parameter.substring(2));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private boolean isCompressible(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        try {
+            MediaType type = MediaType.parseMediaType(contentType);
+            return mimeTypes.stream().anyMatch(mimeType -> mimeType.includes(type));
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Request whose body is decompressed as it is read. The {@code Content-Encoding} and {@code Content-Length} of the
+     * compressed body are hidden from the application.
+     */
+    static final class DecodedRequest extends HttpServletRequestWrapper {
+        private static final List<String> HIDDEN = List.of(HttpHeaders.CONTENT_ENCODING, HttpHeaders.CONTENT_LENGTH);
+
+        private final ContentEncoding encoding;
+        private ServletInputStream body;
+
+        DecodedRequest(HttpServletRequest request, ContentEncoding encoding) {
+            super(request);
+            this.encoding = encoding;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (body == null) {
+                ServletInputStream source = super.getInputStream();
+                body = new DecodedInputStream(source, encoding.decode(source));
+            }
+            return body;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String charset = getCharacterEncoding();
+            return new BufferedReader(
+                    new InputStreamReader(getInputStream(), charset != null ? charset : "ISO-8859-1"));
+        }
+
+        @Override
+        public int getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return -1;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return isHidden(name) ? null : super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            return isHidden(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaderNames() {
+            List<String> names = Collections.list(super.getHeaderNames());
+            names.removeIf(DecodedRequest::isHidden);
+            return Collections.enumeration(names);
+        }
+
+        private static boolean isHidden(String name) {
+            return HIDDEN.stream().anyMatch(name::equalsIgnoreCase);
+        }
+    }
+
+    /**
+     * Decoded body, read in blocking calls on the decoder; a read listener is handed to the container's stream, which
+     * tells it when compressed bytes arrive.
+     */
+    private static final class DecodedInputStream extends ServletInputStream {
+        private final ServletInputStream source;
+        private final InputStream in;
+        private boolean finished;
+
+        DecodedInputStream(ServletInputStream source, InputStream in) {
+            this.source = source;
+            this.in = in;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            finished = b < 0;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = in.read(b, off, len);
+            finished = n < 0;
+            return n;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finished;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener listener) {
+            source.setReadListener(listener);
+        }
+    }
+
+    /**
+     * Response that holds its body back until {@link #finish()} and compresses it then if it has reached the
+     * threshold. The type is checked when the body is first written; bodies that are not to be compressed are sent
+     * straight away, with the length set by the application, which is otherwise replaced.
+     */
+    final class EncodedResponse extends HttpServletResponseWrapper {
+        private final ContentEncoding encoding;
+        private final PooledOutputStream buffer = bufferPool.newOutputStream();
+        private final PooledOutputStream compressed = bufferPool.newOutputStream();
+        private ServletOutputStream stream;
+        private PrintWriter writer;
+        private long contentLength = -1;
+        private boolean checked;
+        private boolean direct;
+
+        EncodedResponse(HttpServletResponse response, ContentEncoding encoding) {
+            super(response);
+            this.encoding = encoding;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            if (writer != null) {
+                throw new IllegalStateException("getWriter() has already been called");
+            }
+            return body();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                if (stream != null) {
+                    throw new IllegalStateException("getOutputStream() has already been called");
+                }
+                writer = new PrintWriter(new OutputStreamWriter(body(), getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        @Override
+        public void setContentLength(int length) {
+            contentLength = length;
+        }
+
+        @Override
+        public void setContentLengthLong(long length) {
+            contentLength = length;
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                contentLength = value != null ? Long.parseLong(value) : -1;
+            } else {
+                super.setHeader(name, value);
+            }
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                setHeader(name, value);
+            } else {
+                super.addHeader(name, value);
+            }
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (direct) {
+                super.flushBuffer();
+            }
+        }
+
+        @Override
+        public void resetBuffer() {
+            super.resetBuffer();
+            discard();
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            discard();
+            contentLength = -1;
+        }
+
+        /**
+         * Sends the held-back body, if anything was written.
+         */
+        void finish() throws IOException {
+            if (stream == null) {
+                return;
+            }
+            if (writer != null) {
+                writer.flush();
+            }
+            if (direct) {
+                return;
+            }
+            HttpServletResponse response = (HttpServletResponse) getResponse();
+            PooledOutputStream body = buffer;
+            if (buffer.size() >= minResponseSize) {
+                try (OutputStream out = encoding.encode(compressed)) {
+                    buffer.writeTo(out);
+                }
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, encoding.token());
+                body = compressed;
+            }
+            response.setContentLengthLong(body.size());
+            body.writeTo(response.getOutputStream());
+        }
+
+        void release() {
+            buffer.release();
+            compressed.release();
+        }
+
+        private ServletOutputStream body() {
+            if (stream == null) {
+                stream = new BodyStream();
+            }
+            return stream;
+        }
+
+        private void write(byte[] b, int off, int len) throws IOException {
+            if (direct) {
+                getResponse().getOutputStream().write(b, off, len);
+                return;
+            }
+            if (!checked) {
+                checked = true;
+                if (!isCompressible(getContentType()) || containsHeader(HttpHeaders.CONTENT_ENCODING)) {
+                    sendDirectly(b, off, len);
+                    return;
+                }
+            }
+            buffer.write(b, off, len);
+        }
+
+        /**
+         * Sends a response that is not to be compressed straight to the client, with the length the application set.
+         */
+        private void sendDirectly(byte[] b, int off, int len) throws IOException {
+            if (contentLength >= 0) {
+                getResponse().setContentLengthLong(contentLength);
+            }
+            direct = true;
+            getResponse().getOutputStream().write(b, off, len);
+        }
+
+        private void discard() {
+            release();
+            checked = false;
+            direct = false;
+        }
+
+        private final class BodyStream extends ServletOutputStream {
+            private final byte[] single = new byte[1];
+
+            @Override
+            public void write(int b) throws IOException {
+                single[0] = (byte) b;
+                EncodedResponse.this.write(single, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                EncodedResponse.this.write(b, off, len);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                if (direct) {
+                    getResponse().getOutputStream().flush();
+                }
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener listener) {
+                try {
+                    getResponse().getOutputStream().setWriteListener(listener);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+}
@@ -1,7 +1,12 @@
 package com.example.jacksonparse.controller;
 
+import java.io.IOException;
+
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -9,32 +14,81 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.jacksonparse.config.JacksonConfig;
 import com.example.jacksonparse.model.Person;
+import com.example.jacksonparse.service.BulkSummary;
+import com.example.jacksonparse.service.PersonBatchService;
+import com.example.jacksonparse.service.PersonBulkService;
+import com.example.jacksonparse.storage.PersonStore;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/person")
+@RequiredArgsConstructor
 public class PersonController {
-    @Operation(summary = "Create or process a person", description = "Accepts and returns person data in JSON or XML format based on Content-Type and Accept headers", requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Person object in JSON or XML format", required = true, content = {
+    private final PersonBulkService bulkService;
+    private final PersonBatchService batchService;
+    private final AccessLog accessLog;
+    private final ObjectProvider<PersonStore> store;
+
+    @Operation(summary = "Create or process a person", description = "Accepts and returns person data in JSON, XML, Smile or CBOR format based on Content-Type and Accept headers", requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Person object in JSON, XML, Smile or CBOR format", required = true, content = {
             @Content(mediaType = MediaType.APPLICATION_JSON_VALUE),
-            @Content(mediaType = MediaType.APPLICATION_XML_VALUE) }), responses = {
+            @Content(mediaType = MediaType.APPLICATION_XML_VALUE),
+            @Content(mediaType = JacksonConfig.APPLICATION_SMILE_VALUE),
+            @Content(mediaType = MediaType.APPLICATION_CBOR_VALUE) }), responses = {
                     @ApiResponse(responseCode = "200", description = "Person processed successfully", content = {
                             @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = Person.class)),
-                            @Content(mediaType = MediaType.APPLICATION_XML_VALUE, schema = @Schema(implementation = Person.class)) }) })
-    @PostMapping(consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE }, produces = {
-            MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE })
+                            @Content(mediaType = MediaType.APPLICATION_XML_VALUE, schema = @Schema(implementation = Person.class)),
+                            @Content(mediaType = JacksonConfig.APPLICATION_SMILE_VALUE, schema = @Schema(implementation = Person.class)),
+                            @Content(mediaType = MediaType.APPLICATION_CBOR_VALUE, schema = @Schema(implementation = Person.class)) }) })
+    @PostMapping(consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE,
+            JacksonConfig.APPLICATION_SMILE_VALUE, MediaType.APPLICATION_CBOR_VALUE }, produces = {
+                    MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE,
+                    JacksonConfig.APPLICATION_SMILE_VALUE, MediaType.APPLICATION_CBOR_VALUE })
     public ResponseEntity<Person> createPerson(@RequestBody Person person, HttpServletRequest request) {
-        String contentType = request.getContentType();
-        String accept = request.getHeader("Accept");
-        log.info("POST /api/person - Content-Type: {}, Accept: {}, Person[id={}, name={}]", contentType, accept,
-                person.getId(), person.getName());
+        accessLog.record(request.getContentType(), request.getHeader("Accept"), person);
+        PersonStore personStore = store.getIfAvailable();
+        if (personStore != null) {
+            personStore.save(person);
+        }
         return ResponseEntity.ok(person);
     }
+
+    @Operation(summary = "Bulk ingest persons", description = "Streams newline-delimited JSON or a <persons> XML document of repeated <person> elements and returns one newline-delimited JSON result per record as it is processed", requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Person records as NDJSON or a <persons> XML stream", required = true, content = {
+            @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE),
+            @Content(mediaType = MediaType.APPLICATION_XML_VALUE) }), responses = {
+                    @ApiResponse(responseCode = "200", description = "Per-record results", content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE)) })
+    @PostMapping(path = "/bulk", consumes = { MediaType.APPLICATION_NDJSON_VALUE,
+            MediaType.APPLICATION_XML_VALUE }, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void createPersons(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        MediaType contentType = MediaType.parseMediaType(request.getContentType());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        BulkSummary summary = bulkService.process(request.getInputStream(), contentType, response.getOutputStream());
+        log.info("POST /api/person/bulk - Content-Type: {}, accepted={}, rejected={}", contentType, summary.accepted(),
+                summary.rejected());
+    }
+
+    @Operation(summary = "Batch ingest persons", description = "Binds a JSON array or a <persons> XML document of persons, in parallel for large batches, and returns one newline-delimited JSON result per record in order", requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Person records as a JSON array or a <persons> XML document", required = true, content = {
+            @Content(mediaType = MediaType.APPLICATION_JSON_VALUE),
+            @Content(mediaType = MediaType.APPLICATION_XML_VALUE) }), responses = {
+                    @ApiResponse(responseCode = "200", description = "Per-record results", content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE)) })
+    @PostMapping(path = "/batch", consumes = { MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_XML_VALUE }, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void createBatch(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        MediaType contentType = MediaType.parseMediaType(request.getContentType());
+        byte[] body = request.getInputStream().readAllBytes();
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        BulkSummary summary = batchService.process(body, contentType, response.getOutputStream());
+        log.info("POST /api/person/batch - Content-Type: {}, accepted={}, rejected={}", contentType, summary.accepted(),
+                summary.rejected());
+    }
 }
@@ -0,0 +1,52 @@
+package com.example.jacksonparse.controller;
+
+import java.io.IOException;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.jacksonparse.config.JacksonConfig;
+import com.example.jacksonparse.storage.PersonQuery;
+import com.example.jacksonparse.storage.PersonRepository;
+import com.example.jacksonparse.storage.StoredPersons;
+
+import io.swagger.v3.oas.annotations.Operation;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Looks up the persons stored by {@link PersonController}, when {@code app.storage.enabled} is set. Persons are
+ * answered from the JSON they were stored as, without binding them.
+ */
+@RestController
+@ConditionalOnProperty(name = "app.storage.enabled", havingValue = "true")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/person")
+@RequiredArgsConstructor
+public class PersonLookupController {
+    private final PersonRepository repository;
+
+    @Operation(summary = "Get a stored person", description = "Returns the newest person stored with the id in JSON, XML, Smile or CBOR format, or 404 if there is none")
+    @GetMapping(path = "/{id}", produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE,
+            JacksonConfig.APPLICATION_SMILE_VALUE, MediaType.APPLICATION_CBOR_VALUE })
+    public ResponseEntity<StoredPersons> getPerson(@PathVariable long id) throws IOException {
+        byte[] json = repository.findById(id);
+        return json != null ? ResponseEntity.ok(StoredPersons.one(json)) : ResponseEntity.notFound().build();
+    }
+
+    @Operation(summary = "Find stored persons", description = "Returns the stored persons with the email and with an address in the city and with one with the zip code, newest first, as an array in JSON, Smile or CBOR format or a <persons> XML document. At least one criterion is required.")
+    @GetMapping(produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE,
+            JacksonConfig.APPLICATION_SMILE_VALUE, MediaType.APPLICATION_CBOR_VALUE })
+    public StoredPersons findPersons(@RequestParam(required = false) String email,
+            @RequestParam(required = false) String city, @RequestParam(required = false) String zipCode,
+            @RequestParam(defaultValue = "100") int limit) throws IOException {
+        return StoredPersons.all(repository.find(new PersonQuery(email, city, zipCode, limit)));
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.jacksonparse.controller;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.example.jacksonparse.codec.PersonTranscoder;
+import com.example.jacksonparse.service.BufferPool;
+import com.example.jacksonparse.service.PooledOutputStream;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Answers {@code POST /api/person} without binding a {@code Person} when the body is JSON or XML and a single JSON or
+ * XML type is accepted. A body in the accepted format is checked in one streaming pass and written back byte for
+ * byte; otherwise it is transcoded token by token into the other format, in {@link BufferPool} segments. Bodies the
+ * {@link PersonTranscoder} does not accept, including malformed ones, and requests with any other content negotiation
+ * go on to {@link PersonController} unchanged, so its binding and error handling still apply. Enabled with
+ * {@code app.passthrough.enabled}, unless {@code app.storage.enabled} is set: a stored person has to be bound.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnExpression("${app.passthrough.enabled:false} and !${app.storage.enabled:false}")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class PersonPassthroughFilter extends OncePerRequestFilter {
+    static final String PATH = "/api/person";
+
+    private final ObjectMapper objectMapper;
+    private final XmlMapper xmlMapper;
+    private final PersonTranscoder transcoder;
+    private final BufferPool bufferPool;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod())
+                || !request.getRequestURI().equals(request.getContextPath() + PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ObjectMapper in = mapperFor(request.getContentType());
+        ObjectMapper out = mapperFor(request.getHeader(HttpHeaders.ACCEPT));
+        if (in == null || out == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        byte[] body = request.getInputStream().readAllBytes();
+        PooledOutputStream transcoded = bufferPool.newOutputStream();
+        try {
+            if (!passthrough(body, in, out, transcoded)) {
+                chain.doFilter(new BufferedBodyRequest(request, body), response);
+                return;
+            }
+            response.setContentType(
+                    out == xmlMapper ? MediaType.APPLICATION_XML_VALUE : MediaType.APPLICATION_JSON_VALUE);
+            if (in == out) {
+                response.setContentLength(body.length);
+                response.getOutputStream().write(body);
+            } else {
+                response.setContentLengthLong(transcoded.size());
+                transcoded.writeTo(response.getOutputStream());
+            }
+        } finally {
+            transcoded.release();
+        }
+    }
+
+    /**
+     * Checks the body and, when the formats differ, transcodes it into {@code transcoded}.
+     *
+     * @return whether the body is answered here; when {@code false}, the request has to be bound
+     */
+    private boolean passthrough(byte[] body, ObjectMapper in, ObjectMapper out, PooledOutputStream transcoded)
+            throws IOException {
+        try (JsonParser parser = in.createParser(body)) {
+            return in == out ? transcoder.copy(parser, null) : transcode(parser, out, transcoded);
+        } catch (JsonProcessingException e) {
+            log.debug("Passing {} to binding: {}", PATH, e.getOriginalMessage());
+            return false;
+        }
+    }
+
+    private boolean transcode(JsonParser parser, ObjectMapper out, PooledOutputStream transcoded) throws IOException {
+        try (JsonGenerator generator = out.createGenerator(transcoded)) {
+            return transcoder.copy(parser, generator);
+        }
+    }
+
+    /**
+     * Maps a {@code Content-Type} or {@code Accept} header naming exactly one JSON or XML type, in UTF-8 if a charset
+     * is given, to its mapper.
+     */
+    private ObjectMapper mapperFor(String header) {
+        if (header == null) {
+            return null;
+        }
+        List<MediaType> types;
+        try {
+            types = MediaType.parseMediaTypes(header);
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+        if (types.size() != 1) {
+            return null;
+        }
+        MediaType type = types.get(0);
+        Charset charset = type.getCharset();
+        if (charset != null && !charset.equals(StandardCharsets.UTF_8)) {
+            return null;
+        }
+        if (type.equalsTypeAndSubtype(MediaType.APPLICATION_JSON)) {
+            return objectMapper;
+        }
+        return type.equalsTypeAndSubtype(MediaType.APPLICATION_XML) ? xmlMapper : null;
+    }
+
+    /**
+     * Replays a body that has already been read from the request.
+     */
+    static final class BufferedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        BufferedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                /**
+                 * Tells the listener right away that the whole body can be read, since it is already in memory; the
+                 * request's own stream was read to the end when the body was buffered.
+                 */
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        listener.onDataAvailable();
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.ISO_8859_1;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.jacksonparse.controller;
+
+import java.io.IOException;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.example.jacksonparse.config.ResponseCacheProperties;
+import com.example.jacksonparse.controller.PersonPassthroughFilter.BufferedBodyRequest;
+import com.example.jacksonparse.service.ResponseCache;
+import com.example.jacksonparse.service.ResponseCache.CachedResponse;
+
+/**
+ * Answers repeated {@code POST /api/person} requests from {@link ResponseCache}, without parsing or writing anything.
+ * A request whose body, {@code Content-Type} and {@code Accept} header match an earlier one gets that request's
+ * response bytes back. Other requests go on to the passthrough filter or {@link PersonController} as usual, and their
+ * {@code 200 OK} responses are kept for next time; errors are not cached. Only bodies with a {@code Content-Length} of
+ * up to {@code app.response-cache.max-body-size} are looked up, so compressed and chunked uploads are always bound.
+ * Runs after {@link ContentEncodingFilter}, so it caches plain bodies, and before the other filters. Enabled with
+ * {@code app.response-cache.enabled}, unless {@code app.storage.enabled} is set: a stored person has to be bound.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+@ConditionalOnExpression("${app.response-cache.enabled:false} and !${app.storage.enabled:false}")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class PersonResponseCacheFilter extends OncePerRequestFilter {
+    private final ResponseCache cache;
+    private final long maxBodySize;
+
+    public PersonResponseCacheFilter(ResponseCache cache, ResponseCacheProperties properties) {
+        this.cache = cache;
+        this.maxBodySize = properties.getMaxBodySize().toBytes();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod())
+                || !request.getRequestURI().equals(request.getContextPath() + PersonPassthroughFilter.PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long length = request.getContentLengthLong();
+        if (length < 0 || length > maxBodySize) {
+            chain.doFilter(request, response);
+            return;
+        }
+        byte[] body = request.getInputStream().readAllBytes();
+        String contentType = request.getContentType();
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        CachedResponse cached = cache.get(body, contentType, accept);
+        if (cached != null) {
+            response.setContentType(cached.contentType());
+            response.setContentLength(cached.body().length);
+            response.getOutputStream().write(cached.body());
+            return;
+        }
+        ContentCachingResponseWrapper captured = new ContentCachingResponseWrapper(response);
+        chain.doFilter(new BufferedBodyRequest(request, body), captured);
+        if (captured.getStatus() == HttpStatus.OK.value() && captured.getContentType() != null) {
+            cache.put(body, contentType, accept,
+                    new CachedResponse(captured.getContentType(), captured.getContentAsByteArray()));
+        }
+        captured.copyBodyToResponse();
+    }
+}
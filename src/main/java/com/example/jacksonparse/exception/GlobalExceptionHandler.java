@@ -1,16 +1,44 @@
 package com.example.jacksonparse.exception;
 
+import java.time.Duration;
+import java.util.List;
+
 import jakarta.servlet.http.HttpServletRequest;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import com.example.jacksonparse.storage.StorageException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
 import lombok.extern.slf4j.Slf4j;
 
 @RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @Slf4j
 public class GlobalExceptionHandler {
+    private final MalformedInputResponder malformedInput;
+
+    @Autowired
+    public GlobalExceptionHandler(MeterRegistry registry,
+            @Value("${app.errors.malformed-logs-per-minute:10}") int malformedLogsPerMinute) {
+        this(registry, new LogRateLimiter(malformedLogsPerMinute, Duration.ofMinutes(1), System::nanoTime));
+    }
+
+    GlobalExceptionHandler(MeterRegistry registry, LogRateLimiter logLimiter) {
+        this.malformedInput = new MalformedInputResponder(registry, logLimiter, log);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<String> handleException(Exception e, HttpServletRequest request) {
         log.error("Error processing request: {} {} - {}", request.getMethod(), request.getRequestURI(), e.getMessage(),
@@ -18,4 +46,34 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest()
                 .body("Error: " + e.getMessage() + " (Content-Type: " + request.getContentType() + ")");
     }
+
+    /**
+     * Answers a request body that could not be parsed or bound with an RFC 9457 problem document, written straight to
+     * bytes. A misbehaving client can send these at a high rate, so each one only increments
+     * {@value MalformedInputResponder#METRIC}, tagged with the Jackson exception type; stack traces are logged for at
+     * most {@code app.errors.malformed-logs-per-minute} of them. A {@code Person} that breaks the validation rules is
+     * answered the same way, with each violation and its location listed under {@code violations}.
+     * <p>
+     * A body that crosses one of the {@code app.jackson.limits}, whether Jackson, Woodstox or the body size filter
+     * stopped it, also increments {@value MalformedInputResponder#LIMITED_METRIC}, tagged with the limit, and is
+     * answered with the limit's property under {@code limit}: 413 for the body size and 400 for the others.
+     */
+    @ExceptionHandler({ HttpMessageNotReadableException.class, JsonProcessingException.class })
+    public ResponseEntity<byte[]> handleMalformedInput(Exception e, HttpServletRequest request) {
+        return malformedInput.respond(e, request, HttpServletRequest::getMethod, HttpServletRequest::getRequestURI);
+    }
+
+    /**
+     * Answers a person that was not stored, because the storage queue stayed full or the write failed, with
+     * {@code 503 Service Unavailable} and a {@code Retry-After} of one second. Both cases are already counted, and
+     * failed writes logged, by the store, so nothing is logged here.
+     */
+    @ExceptionHandler(StorageException.class)
+    public ResponseEntity<byte[]> handleStorageFailure(StorageException e) {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        byte[] body = MalformedInputResponder.problem("Person not stored", status, e, e.getMessage(), null, null,
+                List.of());
+        return ResponseEntity.status(status).header(HttpHeaders.RETRY_AFTER, "1")
+                .contentType(MediaType.APPLICATION_PROBLEM_JSON).contentLength(body.length).body(body);
+    }
 }
@@ -0,0 +1,48 @@
+package com.example.jacksonparse.exception;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Lets at most {@code permits} events through per fixed window and counts the others, so that a flood of identical
+ * failures logs a handful of stack traces instead of one per request.
+ */
+final class LogRateLimiter {
+    static final long DENIED = -1;
+
+    private final int permits;
+    private final long windowNanos;
+    private final LongSupplier nanoClock;
+    private long windowStart;
+    private int used;
+    private long suppressed;
+
+    LogRateLimiter(int permits, Duration window, LongSupplier nanoClock) {
+        this.permits = permits;
+        this.windowNanos = window.toNanos();
+        this.nanoClock = nanoClock;
+        this.windowStart = nanoClock.getAsLong();
+    }
+
+    /**
+     * Takes a permit for one event.
+     *
+     * @return {@link #DENIED} when the current window is used up, otherwise the number of events denied since the
+     *         last permit was given
+     */
+    synchronized long acquire() {
+        long now = nanoClock.getAsLong();
+        if (now - windowStart >= windowNanos) {
+            windowStart = now;
+            used = 0;
+        }
+        if (used >= permits) {
+            suppressed++;
+            return DENIED;
+        }
+        used++;
+        long denied = suppressed;
+        suppressed = 0;
+        return denied;
+    }
+}
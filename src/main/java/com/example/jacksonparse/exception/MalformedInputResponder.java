@@ -0,0 +1,125 @@
+package com.example.jacksonparse.exception;
+
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import com.example.jacksonparse.codec.InputLimitException;
+import com.example.jacksonparse.codec.InputLimitException.Limit;
+import com.example.jacksonparse.codec.PersonValidationException;
+import com.example.jacksonparse.codec.PersonValidationException.Violation;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Writes the answer to a request body that could not be parsed, bound or validated, or that crossed an input limit,
+ * for the exception handlers of both web stacks, so that they share one error contract: the problem document, the
+ * {@value #METRIC} and {@value #LIMITED_METRIC} counters and the rate-limited log.
+ */
+final class MalformedInputResponder {
+    static final String METRIC = "http.server.requests.malformed";
+    static final String LIMITED_METRIC = "http.server.requests.limited";
+
+    private static final int BODY_CAPACITY = 160;
+
+    private final MeterRegistry registry;
+    private final LogRateLimiter logLimiter;
+    private final Logger log;
+    private final Map<Class<?>, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<Limit, Counter> limitCounters = new EnumMap<>(Limit.class);
+
+    /**
+     * @param log
+     *            the logger of the handler, so that the warnings keep its category
+     */
+    MalformedInputResponder(MeterRegistry registry, LogRateLimiter logLimiter, Logger log) {
+        this.registry = registry;
+        this.logLimiter = logLimiter;
+        this.log = log;
+        for (Limit limit : Limit.values()) {
+            limitCounters.put(limit, registry.counter(LIMITED_METRIC, "limit", limit.property()));
+        }
+    }
+
+    /**
+     * @param method
+     *            reads the method of {@code request}, only when the failure is logged
+     * @param path
+     *            reads the path of {@code request}, only when the failure is logged
+     */
+    <R> ResponseEntity<byte[]> respond(Exception e, R request, Function<R, String> method, Function<R, String> path) {
+        JsonProcessingException cause = jacksonCause(e);
+        Throwable reported = cause != null ? cause : e;
+        counters.computeIfAbsent(reported.getClass(),
+                type -> registry.counter(METRIC, "exception", type.getSimpleName())).increment();
+        long suppressed = logLimiter.acquire();
+        if (suppressed != LogRateLimiter.DENIED) {
+            log.warn("Malformed request body: {} {} ({} similar since last logged)", method.apply(request),
+                    path.apply(request), suppressed, e);
+        }
+        Limit limit = InputLimitException.limitOf(e);
+        HttpStatus status = limit == Limit.BODY_SIZE ? HttpStatus.PAYLOAD_TOO_LARGE : HttpStatus.BAD_REQUEST;
+        String detail = cause != null ? cause.getOriginalMessage() : e.getMessage();
+        byte[] body;
+        if (limit != null) {
+            limitCounters.get(limit).increment();
+            body = problem("Input limit exceeded", status, reported, detail, limit, null, List.of());
+        } else if (cause instanceof PersonValidationException invalid) {
+            body = problem("Invalid person", status, invalid, detail, null, null, invalid.getViolations());
+        } else {
+            body = problem("Malformed request body", status, reported, detail, null,
+                    cause != null ? cause.getLocation() : null, List.of());
+        }
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_PROBLEM_JSON).contentLength(body.length)
+                .body(body);
+    }
+
+    private static JsonProcessingException jacksonCause(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof JsonProcessingException jackson) {
+                return jackson;
+            }
+        }
+        return null;
+    }
+
+    static byte[] problem(String title, HttpStatus status, Throwable exception, String detail, Limit limit,
+            JsonLocation location, List<Violation> violations) {
+        String message = String.valueOf(detail);
+        JsonStringEncoder encoder = JsonStringEncoder.getInstance();
+        StringBuilder json = new StringBuilder(BODY_CAPACITY + 2 * message.length());
+        json.append("{\"title\":\"").append(title).append("\",\"status\":").append(status.value())
+                .append(",\"exception\":\"").append(exception.getClass().getSimpleName()).append("\",\"detail\":\"");
+        encoder.quoteAsString(message, json);
+        json.append('"');
+        if (limit != null) {
+            json.append(",\"limit\":\"").append(limit.property()).append('"');
+        }
+        if (location != null && location.getLineNr() > 0) {
+            json.append(",\"line\":").append(location.getLineNr()).append(",\"column\":")
+                    .append(location.getColumnNr());
+        }
+        if (!violations.isEmpty()) {
+            json.append(",\"violations\":[");
+            for (int i = 0; i < violations.size(); i++) {
+                json.append(i > 0 ? ",{\"location\":\"" : "{\"location\":\"");
+                encoder.quoteAsString(violations.get(i).location(), json);
+                json.append("\",\"detail\":\"").append(violations.get(i).message()).append("\"}");
+            }
+            json.append(']');
+        }
+        return json.append('}').toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -7,6 +7,7 @@ import java.util.Map;
 
 import com.fasterxml.jackson.annotation.JsonAnyGetter;
 import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlElementWrapper;
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlRootElement;
@@ -45,8 +46,20 @@ public class Person {
         this.extra.put(key, value);
     }
 
-    @JsonAnyGetter
+    /**
+     * Returns the unknown properties, first replacing any {@link RawExtraValue} with the map, list or scalar it holds.
+     */
+    @JsonIgnore
     public Map<String, Object> getExtra() {
+        extra.replaceAll((key, value) -> value instanceof RawExtraValue raw ? raw.value() : value);
+        return extra;
+    }
+
+    /**
+     * Returns the unknown properties as stored, so that writing them does not materialize {@link RawExtraValue}s.
+     */
+    @JsonAnyGetter
+    public Map<String, Object> extraProperties() {
         return extra;
     }
 }
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.example.jacksonparse.model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+/**
+ * An unknown {@link Person} property kept as the tokens it was read from. Writing it replays the tokens, so the
+ * output is the same as for the map or list it stands for; {@link #value()} builds that map or list on demand.
+ */
+public final class RawExtraValue implements JsonSerializable {
+    private final TokenBuffer tokens;
+
+    public RawExtraValue(TokenBuffer tokens) {
+        this.tokens = tokens;
+    }
+
+    /**
+     * Reads the tokens as an untyped value, with the codec of the parser they were copied from.
+     */
+    public Object value() {
+        try (JsonParser parser = tokens.asParser()) {
+            return parser.readValueAs(Object.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        tokens.serialize(gen);
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer)
+            throws IOException {
+        serialize(gen, serializers);
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(value());
+    }
+}
@@ -0,0 +1,372 @@
+package com.example.jacksonparse.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Finds the records of a batch body by scanning its UTF-8 bytes for their boundaries, without decoding or checking
+ * anything in between: the elements of a JSON array, and the top-level children of a {@code <persons>} document.
+ * Quoted strings, attribute values, comments, CDATA sections and processing instructions are skipped whole, so that
+ * brackets, commas and tags inside them are not taken for structure. Bodies this scan cannot place, such as other
+ * encodings, a DTD, or namespace declarations on the root element, are not split.
+ * <p>
+ * The scan is cheaper than a parser because it is not one: the records themselves are left for the parser that binds
+ * them, which rejects anything malformed in between.
+ */
+final class BatchSplitter {
+    private static final byte[] BOM = { (byte) 0xEF, (byte) 0xBB, (byte) 0xBF };
+    private static final byte[] XML_DECLARATION = "<?xml".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] ENCODING = "encoding".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] UTF_8 = "UTF-8".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] XMLNS = "xmlns".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] PERSON = "person".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] COMMENT = "<!--".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] COMMENT_END = "-->".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CDATA = "<![CDATA[".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CDATA_END = "]]>".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] PI_END = "?>".getBytes(StandardCharsets.US_ASCII);
+
+    private BatchSplitter() {
+    }
+
+    /**
+     * Finds the elements of a JSON array, each without the whitespace around it.
+     *
+     * @return the elements, or {@code null} if the body is not a UTF-8 array followed by nothing but whitespace
+     */
+    static Records json(byte[] body) {
+        int i = skipWhitespace(body, startsWith(body, 0, BOM) ? BOM.length : 0);
+        if (i == body.length || body[i] != '[') {
+            return null;
+        }
+        Records records = new Records();
+        int depth = 0;
+        int start = -1;
+        int end = -1;
+        for (i++; i < body.length; i++) {
+            byte b = body[i];
+            if (isWhitespace(b)) {
+                continue;
+            }
+            if (depth == 0 && (b == ',' || b == ']')) {
+                if (start >= 0) {
+                    records.add(start, end);
+                } else if (b == ',' || records.size() > 0) {
+                    // An empty element, as in [,1] or [1,]
+                    return null;
+                }
+                if (b == ']') {
+                    return skipWhitespace(body, i + 1) == body.length ? records : null;
+                }
+                start = -1;
+                continue;
+            }
+            if (start < 0) {
+                start = i;
+            }
+            if (b == '"') {
+                i = skipString(body, i);
+                if (i < 0) {
+                    return null;
+                }
+            } else if (b == '{' || b == '[') {
+                depth++;
+            } else if (b == '}' || b == ']') {
+                depth--;
+            }
+            end = i + 1;
+        }
+        return null;
+    }
+
+    /**
+     * Finds the top-level children of a {@code <persons>} document that the bulk stream binds: {@code <person>}
+     * elements, with any namespace prefix, that have attributes or child elements. The records are widened to cover
+     * the whole content of the root element between them, so that everything in it is read by the parser of one
+     * record or another: the first starts where the content does, and each ends where the next starts.
+     *
+     * @return the records, or {@code null} if the body cannot be split
+     */
+    static Records xml(byte[] body) {
+        int i = skipProlog(body, startsWith(body, 0, BOM) ? BOM.length : 0);
+        if (i < 0 || body[i + 1] == 0) {
+            return null;
+        }
+        int tagEnd = skipTag(body, i);
+        if (tagEnd < 0 || declaresNamespace(body, i, tagEnd)) {
+            return null;
+        }
+        Records records = new Records();
+        if (body[tagEnd - 2] == '/') {
+            return records;
+        }
+        int contentStart = tagEnd;
+        int depth = 0;
+        int childStart = -1;
+        boolean person = false;
+        boolean record = false;
+        for (i = tagEnd; i < body.length; i++) {
+            if (body[i] != '<') {
+                continue;
+            }
+            int end = skipMarkup(body, i);
+            if (end == 0) {
+                // A start or end tag
+                end = skipTag(body, i);
+                if (end < 0) {
+                    return null;
+                }
+                if (body[i + 1] == '/') {
+                    if (depth == 0) {
+                        return records.widen(contentStart, i);
+                    }
+                    depth--;
+                } else {
+                    boolean empty = body[end - 2] == '/';
+                    if (depth == 0) {
+                        childStart = i;
+                        person = isPerson(body, i + 1);
+                        record = hasAttributes(body, i + 1, empty ? end - 2 : end - 1);
+                    } else if (depth == 1) {
+                        record = true;
+                    }
+                    if (!empty) {
+                        depth++;
+                    }
+                }
+                if (depth == 0 && person && record) {
+                    records.add(childStart, end);
+                    person = false;
+                }
+            } else if (end < 0) {
+                return null;
+            }
+            i = end - 1;
+        }
+        return null;
+    }
+
+    /**
+     * Skips the XML declaration, comments, processing instructions and whitespace before the root element.
+     *
+     * @return the index of the root element, or -1 if the prolog declares an encoding other than UTF-8 or holds
+     *         anything else
+     */
+    private static int skipProlog(byte[] body, int i) {
+        if (startsWith(body, i, XML_DECLARATION) && i + XML_DECLARATION.length < body.length
+                && isWhitespace(body[i + XML_DECLARATION.length])) {
+            int end = indexOf(body, i, PI_END);
+            int encoding = indexOf(body, i, ENCODING);
+            if (end < 0 || encoding >= 0 && encoding < end && !declaresUtf8(body, encoding + ENCODING.length, end)) {
+                return -1;
+            }
+            i = end + PI_END.length;
+        }
+        while (true) {
+            i = skipWhitespace(body, i);
+            // Anything but markup, and any markup but comments and processing instructions, such as a DTD
+            if (i + 1 >= body.length || body[i] != '<' || body[i + 1] == '!' && !startsWith(body, i, COMMENT)) {
+                return -1;
+            }
+            int end = skipMarkup(body, i);
+            if (end <= 0) {
+                return end == 0 ? i : -1;
+            }
+            i = end;
+        }
+    }
+
+    private static boolean declaresUtf8(byte[] body, int i, int end) {
+        i = skipWhitespace(body, i);
+        if (i == end || body[i] != '=') {
+            return false;
+        }
+        i = skipWhitespace(body, i + 1);
+        if (i + UTF_8.length + 2 > end) {
+            return false;
+        }
+        for (int j = 0; j < UTF_8.length; j++) {
+            if ((body[i + 1 + j] | 0x20) != (UTF_8[j] | 0x20)) {
+                return false;
+            }
+        }
+        return body[i + 1 + UTF_8.length] == body[i];
+    }
+
+    /**
+     * Skips a comment, CDATA section or processing instruction starting at {@code i}.
+     *
+     * @return the index after it, 0 if there is none at {@code i}, or -1 if it is not closed
+     */
+    private static int skipMarkup(byte[] body, int i) {
+        int end;
+        if (startsWith(body, i, COMMENT)) {
+            end = indexOf(body, i + COMMENT.length, COMMENT_END);
+            return end < 0 ? -1 : end + COMMENT_END.length;
+        }
+        if (startsWith(body, i, CDATA)) {
+            end = indexOf(body, i + CDATA.length, CDATA_END);
+            return end < 0 ? -1 : end + CDATA_END.length;
+        }
+        if (i + 1 < body.length && body[i + 1] == '?') {
+            end = indexOf(body, i + 2, PI_END);
+            return end < 0 ? -1 : end + PI_END.length;
+        }
+        return 0;
+    }
+
+    /**
+     * Skips the start or end tag starting at {@code i}, with quoted attribute values that may hold {@code >}.
+     *
+     * @return the index after its {@code >}, or -1 if it is not closed
+     */
+    private static int skipTag(byte[] body, int i) {
+        for (i++; i < body.length; i++) {
+            byte b = body[i];
+            if (b == '>') {
+                return i + 1;
+            }
+            if (b == '"' || b == '\'') {
+                int end = indexOf(body, i + 1, b);
+                if (end < 0) {
+                    return -1;
+                }
+                i = end;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns whether the name of the tag at {@code i} is {@code person}, with or without a prefix.
+     */
+    private static boolean isPerson(byte[] body, int i) {
+        int end = i;
+        while (!isWhitespace(body[end]) && body[end] != '/' && body[end] != '>') {
+            end++;
+        }
+        int start = end - PERSON.length;
+        return start >= i && startsWith(body, start, PERSON) && (start == i || body[start - 1] == ':');
+    }
+
+    /**
+     * Returns whether anything follows the name of the tag at {@code i} before {@code end}.
+     */
+    private static boolean hasAttributes(byte[] body, int i, int end) {
+        while (i < end && !isWhitespace(body[i])) {
+            i++;
+        }
+        return skipWhitespace(body, i) < end;
+    }
+
+    /**
+     * Returns whether the tag from {@code i} to {@code end} has an {@code xmlns} attribute, with or without a prefix.
+     */
+    private static boolean declaresNamespace(byte[] body, int i, int end) {
+        for (; i < end; i++) {
+            byte b = body[i];
+            if (b == '"' || b == '\'') {
+                i = indexOf(body, i + 1, b);
+            } else if (isWhitespace(b) && startsWith(body, i + 1, XMLNS)) {
+                byte next = body[i + 1 + XMLNS.length];
+                if (next == ':' || next == '=' || isWhitespace(next)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Skips a JSON string starting at the quote at {@code i}.
+     *
+     * @return the index of its closing quote, or -1 if it is not closed
+     */
+    private static int skipString(byte[] body, int i) {
+        for (i++; i < body.length; i++) {
+            if (body[i] == '\\') {
+                i++;
+            } else if (body[i] == '"') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int skipWhitespace(byte[] body, int i) {
+        while (i < body.length && isWhitespace(body[i])) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+    }
+
+    private static boolean startsWith(byte[] body, int i, byte[] prefix) {
+        return i + prefix.length <= body.length
+                && Arrays.equals(body, i, i + prefix.length, prefix, 0, prefix.length);
+    }
+
+    private static int indexOf(byte[] body, int i, byte b) {
+        for (; i < body.length; i++) {
+            if (body[i] == b) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOf(byte[] body, int i, byte[] target) {
+        for (int last = body.length - target.length; i <= last; i++) {
+            if (startsWith(body, i, target)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * The start and end offsets of the records of a body.
+     */
+    static final class Records {
+        private int[] bounds = new int[256];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        int start(int index) {
+            return bounds[2 * index];
+        }
+
+        int end(int index) {
+            return bounds[2 * index + 1];
+        }
+
+        void add(int start, int end) {
+            if (2 * size == bounds.length) {
+                bounds = Arrays.copyOf(bounds, 2 * bounds.length);
+            }
+            bounds[2 * size] = start;
+            bounds[2 * size + 1] = end;
+            size++;
+        }
+
+        /**
+         * Stretches the records over the content from {@code start} to {@code end}, without gaps between them.
+         */
+        Records widen(int start, int end) {
+            if (size > 0) {
+                bounds[0] = start;
+                for (int i = 0; i < size - 1; i++) {
+                    bounds[2 * i + 1] = bounds[2 * i + 2];
+                }
+                bounds[2 * size - 1] = end;
+            }
+            return this;
+        }
+    }
+}
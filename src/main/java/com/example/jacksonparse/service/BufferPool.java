@@ -0,0 +1,48 @@
+package com.example.jacksonparse.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Bounded pool of fixed-size byte segments backing {@link PooledOutputStream}. Segments are taken from the pool when
+ * available and allocated otherwise; released segments are kept up to the pool's capacity and left to the garbage
+ * collector beyond it, so a burst of large bodies does not pin its memory for good. The pool is shared by all threads
+ * rather than held per thread, which would give every virtual thread a pool of its own.
+ */
+public final class BufferPool {
+    private final int segmentSize;
+    private final ArrayBlockingQueue<byte[]> free;
+
+    /**
+     * @param segmentSize
+     *            size of each segment in bytes
+     * @param capacity
+     *            maximum number of idle segments kept
+     */
+    public BufferPool(int segmentSize, int capacity) {
+        this.segmentSize = segmentSize;
+        this.free = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * @return an empty stream, which must be {@linkplain PooledOutputStream#release() released} after use
+     */
+    public PooledOutputStream newOutputStream() {
+        return new PooledOutputStream(this);
+    }
+
+    /**
+     * @return the number of idle segments in the pool
+     */
+    public int idle() {
+        return free.size();
+    }
+
+    byte[] acquire() {
+        byte[] segment = free.poll();
+        return segment != null ? segment : new byte[segmentSize];
+    }
+
+    void release(byte[] segment) {
+        free.offer(segment);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.jacksonparse.service;
+
+/**
+ * Outcome of a bulk ingestion request.
+ *
+ * @param accepted
+ *            number of records bound successfully
+ * @param rejected
+ *            number of records that failed to bind
+ */
+public record BulkSummary(long accepted, long rejected) {
+}
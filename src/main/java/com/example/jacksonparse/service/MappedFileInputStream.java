@@ -0,0 +1,67 @@
+package com.example.jacksonparse.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Reads a file channel from its start through a sliding read-only memory mapping, so files of any size are read
+ * without copying them through a heap buffer and without mapping more than one window at a time. Closing the stream
+ * leaves the channel open.
+ */
+final class MappedFileInputStream extends InputStream {
+    private final FileChannel channel;
+    private final long windowSize;
+    private final long size;
+    private long position;
+    private MappedByteBuffer window;
+
+    MappedFileInputStream(FileChannel channel, long windowSize) throws IOException {
+        this.channel = channel;
+        this.windowSize = windowSize;
+        this.size = channel.size();
+    }
+
+    @Override
+    public int read() throws IOException {
+        return nextWindow() ? window.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!nextWindow()) {
+            return -1;
+        }
+        int n = Math.min(len, window.remaining());
+        window.get(b, off, n);
+        return n;
+    }
+
+    @Override
+    public void close() {
+        window = null;
+        position = size;
+    }
+
+    /**
+     * Maps the next window once the current one is used up.
+     *
+     * @return whether there is anything left to read
+     */
+    private boolean nextWindow() throws IOException {
+        if (window != null && window.hasRemaining()) {
+            return true;
+        }
+        if (position >= size) {
+            return false;
+        }
+        long length = Math.min(windowSize, size - position);
+        window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+        position += length;
+        return true;
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.jacksonparse.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import com.example.jacksonparse.model.Person;
+import com.example.jacksonparse.service.BatchSplitter.Records;
+import com.example.jacksonparse.service.PersonBulkService.RecordSink;
+import com.example.jacksonparse.service.PersonBulkService.ResultWriter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.exc.StreamConstraintsException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Binds batches of {@link Person} records sent as one JSON array or {@code <persons>} XML document, in parallel once
+ * a batch is large enough. The body is first scanned by {@link BatchSplitter} for the bytes of each record, without
+ * parsing it. The records are then bound in chunks of {@code app.batch.chunk-size} on a {@link ForkJoinPool} of
+ * {@code app.batch.parallelism} threads (the number of processors by default), shared by all requests. Each chunk is
+ * read by {@link PersonBulkService} as a small array or {@code <persons>} document of its own, so records bind and fail
+ * exactly as they do in the bulk stream. The worker writes the result lines of its chunk as it goes, so that bound
+ * records do not outlive their chunk, and the lines of all chunks are sent in record order once the last is done.
+ * <p>
+ * Batches of fewer than {@code app.batch.parallel-threshold} records are streamed through {@link PersonBulkService} on
+ * the request thread instead, as are bodies that cannot be split and bodies with a chunk that does not parse, crosses
+ * one of the {@code app.jackson.limits} or does not give one result per record, so that malformed input is reported
+ * where the bulk stream reports it.
+ */
+@Service
+public class PersonBatchService implements DisposableBean {
+    private final PersonBulkService bulkService;
+    private final ObjectMapper jsonMapper;
+    private final ForkJoinPool pool;
+    private final int parallelThreshold;
+    private final int chunkSize;
+    private final byte[] separator;
+
+    public PersonBatchService(PersonBulkService bulkService, ObjectMapper jsonMapper,
+            @Value("${app.batch.parallelism:0}") int parallelism,
+            @Value("${app.batch.parallel-threshold:1024}") int parallelThreshold,
+            @Value("${app.batch.chunk-size:256}") int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("app.batch.chunk-size must be positive: " + chunkSize);
+        }
+        this.bulkService = bulkService;
+        this.jsonMapper = jsonMapper;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(),
+                PersonBatchService::newWorker, null, false);
+        this.parallelThreshold = parallelThreshold;
+        this.chunkSize = chunkSize;
+        String rootSeparator = jsonMapper.getFactory().getRootValueSeparator();
+        this.separator = rootSeparator == null ? new byte[0] : rootSeparator.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static ForkJoinWorkerThread newWorker(ForkJoinPool pool) {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("person-batch-" + thread.getPoolIndex());
+        return thread;
+    }
+
+    /**
+     * Binds the records of {@code body} and writes one result line per record to {@code out}.
+     *
+     * @param body
+     *            request body
+     * @param contentType
+     *            {@link MediaType#APPLICATION_XML} for a {@code <persons>} document, anything else is treated as a
+     *            JSON array
+     * @param out
+     *            response body
+     * @return the number of accepted and rejected records
+     */
+    public BulkSummary process(byte[] body, MediaType contentType, OutputStream out) throws IOException {
+        boolean xml = MediaType.APPLICATION_XML.isCompatibleWith(contentType);
+        Records records = xml ? BatchSplitter.xml(body) : BatchSplitter.json(body);
+        if (records == null || records.size() < parallelThreshold) {
+            return bulkService.process(new ByteArrayInputStream(body), contentType, out);
+        }
+        ChunkOutput[] chunks = new ChunkOutput[(records.size() + chunkSize - 1) / chunkSize];
+        pool.invoke(new BindTask(records, chunkReader(body, xml), chunks, 0, chunks.length));
+        for (ChunkOutput chunk : chunks) {
+            if (chunk == null) {
+                return bulkService.process(new ByteArrayInputStream(body), contentType, out);
+            }
+        }
+        long accepted = 0;
+        long rejected = 0;
+        for (ChunkOutput chunk : chunks) {
+            // The generator of each chunk separates its own lines
+            if (accepted + rejected > 0) {
+                out.write(separator);
+            }
+            chunk.lines().writeTo(out);
+            accepted += chunk.accepted();
+            rejected += chunk.rejected();
+        }
+        return new BulkSummary(accepted, rejected);
+    }
+
+    /**
+     * Returns a reader that binds a range of {@code body} as an array or {@code <persons>} document of its own.
+     */
+    private ChunkReader chunkReader(byte[] body, boolean xml) {
+        byte[] open = (xml ? "<persons>" : "[").getBytes(StandardCharsets.UTF_8);
+        byte[] close = (xml ? "</persons>" : "]").getBytes(StandardCharsets.UTF_8);
+        return (start, end, sink) -> {
+            byte[] chunk = new byte[open.length + end - start + close.length];
+            System.arraycopy(open, 0, chunk, 0, open.length);
+            System.arraycopy(body, start, chunk, open.length, end - start);
+            System.arraycopy(close, 0, chunk, chunk.length - close.length, close.length);
+            if (xml) {
+                bulkService.processXml(new ByteArrayInputStream(chunk), sink);
+            } else {
+                bulkService.processJson(new ByteArrayInputStream(chunk), sink);
+            }
+        };
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdown();
+    }
+
+    /**
+     * Binds the records in a range of the body, which starts at the first record and ends with the last.
+     */
+    @FunctionalInterface
+    private interface ChunkReader {
+        void read(int start, int end, RecordSink sink) throws IOException;
+    }
+
+    /**
+     * The result lines of a chunk of records, written as soon as it is bound so that its records need not be kept.
+     */
+    private record ChunkOutput(ByteArrayOutputStream lines, long accepted, long rejected) {
+    }
+
+    /**
+     * Binds a range of chunks, halving it down to single chunks. A chunk that does not parse, or that does not give one
+     * result per record, is left {@code null}.
+     */
+    private final class BindTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient Records records;
+        private final transient ChunkReader reader;
+        private final transient ChunkOutput[] chunks;
+        private final int from;
+        private final int to;
+
+        BindTask(Records records, ChunkReader reader, ChunkOutput[] chunks, int from, int to) {
+            this.records = records;
+            this.reader = reader;
+            this.chunks = chunks;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                for (int chunk = from; chunk < to; chunk++) {
+                    chunks[chunk] = bind(chunk * chunkSize, Math.min((chunk + 1) * chunkSize, records.size()) - 1);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new BindTask(records, reader, chunks, from, middle),
+                    new BindTask(records, reader, chunks, middle, to));
+        }
+
+        /**
+         * Binds the records from {@code first} to {@code last}, inclusive.
+         */
+        private ChunkOutput bind(int first, int last) {
+            ByteArrayOutputStream lines = new ByteArrayOutputStream();
+            BulkSummary summary;
+            try (JsonGenerator generator = jsonMapper.createGenerator(lines)) {
+                ResultWriter writer = new ResultWriter(generator, first);
+                reader.read(records.start(first), records.end(last), writer);
+                summary = writer.summary();
+            } catch (JsonParseException | StreamConstraintsException e) {
+                return null;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (summary.accepted() + summary.rejected() != last - first + 1) {
+                return null;
+            }
+            return new ChunkOutput(lines, summary.accepted(), summary.rejected());
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.jacksonparse.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import com.example.jacksonparse.model.Person;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.exc.StreamConstraintsException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+/**
+ * Streams bulk uploads of {@link Person} records: newline-delimited JSON or a {@code <persons>} XML document with
+ * repeated {@code <person>} elements. Records are bound one at a time and a result line is written per record as
+ * newline-delimited JSON, so memory stays flat regardless of the upload size.
+ * <p>
+ * The upload as a whole has no size limit, but each record is read under the mappers' {@code app.jackson.limits}. A
+ * record that crosses one ends the stream like malformed input does, since the rest of it is never read.
+ */
+@Service
+public class PersonBulkService {
+    static final int FLUSH_INTERVAL = 256;
+
+    private final ObjectMapper jsonMapper;
+    private final ObjectReader jsonReader;
+    private final ObjectReader xmlReader;
+
+    public PersonBulkService(ObjectMapper jsonMapper, XmlMapper xmlMapper) {
+        this.jsonMapper = jsonMapper;
+        this.jsonReader = jsonMapper.readerFor(Person.class);
+        this.xmlReader = xmlMapper.readerFor(Person.class);
+    }
+
+    /**
+     * Reads records from {@code in} and writes one result line per record to {@code out}.
+     *
+     * @param in
+     *            request body, read incrementally
+     * @param contentType
+     *            {@link MediaType#APPLICATION_XML} for a {@code <persons>} stream, anything else is treated as
+     *            newline-delimited JSON
+     * @param out
+     *            response body, flushed every {@value #FLUSH_INTERVAL} records
+     * @return the number of accepted and rejected records
+     */
+    public BulkSummary process(InputStream in, MediaType contentType, OutputStream out) throws IOException {
+        try (JsonGenerator results = jsonMapper.createGenerator(out).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            ResultWriter writer = new ResultWriter(results);
+            try {
+                if (MediaType.APPLICATION_XML.isCompatibleWith(contentType)) {
+                    processXml(in, writer);
+                } else {
+                    processJson(in, writer);
+                }
+            } catch (JsonParseException | StreamConstraintsException e) {
+                // Malformed input or a crossed limit: the token stream cannot be resynchronized
+                writer.rejected(e);
+            }
+            return writer.summary();
+        }
+    }
+
+    /**
+     * Binds a JSON array, or a sequence of JSON values, from {@code in} into {@code sink}.
+     */
+    void processJson(InputStream in, RecordSink sink) throws IOException {
+        try (MappingIterator<Person> iterator = jsonReader.readValues(in)) {
+            while (iterator.hasNextValue()) {
+                try {
+                    sink.accepted(iterator.nextValue());
+                } catch (JsonMappingException e) {
+                    throwLimit(e);
+                    sink.rejected(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Binds the {@code <person>} elements of a {@code <persons>} document from {@code in} into {@code sink}.
+     */
+    void processXml(InputStream in, RecordSink sink) throws IOException {
+        try (JsonParser parser = xmlReader.createParser(in)) {
+            parser.nextToken();
+            JsonStreamContext persons = parser.getParsingContext();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                JsonToken token = parser.nextToken();
+                if (!"person".equals(parser.currentName()) || token != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    continue;
+                }
+                try {
+                    sink.accepted(xmlReader.readValue(parser));
+                } catch (JsonMappingException e) {
+                    throwLimit(e);
+                    sink.rejected(e);
+                    skipTo(parser, persons);
+                }
+            }
+        }
+    }
+
+    /**
+     * Rethrows the crossed limit that a deserializer wrapped with the path to the offending property.
+     */
+    private static void throwLimit(JsonMappingException e) throws StreamConstraintsException {
+        if (e.getCause() instanceof StreamConstraintsException limit) {
+            throw limit;
+        }
+    }
+
+    /**
+     * Advances past the rest of a record that failed to bind, until the parser is back in the {@code <persons>}
+     * element.
+     */
+    private static void skipTo(JsonParser parser, JsonStreamContext context) throws IOException {
+        while (parser.getParsingContext() != context) {
+            parser.nextToken();
+        }
+    }
+
+    /**
+     * Receives the outcome of each record, in order.
+     */
+    interface RecordSink {
+        void accepted(Person person) throws IOException;
+
+        void rejected(JsonProcessingException e) throws IOException;
+    }
+
+    /**
+     * Writes one newline-delimited JSON result per record and keeps the running counts.
+     */
+    static final class ResultWriter implements RecordSink {
+        private final JsonGenerator generator;
+        private final long first;
+        private long accepted;
+        private long rejected;
+
+        ResultWriter(JsonGenerator generator) {
+            this(generator, 0);
+        }
+
+        /**
+         * @param first
+         *            index of the first record written
+         */
+        ResultWriter(JsonGenerator generator, long first) {
+            this.generator = generator;
+            this.first = first;
+        }
+
+        @Override
+        public void accepted(Person person) throws IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("index", first + accepted + rejected);
+            generator.writeStringField("status", "ok");
+            if (person.getId() != null) {
+                generator.writeNumberField("id", person.getId());
+            }
+            end();
+            accepted++;
+        }
+
+        @Override
+        public void rejected(JsonProcessingException e) throws IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("index", first + accepted + rejected);
+            generator.writeStringField("status", "error");
+            generator.writeStringField("error", e.getOriginalMessage());
+            end();
+            rejected++;
+        }
+
+        BulkSummary summary() {
+            return new BulkSummary(accepted, rejected);
+        }
+
+        private void end() throws IOException {
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+            if ((accepted + rejected + 1) % FLUSH_INTERVAL == 0) {
+                generator.flush();
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.jacksonparse.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import com.example.jacksonparse.codec.PersonTranscoder;
+import com.example.jacksonparse.model.Person;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Converts {@link Person} documents stored in files between XML and JSON. The source is memory-mapped a window at a
+ * time and streamed through the {@link PersonTranscoder} into the target, so heap use does not grow with the file size.
+ * A document the transcoder does not accept is bound with the source mapper and written with the target one instead,
+ * which gives the same result as before but holds the whole {@code Person} in memory. {@code JacksonConfig} builds it
+ * with mappers and a transcoder of its own, free of the request body limits.
+ */
+@RequiredArgsConstructor
+public class PersonFileTranscoder {
+    static final long WINDOW_SIZE = 64L << 20;
+
+    private final ObjectMapper jsonMapper;
+    private final XmlMapper xmlMapper;
+    private final PersonTranscoder transcoder;
+
+    /**
+     * Writes the XML document in {@code source} as JSON to {@code target}, replacing its contents.
+     *
+     * @return {@code true} if the document was streamed, {@code false} if it had to be bound
+     */
+    public boolean xmlToJson(Path source, Path target) throws IOException {
+        return transcode(source, xmlMapper, target, jsonMapper);
+    }
+
+    /**
+     * Writes the JSON document in {@code source} as XML to {@code target}, replacing its contents.
+     *
+     * @return {@code true} if the document was streamed, {@code false} if it had to be bound
+     */
+    public boolean jsonToXml(Path source, Path target) throws IOException {
+        return transcode(source, jsonMapper, target, xmlMapper);
+    }
+
+    private boolean transcode(Path source, ObjectMapper from, Path target, ObjectMapper to) throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+                FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING)) {
+            OutputStream output = Channels.newOutputStream(out);
+            boolean streamed = stream(in, from, output, to);
+            if (!streamed) {
+                out.truncate(0);
+                to.writeValue(output, from.readValue(new MappedFileInputStream(in, WINDOW_SIZE), Person.class));
+            }
+            return streamed;
+        }
+    }
+
+    private boolean stream(FileChannel in, ObjectMapper from, OutputStream output, ObjectMapper to)
+            throws IOException {
+        try (JsonParser parser = from.createParser(new MappedFileInputStream(in, WINDOW_SIZE));
+                JsonGenerator generator = to.createGenerator(output).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            return transcoder.copy(parser, generator);
+        }
+    }
+}
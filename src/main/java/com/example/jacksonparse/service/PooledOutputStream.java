@@ -0,0 +1,101 @@
+package com.example.jacksonparse.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Growable in-memory output stream made of segments from a {@link BufferPool}. Unlike a
+ * {@link java.io.ByteArrayOutputStream}, growing never copies what was written so far, and the memory is returned to
+ * the pool by {@link #release()} instead of being dropped. Not thread-safe.
+ */
+public final class PooledOutputStream extends OutputStream {
+    private final BufferPool pool;
+    private byte[][] segments = new byte[4][];
+    private int segmentCount;
+    private byte[] current;
+    private int position;
+    private long size;
+
+    PooledOutputStream(BufferPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public void write(int b) {
+        if (current == null || position == current.length) {
+            nextSegment();
+        }
+        current[position++] = (byte) b;
+        size++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        while (len > 0) {
+            if (current == null || position == current.length) {
+                nextSegment();
+            }
+            int n = Math.min(len, current.length - position);
+            System.arraycopy(b, off, current, position, n);
+            position += n;
+            off += n;
+            len -= n;
+            size += n;
+        }
+    }
+
+    /**
+     * @return the number of bytes written
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Writes everything written so far to {@code out}.
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        for (int i = 0; i < segmentCount; i++) {
+            byte[] segment = segments[i];
+            out.write(segment, 0, i == segmentCount - 1 ? position : segment.length);
+        }
+    }
+
+    /**
+     * @return a copy of everything written so far
+     */
+    public byte[] toByteArray() {
+        byte[] bytes = new byte[Math.toIntExact(size)];
+        int offset = 0;
+        for (int i = 0; i < segmentCount; i++) {
+            int length = i == segmentCount - 1 ? position : segments[i].length;
+            System.arraycopy(segments[i], 0, bytes, offset, length);
+            offset += length;
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns the segments to the pool and empties the stream, which can then be written again.
+     */
+    public void release() {
+        for (int i = 0; i < segmentCount; i++) {
+            pool.release(segments[i]);
+            segments[i] = null;
+        }
+        segmentCount = 0;
+        current = null;
+        position = 0;
+        size = 0;
+    }
+
+    private void nextSegment() {
+        if (segmentCount == segments.length) {
+            segments = Arrays.copyOf(segments, segmentCount * 2);
+        }
+        current = pool.acquire();
+        segments[segmentCount++] = current;
+        position = 0;
+    }
+}
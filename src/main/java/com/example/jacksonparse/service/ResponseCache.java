@@ -0,0 +1,118 @@
+package com.example.jacksonparse.service;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Serialized responses kept by the request that produced them: its body, {@code Content-Type} and {@code Accept}
+ * header. Bodies are hashed with {@link Xxh64} for the lookup, and a hit is only returned when the stored body is
+ * byte-for-byte equal, so a hash collision costs a miss rather than someone else's response.
+ * <p>
+ * The cache is bounded by the bytes it holds, requests and responses alike, and evicts with Caffeine's W-TinyLFU
+ * policy, which keeps bodies that are requested again over a stream of bodies seen once. Entries expire a fixed time
+ * after they are written. Hits, misses, puts and evictions are published as the {@code cache.*} meters of
+ * {@code person.responses}.
+ */
+public class ResponseCache implements MeterBinder {
+    /** Rough size of a key, an entry and their headers besides the bodies. */
+    private static final int ENTRY_OVERHEAD = 128;
+
+    private final Cache<Key, CachedResponse> cache;
+
+    /**
+     * @param maxBytes
+     *            total size of the request and response bodies kept
+     * @param ttl
+     *            time after which an entry expires
+     */
+    public ResponseCache(long maxBytes, Duration ttl) {
+        this(maxBytes, ttl, Ticker.systemTicker());
+    }
+
+    ResponseCache(long maxBytes, Duration ttl, Ticker ticker) {
+        // Maintenance is cheap for byte arrays, so it stays on the calling thread instead of the common pool
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher(ResponseCache::weigh)
+                .expireAfterWrite(ttl)
+                .ticker(ticker)
+                .executor(Runnable::run)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * @return the response stored for this request, or {@code null}
+     */
+    public CachedResponse get(byte[] body, String contentType, String accept) {
+        return cache.getIfPresent(new Key(body, contentType, accept));
+    }
+
+    /**
+     * Stores the response to this request, replacing any previous one.
+     */
+    public void put(byte[] body, String contentType, String accept, CachedResponse response) {
+        cache.put(new Key(body, contentType, accept), response);
+    }
+
+    /**
+     * @return the approximate number of entries
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        new CaffeineCacheMetrics<>(cache, "person.responses", Tags.empty()).bindTo(registry);
+    }
+
+    private static int weigh(Key key, CachedResponse response) {
+        return key.body.length + response.body().length + ENTRY_OVERHEAD;
+    }
+
+    /**
+     * A serialized response and its {@code Content-Type}.
+     */
+    public record CachedResponse(String contentType, byte[] body) {
+    }
+
+    static final class Key {
+        private final byte[] body;
+        private final String contentType;
+        private final String accept;
+        private final long hash;
+
+        Key(byte[] body, String contentType, String accept) {
+            this(body, contentType, accept, Xxh64.hash(body, 0) * 31 + Objects.hash(contentType, accept));
+        }
+
+        Key(byte[] body, String contentType, String accept, long hash) {
+            this.body = body;
+            this.contentType = contentType;
+            this.accept = accept;
+            this.hash = hash;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(hash);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key && hash == key.hash && Objects.equals(contentType, key.contentType)
+                    && Objects.equals(accept, key.accept) && Arrays.equals(body, key.body);
+        }
+    }
+}
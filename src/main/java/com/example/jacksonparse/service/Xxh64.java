@@ -0,0 +1,80 @@
+package com.example.jacksonparse.service;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * XXH64, the 64-bit xxHash by Yann Collet, over a byte array. It reads eight bytes at a time in four independent lanes,
+ * so it hashes a request body in a fraction of the time it takes to parse it, and spreads similar bodies well enough
+ * to key a hash table. It is not a cryptographic hash: equal hashes do not make equal inputs.
+ */
+public final class Xxh64 {
+    private static final long PRIME1 = 0x9E3779B185EBCA87L;
+    private static final long PRIME2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long PRIME3 = 0x165667B19E3779F9L;
+    private static final long PRIME4 = 0x85EBCA77C2B2AE63L;
+    private static final long PRIME5 = 0x27D4EB2F165667C5L;
+
+    private static final VarHandle LONG = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle INT = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private Xxh64() {
+    }
+
+    /**
+     * @return the hash of {@code data} with the given seed
+     */
+    public static long hash(byte[] data, long seed) {
+        int length = data.length;
+        int i = 0;
+        long hash;
+        if (length >= 32) {
+            long v1 = seed + PRIME1 + PRIME2;
+            long v2 = seed + PRIME2;
+            long v3 = seed;
+            long v4 = seed - PRIME1;
+            for (int limit = length - 32; i <= limit; i += 32) {
+                v1 = round(v1, (long) LONG.get(data, i));
+                v2 = round(v2, (long) LONG.get(data, i + 8));
+                v3 = round(v3, (long) LONG.get(data, i + 16));
+                v4 = round(v4, (long) LONG.get(data, i + 24));
+            }
+            hash = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12)
+                    + Long.rotateLeft(v4, 18);
+            hash = merge(hash, v1);
+            hash = merge(hash, v2);
+            hash = merge(hash, v3);
+            hash = merge(hash, v4);
+        } else {
+            hash = seed + PRIME5;
+        }
+        hash += length;
+        for (; i + 8 <= length; i += 8) {
+            hash ^= round(0, (long) LONG.get(data, i));
+            hash = Long.rotateLeft(hash, 27) * PRIME1 + PRIME4;
+        }
+        if (i + 4 <= length) {
+            hash ^= Integer.toUnsignedLong((int) INT.get(data, i)) * PRIME1;
+            hash = Long.rotateLeft(hash, 23) * PRIME2 + PRIME3;
+            i += 4;
+        }
+        for (; i < length; i++) {
+            hash ^= (data[i] & 0xFF) * PRIME5;
+            hash = Long.rotateLeft(hash, 11) * PRIME1;
+        }
+        hash ^= hash >>> 33;
+        hash *= PRIME2;
+        hash ^= hash >>> 29;
+        hash *= PRIME3;
+        return hash ^ hash >>> 32;
+    }
+
+    private static long round(long accumulator, long input) {
+        return Long.rotateLeft(accumulator + input * PRIME2, 31) * PRIME1;
+    }
+
+    private static long merge(long hash, long accumulator) {
+        return (hash ^ round(0, accumulator)) * PRIME1 + PRIME4;
+    }
+}
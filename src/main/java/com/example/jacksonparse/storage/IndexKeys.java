@@ -0,0 +1,75 @@
+package com.example.jacksonparse.storage;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * The values of a stored person that {@link PersonIndex} looks it up by, read from its JSON without binding it.
+ *
+ * @param id
+ *            the id, or null
+ * @param email
+ *            the email, or null
+ * @param cities
+ *            the cities of the addresses
+ * @param zipCodes
+ *            the zip codes of the addresses
+ */
+record IndexKeys(Long id, String email, Set<String> cities, Set<String> zipCodes) {
+    /**
+     * Reads the keys of the person object the parser is positioned before.
+     */
+    static IndexKeys read(JsonParser parser) throws IOException {
+        Long id = null;
+        String email = null;
+        Set<String> cities = new HashSet<>(2);
+        Set<String> zipCodes = new HashSet<>(2);
+        parser.nextToken();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            switch (name) {
+            case "id" -> id = parser.getLongValue();
+            case "email" -> email = parser.getText();
+            case "addresses" -> readAddresses(parser, cities, zipCodes);
+            default -> parser.skipChildren();
+            }
+        }
+        return new IndexKeys(id, email, cities, zipCodes);
+    }
+
+    /**
+     * @return whether the person matches all the criteria of {@code query}
+     */
+    boolean matches(PersonQuery query) {
+        return (query.email() == null || query.email().equals(email))
+                && (query.city() == null || cities.contains(query.city()))
+                && (query.zipCode() == null || zipCodes.contains(query.zipCode()));
+    }
+
+    private static void readAddresses(JsonParser parser, Set<String> cities, Set<String> zipCodes)
+            throws IOException {
+        for (JsonToken address = parser.nextToken(); address != JsonToken.END_ARRAY; address = parser.nextToken()) {
+            if (address != JsonToken.START_OBJECT) {
+                continue;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                if (parser.nextToken() != JsonToken.VALUE_STRING) {
+                    parser.skipChildren();
+                } else if (name.equals("city")) {
+                    cities.add(parser.getText());
+                } else if (name.equals("zipCode")) {
+                    zipCodes.add(parser.getText());
+                }
+            }
+        }
+    }
+}
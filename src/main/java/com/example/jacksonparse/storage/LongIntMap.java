@@ -0,0 +1,93 @@
+package com.example.jacksonparse.storage;
+
+/**
+ * Open-addressing hash map from {@code long} keys to non-negative {@code int} values, held in a {@code long[]} and an
+ * {@code int[]} without boxing: 12 bytes a slot, and no objects for the garbage collector to trace. A slot is free
+ * while its value is 0, so values are stored plus one. The table is at most three quarters full and doubles when it
+ * would get fuller. There is no removal.
+ * <p>
+ * Not thread-safe. Both arrays are replaced together as one {@link Table} when the map grows, so a reader racing with
+ * the writer always probes a consistent pair of arrays and cannot fail, although what it finds may be stale; the
+ * {@link PersonIndex} lock tells it whether to read again.
+ */
+final class LongIntMap {
+    static final int MISSING = -1;
+
+    private static final int MIN_CAPACITY = 16;
+
+    private Table table = new Table(new long[MIN_CAPACITY], new int[MIN_CAPACITY]);
+    private int size;
+
+    /**
+     * @return the value of {@code key}, or {@link #MISSING}
+     */
+    int get(long key) {
+        Table current = table;
+        int mask = current.keys.length - 1;
+        for (int i = slot(key, mask);; i = (i + 1) & mask) {
+            int value = current.values[i];
+            if (value == 0) {
+                return MISSING;
+            }
+            if (current.keys[i] == key) {
+                return value - 1;
+            }
+        }
+    }
+
+    /**
+     * Maps {@code key} to {@code value}, replacing any previous value.
+     */
+    void put(long key, int value) {
+        if (4L * (size + 1) > 3L * table.keys.length) {
+            Table grown = new Table(new long[2 * table.keys.length], new int[2 * table.keys.length]);
+            for (int i = 0; i < table.keys.length; i++) {
+                if (table.values[i] != 0) {
+                    insert(grown, table.keys[i], table.values[i]);
+                }
+            }
+            table = grown;
+        }
+        if (insert(table, key, value + 1)) {
+            size++;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return the size of the arrays
+     */
+    long bytes() {
+        return 12L * table.keys.length;
+    }
+
+    /**
+     * @return whether the key was new
+     */
+    private static boolean insert(Table table, long key, int stored) {
+        int mask = table.keys.length - 1;
+        int i = slot(key, mask);
+        while (table.values[i] != 0) {
+            if (table.keys[i] == key) {
+                table.values[i] = stored;
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        // The key first, so that a reader that sees the value also finds the key
+        table.keys[i] = key;
+        table.values[i] = stored;
+        return true;
+    }
+
+    private static int slot(long key, int mask) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private record Table(long[] keys, int[] values) {
+    }
+}
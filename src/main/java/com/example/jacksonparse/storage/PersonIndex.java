@@ -0,0 +1,201 @@
+package com.example.jacksonparse.storage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+
+import com.example.jacksonparse.service.Xxh64;
+
+/**
+ * In-memory index from ids, emails, cities and zip codes to the locations of stored records, in primitive arrays only,
+ * so that each record costs about 90 bytes of heap and tens of millions of them are still a few dozen arrays, which
+ * add next to nothing to the work of the garbage collector.
+ * <p>
+ * Records are numbered in the order they are added and their locations kept in a {@code long[]}. Ids map to record
+ * numbers in a {@link LongIntMap}, so a later record with the same id replaces the earlier one. Each of the other keys
+ * maps the 64-bit XXH64 hash of a value to the newest of a chain of postings, each a record number and the posting
+ * before it, interleaved in an {@code int[]}. Values are not kept, so a hash collision or a record replaced since
+ * puts a record that does not match into a chain, and the caller has to check what it reads.
+ * <p>
+ * One writer adds records under a {@link StampedLock}; readers take an optimistic stamp, read the handful of array
+ * references and slots they need and only lock when a write raced with them. Arrays grow by copying, and a chain only
+ * ever points at older postings, so what a validated reader has taken keeps describing the records it saw.
+ */
+final class PersonIndex {
+    /** Location of no record. */
+    static final long NONE = -1;
+
+    private static final long SEED = 0;
+
+    final StampedLock lock = new StampedLock();
+
+    private final LongIntMap ids = new LongIntMap();
+    private final Postings emails = new Postings();
+    private final Postings cities = new Postings();
+    private final Postings zipCodes = new Postings();
+    private long[] locations = new long[1024];
+    private int size;
+
+    /**
+     * A record to add.
+     */
+    record Entry(IndexKeys keys, long location) {
+    }
+
+    /**
+     * Adds {@code entries}, which readers see all at once.
+     */
+    void addAll(List<Entry> entries) {
+        long stamp = lock.writeLock();
+        try {
+            for (Entry entry : entries) {
+                add(entry.keys(), entry.location());
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * @return the location of the newest record with {@code id}, or {@link #NONE}
+     */
+    long location(long id) {
+        long stamp = lock.tryOptimisticRead();
+        int record = ids.get(id);
+        long[] current = locations;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                record = ids.get(id);
+                current = locations;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return record == LongIntMap.MISSING ? NONE : current[record];
+    }
+
+    /**
+     * @return the locations of the records that may match {@code query}, newest first, taken from the index of the
+     *         most selective key it has: email, then zip code, then city
+     */
+    Cursor find(PersonQuery query) {
+        Postings postings;
+        long hash;
+        if (query.email() != null) {
+            postings = emails;
+            hash = hash(query.email());
+        } else if (query.zipCode() != null) {
+            postings = zipCodes;
+            hash = hash(query.zipCode());
+        } else {
+            postings = cities;
+            hash = hash(query.city());
+        }
+        long stamp = lock.tryOptimisticRead();
+        Cursor cursor = postings.cursor(hash, locations);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                cursor = postings.cursor(hash, locations);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return cursor;
+    }
+
+    /**
+     * @return the number of records added
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return the size of the arrays of the index
+     */
+    long bytes() {
+        return 8L * locations.length + ids.bytes() + emails.bytes() + cities.bytes() + zipCodes.bytes();
+    }
+
+    private void add(IndexKeys keys, long location) {
+        int record = size;
+        if (record == locations.length) {
+            locations = Arrays.copyOf(locations, 2 * record);
+        }
+        locations[record] = location;
+        size++;
+        if (keys.id() != null) {
+            ids.put(keys.id(), record);
+        }
+        if (keys.email() != null) {
+            emails.add(hash(keys.email()), record);
+        }
+        for (String city : keys.cities()) {
+            cities.add(hash(city), record);
+        }
+        for (String zipCode : keys.zipCodes()) {
+            zipCodes.add(hash(zipCode), record);
+        }
+    }
+
+    private static long hash(String value) {
+        return Xxh64.hash(value.getBytes(StandardCharsets.UTF_8), SEED);
+    }
+
+    /**
+     * Chains of records by the hash of a value.
+     */
+    private static final class Postings {
+        private final LongIntMap heads = new LongIntMap();
+        /** Record number and previous posting, or {@link LongIntMap#MISSING}, of each posting. */
+        private int[] postings = new int[2048];
+        private int size;
+
+        void add(long hash, int record) {
+            if (2 * size == postings.length) {
+                postings = Arrays.copyOf(postings, 2 * postings.length);
+            }
+            postings[2 * size] = record;
+            postings[2 * size + 1] = heads.get(hash);
+            heads.put(hash, size++);
+        }
+
+        Cursor cursor(long hash, long[] locations) {
+            return new Cursor(postings, locations, heads.get(hash));
+        }
+
+        long bytes() {
+            return 4L * postings.length + heads.bytes();
+        }
+    }
+
+    /**
+     * Walks a chain of postings from the newest.
+     */
+    static final class Cursor {
+        private final int[] postings;
+        private final long[] locations;
+        private int posting;
+
+        private Cursor(int[] postings, long[] locations, int posting) {
+            this.postings = postings;
+            this.locations = locations;
+            this.posting = posting;
+        }
+
+        /**
+         * @return the location of the next record, or {@link #NONE} after the last
+         */
+        long next() {
+            if (posting == LongIntMap.MISSING) {
+                return NONE;
+            }
+            long location = locations[postings[2 * posting]];
+            posting = postings[2 * posting + 1];
+            return location;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.jacksonparse.storage;
+
+/**
+ * Lookup of stored persons by exact value. A person matches when it has the given email, if any, and an address with
+ * the given city and an address with the given zip code, if any; at least one of the three is required.
+ *
+ * @param limit
+ *            the most persons to return, newest first, between 1 and {@value #MAX_LIMIT}
+ */
+public record PersonQuery(String email, String city, String zipCode, int limit) {
+    public static final int MAX_LIMIT = 1000;
+
+    public PersonQuery {
+        if (email == null && city == null && zipCode == null) {
+            throw new IllegalArgumentException("At least one of email, city and zipCode is required");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT + ": " + limit);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.jacksonparse.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+import com.example.jacksonparse.model.Person;
+
+/**
+ * Durable store of accepted {@link Person} records. {@link PersonStore} calls it from a single writer thread, with a
+ * batch of records at a time, so {@link #append(List)} and {@link #sync()} do not need to be thread-safe and a whole
+ * batch can be made durable with one sync. Lookups come from any number of request threads, concurrently with the
+ * writer, and only find records that a sync has made durable. They return the JSON of a record as it was stored.
+ */
+public interface PersonRepository extends Closeable {
+    /**
+     * Appends {@code persons} in order. They may only be buffered until the next {@link #sync()}.
+     */
+    void append(List<Person> persons) throws IOException;
+
+    /**
+     * Makes every record appended so far durable, so that it survives a crash of the process or the machine.
+     */
+    void sync() throws IOException;
+
+    /**
+     * @return the JSON of the newest record with {@code id}, or null if there is none
+     */
+    byte[] findById(long id) throws IOException;
+
+    /**
+     * @return the JSON of the records that match {@code query}, newest first and only the newest of each id
+     */
+    List<byte[]> find(PersonQuery query) throws IOException;
+}
@@ -0,0 +1,226 @@
+package com.example.jacksonparse.storage;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.SmartLifecycle;
+
+import com.example.jacksonparse.model.Person;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Write-behind store of accepted {@link Person} records. A request thread puts its person in a bounded queue of
+ * {@code app.storage.queue-capacity} entries; a dedicated {@code person-store} thread takes whatever has queued up, up
+ * to {@code app.storage.batch-size} persons, appends them to the {@link PersonRepository} and makes them durable with a
+ * single {@link PersonRepository#sync()}. Requests that arrive while a batch is being forced queue up for the next one,
+ * so under load one fsync commits many records (group commit), and an idle store commits each record on its own.
+ * <p>
+ * With {@code app.storage.ack: fsync}, {@link #save} returns once the batch of the person has been forced, and throws
+ * if that failed. With {@code ack: enqueue} it returns as soon as the person is queued, and a record lost to a failed
+ * write is only logged and counted in {@value #FAILED_METRIC}. Either way, when the queue stays full for
+ * {@code app.storage.enqueue-timeout} the person is refused with a {@link StorageException} and counted in
+ * {@value #REJECTED_METRIC}, which pushes back on clients instead of buffering without bound.
+ */
+@Slf4j
+public class PersonStore implements SmartLifecycle {
+    static final String QUEUE_METRIC = "storage.queue.size";
+    static final String BATCH_METRIC = "storage.batch.size";
+    static final String COMMIT_METRIC = "storage.commit";
+    static final String REJECTED_METRIC = "storage.rejected";
+    static final String FAILED_METRIC = "storage.failed";
+
+    /** Longest the writer waits for a person before it checks whether it was stopped. */
+    private static final long POLL_MILLIS = 100;
+
+    /**
+     * When {@link PersonStore#save} returns.
+     */
+    public enum Ack {
+        /** Once the person is queued. */
+        ENQUEUE,
+        /** Once the batch of the person has been forced to disk. */
+        FSYNC
+    }
+
+    private final PersonRepository repository;
+    private final BlockingQueue<Write> queue;
+    private final int batchSize;
+    private final Ack ack;
+    private final long enqueueTimeoutNanos;
+    private final long ackTimeoutNanos;
+    private final DistributionSummary batches;
+    private final Timer commits;
+    private final Counter rejected;
+    private final Counter failed;
+    private volatile Thread writer;
+
+    /**
+     * @param repository
+     *            where the batches are written, only from the writer thread
+     * @param queueCapacity
+     *            number of persons that can wait for the writer
+     * @param batchSize
+     *            largest number of persons written and forced together
+     * @param ack
+     *            when {@link #save} returns
+     * @param enqueueTimeout
+     *            how long {@link #save} waits for room in a full queue
+     * @param ackTimeout
+     *            how long {@link #save} waits for the batch to be forced with {@link Ack#FSYNC}
+     */
+    public PersonStore(PersonRepository repository, int queueCapacity, int batchSize, Ack ack, Duration enqueueTimeout,
+            Duration ackTimeout, MeterRegistry registry) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("app.storage.batch-size must be positive: " + batchSize);
+        }
+        this.repository = repository;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.ack = ack;
+        this.enqueueTimeoutNanos = enqueueTimeout.toNanos();
+        this.ackTimeoutNanos = ackTimeout.toNanos();
+        registry.gaugeCollectionSize(QUEUE_METRIC, List.of(), queue);
+        this.batches = DistributionSummary.builder(BATCH_METRIC).baseUnit("persons").register(registry);
+        this.commits = Timer.builder(COMMIT_METRIC).register(registry);
+        this.rejected = registry.counter(REJECTED_METRIC);
+        this.failed = registry.counter(FAILED_METRIC);
+    }
+
+    /**
+     * Stores {@code person}, waiting as far as {@code app.storage.ack} asks.
+     *
+     * @throws StorageException
+     *             if the queue stayed full, or with {@link Ack#FSYNC} if the write failed or was not forced in time
+     */
+    public void save(Person person) {
+        Write write = new Write(person, ack == Ack.FSYNC ? new CompletableFuture<>() : null);
+        try {
+            if (!queue.offer(write, enqueueTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                rejected.increment();
+                throw new StorageException("Storage queue is full");
+            }
+            if (write.done() != null) {
+                write.done().get(ackTimeoutNanos, TimeUnit.NANOSECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StorageException("Interrupted while storing the person", e);
+        } catch (ExecutionException e) {
+            throw new StorageException("Person could not be stored", e.getCause());
+        } catch (TimeoutException e) {
+            throw new StorageException("Person was not stored within " + Duration.ofNanos(ackTimeoutNanos), e);
+        }
+    }
+
+    @Override
+    public void start() {
+        Thread thread = new Thread(this::drain, "person-store");
+        thread.setDaemon(true);
+        writer = thread;
+        thread.start();
+    }
+
+    /**
+     * Stops the writer once it has stored the persons queued so far.
+     */
+    @Override
+    public void stop() {
+        Thread thread = writer;
+        writer = null;
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return writer != null;
+    }
+
+    /**
+     * Stops after the web server, so that the persons of the last requests are still stored.
+     */
+    @Override
+    public int getPhase() {
+        return WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 2048;
+    }
+
+    /**
+     * Writer loop: commits batches until {@link #stop()}, after which the persons still queued are committed too.
+     */
+    void drain() {
+        List<Write> batch = new ArrayList<>(batchSize);
+        List<Person> persons = new ArrayList<>(batchSize);
+        boolean running = true;
+        while (running || !queue.isEmpty()) {
+            running = writer != null;
+            try {
+                Write first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    commit(batch, persons);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Appends and forces one batch, then acknowledges its persons.
+     */
+    void commit(List<Write> batch, List<Person> persons) {
+        for (Write write : batch) {
+            persons.add(write.person());
+        }
+        long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            repository.append(persons);
+            repository.sync();
+        } catch (IOException | RuntimeException e) {
+            failure = e;
+            failed.increment(batch.size());
+            log.error("Could not store {} persons", batch.size(), e);
+        }
+        commits.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        batches.record(batch.size());
+        for (Write write : batch) {
+            if (write.done() == null) {
+                continue;
+            }
+            if (failure == null) {
+                write.done().complete(null);
+            } else {
+                write.done().completeExceptionally(failure);
+            }
+        }
+        batch.clear();
+        persons.clear();
+    }
+
+    /**
+     * A queued person, with the future its request waits on with {@link Ack#FSYNC}.
+     */
+    record Write(Person person, CompletableFuture<Void> done) {
+    }
+}
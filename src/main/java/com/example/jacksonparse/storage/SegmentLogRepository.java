@@ -0,0 +1,374 @@
+package com.example.jacksonparse.storage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import com.example.jacksonparse.model.Person;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link PersonRepository} that appends each {@code Person} as a JSON record to a log of segment files in one
+ * directory. A record is its length and the CRC-32C of its JSON, both as 4-byte big-endian integers, followed by the
+ * JSON. Records are only ever appended: a batch is encoded into one buffer and written with as few system calls as
+ * possible, and {@link #sync()} forces the data of the current segment to the device.
+ * <p>
+ * Segments are named {@code segment-0000000000.log}, {@code segment-0000000001.log} and so on. A new one is started
+ * when the next record would take the current one past the segment size, after the current one has been forced, so
+ * only the last segment is ever written to. A record larger than the segment size gets a segment of its own. When the
+ * repository is opened, the last segment is scanned and whatever follows its last complete record, such as a write
+ * torn by a crash, is truncated.
+ * <p>
+ * Each record is located by its segment and offset, and a {@link PersonIndex} maps ids, emails, cities and zip codes
+ * to those locations. The keys are read back from the JSON as it is appended and indexed by {@link #sync()}, once the
+ * record is durable, so a lookup never returns a record that a crash could still take away; when the repository is
+ * opened, the index is rebuilt by scanning every segment. Lookups read the JSON of a record with one positional read
+ * of its segment, which every segment is kept open for, and return it as it was written.
+ */
+@Slf4j
+public class SegmentLogRepository implements PersonRepository, MeterBinder {
+    /** Length and checksum in front of each record. */
+    static final int HEADER = 8;
+
+    public static final String RECORDS_METRIC = "storage.index.records";
+    public static final String BYTES_METRIC = "storage.index.bytes";
+
+    private static final String PREFIX = "segment-";
+    private static final String SUFFIX = ".log";
+    private static final Pattern SEGMENT_NAME = Pattern.compile("segment-(\\d{10})\\.log");
+
+    private final Path directory;
+    private final long segmentSize;
+    private final ObjectWriter writer;
+    private final RecordBuffer buffer = new RecordBuffer();
+    private final CRC32C crc = new CRC32C();
+    /** Reads the keys of records, without the limits of the mapper, which they were checked against when accepted. */
+    private final JsonFactory factory = new JsonFactory();
+    private final PersonIndex index = new PersonIndex();
+    /** Records appended since the last sync, indexed by it. */
+    private final List<PersonIndex.Entry> pending = new ArrayList<>();
+    /** Every segment, by index, to read records from. */
+    private final List<FileChannel> channels = new CopyOnWriteArrayList<>();
+    private FileChannel channel;
+    private int segment;
+    /** Bytes written to the current segment. */
+    private long size;
+
+    /**
+     * @param directory
+     *            directory of the segments, created if it does not exist
+     * @param segmentSize
+     *            size after which a new segment is started, at most 2 GiB so that a segment can be mapped whole
+     * @param mapper
+     *            the JSON mapper that writes the records
+     */
+    public SegmentLogRepository(Path directory, long segmentSize, ObjectMapper mapper) throws IOException {
+        if (segmentSize <= HEADER || segmentSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Segment size must be between 9 bytes and 2 GiB: " + segmentSize);
+        }
+        this.directory = Files.createDirectories(directory);
+        this.segmentSize = segmentSize;
+        this.writer = mapper.writerFor(Person.class).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.segment = lastSegment(directory);
+        if (segment < 0) {
+            segment = 0;
+            create();
+            return;
+        }
+        for (int i = 0; i < segment; i++) {
+            FileChannel sealed = FileChannel.open(path(i), StandardOpenOption.READ);
+            channels.add(sealed);
+            scan(sealed, i);
+        }
+        channel = FileChannel.open(path(segment), StandardOpenOption.READ, StandardOpenOption.WRITE);
+        channels.add(channel);
+        size = scan(channel, segment);
+        channel.truncate(size);
+    }
+
+    @Override
+    public void append(List<Person> persons) throws IOException {
+        int indexed = pending.size();
+        try {
+            for (Person person : persons) {
+                int start = buffer.size();
+                buffer.header();
+                writer.writeValue(buffer, person);
+                if (size + start > 0 && size + buffer.size() > segmentSize) {
+                    // The record does not fit: the records before it end the current segment
+                    writeOut(start);
+                    roll();
+                    start = 0;
+                }
+                buffer.seal(start, crc);
+                pending.add(new PersonIndex.Entry(buffer.keys(factory, start), location(segment, size + start)));
+            }
+            writeOut(buffer.size());
+        } catch (IOException | RuntimeException e) {
+            pending.subList(indexed, pending.size()).clear();
+            throw e;
+        } finally {
+            buffer.reset();
+        }
+    }
+
+    @Override
+    public void sync() throws IOException {
+        channel.force(false);
+        index.addAll(pending);
+        pending.clear();
+    }
+
+    @Override
+    public byte[] findById(long id) throws IOException {
+        long location = index.location(id);
+        return location == PersonIndex.NONE ? null : read(location);
+    }
+
+    /**
+     * Reads the records the index of the most selective criterion gives, newest first, and keeps those that match all
+     * of them and are still the newest record of their id.
+     */
+    @Override
+    public List<byte[]> find(PersonQuery query) throws IOException {
+        List<byte[]> found = new ArrayList<>();
+        PersonIndex.Cursor cursor = index.find(query);
+        for (long location = cursor.next(); location != PersonIndex.NONE && found.size() < query.limit();
+                location = cursor.next()) {
+            byte[] json = read(location);
+            IndexKeys keys = keys(factory.createParser(json));
+            if (keys.matches(query) && (keys.id() == null || index.location(keys.id()) == location)) {
+                found.add(json);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder(RECORDS_METRIC, index, PersonIndex::size).register(registry);
+        Gauge.builder(BYTES_METRIC, index, PersonIndex::bytes).baseUnit("bytes").register(registry);
+    }
+
+    /**
+     * Forces the current segment and closes every segment.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.force(false);
+        for (FileChannel open : channels) {
+            open.close();
+        }
+    }
+
+    /**
+     * @return the index of the segment being written to
+     */
+    int segment() {
+        return segment;
+    }
+
+    Path path(int index) {
+        return directory.resolve(PREFIX + String.format("%010d", index) + SUFFIX);
+    }
+
+    /**
+     * Writes the first {@code end} bytes of the buffer after the records of the current segment and moves the rest to
+     * its start. The bytes of a write that failed part way are overwritten by the next one.
+     */
+    private void writeOut(int end) throws IOException {
+        ByteBuffer bytes = buffer.bytes(end);
+        while (bytes.hasRemaining()) {
+            channel.write(bytes, size + bytes.position());
+        }
+        size += end;
+        buffer.discard(end);
+    }
+
+    private void roll() throws IOException {
+        channel.force(false);
+        segment++;
+        create();
+    }
+
+    private void create() throws IOException {
+        channel = FileChannel.open(path(segment), StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        channels.add(channel);
+        size = 0;
+        // Makes the new directory entry durable, so that the records forced to the segment can be found again
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        }
+    }
+
+    private static int lastSegment(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(PREFIX) && name.endsWith(SUFFIX))
+                    .mapToInt(name -> number(directory, name))
+                    .max()
+                    .orElse(-1);
+        }
+    }
+
+    /**
+     * @return the number of segment {@code name}, or -1 for a file that is only named like one, such as a
+     *         {@code segment-old.log} left in the directory, which is skipped with a warning
+     */
+    private static int number(Path directory, String name) {
+        Matcher matcher = SEGMENT_NAME.matcher(name);
+        if (matcher.matches() && Long.parseLong(matcher.group(1)) <= Integer.MAX_VALUE) {
+            return Integer.parseInt(matcher.group(1));
+        }
+        log.warn("Skipping {} in {}: not a segment", name, directory);
+        return -1;
+    }
+
+    /**
+     * Indexes the complete records at the start of segment {@code number}.
+     *
+     * @return their length
+     */
+    private long scan(FileChannel file, int number) throws IOException {
+        List<PersonIndex.Entry> entries = new ArrayList<>();
+        long end = scan(file, (offset, json) -> entries.add(new PersonIndex.Entry(
+                keys(factory.createParser(new ByteBufferBackedInputStream(json))), location(number, offset))));
+        index.addAll(entries);
+        return end;
+    }
+
+    /**
+     * Passes the complete records at the start of the segment to {@code visitor}, in order.
+     *
+     * @return their length
+     */
+    static long scan(FileChannel channel, RecordVisitor visitor) throws IOException {
+        MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        CRC32C crc = new CRC32C();
+        int end = 0;
+        while (end + HEADER <= map.limit()) {
+            int length = map.getInt(end);
+            // A crash can leave zeros as well as a partial record after the last one
+            if (length <= 0 || length > map.limit() - end - HEADER) {
+                break;
+            }
+            crc.reset();
+            crc.update(map.slice(end + HEADER, length));
+            if ((int) crc.getValue() != map.getInt(end + 4)) {
+                break;
+            }
+            visitor.record(end, map.slice(end + HEADER, length));
+            end += HEADER + length;
+        }
+        return end;
+    }
+
+    /**
+     * @return the JSON of the record at {@code location}
+     */
+    private byte[] read(long location) throws IOException {
+        FileChannel file = channels.get((int) (location >>> 32));
+        long offset = location & 0xFFFFFFFFL;
+        ByteBuffer header = ByteBuffer.allocate(HEADER);
+        readFully(file, header, offset);
+        byte[] json = new byte[header.getInt(0)];
+        readFully(file, ByteBuffer.wrap(json), offset + HEADER);
+        return json;
+    }
+
+    /**
+     * Fills the empty {@code buffer} from {@code position} of the file.
+     */
+    static void readFully(FileChannel file, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (file.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Record at " + position + " runs past the end of its segment");
+            }
+        }
+    }
+
+    private static long location(int segment, long offset) {
+        return (long) segment << 32 | offset;
+    }
+
+    private static IndexKeys keys(JsonParser parser) throws IOException {
+        try (parser) {
+            return IndexKeys.read(parser);
+        }
+    }
+
+    @FunctionalInterface
+    interface RecordVisitor {
+        /**
+         * Receives the JSON of the record at {@code offset}.
+         */
+        void record(int offset, ByteBuffer json) throws IOException;
+    }
+
+    /**
+     * Batch being encoded, reused from batch to batch.
+     */
+    private static final class RecordBuffer extends ByteArrayOutputStream {
+        RecordBuffer() {
+            super(64 * 1024);
+        }
+
+        /**
+         * Leaves room for the header of the next record.
+         */
+        void header() {
+            write(buf, 0, HEADER);
+        }
+
+        /**
+         * Fills in the header of the record that starts at {@code start} and ends the buffer.
+         */
+        void seal(int start, CRC32C crc) {
+            int length = count - start - HEADER;
+            crc.reset();
+            crc.update(buf, start + HEADER, length);
+            ByteBuffer.wrap(buf, start, HEADER).putInt(length).putInt((int) crc.getValue());
+        }
+
+        ByteBuffer bytes(int end) {
+            return ByteBuffer.wrap(buf, 0, end);
+        }
+
+        /**
+         * Reads the keys of the sealed record at {@code start}.
+         */
+        IndexKeys keys(JsonFactory factory, int start) throws IOException {
+            return SegmentLogRepository.keys(factory.createParser(buf, start + HEADER, count - start - HEADER));
+        }
+
+        void discard(int end) {
+            System.arraycopy(buf, end, buf, 0, count - end);
+            count -= end;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.jacksonparse.storage;
+
+/**
+ * Reports a person that {@link PersonStore} could not store, or not acknowledge in time. The request that sent it
+ * may be retried.
+ */
+public class StorageException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public StorageException(String message) {
+        super(message);
+    }
+
+    public StorageException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
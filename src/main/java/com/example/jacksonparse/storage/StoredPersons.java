@@ -0,0 +1,27 @@
+package com.example.jacksonparse.storage;
+
+import java.util.List;
+
+/**
+ * Response body of stored persons, in the JSON a {@link PersonRepository} returned, written without binding them.
+ *
+ * @param json
+ *            the JSON of each person
+ * @param array
+ *            whether the persons are written as an array, even when there is a single one
+ */
+public record StoredPersons(List<byte[]> json, boolean array) {
+    /**
+     * @return a body of the person alone
+     */
+    public static StoredPersons one(byte[] json) {
+        return new StoredPersons(List.of(json), false);
+    }
+
+    /**
+     * @return a body of the array of persons
+     */
+    public static StoredPersons all(List<byte[]> json) {
+        return new StoredPersons(json, true);
+    }
+}
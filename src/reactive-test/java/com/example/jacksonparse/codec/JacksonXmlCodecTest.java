@@ -0,0 +1,131 @@
+package com.example.jacksonparse.codec;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.codec.EncodingException;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+
+import com.example.jacksonparse.config.JacksonConfig;
+import com.example.jacksonparse.config.MapperProperties;
+import com.example.jacksonparse.model.Person;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+import reactor.core.publisher.Flux;
+
+class JacksonXmlCodecTest {
+    private static final ResolvableType PERSON = ResolvableType.forClass(Person.class);
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final XmlMapper xmlMapper = new JacksonConfig(new MapperProperties()).xmlMapper();
+    private final JacksonXmlDecoder decoder = new JacksonXmlDecoder(xmlMapper);
+    private final JacksonXmlEncoder encoder = new JacksonXmlEncoder(xmlMapper);
+    private final DefaultDataBufferFactory bufferFactory = DefaultDataBufferFactory.sharedInstance;
+
+    @Test
+    void testDecodesChunkedBody() throws IOException {
+        String xml = fixture().replace("<unknownA>A</unknownA>", "<unknownA>" + "A".repeat(2000) + "</unknownA>");
+
+        for (int chunkSize : new int[] { 1, 7, xml.length() }) {
+            Object person = decoder.decodeToMono(chunks(xml, chunkSize), PERSON, MediaType.APPLICATION_XML, null)
+                    .block(TIMEOUT);
+
+            assertEquals(xmlMapper.readValue(xml, Person.class), person);
+        }
+        assertEquals(List.of(xmlMapper.readValue(xml, Person.class)),
+                decoder.decode(chunks(xml, 64), PERSON, MediaType.APPLICATION_XML, null).collectList().block(TIMEOUT));
+    }
+
+    @Test
+    void testEmptyBodyDecodesToNothing() {
+        assertNull(decoder.decodeToMono(Flux.empty(), PERSON, MediaType.APPLICATION_XML, null).block(TIMEOUT));
+    }
+
+    @Test
+    void testMalformedBodyFailsBeforeItEnds() {
+        Flux<DataBuffer> body = Flux.concat(chunks("<person><id>1</name>", 4), Flux.never());
+
+        assertThrows(DecodingException.class,
+                () -> decoder.decodeToMono(body, PERSON, MediaType.APPLICATION_XML, null).block(TIMEOUT));
+        assertThrows(DecodingException.class, () -> decoder
+                .decodeToMono(chunks("<person><id>1</id>", 4), PERSON, MediaType.APPLICATION_XML, null).block(TIMEOUT));
+        assertThrows(DecodingException.class, () -> decoder
+                .decodeToMono(chunks("<person><id>x</id></person>", 4), PERSON, MediaType.APPLICATION_XML, null)
+                .block(TIMEOUT));
+    }
+
+    @Test
+    void testBodyOverLimitFails() throws IOException {
+        String xml = fixture();
+        decoder.setMaxInMemorySize(xml.length() - 1);
+
+        assertEquals(xml.length() - 1, decoder.getMaxInMemorySize());
+        assertThrows(DataBufferLimitException.class, () -> decoder
+                .decodeToMono(chunks(xml, 100), PERSON, MediaType.APPLICATION_XML, null).block(TIMEOUT));
+        decoder.setMaxInMemorySize(-1);
+        assertTrue(decoder.decodeToMono(chunks(xml, 100), PERSON, MediaType.APPLICATION_XML, null)
+                .block(TIMEOUT) instanceof Person);
+    }
+
+    @Test
+    void testHandlesXmlMediaTypes() {
+        ResolvableType string = ResolvableType.forClass(String.class);
+
+        assertTrue(decoder.canDecode(PERSON, MediaType.APPLICATION_XML));
+        assertTrue(decoder.canDecode(PERSON, MediaType.parseMediaType("application/vnd.person+xml")));
+        assertFalse(decoder.canDecode(PERSON, MediaType.APPLICATION_JSON));
+        assertFalse(decoder.canDecode(string, MediaType.APPLICATION_XML));
+        assertTrue(encoder.canEncode(PERSON, MediaType.TEXT_XML));
+        assertFalse(encoder.canEncode(PERSON, MediaType.APPLICATION_JSON));
+        assertFalse(encoder.canEncode(string, MediaType.APPLICATION_XML));
+    }
+
+    @Test
+    void testEncodesOneDocumentPerValue() throws IOException {
+        Person person = xmlMapper.readValue(fixture(), Person.class);
+
+        List<String> documents = encoder
+                .encode(Flux.just(person, person), bufferFactory, PERSON, MediaType.APPLICATION_XML,
+                        Collections.emptyMap())
+                .map(buffer -> buffer.toString(StandardCharsets.UTF_8)).collectList().block(TIMEOUT);
+
+        assertEquals(Collections.nCopies(2, xmlMapper.writeValueAsString(person)), documents);
+        assertThrows(EncodingException.class, () -> encoder.encodeValue(new Object(), bufferFactory,
+                ResolvableType.forClass(Object.class), MediaType.APPLICATION_XML, Collections.emptyMap()));
+    }
+
+    private Flux<DataBuffer> chunks(String content, int size) {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        List<DataBuffer> buffers = new ArrayList<>();
+        for (int offset = 0; offset < bytes.length; offset += size) {
+            int length = Math.min(size, bytes.length - offset);
+            buffers.add(bufferFactory.wrap(Arrays.copyOfRange(bytes, offset, offset + length)));
+        }
+        return Flux.fromIterable(buffers);
+    }
+
+    private static String fixture() throws IOException {
+        try (InputStream in = new ClassPathResource("person.xml").getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.jacksonparse.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.embedded.netty.NettyWebServer;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestConstructor;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.example.jacksonparse.config.JacksonConfig;
+import com.example.jacksonparse.model.Person;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.RequiredArgsConstructor;
+
+@Tag("integration")
+@ActiveProfiles("reactive")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.main.web-application-type=reactive", "spring.codec.max-in-memory-size=4KB" })
+@TestConstructor(autowireMode = TestConstructor.AutowireMode.ALL)
+@RequiredArgsConstructor
+class ReactivePersonIntegrationTest {
+    private final WebTestClient client;
+    private final ReactiveWebServerApplicationContext context;
+    private final ObjectMapper objectMapper;
+    private final XmlMapper xmlMapper;
+    private final SmileMapper smileMapper;
+    private final CBORMapper cborMapper;
+    private final MeterRegistry registry;
+
+    @Test
+    void testRunsOnNetty() {
+        assertInstanceOf(NettyWebServer.class, context.getWebServer());
+    }
+
+    @Test
+    void testAllFormatCombinations() throws IOException {
+        Person expected = objectMapper.readValue(fixture("person.json"), Person.class);
+        for (String path : new String[] { "person.json", "person.xml" }) {
+            MediaType contentType = path.endsWith(".json") ? MediaType.APPLICATION_JSON : MediaType.APPLICATION_XML;
+
+            String json = post(fixture(path), contentType, MediaType.APPLICATION_JSON, HttpStatus.OK);
+            String xml = post(fixture(path), contentType, MediaType.APPLICATION_XML, HttpStatus.OK);
+
+            assertEquals(expected, objectMapper.readValue(json, Person.class), path);
+            assertEquals(expected, xmlMapper.readValue(xml, Person.class), path);
+            assertTrue(xml.contains("<address primary=\"true\">"), xml);
+        }
+    }
+
+    @Test
+    void testBinaryFormatsRoundTrip() throws IOException {
+        Person expected = objectMapper.readValue(fixture("person.json"), Person.class);
+        MediaType smile = MediaType.parseMediaType(JacksonConfig.APPLICATION_SMILE_VALUE);
+
+        byte[] cbor = client.post().uri("/api/person").contentType(smile).accept(MediaType.APPLICATION_CBOR)
+                .bodyValue(smileMapper.writeValueAsBytes(expected)).exchange().expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_CBOR).expectBody(byte[].class).returnResult()
+                .getResponseBody();
+        byte[] smileBody = client.post().uri("/api/person").contentType(MediaType.APPLICATION_CBOR).accept(smile)
+                .bodyValue(cbor).exchange().expectStatus().isOk().expectHeader().contentType(smile)
+                .expectBody(byte[].class).returnResult().getResponseBody();
+
+        assertEquals(expected, cborMapper.readValue(cbor, Person.class));
+        assertEquals(expected, smileMapper.readValue(smileBody, Person.class));
+    }
+
+    @Test
+    void testMalformedBodiesAreProblems() throws IOException {
+        double malformed = registry.counter("http.server.requests.malformed", "exception", "JsonParseException")
+                .count();
+
+        JsonNode json = problem(post("{ invalid json }", MediaType.APPLICATION_JSON, MediaType.APPLICATION_JSON,
+                HttpStatus.BAD_REQUEST));
+        JsonNode xml = problem(post("<person><id>1</name></person>", MediaType.APPLICATION_XML,
+                MediaType.APPLICATION_XML, HttpStatus.BAD_REQUEST));
+
+        assertEquals("Malformed request body", json.get("title").asText());
+        assertEquals(400, json.get("status").asInt());
+        assertEquals("JsonParseException", json.get("exception").asText());
+        assertEquals(1, json.get("line").asInt());
+        assertEquals("Malformed request body", xml.get("title").asText());
+        assertEquals("DecodingException", xml.get("exception").asText());
+        assertTrue(xml.get("detail").asText().contains("Unexpected end tag"), xml.toString());
+        assertEquals(1, registry.counter("http.server.requests.malformed", "exception", "JsonParseException").count()
+                - malformed);
+    }
+
+    @Test
+    void testBodiesOverBufferLimitAreAnsweredWithPayloadTooLarge() throws IOException {
+        double limited = registry.counter("http.server.requests.limited", "limit", "max-body-size").count();
+
+        JsonNode json = problem(post("{\"id\":1,\"name\":\"" + "x".repeat(5000) + "\"}", MediaType.APPLICATION_JSON,
+                MediaType.APPLICATION_JSON, HttpStatus.PAYLOAD_TOO_LARGE));
+        JsonNode xml = problem(post("<person><name>" + "x".repeat(5000) + "</name></person>", MediaType.APPLICATION_XML,
+                MediaType.APPLICATION_XML, HttpStatus.PAYLOAD_TOO_LARGE));
+
+        assertEquals("Input limit exceeded", json.get("title").asText());
+        assertEquals("max-body-size", json.get("limit").asText());
+        assertEquals("max-body-size", xml.get("limit").asText());
+        assertTrue(xml.get("detail").asText().contains("Exceeded limit on max bytes to buffer"), xml.toString());
+        assertEquals(2, registry.counter("http.server.requests.limited", "limit", "max-body-size").count() - limited);
+    }
+
+    @Test
+    void testInvalidPersonsAreAnsweredWithViolations() throws IOException {
+        JsonNode json = problem(post("{\"id\":1,\"name\":\" \",\"addresses\":[{\"zipCode\":\"1\"}]}",
+                MediaType.APPLICATION_JSON, MediaType.APPLICATION_JSON, HttpStatus.BAD_REQUEST));
+        JsonNode xml = problem(post("<person><id>1</id><name> </name><address><zipCode>1</zipCode></address></person>",
+                MediaType.APPLICATION_XML, MediaType.APPLICATION_XML, HttpStatus.BAD_REQUEST));
+
+        assertEquals("Invalid person", json.get("title").asText());
+        assertEquals("/name", json.at("/violations/0/location").asText());
+        assertEquals("/addresses/0/zipCode", json.at("/violations/1/location").asText());
+        assertEquals("Invalid person", xml.get("title").asText());
+        assertEquals("/person/name", xml.at("/violations/0/location").asText());
+        assertEquals("/person/address[1]/zipCode", xml.at("/violations/1/location").asText());
+    }
+
+    private String post(String body, MediaType contentType, MediaType accept, HttpStatus status) {
+        return client.post().uri("/api/person").contentType(contentType).accept(accept).bodyValue(body).exchange()
+                .expectStatus().isEqualTo(status).expectBody(String.class).returnResult().getResponseBody();
+    }
+
+    private JsonNode problem(String body) throws IOException {
+        return objectMapper.readTree(body);
+    }
+
+    private static String fixture(String path) throws IOException {
+        try (InputStream in = new ClassPathResource(path).getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.jacksonparse.exception;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.web.server.PayloadTooLargeException;
+import org.springframework.web.server.ServerWebInputException;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ReactiveExceptionHandlerTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ReactiveExceptionHandler handler = new ReactiveExceptionHandler(registry,
+            new LogRateLimiter(1, Duration.ofMinutes(1), () -> 0L));
+    private final MockServerHttpRequest request = MockServerHttpRequest.post("/api/person").build();
+
+    @Test
+    void testHandleException() {
+        ResponseEntity<String> response = handler.handleException(
+                new IllegalStateException("wrapped", new IllegalArgumentException("Test error message")),
+                MockServerHttpRequest.post("/api/person").contentType(MediaType.APPLICATION_JSON).build());
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Error: Test error message (Content-Type: application/json)", response.getBody());
+    }
+
+    @Test
+    void testReportsTheDecodingFailure() throws IOException {
+        JsonProcessingException cause = assertThrows(JsonProcessingException.class,
+                () -> new ObjectMapper().readTree("{ invalid }"));
+
+        JsonNode decoded = problem(handler.handleMalformedInput(new ServerWebInputException(
+                "Failed to read HTTP message", null, new DecodingException("JSON decoding error", cause)), request));
+        JsonNode missing = problem(handler.handleMalformedInput(new ServerWebInputException("No request body"),
+                request));
+
+        assertEquals("JsonParseException", decoded.get("exception").asText());
+        assertEquals(cause.getOriginalMessage(), decoded.get("detail").asText());
+        assertEquals("ServerWebInputException", missing.get("exception").asText());
+        assertEquals(1, registry.get(MalformedInputResponder.METRIC).tag("exception", "ServerWebInputException")
+                .counter().count());
+    }
+
+    @Test
+    void testReportsBufferLimitAsBodySize() throws IOException {
+        ResponseEntity<byte[]> response = handler.handleMalformedInput(new PayloadTooLargeException(
+                new DataBufferLimitException("Exceeded limit on max bytes to buffer : 16")), request);
+
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, response.getStatusCode());
+        JsonNode problem = new ObjectMapper().readTree(response.getBody());
+        assertEquals("Input limit exceeded", problem.get("title").asText());
+        assertEquals("DataBufferLimitException", problem.get("exception").asText());
+        assertEquals("max-body-size", problem.get("limit").asText());
+        assertEquals(1, registry.get(MalformedInputResponder.LIMITED_METRIC).tag("limit", "max-body-size").counter()
+                .count());
+    }
+
+    private static JsonNode problem(ResponseEntity<byte[]> response) throws IOException {
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_PROBLEM_JSON, response.getHeaders().getContentType());
+        return new ObjectMapper().readTree(response.getBody());
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.jacksonparse.codec;
+
+import java.util.Map;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.util.MimeType;
+
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * {@link Jackson2CborEncoder} that can be used by the WebFlux message writers. Spring's encoder only implements
+ * {@link #encodeValue}, while the writers always go through {@link #encode}; this writes each value as one CBOR
+ * document, like {@link JacksonXmlEncoder} does for XML.
+ */
+public class JacksonCborEncoder extends Jackson2CborEncoder {
+    public JacksonCborEncoder(CBORMapper cborMapper) {
+        super(cborMapper, MediaType.APPLICATION_CBOR);
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(Publisher<?> input, DataBufferFactory bufferFactory, ResolvableType elementType,
+            MimeType mimeType, Map<String, Object> hints) {
+        return Flux.from(input).map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints));
+    }
+}
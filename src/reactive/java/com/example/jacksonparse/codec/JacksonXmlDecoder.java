@@ -0,0 +1,147 @@
+package com.example.jacksonparse.codec;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.AbstractDecoder;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeType;
+
+import com.fasterxml.aalto.AsyncByteArrayFeeder;
+import com.fasterxml.aalto.AsyncXMLInputFactory;
+import com.fasterxml.aalto.AsyncXMLStreamReader;
+import com.fasterxml.aalto.stax.InputFactoryImpl;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux decoder that binds an XML request body with the {@link XmlMapper}. Jackson has no non-blocking XML parser,
+ * so each chunk is checked by Aalto's async tokenizer as it arrives and copied into a buffer that is bound once the
+ * body is complete. No thread waits for the body, malformed XML fails as soon as the offending chunk arrives, and a
+ * body over {@link #setMaxInMemorySize the limit} fails before it is buffered.
+ */
+public class JacksonXmlDecoder extends AbstractDecoder<Object> {
+    private static final AsyncXMLInputFactory INPUT_FACTORY = inputFactory();
+
+    private final XmlMapper xmlMapper;
+    private int maxInMemorySize = 256 * 1024;
+
+    public JacksonXmlDecoder(XmlMapper xmlMapper) {
+        super(MediaType.APPLICATION_XML, MediaType.TEXT_XML, new MediaType("application", "*+xml"));
+        this.xmlMapper = xmlMapper;
+    }
+
+    /**
+     * Sets the maximum number of bytes of a body; {@code -1} for no limit.
+     */
+    public void setMaxInMemorySize(int byteCount) {
+        this.maxInMemorySize = byteCount;
+    }
+
+    public int getMaxInMemorySize() {
+        return maxInMemorySize;
+    }
+
+    @Override
+    public boolean canDecode(ResolvableType elementType, MimeType mimeType) {
+        return super.canDecode(elementType, mimeType) && !CharSequence.class.isAssignableFrom(elementType.toClass());
+    }
+
+    @Override
+    public Flux<Object> decode(Publisher<DataBuffer> input, ResolvableType elementType, MimeType mimeType,
+            Map<String, Object> hints) {
+        return decodeToMono(input, elementType, mimeType, hints).flux();
+    }
+
+    @Override
+    public Mono<Object> decodeToMono(Publisher<DataBuffer> input, ResolvableType elementType, MimeType mimeType,
+            Map<String, Object> hints) {
+        JavaType type = xmlMapper.constructType(elementType.getType());
+        return Flux.from(input).collect(() -> new Body(maxInMemorySize), Body::append).filter(Body::isPresent)
+                .map(body -> body.read(xmlMapper, type));
+    }
+
+    private static AsyncXMLInputFactory inputFactory() {
+        AsyncXMLInputFactory factory = new InputFactoryImpl();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    /**
+     * The bytes of one body, checked for well-formedness as they are appended.
+     */
+    private static final class Body {
+        private final AsyncXMLStreamReader<AsyncByteArrayFeeder> tokenizer = INPUT_FACTORY.createAsyncForByteArray();
+        private final int maxSize;
+        private byte[] bytes = new byte[1024];
+        private int length;
+
+        Body(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        void append(DataBuffer buffer) {
+            try {
+                int count = buffer.readableByteCount();
+                if (maxSize >= 0 && count > maxSize - length) {
+                    throw new DataBufferLimitException("Exceeded limit on max bytes to buffer : " + maxSize);
+                }
+                if (length + count > bytes.length) {
+                    bytes = Arrays.copyOf(bytes, Math.max(length + count, bytes.length * 2));
+                }
+                int offset = length;
+                buffer.read(bytes, offset, count);
+                length += count;
+                tokenize(feeder -> feeder.feedInput(bytes, offset, count));
+            } finally {
+                DataBufferUtils.release(buffer);
+            }
+        }
+
+        boolean isPresent() {
+            return length > 0;
+        }
+
+        Object read(XmlMapper xmlMapper, JavaType type) {
+            tokenize(AsyncByteArrayFeeder::endOfInput);
+            try {
+                return xmlMapper.readValue(bytes, 0, length, type);
+            } catch (IOException e) {
+                throw new DecodingException("XML decoding error: " + e.getMessage(), e);
+            }
+        }
+
+        /**
+         * Feeds more input to the tokenizer and consumes the tokens it completes, failing on the first malformed one.
+         */
+        private void tokenize(Feed feed) {
+            try {
+                feed.to(tokenizer.getInputFeeder());
+                while (tokenizer.hasNext() && tokenizer.next() != AsyncXMLStreamReader.EVENT_INCOMPLETE) {
+                    // Only well-formedness is checked here; the tokens are bound from the buffer at the end
+                }
+            } catch (XMLStreamException e) {
+                throw new DecodingException("XML parse error: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Feed {
+        void to(AsyncByteArrayFeeder feeder) throws XMLStreamException;
+    }
+}
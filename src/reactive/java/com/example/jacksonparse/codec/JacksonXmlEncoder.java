@@ -0,0 +1,55 @@
+package com.example.jacksonparse.codec;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.AbstractEncoder;
+import org.springframework.core.codec.EncodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeType;
+
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * WebFlux encoder that writes each value as one XML document with the {@link XmlMapper}, straight into a pooled data
+ * buffer.
+ */
+public class JacksonXmlEncoder extends AbstractEncoder<Object> {
+    private final XmlMapper xmlMapper;
+
+    public JacksonXmlEncoder(XmlMapper xmlMapper) {
+        super(MediaType.APPLICATION_XML, MediaType.TEXT_XML, new MediaType("application", "*+xml"));
+        this.xmlMapper = xmlMapper;
+    }
+
+    @Override
+    public boolean canEncode(ResolvableType elementType, MimeType mimeType) {
+        return super.canEncode(elementType, mimeType) && !CharSequence.class.isAssignableFrom(elementType.toClass());
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(Publisher<?> input, DataBufferFactory bufferFactory, ResolvableType elementType,
+            MimeType mimeType, Map<String, Object> hints) {
+        return Flux.from(input).map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints));
+    }
+
+    @Override
+    public DataBuffer encodeValue(Object value, DataBufferFactory bufferFactory, ResolvableType valueType,
+            MimeType mimeType, Map<String, Object> hints) {
+        DataBuffer buffer = bufferFactory.allocateBuffer(1024);
+        try {
+            xmlMapper.writeValue(buffer.asOutputStream(), value);
+            return buffer;
+        } catch (IOException e) {
+            DataBufferUtils.release(buffer);
+            throw new EncodingException("XML encoding error: " + e.getMessage(), e);
+        }
+    }
+}
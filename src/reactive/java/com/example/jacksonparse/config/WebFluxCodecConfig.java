@@ -0,0 +1,64 @@
+package com.example.jacksonparse.config;
+
+import java.util.Optional;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+
+import com.example.jacksonparse.codec.JacksonCborEncoder;
+import com.example.jacksonparse.codec.JacksonXmlDecoder;
+import com.example.jacksonparse.codec.JacksonXmlEncoder;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+/**
+ * WebFlux counterpart of {@link HttpMessageConverterConfig}, active when the application runs as a reactive web
+ * application (the {@code reactive} profile). Boot already builds the JSON codecs from the {@link JacksonConfig}
+ * object mapper; for a single {@code Person} its decoder joins the buffers of the body and parses them once the body
+ * is complete, like the XML one. This adds the XML codecs on the XML mapper, puts the Smile and CBOR codecs on the
+ * binary mappers and pins the server to Reactor Netty, since Tomcat stays on the classpath for the servlet stack.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class WebFluxCodecConfig {
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    public CodecCustomizer xmlCodecCustomizer(XmlMapper xmlMapper) {
+        return configurer -> {
+            JacksonXmlDecoder decoder = new JacksonXmlDecoder(xmlMapper);
+            configurer.customCodecs().register(decoder);
+            configurer.customCodecs().register(new JacksonXmlEncoder(xmlMapper));
+            configurer.customCodecs().withDefaultCodecConfig(
+                    config -> Optional.ofNullable(config.maxInMemorySize()).ifPresent(decoder::setMaxInMemorySize));
+        };
+    }
+
+    /**
+     * The media types are passed explicitly: given only a mapper, the Jackson codecs default to the JSON types.
+     */
+    @Bean
+    public CodecCustomizer binaryCodecCustomizer(SmileMapper smileMapper, CBORMapper cborMapper) {
+        MediaType smile = MediaType.parseMediaType(JacksonConfig.APPLICATION_SMILE_VALUE);
+        return configurer -> {
+            configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(smileMapper, smile));
+            configurer.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(smileMapper, smile));
+            Jackson2CborDecoder decoder = new Jackson2CborDecoder(cborMapper, MediaType.APPLICATION_CBOR);
+            configurer.customCodecs().register(decoder);
+            configurer.customCodecs().register(new JacksonCborEncoder(cborMapper));
+            configurer.customCodecs().withDefaultCodecConfig(
+                    config -> Optional.ofNullable(config.maxInMemorySize()).ifPresent(decoder::setMaxInMemorySize));
+        };
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.jacksonparse.controller;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.jacksonparse.config.JacksonConfig;
+import com.example.jacksonparse.model.Person;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux version of {@link PersonController#createPerson}, with the same request and response contract. The body is
+ * decoded as it arrives, without holding a thread while the client sends it. The {@link AccessLog} is an interceptor
+ * of the servlet stack, so requests are not access-logged here.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/api/person")
+public class ReactivePersonController {
+    @PostMapping(consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE,
+            JacksonConfig.APPLICATION_SMILE_VALUE, MediaType.APPLICATION_CBOR_VALUE }, produces = {
+                    MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE,
+                    JacksonConfig.APPLICATION_SMILE_VALUE, MediaType.APPLICATION_CBOR_VALUE })
+    public Mono<ResponseEntity<Person>> createPerson(@RequestBody Mono<Person> body) {
+        return body.map(ResponseEntity::ok);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.jacksonparse.exception;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.PayloadTooLargeException;
+import org.springframework.web.server.ServerWebInputException;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+@RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Slf4j
+public class ReactiveExceptionHandler {
+    private final MalformedInputResponder malformedInput;
+
+    @Autowired
+    public ReactiveExceptionHandler(MeterRegistry registry,
+            @Value("${app.errors.malformed-logs-per-minute:10}") int malformedLogsPerMinute) {
+        this(registry, new LogRateLimiter(malformedLogsPerMinute, Duration.ofMinutes(1), System::nanoTime));
+    }
+
+    ReactiveExceptionHandler(MeterRegistry registry, LogRateLimiter logLimiter) {
+        this.malformedInput = new MalformedInputResponder(registry, logLimiter, log);
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<String> handleException(Exception e, ServerHttpRequest request) {
+        String message = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+        log.error("Error processing request: {} {} - {}", request.getMethod(), request.getPath(), message, e);
+        return ResponseEntity.badRequest()
+                .body("Error: " + message + " (Content-Type: " + request.getHeaders().getContentType() + ")");
+    }
+
+    /**
+     * WebFlux version of {@link GlobalExceptionHandler#handleMalformedInput}, with the same problem documents, counters
+     * and log. A body that could not be decoded is reported as a {@link ServerWebInputException} that wraps the
+     * {@link DecodingException}, and a body larger than {@code spring.codec.max-in-memory-size} as a
+     * {@link PayloadTooLargeException} that wraps the {@link DataBufferLimitException}. The wrapped exception is what
+     * gets reported, so that parse errors of the XML tokenizer, which are not Jackson exceptions, keep their message,
+     * and an oversized body is answered with {@code 413} and the {@code max-body-size} limit.
+     */
+    @ExceptionHandler({ ServerWebInputException.class, PayloadTooLargeException.class, JsonProcessingException.class })
+    public ResponseEntity<byte[]> handleMalformedInput(Exception e, ServerHttpRequest request) {
+        Throwable cause = e.getCause();
+        Exception reported = cause instanceof DecodingException || cause instanceof DataBufferLimitException
+                ? (Exception) cause
+                : e;
+        return malformedInput.respond(reported, request, r -> r.getMethod().name(), r -> r.getPath().value());
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.jacksonparse.codec;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+
+import com.example.jacksonparse.codec.InputLimitException.Limit;
+import com.example.jacksonparse.config.JacksonConfig;
+import com.example.jacksonparse.config.MapperProperties;
+import com.example.jacksonparse.model.Person;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+class InputLimitExceptionTest {
+    @Test
+    void testNamesTheLimitAndItsProperty() {
+        InputLimitException e = new InputLimitException(Limit.BODY_SIZE, 1024);
+
+        assertEquals(Limit.BODY_SIZE, e.getLimit());
+        assertEquals("Request body size exceeds the limit of 1024 (app.jackson.limits.max-body-size)",
+                e.getOriginalMessage());
+        assertEquals(Limit.BODY_SIZE, InputLimitException.limitOf(new IOException(new JsonMappingException(null,
+                "wrapped", e))));
+    }
+
+    @Test
+    void testFindsTheLimitsWoodstoxEnforces() {
+        MapperProperties properties = new MapperProperties();
+        properties.getLimits().setMaxDepth(2);
+        properties.getLimits().setMaxStringLength(10);
+        properties.getLimits().setMaxAttributes(2);
+        XmlMapper mapper = new JacksonConfig(properties).xmlMapper();
+
+        assertEquals(Limit.DEPTH, limit(mapper, "<person><x><y/></x></person>"));
+        assertEquals(Limit.STRING_LENGTH, limit(mapper, "<person><name>12345678901</name></person>"));
+        assertEquals(Limit.STRING_LENGTH, limit(mapper, "<person name=\"12345678901\"/>"));
+        assertEquals(Limit.ATTRIBUTES, limit(mapper, "<person id=\"1\" name=\"N\" email=\"e\"/>"));
+        assertNull(limit(mapper, "<person><name>N</person>"));
+    }
+
+    @Test
+    void testReportsBufferLimitAsBodySize() {
+        assertEquals(Limit.BODY_SIZE, InputLimitException.limitOf(new IllegalStateException(
+                new DataBufferLimitException("Exceeded limit on max bytes to buffer : 4096"))));
+    }
+
+    @Test
+    void testIgnoresOtherExceptions() {
+        assertNull(InputLimitException.limitOf(new XMLStreamException()));
+        assertNull(InputLimitException.limitOf(new IOException("Maximum Element Depth limit (2) Exceeded")));
+        assertNull(InputLimitException.limitOf(new IOException()));
+    }
+
+    private static Limit limit(XmlMapper mapper, String xml) {
+        return InputLimitException.limitOf(assertThrows(IOException.class, () -> mapper.readValue(xml, Person.class)));
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.jacksonparse.codec;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.jacksonparse.config.JacksonConfig;
+import com.example.jacksonparse.config.MapperProperties;
+import com.example.jacksonparse.model.Address;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.type.LogicalType;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+class IsoDateTimeModuleTest {
+    private final JacksonConfig codec = config(true);
+    private final JacksonConfig formatter = config(false);
+
+    @Test
+    void testFormatsLikeIsoFormatter() {
+        Random random = new Random(42);
+        char[] buf = new char[IsoLocalDateTime.MAX_LENGTH];
+        for (int i = 0; i < 10_000; i++) {
+            LocalDateTime value = LocalDateTime.of(random.nextInt(10_000), 1 + random.nextInt(12),
+                    1 + random.nextInt(28), random.nextInt(24), random.nextInt(60), random.nextInt(60),
+                    nano(random));
+            String expected = value.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+
+            assertEquals(expected, new String(buf, 0, IsoLocalDateTime.format(value, buf)));
+            assertEquals(value, IsoLocalDateTime.parse(expected.toCharArray(), 0, expected.length()));
+        }
+    }
+
+    @Test
+    void testLeavesOtherYearsToFormatter() {
+        char[] buf = new char[IsoLocalDateTime.MAX_LENGTH];
+
+        assertEquals(-1, IsoLocalDateTime.format(LocalDateTime.of(10_000, 1, 1, 0, 0), buf));
+        assertEquals(-1, IsoLocalDateTime.format(LocalDateTime.of(-1, 1, 1, 0, 0), buf));
+    }
+
+    @Test
+    void testRejectsOtherShapes() {
+        for (String text : List.of("2024-01-15T10:30", "2024-01-15T10:30:00.", "2024-01-15T10:30:00Z0",
+                "2024-01-15T10:30:00.1234567890", "2024/01/15T10:30:00", "2024-01/15T10:30:00",
+                "2024-01-15 10:30:00", "2024-01-15T10-30:00", "2024-01-15T10:30-00", "2024-01-15T10:3x:00",
+                "2024-01-15T10:30:00.1x", "+024-01-15T10:30:00", "2024-02-30T10:30:00", "2024-01-15T24:00:00")) {
+            assertNull(IsoLocalDateTime.parse(text.toCharArray(), 0, text.length()), text);
+        }
+    }
+
+    @Test
+    void testIsDateTimeForCoercion() {
+        assertEquals(LogicalType.DateTime, new IsoLocalDateTimeDeserializer().logicalType());
+    }
+
+    @Test
+    void testParsesWithinLargerBuffer() {
+        char[] buf = "\"2024-01-15T10:30:00.5\"".toCharArray();
+
+        assertEquals(LocalDateTime.of(2024, 1, 15, 10, 30, 0, 500_000_000), IsoLocalDateTime.parse(buf, 1, 21));
+    }
+
+    @Test
+    void testWritesSameBytesAsFormatter() throws IOException {
+        Address address = new Address();
+        address.setCreatedAt(LocalDateTime.of(2024, 1, 15, 10, 30, 0, 120_000_000));
+        address.setUpdatedAt(LocalDateTime.of(12_024, 1, 15, 10, 30));
+
+        assertEquals(formatter.objectMapper().writeValueAsString(address),
+                codec.objectMapper().writeValueAsString(address));
+        assertEquals(formatter.xmlMapper().writeValueAsString(address), codec.xmlMapper().writeValueAsString(address));
+    }
+
+    @Test
+    void testReadsLikeFormatter() throws IOException {
+        for (String date : List.of("2024-01-15T10:30:00", "2024-01-15T10:30:00.000000001", "2024-01-15T10:30",
+                " 2024-01-15T10:30:00 ")) {
+            String json = "{\"createdAt\":\"" + date + "\"}";
+            String xml = "<address><createdAt>" + date + "</createdAt></address>";
+
+            assertEquals(formatter.objectMapper().readValue(json, Address.class),
+                    codec.objectMapper().readValue(json, Address.class), date);
+            assertEquals(formatter.xmlMapper().readValue(xml, Address.class),
+                    codec.xmlMapper().readValue(xml, Address.class), date);
+        }
+        assertEquals(LocalDateTime.of(2024, 1, 15, 10, 30),
+                codec.objectMapper().readValue("[2024,1,15,10,30]", LocalDateTime.class));
+    }
+
+    @Test
+    void testReportsInvalidValuesLikeFormatter() {
+        XmlMapper xmlMapper = codec.xmlMapper();
+
+        assertThrows(InvalidFormatException.class,
+                () -> codec.objectMapper().readValue("\"2024-02-30T10:30:00\"", LocalDateTime.class));
+        assertThrows(InvalidFormatException.class, () -> xmlMapper.readValue(
+                "<address><createdAt>2024-01-15T10:30:00.1234567890</createdAt></address>", Address.class));
+    }
+
+    @Test
+    void testDefersToJavaTimeModuleForTimestampsAndFormats() throws IOException {
+        ObjectMapper mapper = codec.objectMapper().copy().enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        Formatted formatted = new Formatted();
+        formatted.pattern = LocalDateTime.of(2024, 1, 15, 10, 30);
+        formatted.array = formatted.pattern;
+
+        assertEquals("[2024,1,15,10,30]", mapper.writeValueAsString(formatted.pattern));
+        String json = codec.objectMapper().writeValueAsString(formatted);
+
+        assertEquals("{\"pattern\":\"15.01.2024 10:30\",\"array\":[2024,1,15,10,30]}", json);
+        assertEquals(formatted.pattern, codec.objectMapper().readValue(json, Formatted.class).pattern);
+    }
+
+    static class Formatted {
+        @JsonFormat(pattern = "dd.MM.yyyy HH:mm")
+        public LocalDateTime pattern;
+
+        @JsonFormat(shape = JsonFormat.Shape.ARRAY)
+        public LocalDateTime array;
+    }
+
+    private static int nano(Random random) {
+        return switch (random.nextInt(4)) {
+        case 0 -> 0;
+        case 1 -> random.nextInt(1_000) * 1_000_000;
+        case 2 -> random.nextInt(1_000_000) * 1_000;
+        default -> random.nextInt(1_000_000_000);
+        };
+    }
+
+    private static JacksonConfig config(boolean dateCodec) {
+        MapperProperties properties = new MapperProperties();
+        properties.setDateCodec(dateCodec);
+        return new JacksonConfig(properties);
+    }
+}
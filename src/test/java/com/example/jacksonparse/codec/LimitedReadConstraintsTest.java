@@ -0,0 +1,79 @@
+package com.example.jacksonparse.codec;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+import com.example.jacksonparse.codec.InputLimitException.Limit;
+import com.example.jacksonparse.config.JacksonConfig;
+import com.example.jacksonparse.config.MapperProperties;
+import com.example.jacksonparse.model.Person;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class LimitedReadConstraintsTest {
+    private final JacksonConfig config = config();
+
+    @Test
+    void testReadsWithinLimits() throws IOException {
+        for (ObjectMapper mapper : mappers()) {
+            JsonNode within = tree("{\"id\":1,\"name\":\"1234567890\",\"x\":{\"y\":[]}}");
+
+            assertEquals(within, mapper.readTree(bytes(mapper, within)), mapper.getFactory().getFormatName());
+            assertEquals("1234567890", mapper.readValue(bytes(mapper, within), Person.class).getName());
+        }
+    }
+
+    @Test
+    void testRejectsDeepNesting() throws IOException {
+        for (ObjectMapper mapper : mappers()) {
+            byte[] deep = bytes(mapper, tree("{\"id\":1,\"x\":{\"y\":[{}]}}"));
+
+            assertEquals(Limit.DEPTH, limit(() -> mapper.readTree(deep)));
+            assertEquals(Limit.DEPTH, limit(() -> mapper.readValue(deep, Person.class)));
+        }
+    }
+
+    @Test
+    void testRejectsLongStringsAndNames() throws IOException {
+        for (ObjectMapper mapper : mappers()) {
+            byte[] value = bytes(mapper, tree("{\"name\":\"12345678901\"}"));
+            byte[] name = bytes(mapper, tree("{\"12345678901\":1}"));
+
+            assertEquals(Limit.STRING_LENGTH, limit(() -> mapper.readValue(value, Person.class)));
+            assertEquals(Limit.STRING_LENGTH, limit(() -> mapper.readTree(name)));
+        }
+        InputLimitException e = assertThrows(InputLimitException.class,
+                () -> config.objectMapper().readTree("{\"12345678901\":1}"));
+        assertEquals("String length exceeds the limit of 10 (app.jackson.limits.max-string-length)",
+                e.getOriginalMessage());
+    }
+
+    private List<ObjectMapper> mappers() {
+        return List.of(config.objectMapper(), config.smileMapper(), config.cborMapper());
+    }
+
+    private static Limit limit(Executable read) {
+        return InputLimitException.limitOf(assertThrows(IOException.class, read));
+    }
+
+    private static JsonNode tree(String json) throws IOException {
+        return new ObjectMapper().readTree(json);
+    }
+
+    private static byte[] bytes(ObjectMapper mapper, JsonNode tree) throws IOException {
+        return mapper.writeValueAsBytes(tree);
+    }
+
+    private static JacksonConfig config() {
+        MapperProperties properties = new MapperProperties();
+        properties.getLimits().setMaxDepth(3);
+        properties.getLimits().setMaxStringLength(10);
+        return new JacksonConfig(properties);
+    }
+}
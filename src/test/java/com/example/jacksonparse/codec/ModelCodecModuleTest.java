@@ -0,0 +1,212 @@
+package com.example.jacksonparse.codec;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import com.example.jacksonparse.config.JacksonConfig;
+import com.example.jacksonparse.config.MapperProperties;
+import com.example.jacksonparse.config.MapperProperties.BindingMode;
+import com.example.jacksonparse.model.Address;
+import com.example.jacksonparse.model.Person;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.DeserializationProblemHandler;
+import com.fasterxml.jackson.databind.deser.ValueInstantiator;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+class ModelCodecModuleTest {
+    private final ObjectMapper beanJson = config(BindingMode.BEAN).objectMapper();
+    private final XmlMapper beanXml = config(BindingMode.BEAN).xmlMapper();
+    private final ObjectMapper codecJson = config(BindingMode.CODEC).objectMapper();
+    private final XmlMapper codecXml = config(BindingMode.CODEC).xmlMapper();
+
+    @Test
+    void testReadsFixturesLikeBeanBinding() throws IOException {
+        assertEquals(load("person.json", beanJson), load("person.json", codecJson));
+        assertEquals(load("person.xml", beanXml), load("person.xml", codecXml));
+    }
+
+    @Test
+    void testWritesSameBytesAsBeanBinding() throws IOException {
+        Person person = samplePerson();
+
+        assertEquals(beanJson.writeValueAsString(person), codecJson.writeValueAsString(person));
+        assertEquals(beanXml.writeValueAsString(person), codecXml.writeValueAsString(person));
+    }
+
+    @Test
+    void testWritesNullsLikeBeanBinding() throws IOException {
+        Person person = new Person();
+        person.setAddresses(Arrays.asList(new Address(), null));
+        person.setExtra("nothing", null);
+
+        assertEquals(beanJson.writeValueAsString(person), codecJson.writeValueAsString(person));
+        assertEquals(beanXml.writeValueAsString(person), codecXml.writeValueAsString(person));
+        assertEquals(beanJson.writeValueAsString(new Person()), codecJson.writeValueAsString(new Person()));
+        assertEquals(beanXml.writeValueAsString(new Person()), codecXml.writeValueAsString(new Person()));
+    }
+
+    @Test
+    void testReadsNullsAndCoercionsLikeBeanBinding() throws IOException {
+        String json = """
+                {"version":null,"id":"7","name":null,"addresses":[{"primary":"true","createdAt":null},null],
+                 "birthDate":null,"nothing":null,"nested":{"a":[1,2]}}
+                """;
+
+        assertEquals(beanJson.readValue(json, Person.class), codecJson.readValue(json, Person.class));
+        assertNull(codecJson.readValue("{\"id\":null,\"addresses\":null}", Person.class).getAddresses());
+    }
+
+    @Test
+    void testReadsEmptyXmlElementsLikeBeanBinding() throws IOException {
+        String xml = "<person><name/><address/></person>";
+
+        assertEquals(beanXml.readValue(xml, Person.class), codecXml.readValue(xml, Person.class));
+        assertEquals(new Person(), codecXml.readValue("<person/>", Person.class));
+    }
+
+    @Test
+    void testReadsEmptyXmlElementAsEmptyPerson() throws IOException {
+        List<Person> persons = codecXml.readValue("<persons><person/></persons>", new TypeReference<>() {
+        });
+
+        assertEquals(List.of(new Person()), persons);
+    }
+
+    @Test
+    void testCollectsNonAdjacentXmlAddresses() throws IOException {
+        String xml = """
+                <person><address><city>A</city></address><name>N</name><address><city>B</city></address></person>
+                """;
+
+        Person person = codecXml.readValue(xml, Person.class);
+
+        assertEquals(List.of("A", "B"), person.getAddresses().stream().map(Address::getCity).toList());
+    }
+
+    @Test
+    void testTreatsOtherFormatsListNameAsExtra() throws IOException {
+        Person json = codecJson.readValue("{\"address\":\"x\"}", Person.class);
+        Person xml = codecXml.readValue("<person><addresses>x</addresses></person>", Person.class);
+
+        assertEquals(Map.of("address", "x"), json.getExtra());
+        assertEquals(Map.of("addresses", "x"), xml.getExtra());
+    }
+
+    @Test
+    void testReadsFromFieldName() throws IOException {
+        try (JsonParser parser = codecJson.createParser("{\"name\":\"N\"}")) {
+            parser.nextToken();
+            parser.nextToken();
+
+            assertEquals("N", codecJson.readValue(parser, Person.class).getName());
+        }
+    }
+
+    @Test
+    void testRejectsInvalidInputLikeBeanBinding() {
+        for (String json : List.of("[]", "\"x\"", "{\"addresses\":{}}", "{\"addresses\":[1]}",
+                "{\"addresses\":[{\"unknown\":1}]}")) {
+            Class<? extends Exception> expected = assertThrows(MismatchedInputException.class,
+                    () -> beanJson.readValue(json, Person.class)).getClass();
+
+            assertEquals(expected, assertThrows(MismatchedInputException.class,
+                    () -> codecJson.readValue(json, Person.class)).getClass(), json);
+        }
+        assertThrows(UnrecognizedPropertyException.class,
+                () -> codecXml.readValue("<person><address><unknown/></address></person>", Person.class));
+    }
+
+    @Test
+    void testDefersToProblemHandlersLikeBeanBinding() throws IOException {
+        ObjectMapper bean = beanJson.copy().addHandler(new LenientHandler());
+        ObjectMapper codec = codecJson.copy().addHandler(new LenientHandler());
+
+        for (String json : List.of("[1]", "\"x\"", "{\"addresses\":{\"a\":1}}",
+                "{\"addresses\":[{\"unknown\":{\"a\":1}}]}")) {
+            assertEquals(bean.readValue(json, Person.class), codec.readValue(json, Person.class), json);
+        }
+    }
+
+    @Test
+    void testBindingModeSwitchesModule() {
+        assertFalse(beanJson.getRegisteredModuleIds().contains(ModelCodecModule.class.getSimpleName()));
+        assertTrue(codecJson.getRegisteredModuleIds().contains(ModelCodecModule.class.getSimpleName()));
+        assertTrue(codecXml.getRegisteredModuleIds().contains(ModelCodecModule.class.getSimpleName()));
+    }
+
+    private static class LenientHandler extends DeserializationProblemHandler {
+        @Override
+        public Object handleUnexpectedToken(DeserializationContext ctxt, JavaType targetType, JsonToken t,
+                JsonParser p, String failureMsg) throws IOException {
+            p.skipChildren();
+            return targetType.isCollectionLikeType() ? new ArrayList<>() : new Person();
+        }
+
+        @Override
+        public Object handleMissingInstantiator(DeserializationContext ctxt, Class<?> instClass,
+                ValueInstantiator valueInsta, JsonParser p, String msg) {
+            return new Person();
+        }
+
+        @Override
+        public boolean handleUnknownProperty(DeserializationContext ctxt, JsonParser p,
+                JsonDeserializer<?> deserializer, Object beanOrClass, String propertyName) throws IOException {
+            p.skipChildren();
+            return true;
+        }
+    }
+
+    private static JacksonConfig config(BindingMode binding) {
+        MapperProperties properties = new MapperProperties();
+        properties.setBinding(binding);
+        return new JacksonConfig(properties);
+    }
+
+    private static Person load(String path, ObjectMapper mapper) throws IOException {
+        try (InputStream in = new ClassPathResource(path).getInputStream()) {
+            return mapper.readValue(in, Person.class);
+        }
+    }
+
+    private static Person samplePerson() {
+        Address address = new Address();
+        address.setPrimary(true);
+        address.setStreet("123 Main St");
+        address.setCity("Springfield");
+        address.setZipCode("12345");
+        address.setCreatedAt(LocalDateTime.of(2024, 1, 15, 10, 30, 0));
+
+        Person person = new Person();
+        person.setVersion("1.1");
+        person.setId(1L);
+        person.setName("John Doe");
+        person.setEmail("john.doe@example.com");
+        person.setAddresses(new ArrayList<>(List.of(address, new Address())));
+        person.setBirthDate(LocalDateTime.of(1990, 5, 15, 8, 0, 0));
+        person.setExtra("unknownA", "A");
+        person.setExtra("unknownB", Map.of("nested", List.of("B", 2)));
+        return person;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.jacksonparse.codec;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class PersonRulesTest {
+    @Test
+    void testHasText() {
+        assertTrue(PersonRules.hasText(" a "));
+        assertFalse(PersonRules.hasText(""));
+        assertFalse(PersonRules.hasText(" \t\n"));
+    }
+
+    @Test
+    void testIsEmail() {
+        for (String email : List.of("john.doe@example.com", "a+b~c=d_e@sub-1.Example.ORG", "x@a.b",
+                "a".repeat(64) + "@" + "b".repeat(63) + ".com")) {
+            assertTrue(PersonRules.isEmail(email), email);
+        }
+        for (String email : List.of("", "plain", "@example.com", "a".repeat(65) + "@b.com",
+                "a@" + "b".repeat(250) + ".com", ".a@b.com", "a..b@c.com", "a.@b.com", "a b@c.com", "a:b@c.com",
+                "a(b@c.com", "a@b", "a@", "a@b_c.com", "a@b..com", "a@.b.com", "a@b.com.", "a@-b.com", "a@b-.com",
+                "a@" + "b".repeat(64) + ".com", "a@b@c.com")) {
+            assertFalse(PersonRules.isEmail(email), email);
+        }
+    }
+
+    @Test
+    void testIsZipCode() {
+        for (String zipCode : List.of("12345", "12346", "12345-6789")) {
+            assertTrue(PersonRules.isZipCode(zipCode), zipCode);
+        }
+        for (String zipCode : List.of("", "1", "1234", "123456", "1234a", "12-45", "12345 6789", "1234-56789",
+                "12345-678a", "12345-678")) {
+            assertFalse(PersonRules.isZipCode(zipCode), zipCode);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.jacksonparse.codec;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import com.example.jacksonparse.config.JacksonConfig;
+import com.example.jacksonparse.config.MapperProperties;
+import com.example.jacksonparse.model.Person;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+class PersonTranscoderTest {
+    private final JacksonConfig config = new JacksonConfig(new MapperProperties());
+    private final ObjectMapper jsonMapper = config.objectMapper();
+    private final XmlMapper xmlMapper = config.xmlMapper();
+    private final PersonTranscoder transcoder = new PersonTranscoder(false, PersonLimits.NONE, null);
+
+    @Test
+    void testAcceptsFixtures() throws IOException {
+        assertTrue(check(jsonMapper, fixture("person.json")));
+        assertTrue(check(xmlMapper, fixture("person.xml")));
+        assertTrue(check(jsonMapper, "{\"email\":null,\"addresses\":null}"));
+    }
+
+    @Test
+    void testTranscodesJsonLikeBinding() throws IOException {
+        for (String json : List.of(fixture("person.json"), """
+                {"name":"N","version":"2","id":"7","addresses":[{"city":"A","primary":"true"},
+                 {"street":"S","primary":false,"createdAt":null}],"email":null,"tags":["a",1,1.50,false],
+                 "meta":{"nested":{"x":"y"},"list":[[1,2]]},"birthDate":"2024-01-15T10:30:00.5"}
+                """, "{\"id\":-5,\"addresses\":null}", "{\"addresses\":[],\"version\":\"late\"}")) {
+            String xml = transcode(jsonMapper, xmlMapper, json);
+
+            assertEquals(viaBinding(jsonMapper, xmlMapper, json), xmlMapper.readValue(xml, Person.class), xml);
+        }
+    }
+
+    @Test
+    void testTranscodesXmlLikeBinding() throws IOException {
+        for (String xml : List.of(fixture("person.xml"),
+                "<person><id>-7</id><name/><address primary=\"false\"><city>A</city></address></person>", """
+                <person>text<meta a="1"><b>2</b><c><d>3</d></c></meta><address><zipCode>1</zipCode></address></person>
+                """, "<person xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"><name xsi:nil=\"true\"/>"
+                        + "<x><y xsi:nil=\"true\"/></x></person>")) {
+            String json = transcode(xmlMapper, jsonMapper, xml);
+
+            assertEquals(viaBinding(xmlMapper, jsonMapper, xml), jsonMapper.readValue(json, Person.class), json);
+        }
+    }
+
+    @Test
+    void testWritesAttributesWhileNoElementIsWritten() throws IOException {
+        String xml = transcode(jsonMapper, xmlMapper, """
+                {"version":"1","addresses":[{"primary":true,"city":"A"},{"city":"B","primary":false}],"name":"N"}
+                """);
+
+        assertEquals("<person version=\"1\"><address primary=\"true\"><city>A</city></address>"
+                + "<address><city>B</city><primary>false</primary></address><name>N</name></person>", xml);
+        assertEquals("<person><name>N</name><version>1</version></person>",
+                transcode(jsonMapper, xmlMapper, "{\"name\":\"N\",\"version\":\"1\"}"));
+    }
+
+    @Test
+    void testCopiesWithinFormat() throws IOException {
+        String json = "{\"id\":1,\"addresses\":[{\"city\":\"A\"}],\"x\":[1.5,null,{\"a\":true}]}";
+        String xml = "<person><id>1</id><address><city>A</city></address><x><a>1</a><a>2</a></x></person>";
+
+        assertEquals(json, transcode(jsonMapper, jsonMapper, json));
+        assertEquals(xml, transcode(xmlMapper, xmlMapper, xml));
+    }
+
+    @Test
+    void testRejectsShapesTheBindingsTreatDifferently() throws IOException {
+        for (String json : List.of("[]", "{\"name\":1}", "{\"id\":1.5}", "{\"id\":\"x\"}", "{\"id\":\"\"}",
+                "{\"id\":\"-\"}", "{\"id\":\" 1\"}", "{\"id\":\"1234567890123456789\"}",
+                "{\"id\":123456789012345678901}", "{\"birthDate\":\"2024-01-15\"}", "{\"birthDate\":1}",
+                "{\"addresses\":{}}", "{\"addresses\":[1]}", "{\"addresses\":[null]}",
+                "{\"addresses\":[],\"addresses\":[]}", "{\"addresses\":[{\"x\":1}]}",
+                "{\"addresses\":[{\"primary\":\"yes\"}]}", "{\"addresses\":[{\"primary\":1}]}", "{} {}")) {
+            assertFalse(check(jsonMapper, json), json);
+        }
+        for (String xml : List.of("<person><address/></person>", "<person><address><x>1</x></address></person>",
+                "<person><address><city>A</city></address><id>1</id><address><city>B</city></address></person>",
+                "<person><name><x>1</x></name></person>")) {
+            assertFalse(check(xmlMapper, xml), xml);
+        }
+    }
+
+    @Test
+    void testRejectsExtrasThatChangeAcrossFormats() throws IOException {
+        for (String json : List.of("{\"address\":\"x\"}", "{\"x\":null}", "{\"x\":[null]}", "{\"x\":{\"y\":null}}")) {
+            assertTrue(check(jsonMapper, json), json);
+            assertFalse(transcoder.copy(jsonMapper.createParser(json), xmlMapper.createGenerator(new StringWriter())),
+                    json);
+        }
+        for (String xml : List.of("<person><addresses>x</addresses></person>", "<person><x>1</x><x>2</x></person>",
+                "<person><x><a>1</a><a>2</a></x></person>", "<person><x><y><a/><a/></y></x></person>")) {
+            assertTrue(check(xmlMapper, xml), xml);
+            assertFalse(transcoder.copy(xmlMapper.createParser(xml), jsonMapper.createGenerator(new StringWriter())),
+                    xml);
+        }
+    }
+
+    @Test
+    void testRejectsInvalidPersonsWhenValidating() throws IOException {
+        PersonTranscoder validating = new PersonTranscoder(true, PersonLimits.NONE, null);
+        for (String json : List.of("{\"id\":1,\"name\":\"N\",\"email\":null,\"addresses\":[{\"zipCode\":null}]}",
+                "{\"name\":\"N\",\"addresses\":[{\"zipCode\":\"12345-6789\"}],\"email\":\"a@b.com\",\"id\":1}")) {
+            assertTrue(validating.copy(jsonMapper.createParser(json), null), json);
+        }
+        for (String json : List.of("{}", "{\"id\":1}", "{\"name\":\"N\"}", "{\"id\":null,\"name\":\"N\"}",
+                "{\"id\":1,\"name\":null}", "{\"id\":1,\"name\":\" \"}", "{\"id\":1,\"name\":\"N\",\"email\":\"e\"}",
+                "{\"id\":1,\"name\":\"N\",\"addresses\":[{\"zipCode\":\"1\"}]}",
+                "{\"id\":1,\"name\":\"N\",\"addresses\":[{\"zipCode\":12345}]}")) {
+            assertFalse(validating.copy(jsonMapper.createParser(json), null), json);
+        }
+        assertTrue(validating.copy(xmlMapper.createParser(fixture("person.xml")), null));
+        assertFalse(validating.copy(xmlMapper.createParser("<person><id>1</id><name/></person>"), null));
+    }
+
+    @Test
+    void testRejectsPersonsBeyondLimits() throws IOException {
+        PersonTranscoder limited = new PersonTranscoder(false, new PersonLimits(2, 1), null);
+        String within = "{\"x\":1,\"addresses\":[{},{}]}";
+
+        assertTrue(limited.copy(jsonMapper.createParser(within), null));
+        assertTrue(limited.copy(jsonMapper.createParser(within), xmlMapper.createGenerator(new StringWriter())));
+        for (String json : List.of("{\"addresses\":[{},{},{}]}", "{\"x\":1,\"y\":{}}")) {
+            assertFalse(limited.copy(jsonMapper.createParser(json), null), json);
+        }
+        assertFalse(limited.copy(xmlMapper.createParser("<person><address/><address/><address/></person>"),
+                jsonMapper.createGenerator(new StringWriter())));
+        assertFalse(limited.copy(xmlMapper.createParser("<person x=\"1\"><y/></person>"), null));
+    }
+
+    @Test
+    void testRejectsExtrasBeyondRawLimitsLikeBinding() throws IOException {
+        ExtraLimits rawExtras = new ExtraLimits(2, 2, 20);
+        PersonTranscoder raw = new PersonTranscoder(false, PersonLimits.NONE, rawExtras);
+        ObjectMapper rawMapper = new JacksonConfig(rawProperties(rawExtras)).objectMapper();
+        List<String> within = List.of("{\"x\":\"a short scalar\",\"y\":{\"a\":[1,true]}}",
+                "{\"x\":[[\"abcdefghijkl\"]]}", "{\"abcdefghijklmnop\":true}");
+        List<String> beyond = List.of("{\"x\":1,\"y\":2,\"z\":3}", "{\"x\":[[[]]]}", "{\"x\":{\"y\":{\"z\":{}}}}",
+                "{\"x\":[\"abcdefghijklmnopqrs\"]}", "{\"x\":{\"abcdefghijklmnopqrs\":1}}",
+                "{\"x\":\"a long scalar is counted\"}", "{\"abcdefghijklmnopq\":true}");
+
+        for (String json : within) {
+            rawMapper.readValue(json, Person.class);
+            assertTrue(raw.copy(jsonMapper.createParser(json), null), json);
+            assertTrue(raw.copy(jsonMapper.createParser(json), xmlMapper.createGenerator(new StringWriter())), json);
+        }
+        for (String json : beyond) {
+            assertThrows(MismatchedInputException.class, () -> rawMapper.readValue(json, Person.class), json);
+            assertFalse(raw.copy(jsonMapper.createParser(json), null), json);
+            assertFalse(raw.copy(jsonMapper.createParser(json), jsonMapper.createGenerator(new StringWriter())), json);
+        }
+    }
+
+    private static MapperProperties rawProperties(ExtraLimits limits) {
+        MapperProperties properties = new MapperProperties();
+        properties.getExtras().setMode(MapperProperties.ExtrasMode.RAW);
+        properties.getExtras().setMaxCount(limits.maxCount());
+        properties.getExtras().setMaxDepth(limits.maxDepth());
+        properties.getExtras().setMaxBytes(limits.maxBytes());
+        return properties;
+    }
+
+    private boolean check(ObjectMapper mapper, String content) throws IOException {
+        try (JsonParser parser = mapper.createParser(content)) {
+            return transcoder.copy(parser, null);
+        }
+    }
+
+    private String transcode(ObjectMapper from, ObjectMapper to, String content) throws IOException {
+        StringWriter writer = new StringWriter();
+        try (JsonParser parser = from.createParser(content); JsonGenerator generator = to.createGenerator(writer)) {
+            assertTrue(transcoder.copy(parser, generator), content);
+        }
+        return writer.toString();
+    }
+
+    private static Person viaBinding(ObjectMapper from, ObjectMapper to, String content) throws IOException {
+        return to.readValue(to.writeValueAsString(from.readValue(content, Person.class)), Person.class);
+    }
+
+    private static String fixture(String path) throws IOException {
+        try (InputStream in = new ClassPathResource(path).getInputStream()) {
+            return new String(in.readAllBytes());
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package com.example.jacksonparse.codec;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import com.example.jacksonparse.codec.InputLimitException.Limit;
+import com.example.jacksonparse.codec.PersonValidationException.Violation;
+import com.example.jacksonparse.config.JacksonConfig;
+import com.example.jacksonparse.config.MapperProperties;
+import com.example.jacksonparse.config.MapperProperties.BindingMode;
+import com.example.jacksonparse.model.Person;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+class PersonValidationModuleTest {
+    private static final String JSON = """
+            {"id":1,"name":"N","email":"not-an-email","birthDate":"not-a-date","addresses":[null,{"zipCode":"1"},
+             {"zipCode":"12345","city":"A"},{"zipCode":null},{"x":{"zipCode":"2"},"zipCode":"3"},[{"zipCode":"4"}]],
+             "x":{"name":"","id":null,"list":[1,"a"]},"name":" "}
+            """;
+    private static final String XML = """
+            <person version="1"><id>1</id><address><zipCode>1</zipCode></address><address primary="true">
+            <city>A</city><zipCode>12345-6789</zipCode></address><email>e</email><address/><address>
+            <zipCode>2</zipCode><x><zipCode>3</zipCode></x></address><x><name/><address><zipCode>4</zipCode>
+            </address></x></person>
+            """;
+
+    @Test
+    void testBindsValidPersonsLikeUnvalidatedMapper() throws IOException {
+        for (BindingMode binding : BindingMode.values()) {
+            JacksonConfig validated = config(binding, true);
+            JacksonConfig plain = config(binding, false);
+
+            for (String path : List.of("person.json", "person.xml")) {
+                ObjectMapper mapper = path.endsWith("xml") ? validated.xmlMapper() : validated.objectMapper();
+                ObjectMapper reference = path.endsWith("xml") ? plain.xmlMapper() : plain.objectMapper();
+
+                assertEquals(load(path, reference), load(path, mapper), binding + ": " + path);
+            }
+            Person person = load("person.json", plain.objectMapper());
+            for (ObjectMapper mapper : List.of(validated.smileMapper(), validated.cborMapper())) {
+                assertEquals(person, mapper.readValue(mapper.writeValueAsBytes(person), Person.class), binding.name());
+            }
+        }
+    }
+
+    @Test
+    void testReportsEveryViolationWithJsonPointers() {
+        for (BindingMode binding : BindingMode.values()) {
+            ObjectMapper mapper = config(binding, true).objectMapper();
+
+            PersonValidationException e = assertThrows(PersonValidationException.class,
+                    () -> mapper.readValue(JSON, Person.class));
+
+            assertEquals(List.of(new Violation("/email", PersonRules.EMAIL),
+                    new Violation("/addresses/1/zipCode", PersonRules.ZIP_CODE),
+                    new Violation("/addresses/4/zipCode", PersonRules.ZIP_CODE),
+                    new Violation("/name", PersonRules.BLANK)), e.getViolations(), binding.name());
+            assertEquals("Invalid person: /email must be a valid email address; /addresses/1/zipCode must be a "
+                    + "5-digit ZIP code or ZIP+4; /addresses/4/zipCode must be a 5-digit ZIP code or ZIP+4; "
+                    + "/name must not be blank", e.getOriginalMessage());
+        }
+    }
+
+    @Test
+    void testReportsEveryViolationWithXPaths() {
+        for (BindingMode binding : BindingMode.values()) {
+            ObjectMapper mapper = config(binding, true).xmlMapper();
+
+            PersonValidationException e = assertThrows(PersonValidationException.class,
+                    () -> mapper.readValue(XML, Person.class));
+
+            assertEquals(List.of(new Violation("/person/address[1]/zipCode", PersonRules.ZIP_CODE),
+                    new Violation("/person/email", PersonRules.EMAIL),
+                    new Violation("/person/address[4]/zipCode", PersonRules.ZIP_CODE),
+                    new Violation("/person/name", PersonRules.REQUIRED)), e.getViolations(), binding.name());
+        }
+    }
+
+    @Test
+    void testCountsAddressesOfEveryGroupWhileBinding() {
+        String xml = "<person><id>1</id><name>N</name><address/><address><zipCode>12345</zipCode></address>"
+                + "<email>a@b.com</email><address><zipCode>1</zipCode></address></person>";
+        for (BindingMode binding : BindingMode.values()) {
+            ObjectMapper mapper = config(binding, true).xmlMapper();
+
+            PersonValidationException e = assertThrows(PersonValidationException.class,
+                    () -> mapper.readValue(xml, Person.class));
+
+            assertEquals(List.of(new Violation("/person/address[3]/zipCode", PersonRules.ZIP_CODE)),
+                    e.getViolations(), binding.name());
+        }
+    }
+
+    @Test
+    void testRequiresIdAndName() {
+        for (BindingMode binding : BindingMode.values()) {
+            JacksonConfig config = config(binding, true);
+
+            assertEquals(List.of(new Violation("/id", PersonRules.REQUIRED), new Violation("/name", PersonRules.BLANK)),
+                    violations(config.objectMapper(), "{\"id\":null,\"name\":null,\"email\":null}"));
+            assertEquals(List.of(new Violation("/id", PersonRules.REQUIRED)),
+                    violations(config.objectMapper(), "{\"id\":\"\",\"name\":1}"));
+            assertEquals(List.of(new Violation("/name", PersonRules.BLANK), new Violation("/id", PersonRules.REQUIRED)),
+                    violations(config.objectMapper(), "{\"name\":\"\",\"id\":null}"));
+            assertEquals(List.of(new Violation("/id", PersonRules.REQUIRED),
+                    new Violation("/name", PersonRules.REQUIRED)), violations(config.objectMapper(), "{}"));
+            assertEquals(List.of(new Violation("/person/id", PersonRules.REQUIRED),
+                    new Violation("/person/name", PersonRules.REQUIRED)),
+                    violations(config.xmlMapper(), "<person/>"));
+        }
+    }
+
+    @Test
+    void testReportsBindingErrorsBeforeFirstViolation() {
+        for (BindingMode binding : BindingMode.values()) {
+            JacksonConfig config = config(binding, true);
+
+            assertThrows(InvalidFormatException.class,
+                    () -> config.objectMapper().readValue("{\"id\":\"x\",\"name\":\"\"}", Person.class));
+            assertThrows(MismatchedInputException.class,
+                    () -> config.objectMapper().readValue("[{\"id\":1,\"name\":\"N\"}]", Person.class));
+        }
+    }
+
+    @Test
+    void testStopsBindingAtFirstViolation() {
+        for (BindingMode binding : BindingMode.values()) {
+            ObjectMapper mapper = config(binding, true).objectMapper();
+
+            assertEquals(List.of(new Violation("/name", PersonRules.BLANK)), violations(mapper,
+                    "{\"id\":1,\"name\":\"\",\"birthDate\":\"x\",\"addresses\":{\"zipCode\":\"1\"}}"));
+        }
+    }
+
+    @Test
+    void testStopsAtAddressAndExtraLimits() throws IOException {
+        for (BindingMode binding : BindingMode.values()) {
+            for (boolean validation : List.of(false, true)) {
+                JacksonConfig config = config(binding, validation, new PersonLimits(2, 1));
+                ObjectMapper json = config.objectMapper();
+                ObjectMapper xml = config.xmlMapper();
+                String label = binding + (validation ? " validated" : "");
+
+                assertEquals(2, json.readValue("{\"id\":1,\"name\":\"N\",\"email\":\"a@b.com\",\"x\":1,"
+                        + "\"addresses\":[{\"zipCode\":\"12345\"},{}]}", Person.class).getAddresses().size(), label);
+                assertEquals(2, xml.readValue("<person a=\"1\"><id>1</id><name>N</name><address/><address/>"
+                        + "</person>", Person.class).getAddresses().size(), label);
+                assertEquals(Limit.ADDRESSES, limit(json, "{\"addresses\":[{},null,{}],\"id\":1,\"name\":\"N\"}"));
+                assertEquals(Limit.ADDRESSES, limit(xml, "<person><address/><address/><address/></person>"));
+                assertEquals(Limit.EXTRAS, limit(json, "{\"id\":1,\"x\":1,\"name\":\"N\",\"x\":2}"));
+                assertEquals(Limit.EXTRAS, limit(xml, "<person x=\"1\"><id>1</id><y>2</y></person>"));
+            }
+        }
+    }
+
+    @Test
+    void testStopsScanningAtLimit() {
+        ObjectMapper mapper = config(BindingMode.BEAN, true, new PersonLimits(1, 0)).objectMapper();
+
+        assertEquals(Limit.ADDRESSES, limit(mapper, "{\"name\":\"\",\"addresses\":[{},{}]}"));
+        assertEquals(Limit.EXTRAS, limit(mapper, "{\"name\":\"\",\"x\":1}"));
+    }
+
+    @Test
+    void testReadsFromFieldName() throws IOException {
+        ObjectMapper mapper = config(BindingMode.BEAN, true).objectMapper();
+        try (JsonParser parser = mapper.createParser("{\"name\":\"N\",\"id\":1}")) {
+            parser.nextToken();
+            parser.nextToken();
+
+            assertEquals("N", mapper.readValue(parser, Person.class).getName());
+        }
+        try (JsonParser parser = mapper.createParser("{\"name\":\"\",\"id\":1}")) {
+            parser.nextToken();
+            parser.nextToken();
+
+            assertThrows(PersonValidationException.class, () -> mapper.readValue(parser, Person.class));
+        }
+    }
+
+    @Test
+    void testSkipsChildrenAndValuesThroughChecks() throws IOException {
+        ObjectMapper mapper = config(BindingMode.BEAN, false).objectMapper();
+        try (JsonParser p = mapper.createParser("{\"x\":{\"a\":[1,{}]},\"y\":[],\"z\":[2],\"id\":1,\"name\":\"\"}")) {
+            p.nextToken();
+            ValidatingParser parser = new ValidatingParser(p, false, true, PersonLimits.NONE);
+
+            assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+            assertSame(parser, parser.skipChildren());
+            assertEquals(JsonToken.START_OBJECT, parser.nextToken());
+            assertSame(parser, parser.skipChildren());
+            assertEquals(JsonToken.END_OBJECT, parser.currentToken());
+            assertEquals(JsonToken.START_ARRAY, parser.nextValue());
+            assertEquals(JsonToken.END_ARRAY, parser.skipChildren().currentToken());
+            assertEquals(JsonToken.START_ARRAY, parser.nextValue());
+            assertEquals(JsonToken.VALUE_NUMBER_INT, parser.nextValue());
+            assertEquals(JsonToken.END_ARRAY, parser.nextValue());
+            assertEquals(JsonToken.VALUE_NUMBER_INT, parser.nextValue());
+            assertThrows(PersonValidationException.class, parser::nextValue);
+        }
+    }
+
+    @Test
+    void testStopsAtEndOfInput() throws IOException {
+        TokenBuffer buffer = new TokenBuffer(null, false);
+        buffer.writeStartObject();
+        buffer.writeFieldName("x");
+        buffer.writeStartArray();
+        buffer.writeString("a");
+        try (JsonParser p = buffer.asParser()) {
+            p.nextToken();
+            ValidatingParser parser = new ValidatingParser(p, false, true, PersonLimits.NONE);
+            parser.nextToken();
+            parser.nextToken();
+
+            assertSame(parser, parser.skipChildren());
+            assertNull(parser.currentToken());
+            assertEquals(2, assertThrows(PersonValidationException.class, parser::finish).getViolations().size());
+        }
+    }
+
+    @Test
+    void testIgnoresScalarAndArrayRoots() throws IOException {
+        ObjectMapper mapper = config(BindingMode.BEAN, false).objectMapper();
+        for (String json : List.of("[{\"name\":\"\"}]", "\"x\"")) {
+            try (JsonParser p = mapper.createParser(json)) {
+                p.nextToken();
+                ValidatingParser parser = new ValidatingParser(p, false, true, PersonLimits.NONE);
+                while (parser.nextToken() != null) {
+                    assertFalse(parser.isExpectedStartArrayToken());
+                }
+
+                assertEquals(2, assertThrows(PersonValidationException.class, parser::finish).getViolations().size());
+            }
+        }
+    }
+
+    private static List<Violation> violations(ObjectMapper mapper, String content) {
+        return assertThrows(PersonValidationException.class, () -> mapper.readValue(content, Person.class))
+                .getViolations();
+    }
+
+    private static Limit limit(ObjectMapper mapper, String content) {
+        IOException e = assertThrows(IOException.class, () -> mapper.readValue(content, Person.class));
+        return InputLimitException.limitOf(e instanceof JsonMappingException mapping ? mapping.getCause() : e);
+    }
+
+    private static JacksonConfig config(BindingMode binding, boolean validation) {
+        return config(binding, validation, PersonLimits.NONE);
+    }
+
+    private static JacksonConfig config(BindingMode binding, boolean validation, PersonLimits limits) {
+        MapperProperties properties = new MapperProperties();
+        properties.setBinding(binding);
+        properties.setValidation(validation);
+        properties.getLimits().setMaxAddresses(limits.maxAddresses());
+        properties.getLimits().setMaxExtras(limits.maxExtras());
+        return new JacksonConfig(properties);
+    }
+
+    private static Person load(String path, ObjectMapper mapper) throws IOException {
+        try (InputStream in = new ClassPathResource(path).getInputStream()) {
+            return mapper.readValue(in, Person.class);
+        }
+    }
+}
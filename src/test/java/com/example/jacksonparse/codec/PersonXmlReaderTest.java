@@ -0,0 +1,127 @@
+package com.example.jacksonparse.codec;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import com.example.jacksonparse.config.JacksonConfig;
+import com.example.jacksonparse.config.MapperProperties;
+import com.example.jacksonparse.config.MapperProperties.BindingMode;
+import com.example.jacksonparse.config.MapperProperties.ExtrasMode;
+import com.example.jacksonparse.model.Person;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+class PersonXmlReaderTest {
+    private static final String XSI = "xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"";
+
+    @Test
+    void testReadsLikeEveryBinding() throws IOException {
+        List<String> documents = List.of(fixture("person.xml"), "<person/>", "<!-- c --><person> </person>",
+                "<person version=\"2\" id=\"5\" name=\"N\" x=\"1\"><email>e</email></person>",
+                "<person><id>-7</id><id>8</id><name/><email>  a  </email><x/><y> </y><id/></person>",
+                "<person><name>a<!--c-->b<?pi x?>&amp;<![CDATA[<c>]]>d</name><version>3</version></person>",
+                "<person><address/><address primary=\"false\" city=\"C\"><primary>true</primary><street/>"
+                        + "<createdAt/><updatedAt>2024-01-15T10:30:00.5</updatedAt></address></person>",
+                "<person><birthDate/><registeredAt>2024-02-29T00:00:00</registeredAt><x>1</x><x>2</x></person>",
+                "<person><id>123456789012345678</id><addresses>x</addresses></person>");
+        for (BindingMode binding : BindingMode.values()) {
+            for (ExtrasMode extras : ExtrasMode.values()) {
+                MapperProperties properties = new MapperProperties();
+                properties.setBinding(binding);
+                properties.getExtras().setMode(extras);
+                JacksonConfig config = new JacksonConfig(properties);
+                XmlMapper xmlMapper = config.xmlMapper();
+                PersonXmlReader reader = config.personXmlReader(xmlMapper);
+
+                for (String xml : documents) {
+                    Person expected = xmlMapper.readValue(xml, Person.class);
+                    expected.getExtra();
+                    Person actual = reader.read(xml.getBytes(StandardCharsets.UTF_8));
+
+                    assertNotNull(actual, xml);
+                    assertEquals(expected, actual, binding + "/" + extras + ": " + xml);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testLeavesOtherShapesToMapper() {
+        JacksonConfig config = new JacksonConfig(new MapperProperties());
+        PersonXmlReader reader = config.personXmlReader(config.xmlMapper());
+
+        for (String xml : List.of("", "<person><id>", "<!DOCTYPE person><person/>", "<person xmlns:a=\"u\" a:x=\"1\"/>",
+                "<person " + XSI + "><name xsi:nil=\"true\"/></person>", "<person address=\"x\"/>",
+                "<person>text<id>1</id></person>", "<person><x><y>1</y></x></person>",
+                "<person><address/><id>1</id><address/></person>", "<person><address><x>1</x></address></person>",
+                "<person " + XSI + "><address xsi:nil=\"true\"/></person>",
+                "<person><address><city>A</city>text</address></person>", "<person><id>+1</id></person>",
+                "<person><id> 1</id></person>", "<person><id>-</id></person>", "<person><id>1x</id></person>",
+                "<person><id>1234567890123456789</id></person>", "<person><address primary=\"True\"/></person>",
+                "<person><address><primary/></address></person>", "<person><birthDate>2024-01-15</birthDate></person>",
+                "<person><birthDate>2024-02-30T00:00:00</birthDate></person>")) {
+            assertNull(reader.read(xml.getBytes(StandardCharsets.UTF_8)), xml);
+        }
+    }
+
+    @Test
+    void testLeavesExtrasBeyondRawLimitToMapper() {
+        MapperProperties properties = new MapperProperties();
+        properties.getExtras().setMode(ExtrasMode.RAW);
+        properties.getExtras().setMaxCount(1);
+        JacksonConfig config = new JacksonConfig(properties);
+        PersonXmlReader reader = config.personXmlReader(config.xmlMapper());
+
+        assertEquals("1", reader.read("<person><x>1</x></person>".getBytes()).getExtra().get("x"));
+        assertNull(reader.read("<person><x>1</x><y>2</y></person>".getBytes()));
+    }
+
+    @Test
+    void testLeavesPersonsBeyondLimitsToMapper() {
+        MapperProperties properties = new MapperProperties();
+        properties.getLimits().setMaxAddresses(2);
+        properties.getLimits().setMaxExtras(2);
+        JacksonConfig config = new JacksonConfig(properties);
+        PersonXmlReader reader = config.personXmlReader(config.xmlMapper());
+
+        assertNotNull(reader.read("<person x=\"1\"><address/><address/><x>2</x></person>".getBytes()));
+        for (String xml : List.of("<person><address/><address/><address/></person>",
+                "<person x=\"1\" y=\"2\"><x>3</x></person>", "<person><x>1</x><x>2</x><x>3</x></person>")) {
+            assertNull(reader.read(xml.getBytes(StandardCharsets.UTF_8)), xml);
+        }
+    }
+
+    @Test
+    void testLeavesInvalidPersonsToValidatingMapper() throws IOException {
+        MapperProperties properties = new MapperProperties();
+        properties.setValidation(true);
+        JacksonConfig config = new JacksonConfig(properties);
+        XmlMapper xmlMapper = config.xmlMapper();
+        PersonXmlReader reader = config.personXmlReader(xmlMapper);
+
+        String valid = "<person><id>1</id><name>N</name><email>a@b.com</email><address><zipCode>12345</zipCode>"
+                + "</address><address/></person>";
+        assertEquals(xmlMapper.readValue(valid, Person.class), reader.read(valid.getBytes(StandardCharsets.UTF_8)));
+        assertNotNull(reader.read(fixture("person.xml").getBytes(StandardCharsets.UTF_8)));
+        for (String xml : List.of("<person/>", "<person><id>1</id></person>", "<person><name>N</name></person>",
+                "<person><id/><name>N</name></person>", "<person><id>1</id><name> </name></person>",
+                "<person><id>1</id><name>N</name><email>e</email></person>",
+                "<person><id>1</id><name>N</name><address><zipCode>1</zipCode></address></person>")) {
+            assertNull(reader.read(xml.getBytes(StandardCharsets.UTF_8)), xml);
+        }
+    }
+
+    private static String fixture(String path) throws IOException {
+        try (InputStream in = new ClassPathResource(path).getInputStream()) {
+            return new String(in.readAllBytes());
+        }
+    }
+}
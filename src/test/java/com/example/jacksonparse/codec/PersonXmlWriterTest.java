@@ -0,0 +1,115 @@
+package com.example.jacksonparse.codec;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import com.example.jacksonparse.config.JacksonConfig;
+import com.example.jacksonparse.config.MapperProperties;
+import com.example.jacksonparse.config.MapperProperties.BindingMode;
+import com.example.jacksonparse.config.MapperProperties.ExtrasMode;
+import com.example.jacksonparse.model.Address;
+import com.example.jacksonparse.model.Person;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+class PersonXmlWriterTest {
+    @Test
+    void testWritesLikeEveryBinding() throws IOException, XMLStreamException {
+        for (BindingMode binding : BindingMode.values()) {
+            for (boolean dateCodec : new boolean[] { true, false }) {
+                MapperProperties properties = new MapperProperties();
+                properties.setBinding(binding);
+                properties.setDateCodec(dateCodec);
+                JacksonConfig config = new JacksonConfig(properties);
+                XmlMapper xmlMapper = config.xmlMapper();
+                PersonXmlWriter writer = config.personXmlWriter(xmlMapper);
+
+                for (Person person : people(config.objectMapper(), xmlMapper)) {
+                    String expected = new String(xmlMapper.writeValueAsBytes(person), StandardCharsets.UTF_8);
+
+                    assertTrue(writer.accepts(person), expected);
+                    assertEquals(expected, write(writer, person), binding + "/" + dateCodec);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testLeavesOtherExtrasToMapper() throws IOException {
+        MapperProperties properties = new MapperProperties();
+        properties.getExtras().setMode(ExtrasMode.RAW);
+        JacksonConfig config = new JacksonConfig(properties);
+        Person raw = config.objectMapper().readValue("{\"meta\":{\"a\":1}}", Person.class);
+        PersonXmlWriter writer = config.personXmlWriter(config.xmlMapper());
+
+        assertFalse(writer.accepts(raw));
+        for (Object value : List.of(1.5f, (short) 1, List.of(1, 'c'), Map.of(1, "a"), Map.of("a", new Object()))) {
+            Person person = new Person();
+            person.setExtra("x", value);
+
+            assertFalse(writer.accepts(person), value.toString());
+        }
+    }
+
+    private static List<Person> people(ObjectMapper jsonMapper, XmlMapper xmlMapper) throws IOException {
+        Person escaped = new Person();
+        escaped.setVersion("1 & <2>\"'");
+        escaped.setName("");
+        escaped.setEmail("a\r\nb\t<&>\"'é");
+        Address address = new Address();
+        address.setPrimary(true);
+        address.setCity("C");
+        address.setCreatedAt(LocalDateTime.of(2024, 1, 15, 10, 30, 0, 500_000_000));
+        address.setUpdatedAt(LocalDateTime.of(10_000, 1, 1, 0, 0));
+        escaped.setAddresses(Arrays.asList(address, null, new Address()));
+        escaped.setBirthDate(LocalDateTime.of(-1, 12, 31, 23, 59, 59, 1));
+
+        Person extras = new Person();
+        extras.setId(-5L);
+        extras.setAddresses(List.of());
+        extras.setExtra("null", null);
+        extras.setExtra("values", Arrays.asList("s", "", true, 1, 12_345_678_901L, 1.5, 1e20, Double.NaN,
+                new BigInteger("123456789012345678901234"), new BigDecimal("1E+3"), null,
+                List.of(List.of(2), List.of()), Map.of("k", "v")));
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("z", null);
+        map.put("y", new ArrayList<>(Arrays.asList("a", null)));
+        map.put("empty", Map.of());
+        extras.setExtra("map", map);
+        extras.setExtra("emptyList", List.of());
+
+        return List.of(jsonMapper.readValue(fixture("person.json"), Person.class),
+                xmlMapper.readValue(fixture("person.xml"), Person.class), new Person(), escaped, extras);
+    }
+
+    private static String write(PersonXmlWriter writer, Person person) throws XMLStreamException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.write(person, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] fixture(String path) throws IOException {
+        try (InputStream in = new ClassPathResource(path).getInputStream()) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.example.jacksonparse.codec;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.jacksonparse.config.JacksonConfig;
+import com.example.jacksonparse.config.MapperProperties;
+import com.example.jacksonparse.config.MapperProperties.BindingMode;
+import com.example.jacksonparse.config.MapperProperties.ExtrasMode;
+import com.example.jacksonparse.model.Person;
+import com.example.jacksonparse.model.RawExtraValue;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.StreamReadCapability;
+import com.fasterxml.jackson.core.json.JsonReadFeature;
+import com.fasterxml.jackson.core.util.JacksonFeatureSet;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.DefaultDeserializationContext;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+class RawExtrasModuleTest {
+    private static final String JSON = """
+            {"name":"N","tags":["a",1,2.50,true,null,12345678901,12345678901234567890],
+             "meta":{"nested":{"deep":[{}]},"n":-0.0},"score":1.50,"flag":false,"empty":[]}
+            """;
+    private static final String XML = """
+            <person><name>N</name><meta><nested><deep>x</deep></nested><n>1.50</n></meta><score>2</score>
+            <list><item>a</item><item>b</item></list></person>
+            """;
+
+    private final JacksonConfig map = config(BindingMode.BEAN, ExtrasMode.MAP, 256);
+    private final List<JacksonConfig> raw = List.of(config(BindingMode.BEAN, ExtrasMode.RAW, 256),
+            config(BindingMode.CODEC, ExtrasMode.RAW, 256));
+
+    @Test
+    void testRoundTripsLikeMapMode() throws IOException {
+        Person mapJson = map.objectMapper().readValue(JSON, Person.class);
+        Person mapXml = map.xmlMapper().readValue(XML, Person.class);
+
+        for (JacksonConfig config : raw) {
+            assertEquals(map.objectMapper().writeValueAsString(mapJson),
+                    config.objectMapper().writeValueAsString(config.objectMapper().readValue(JSON, Person.class)));
+            assertEquals(map.xmlMapper().writeValueAsString(mapXml),
+                    config.xmlMapper().writeValueAsString(config.xmlMapper().readValue(XML, Person.class)));
+            assertEquals(mapJson, config.objectMapper().readValue(JSON, Person.class));
+            assertEquals(mapXml, config.xmlMapper().readValue(XML, Person.class));
+        }
+    }
+
+    @Test
+    void testMaterializesOnlyWhenRead() throws IOException {
+        for (JacksonConfig config : raw) {
+            Person person = config.objectMapper().readValue(JSON, Person.class);
+
+            assertEquals("N", person.getName());
+            assertInstanceOf(RawExtraValue.class, person.extraProperties().get("meta"));
+            assertEquals(1.5, person.extraProperties().get("score"));
+            assertEquals(Map.of("nested", Map.of("deep", List.of(Map.of())), "n", -0.0), person.getExtra().get("meta"));
+            assertInstanceOf(Map.class, person.extraProperties().get("meta"));
+        }
+    }
+
+    @Test
+    void testMaterializesXmlRepeatedElementsRightAway() throws IOException {
+        for (JacksonConfig config : raw) {
+            Person person = config.xmlMapper().readValue(XML, Person.class);
+
+            assertEquals(Map.of("item", List.of("a", "b")), person.extraProperties().get("list"));
+            assertInstanceOf(RawExtraValue.class, person.extraProperties().get("meta"));
+        }
+    }
+
+    @Test
+    void testDetectsDuplicatesBelowArrays() throws IOException {
+        String json = "{\"list\":[{\"a\":1,\"a\":2}],\"other\":[{\"a\":1,\"b\":2}]}";
+
+        for (JacksonConfig config : raw) {
+            ObjectMapper mapper = config.objectMapper();
+            try (JsonParser parser = new DuplicatesParser(mapper.createParser(json))) {
+                Person person = mapper.readValue(parser, Person.class);
+
+                assertEquals(List.of(Map.of("a", List.of(1, 2))), person.extraProperties().get("list"));
+                assertInstanceOf(RawExtraValue.class, person.extraProperties().get("other"));
+            }
+        }
+    }
+
+    @Test
+    void testKeepsFloatsAsUntypedDeserializerReadsThem() throws IOException {
+        ObjectMapper mapMapper = map.objectMapper().copy().enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+                .enable(JsonReadFeature.ALLOW_NON_NUMERIC_NUMBERS.mappedFeature());
+        String json = "{\"values\":[1.50,NaN]}";
+        TokenBuffer tokens = new TokenBuffer(map.objectMapper(), false);
+        tokens.writeStartObject();
+        tokens.writeFieldName("values");
+        tokens.writeStartArray();
+        tokens.writeNumber(1.5f);
+        tokens.writeNumber(new BigDecimal("2.50"));
+        tokens.writeEndArray();
+        tokens.writeEndObject();
+
+        for (JacksonConfig config : raw) {
+            ObjectMapper mapper = config.objectMapper().copy()
+                    .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+                    .enable(JsonReadFeature.ALLOW_NON_NUMERIC_NUMBERS.mappedFeature());
+
+            assertEquals(mapMapper.readValue(json, Person.class).getExtra(),
+                    mapper.readValue(json, Person.class).getExtra());
+            assertEquals(Map.of("values", List.of(1.5f, new BigDecimal("2.50"))),
+                    config.objectMapper().readValue(tokens.asParser(), Person.class).getExtra());
+        }
+    }
+
+    @Test
+    void testEnforcesLimits() {
+        for (BindingMode binding : List.of(BindingMode.BEAN, BindingMode.CODEC)) {
+            JacksonConfig config = config(binding, ExtrasMode.RAW, 2);
+
+            assertLimit(config, "Too many", "{\"a\":1,\"b\":{},\"c\":[]}");
+            assertLimit(config, "Too many", "{\"a\":1,\"b\":{},\"c\":3}");
+            assertLimit(config, "nested too deeply", "{\"a\":[[[[[[[[[[[[[[[[[1]]]]]]]]]]]]]]]]]}");
+            assertLimit(config, "too large", "{\"a\":[\"" + "x".repeat(1024) + "\"]}");
+            assertLimit(config, "too large", "{\"a\":\"" + "x".repeat(1024) + "\"}");
+            assertLimit(config, "too large", "{\"" + "x".repeat(1024) + "\":1}");
+        }
+    }
+
+    @Test
+    void testStopsAtEndOfInput() throws IOException {
+        TokenBuffer tokens = new TokenBuffer(map.objectMapper(), false);
+        tokens.writeStartObject();
+        tokens.writeFieldName("a");
+        tokens.writeStartArray();
+
+        for (JacksonConfig config : raw) {
+            Person person = config.objectMapper().readValue(tokens.asParser(), Person.class);
+
+            assertInstanceOf(RawExtraValue.class, person.extraProperties().get("a"));
+            assertThrows(UncheckedIOException.class, person::getExtra);
+        }
+    }
+
+    @Test
+    void testSkipsCountWithoutPerson() throws IOException {
+        ObjectMapper mapper = map.objectMapper();
+        ExtraValueDeserializer deserializer = new ExtraValueDeserializer(new ExtraLimits(0, 4, 64));
+
+        for (String json : List.of("1", "{\"a\":1}")) {
+            try (JsonParser parser = mapper.createParser(json)) {
+                DeserializationContext ctxt = ((DefaultDeserializationContext) mapper.getDeserializationContext())
+                        .createInstance(mapper.getDeserializationConfig(), parser, null);
+                parser.nextToken();
+
+                assertEquals(mapper.readValue(json, Object.class),
+                        mapper.convertValue(deserializer.deserialize(parser, ctxt), Object.class));
+            }
+        }
+    }
+
+    @Test
+    void testWritesRawValueWithAndWithoutTyping() throws IOException {
+        ObjectMapper mapper = map.objectMapper();
+        TokenBuffer tokens = new TokenBuffer(mapper, false);
+        tokens.writeStartArray();
+        tokens.writeNumber(1);
+        tokens.writeEndArray();
+        RawExtraValue value = new RawExtraValue(tokens);
+
+        assertEquals("[1]", value.toString());
+        assertEquals("[1]", mapper.writeValueAsString(value));
+        assertEquals("[1]", mapper.copy().activateDefaultTyping(mapper.getPolymorphicTypeValidator(),
+                ObjectMapper.DefaultTyping.EVERYTHING).writeValueAsString(value));
+    }
+
+    @Test
+    void testModeSwitchesModule() {
+        assertTrue(raw.get(0).objectMapper().getRegisteredModuleIds().contains(RawExtrasModule.class.getSimpleName()));
+        assertTrue(raw.get(1).xmlMapper().getRegisteredModuleIds().contains(RawExtrasModule.class.getSimpleName()));
+        assertFalse(map.objectMapper().getRegisteredModuleIds().contains(RawExtrasModule.class.getSimpleName()));
+    }
+
+    private static void assertLimit(JacksonConfig config, String message, String json) {
+        MismatchedInputException e = assertThrows(MismatchedInputException.class,
+                () -> config.objectMapper().readValue(json, Person.class), json);
+        assertTrue(e.getMessage().contains(message), e.getMessage());
+    }
+
+    /** Reports duplicate names like the XML parser does, so the untyped deserializer turns them into lists. */
+    private static class DuplicatesParser extends JsonParserDelegate {
+        DuplicatesParser(JsonParser parser) {
+            super(parser);
+        }
+
+        @Override
+        public JacksonFeatureSet<StreamReadCapability> getReadCapabilities() {
+            return super.getReadCapabilities().with(StreamReadCapability.DUPLICATE_PROPERTIES);
+        }
+    }
+
+    private static JacksonConfig config(BindingMode binding, ExtrasMode mode, int maxCount) {
+        MapperProperties properties = new MapperProperties();
+        properties.setBinding(binding);
+        properties.getExtras().setMode(mode);
+        properties.getExtras().setMaxCount(maxCount);
+        properties.getExtras().setMaxBytes(512);
+        return new JacksonConfig(properties);
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.jacksonparse.config;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConversionException;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.example.jacksonparse.config.BodyMetrics.Format;
+import com.example.jacksonparse.model.Address;
+import com.example.jacksonparse.model.Person;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BodyMetricsTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final BodyMetrics metrics = new BodyMetrics(registry);
+    private final JacksonConfig config = new JacksonConfig(new MapperProperties());
+    private final MeteredJsonHttpMessageConverter json = new MeteredJsonHttpMessageConverter(config.objectMapper(),
+            metrics);
+    private final MeteredXmlHttpMessageConverter xml = new MeteredXmlHttpMessageConverter(config.xmlMapper(),
+            metrics, null, null);
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void testRecordsReadsByContentTypeAcceptAndOutcome() throws IOException {
+        byte[] fixture = fixture("person.json");
+
+        request(MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE);
+        Person person = (Person) json.read(Person.class, null, input(fixture, MediaType.APPLICATION_JSON_VALUE));
+        request(MediaType.APPLICATION_XML_VALUE, "*/*");
+        xml.read(Map.class, null, input("<x><a>1</a></x>".getBytes(), MediaType.APPLICATION_XML_VALUE));
+        RequestContextHolder.resetRequestAttributes();
+        assertThrows(HttpMessageNotReadableException.class,
+                () -> xml.read(Person.class, null, input("<person><id>".getBytes(), "application/xml")));
+
+        assertEquals(1, registry.get("http.body.read").tags("content.type", "json", "accept", "xml", "outcome",
+                "success").timer().count());
+        assertEquals(fixture.length, registry.get("http.body.read.bytes").tags("content.type", "json", "accept",
+                "xml").summary().totalAmount());
+        assertEquals(1, registry.get("http.body.read").tags("content.type", "xml", "accept", "none", "outcome",
+                "failure").timer().count());
+        assertEquals(1, registry.get("http.body.read").tags("content.type", "xml", "accept", "other", "outcome",
+                "success").timer().count());
+        assertEquals(person.getAddresses().size(), registry.get("person.addresses").tags("direction", "read",
+                "format", "json").summary().totalAmount());
+        assertEquals(1, registry.get("person.extras").tags("direction", "read").summaries().size());
+    }
+
+    @Test
+    void testRecordsWritesWithRequestContentType() throws IOException {
+        request(MediaType.APPLICATION_JSON_VALUE, null);
+        Person person = new Person();
+        person.setName("N");
+        person.setAddresses(List.of(new Address(), new Address()));
+        person.setExtra("x", 1);
+        MockHttpOutputMessage toXml = new MockHttpOutputMessage();
+
+        xml.write(person, MediaType.APPLICATION_XML, toXml);
+        RequestContextHolder.resetRequestAttributes();
+        json.write(new Person(), MediaType.APPLICATION_JSON, new MockHttpOutputMessage());
+
+        assertEquals(toXml.getBodyAsBytes().length, registry.get("http.body.write.bytes").tags("content.type",
+                "json", "accept", "xml", "outcome", "success").summary().totalAmount());
+        assertEquals(2, registry.get("person.addresses").tags("direction", "write", "format", "xml").summary()
+                .totalAmount());
+        assertEquals(1, registry.get("person.extras").tags("direction", "write", "format", "xml").summary()
+                .totalAmount());
+        assertEquals(0, registry.get("person.addresses").tags("direction", "write", "format", "json").summary()
+                .totalAmount());
+        assertEquals(1, registry.get("http.body.write").tags("content.type", "none", "accept", "json").timer()
+                .count());
+    }
+
+    @Test
+    void testRecordsFailedWrites() {
+        Map<String, Object> unwritable = Map.of("stream", new ByteArrayInputStream(new byte[0]));
+
+        assertThrows(HttpMessageConversionException.class,
+                () -> json.write(unwritable, MediaType.APPLICATION_JSON, new MockHttpOutputMessage()));
+
+        assertEquals(1, registry.get("http.body.write").tags("outcome", "failure").timer().count());
+        assertNull(registry.find("person.addresses").summary());
+    }
+
+    @Test
+    void testRecordsConcurrentFirstUsesOfSameMeters() throws Exception {
+        int threads = 8;
+        int writes = 200;
+        Person person = new Person();
+        person.setAddresses(List.of(new Address()));
+        CountDownLatch start = new CountDownLatch(1);
+        Callable<Void> task = () -> {
+            start.await();
+            for (int i = 0; i < writes; i++) {
+                json.write(person, MediaType.APPLICATION_JSON, new MockHttpOutputMessage());
+            }
+            return null;
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Void>> done = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                done.add(executor.submit(task));
+            }
+            start.countDown();
+            for (Future<Void> future : done) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(threads * writes, registry.get("http.body.write").tags("accept", "json").timer().count());
+        assertEquals(threads * writes, registry.get("http.body.write.bytes").tags("accept", "json").summary()
+                .count());
+        assertEquals(threads * writes, registry.get("person.addresses").tags("direction", "write").summary()
+                .totalAmount());
+    }
+
+    @Test
+    void testCountingStreamsDelegate() throws IOException {
+        BodyMetrics.CountingInputMessage input = metrics.startRead(Format.JSON,
+                input(new byte[] { 1, 2 }, MediaType.APPLICATION_JSON_VALUE));
+        InputStream in = input.getBody();
+        assertEquals(2, in.available());
+        assertEquals(1, in.read());
+        assertEquals(2, in.read());
+        assertEquals(-1, in.read());
+        assertEquals(-1, in.read(new byte[1], 0, 1));
+        in.close();
+        metrics.endRead(input, null);
+
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+        BodyMetrics.CountingOutputMessage output = metrics.startWrite(Format.JSON, message);
+        output.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        OutputStream out = output.getBody();
+        out.write(7);
+        out.write(new byte[] { 8, 9 });
+        out.flush();
+        out.close();
+        metrics.endWrite(output, null, true);
+
+        assertArrayEquals(new byte[] { 7, 8, 9 }, message.getBodyAsBytes());
+        assertEquals(MediaType.APPLICATION_JSON, message.getHeaders().getContentType());
+        assertEquals(2, registry.get("http.body.read.bytes").summary().totalAmount());
+        assertEquals(3, registry.get("http.body.write.bytes").summary().totalAmount());
+    }
+
+    @Test
+    void testFormatOfHeader() {
+        assertEquals(Format.NONE, Format.of(null));
+        assertEquals(Format.NONE, Format.of(""));
+        assertEquals(Format.JSON, Format.of("application/json;charset=UTF-8"));
+        assertEquals(Format.XML, Format.of("text/xml"));
+        assertEquals(Format.SMILE, Format.of("application/x-jackson-smile"));
+        assertEquals(Format.CBOR, Format.of("application/cbor"));
+        assertEquals(Format.OTHER, Format.of("application/json, application/xml"));
+        assertEquals(Format.OTHER, Format.of("application/cbor, application/x-jackson-smile"));
+        assertEquals(Format.OTHER, Format.of("text/plain"));
+    }
+
+    private static void request(String contentType, String accept) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContentType(contentType);
+        if (accept != null) {
+            request.addHeader(HttpHeaders.ACCEPT, accept);
+        }
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    private static MockHttpInputMessage input(byte[] body, String contentType) {
+        MockHttpInputMessage message = new MockHttpInputMessage(body);
+        message.getHeaders().set(HttpHeaders.CONTENT_TYPE, contentType);
+        return message;
+    }
+
+    private static byte[] fixture(String path) throws IOException {
+        try (InputStream in = new ClassPathResource(path).getInputStream()) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.jacksonparse.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.xml.MappingJackson2XmlHttpMessageConverter;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.test.context.TestConstructor;
+
+import com.example.jacksonparse.codec.PersonXmlReader;
+import com.example.jacksonparse.codec.PersonXmlWriter;
+import com.example.jacksonparse.config.MapperProperties.XmlStreamMode;
+import com.example.jacksonparse.model.Person;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import lombok.RequiredArgsConstructor;
+
+@SpringBootTest
+@TestConstructor(autowireMode = TestConstructor.AutowireMode.ALL)
+@RequiredArgsConstructor
+class HttpMessageConverterConfigTest {
+    private final HttpMessageConverters converters;
+    private final ObjectMapper objectMapper;
+    private final XmlMapper xmlMapper;
+    private final SmileMapper smileMapper;
+    private final CBORMapper cborMapper;
+
+    @Test
+    void testXmlConverterUsesConfiguredXmlMapper() {
+        List<MappingJackson2XmlHttpMessageConverter> xmlConverters = converters.getConverters().stream()
+                .filter(MappingJackson2XmlHttpMessageConverter.class::isInstance)
+                .map(MappingJackson2XmlHttpMessageConverter.class::cast).toList();
+
+        assertEquals(1, xmlConverters.size());
+        assertSame(xmlMapper, xmlConverters.get(0).getObjectMapper());
+    }
+
+    @Test
+    void testJsonConverterUsesConfiguredObjectMapper() {
+        List<MappingJackson2HttpMessageConverter> jsonConverters = converters.getConverters().stream()
+                .filter(MappingJackson2HttpMessageConverter.class::isInstance)
+                .map(MappingJackson2HttpMessageConverter.class::cast).toList();
+
+        assertEquals(1, jsonConverters.size());
+        assertSame(objectMapper, jsonConverters.get(0).getObjectMapper());
+    }
+
+    @Test
+    void testBinaryConvertersUseConfiguredMappers() {
+        assertEquals(List.of(smileMapper), mappers(MediaType.parseMediaType(JacksonConfig.APPLICATION_SMILE_VALUE)));
+        assertEquals(List.of(cborMapper), mappers(MediaType.APPLICATION_CBOR));
+    }
+
+    @Test
+    void testBinaryConvertersFollowJsonConverter() {
+        List<ObjectMapper> mappers = converters.getConverters().stream()
+                .filter(AbstractJackson2HttpMessageConverter.class::isInstance)
+                .map(AbstractJackson2HttpMessageConverter.class::cast)
+                .map(AbstractJackson2HttpMessageConverter::getObjectMapper).toList();
+
+        assertEquals(List.of(objectMapper, smileMapper, cborMapper, xmlMapper), mappers);
+    }
+
+    @Test
+    void testXmlConverterSkipsStaxInMapperMode() throws IOException {
+        MapperProperties properties = new MapperProperties();
+        properties.setXmlReader(XmlStreamMode.MAPPER);
+        properties.setXmlWriter(XmlStreamMode.MAPPER);
+        PersonXmlReader reader = mock(PersonXmlReader.class);
+        PersonXmlWriter writer = mock(PersonXmlWriter.class);
+        MappingJackson2XmlHttpMessageConverter converter = new HttpMessageConverterConfig()
+                .mappingJackson2XmlHttpMessageConverter(xmlMapper, new BodyMetrics(new SimpleMeterRegistry()),
+                        properties, reader, writer);
+        MockHttpInputMessage input = new MockHttpInputMessage("<person><id>1</id><name>N</name></person>".getBytes());
+        input.getHeaders().setContentType(MediaType.APPLICATION_XML);
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        Person person = (Person) converter.read(Person.class, null, input);
+        converter.write(person, MediaType.APPLICATION_XML, output);
+
+        assertEquals("<person><id>1</id><name>N</name></person>", output.getBodyAsString());
+        verifyNoInteractions(reader, writer);
+    }
+
+    private List<ObjectMapper> mappers(MediaType mediaType) {
+        return converters.getConverters().stream().filter(AbstractJackson2HttpMessageConverter.class::isInstance)
+                .map(AbstractJackson2HttpMessageConverter.class::cast)
+                .filter(converter -> converter.getSupportedMediaTypes().contains(mediaType))
+                .map(AbstractJackson2HttpMessageConverter::getObjectMapper).toList();
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.jacksonparse.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.jacksonparse.config.MapperProperties.BindingMode;
+import com.example.jacksonparse.config.MapperProperties.ExtrasMode;
+import com.example.jacksonparse.model.Person;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlFactory;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+class JacksonConfigTest {
+    private final JacksonConfig config = new JacksonConfig(new MapperProperties());
+
+    @Test
+    void testXmlMapperOmitsNullValues() throws JsonProcessingException {
+        Person person = new Person();
+        person.setName("John Doe");
+
+        String xml = config.xmlMapper().writeValueAsString(person);
+
+        assertTrue(xml.contains("<name>John Doe</name>"));
+        assertFalse(xml.contains("<email"));
+    }
+
+    @Test
+    void testBlackbirdBindingWritesSameOutput() throws JsonProcessingException {
+        MapperProperties properties = new MapperProperties();
+        properties.setBinding(MapperProperties.BindingMode.BLACKBIRD);
+        JacksonConfig blackbird = new JacksonConfig(properties);
+        Person person = MapperWarmup.samplePerson();
+
+        assertEquals(config.objectMapper().writeValueAsString(person),
+                blackbird.objectMapper().writeValueAsString(person));
+        assertEquals(config.xmlMapper().writeValueAsString(person), blackbird.xmlMapper().writeValueAsString(person));
+        assertEquals(person, blackbird.xmlMapper().readValue(config.xmlMapper().writeValueAsString(person),
+                Person.class));
+    }
+
+    @Test
+    void testXmlMapperRejectsDoctype() {
+        String xml = """
+                <?xml version="1.0"?>
+                <!DOCTYPE person [<!ENTITY name SYSTEM "file:///etc/passwd">]>
+                <person><name>&name;</name></person>
+                """;
+
+        assertThrows(JsonProcessingException.class, () -> config.xmlMapper().readValue(xml, Person.class));
+    }
+
+    @Test
+    void testXmlMapperSharesStaxFactories() {
+        XmlMapper xmlMapper = config.xmlMapper();
+        XmlFactory factory = xmlMapper.getFactory();
+
+        assertSame(factory.getXMLInputFactory(), xmlMapper.copy().getFactory().getXMLInputFactory());
+        assertSame(factory.getXMLOutputFactory(), xmlMapper.copy().getFactory().getXMLOutputFactory());
+    }
+
+    @Test
+    void testBinaryMappersRoundTripExtrasInEveryBinding() throws IOException {
+        String json = "{\"id\":1,\"name\":\"N\",\"addresses\":[{\"city\":\"A\",\"primary\":true,"
+                + "\"createdAt\":\"2024-01-15T10:30:00\"}],\"birthDate\":\"1990-05-15T08:00:00\",\"tag\":\"t\","
+                + "\"meta\":{\"nested\":[1,2.5,null,{\"deep\":false}]}}";
+        for (BindingMode binding : BindingMode.values()) {
+            for (ExtrasMode extras : ExtrasMode.values()) {
+                MapperProperties properties = new MapperProperties();
+                properties.setBinding(binding);
+                properties.getExtras().setMode(extras);
+                JacksonConfig config = new JacksonConfig(properties);
+                Person expected = config.objectMapper().readValue(json, Person.class);
+                expected.getExtra();
+
+                for (ObjectMapper mapper : List.of(config.smileMapper(), config.cborMapper())) {
+                    Person actual = mapper.readValue(mapper.writeValueAsBytes(expected), Person.class);
+                    actual.getExtra();
+
+                    assertEquals(expected, actual, binding + "/" + extras + "/" + mapper.getFactory().getFormatName());
+                }
+            }
+        }
+    }
+
+    @Test
+    void testFileTranscoderIgnoresRequestLimits(@TempDir Path dir) throws IOException {
+        MapperProperties properties = new MapperProperties();
+        properties.setValidation(true);
+        properties.getExtras().setMode(ExtrasMode.RAW);
+        properties.getExtras().setMaxBytes(4);
+        properties.getLimits().setMaxStringLength(8);
+        properties.getLimits().setMaxAddresses(1);
+        JacksonConfig limited = new JacksonConfig(properties);
+        String json = "{\"id\":1,\"name\":\"A name longer than the limit\",\"addresses\":[{\"city\":\"A\"},"
+                + "{\"city\":\"B\"}],\"tag\":\"an unknown property\"}";
+        Path source = Files.writeString(dir.resolve("person.json"), json);
+        Path target = dir.resolve("person.xml");
+
+        assertThrows(IOException.class, () -> limited.objectMapper().readValue(json, Person.class));
+        assertTrue(limited.personFileTranscoder().jsonToXml(source, target));
+
+        Person person = config.xmlMapper().readValue(target.toFile(), Person.class);
+        assertEquals(config.objectMapper().readValue(json, Person.class), person);
+    }
+}
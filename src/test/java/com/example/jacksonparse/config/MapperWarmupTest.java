@@ -0,0 +1,53 @@
+package com.example.jacksonparse.config;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.UncheckedIOException;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.DefaultSerializerProvider;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+class MapperWarmupTest {
+    private final JacksonConfig config = new JacksonConfig(new MapperProperties());
+
+    @Test
+    void testWarmupPopulatesSerializerCaches() {
+        ObjectMapper objectMapper = config.objectMapper();
+        XmlMapper xmlMapper = config.xmlMapper();
+        SmileMapper smileMapper = config.smileMapper();
+        CBORMapper cborMapper = config.cborMapper();
+
+        new MapperWarmup(objectMapper, xmlMapper, smileMapper, cborMapper).afterSingletonsInstantiated();
+
+        assertTrue(cachedSerializers(objectMapper) > 0);
+        assertTrue(cachedSerializers(xmlMapper) > 0);
+        assertTrue(cachedSerializers(smileMapper) > 0);
+        assertTrue(cachedSerializers(cborMapper) > 0);
+    }
+
+    @Test
+    void testWarmupFailureIsRethrown() throws JsonProcessingException {
+        ObjectMapper objectMapper = mock(ObjectMapper.class);
+        when(objectMapper.writeValueAsBytes(any())).thenThrow(new JsonProcessingException("boom") {
+        });
+
+        MapperWarmup warmup = new MapperWarmup(objectMapper, config.xmlMapper(), config.smileMapper(),
+                config.cborMapper());
+
+        assertThrows(UncheckedIOException.class, warmup::afterSingletonsInstantiated);
+    }
+
+    private static int cachedSerializers(ObjectMapper mapper) {
+        return ((DefaultSerializerProvider) mapper.getSerializerProvider()).cachedSerializersCount();
+    }
+}
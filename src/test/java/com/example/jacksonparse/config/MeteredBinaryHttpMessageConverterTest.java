@@ -0,0 +1,92 @@
+package com.example.jacksonparse.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConversionException;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import com.example.jacksonparse.config.BodyMetrics.Format;
+import com.example.jacksonparse.model.Address;
+import com.example.jacksonparse.model.Person;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MeteredBinaryHttpMessageConverterTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final BodyMetrics metrics = new BodyMetrics(registry);
+    private final JacksonConfig config = new JacksonConfig(new MapperProperties());
+
+    @Test
+    void testReadsAndWritesSmile() throws IOException {
+        assertRoundTrips(Format.SMILE, config.smileMapper(),
+                MediaType.parseMediaType(JacksonConfig.APPLICATION_SMILE_VALUE));
+    }
+
+    @Test
+    void testReadsAndWritesCbor() throws IOException {
+        assertRoundTrips(Format.CBOR, config.cborMapper(), MediaType.APPLICATION_CBOR);
+    }
+
+    @Test
+    void testRecordsFailures() {
+        for (Format format : new Format[] { Format.SMILE, Format.CBOR }) {
+            MeteredBinaryHttpMessageConverter converter = new MeteredBinaryHttpMessageConverter(format,
+                    format == Format.SMILE ? config.smileMapper() : config.cborMapper(), metrics);
+            MediaType mediaType = converter.getSupportedMediaTypes().get(0);
+            MockHttpInputMessage garbage = new MockHttpInputMessage(new byte[] { (byte) 0xff, 0x00 });
+            garbage.getHeaders().setContentType(mediaType);
+            Map<String, Object> unwritable = Map.of("stream", new ByteArrayInputStream(new byte[0]));
+
+            assertThrows(HttpMessageNotReadableException.class, () -> converter.read(Person.class, null, garbage));
+            assertThrows(HttpMessageConversionException.class,
+                    () -> converter.write(unwritable, mediaType, new MockHttpOutputMessage()));
+            String tag = format.name().toLowerCase();
+            assertEquals(1, registry.get("http.body.read").tags("content.type", tag, "outcome", "failure").timer()
+                    .count());
+            assertEquals(1, registry.get("http.body.write").tags("accept", tag, "outcome", "failure").timer()
+                    .count());
+        }
+    }
+
+    @Test
+    void testRejectsTextFormats() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new MeteredBinaryHttpMessageConverter(Format.JSON, config.objectMapper(), metrics));
+    }
+
+    private void assertRoundTrips(Format format, ObjectMapper mapper, MediaType mediaType) throws IOException {
+        MeteredBinaryHttpMessageConverter converter = new MeteredBinaryHttpMessageConverter(format, mapper, metrics);
+        Person person = new Person();
+        person.setId(1L);
+        person.setName("N");
+        person.setAddresses(List.of(new Address(), new Address()));
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        converter.write(person, mediaType, output);
+        MockHttpInputMessage input = new MockHttpInputMessage(output.getBodyAsBytes());
+        input.getHeaders().setContentType(mediaType);
+        Object read = converter.read(Person.class, null, input);
+
+        assertEquals(List.of(mediaType), converter.getSupportedMediaTypes());
+        assertEquals(mediaType, output.getHeaders().getContentType());
+        assertEquals(person, read);
+        assertEquals(output.getBodyAsBytes().length, registry.get("http.body.read.bytes").summary().totalAmount());
+        assertEquals(output.getBodyAsBytes().length, registry.get("http.body.write.bytes").summary().totalAmount());
+        String tag = format.name().toLowerCase();
+        assertEquals(2, registry.get("person.addresses").tags("direction", "read", "format", tag).summary()
+                .totalAmount());
+        assertEquals(2, registry.get("person.addresses").tags("direction", "write", "format", tag).summary()
+                .totalAmount());
+    }
+}
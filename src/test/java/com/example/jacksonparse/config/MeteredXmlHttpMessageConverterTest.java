@@ -0,0 +1,146 @@
+package com.example.jacksonparse.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import com.example.jacksonparse.codec.PersonXmlReader;
+import com.example.jacksonparse.codec.PersonXmlWriter;
+import com.example.jacksonparse.model.Person;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MeteredXmlHttpMessageConverterTest {
+    private static final String XML = "<person version=\"1\"><id>1</id><address><city>A</city></address><x>2</x>"
+            + "</person>";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final JacksonConfig config = new JacksonConfig(new MapperProperties());
+    private final XmlMapper xmlMapper = config.xmlMapper();
+    private final PersonXmlReader reader = spy(config.personXmlReader(xmlMapper));
+    private final PersonXmlWriter writer = spy(config.personXmlWriter(xmlMapper));
+    private final MeteredXmlHttpMessageConverter converter = new MeteredXmlHttpMessageConverter(xmlMapper,
+            new BodyMetrics(registry), reader, writer);
+
+    @Test
+    void testReadsUtf8PersonsWithReader() throws IOException {
+        for (String contentType : new String[] { null, "application/xml", "application/xml;charset=UTF-8" }) {
+            assertEquals(xmlMapper.readValue(XML, Person.class), converter.read(Person.class, null, input(XML,
+                    contentType)), contentType);
+        }
+
+        verify(reader, times(3)).read(any());
+        assertEquals(3 * XML.length(), registry.get("http.body.read.bytes").summary().totalAmount());
+    }
+
+    @Test
+    void testBindsRejectedBodiesWithMapper() throws IOException {
+        String xml = "<person><id>+1</id><x><y>1</y></x></person>";
+
+        Person person = (Person) converter.read(Person.class, null, input(xml, "application/xml"));
+
+        assertEquals(xmlMapper.readValue(xml, Person.class), person);
+        assertEquals(1L, person.getId());
+        verify(reader).read(any());
+    }
+
+    @Test
+    void testBindsOtherTypesAndCharsetsWithMapper() throws IOException {
+        assertEquals(Map.of("id", "1"), converter.read(Map.class, null, input("<m><id>1</id></m>", null)));
+        assertEquals(xmlMapper.readValue(XML, Person.class),
+                converter.read(Person.class, null, input(XML, "application/xml;charset=ISO-8859-1")));
+
+        verify(reader, never()).read(any());
+    }
+
+    @Test
+    void testWritesAcceptedUtf8PersonsWithWriter() throws IOException, XMLStreamException {
+        Person person = xmlMapper.readValue(XML, Person.class);
+        String expected = xmlMapper.writeValueAsString(person);
+        for (MediaType contentType : new MediaType[] { MediaType.APPLICATION_XML,
+                MediaType.parseMediaType("application/xml;charset=UTF-8") }) {
+            MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+            converter.write(person, contentType, output);
+
+            assertEquals(expected, output.getBodyAsString());
+        }
+
+        verify(writer, times(2)).write(any(), any());
+        assertEquals(2 * expected.length(), registry.get("http.body.write.bytes").summary().totalAmount());
+    }
+
+    @Test
+    void testWritesOtherBodiesWithMapper() throws IOException, XMLStreamException {
+        Person raw = new Person();
+        raw.setExtra("x", 1.5f);
+        Person subclass = new Person() {
+        };
+        Object[] bodies = { Map.of("id", 1), raw, subclass, xmlMapper.readValue(XML, Person.class) };
+        MediaType[] types = { MediaType.APPLICATION_XML, MediaType.APPLICATION_XML, MediaType.APPLICATION_XML,
+                MediaType.parseMediaType("application/xml;charset=ISO-8859-1") };
+        for (int i = 0; i < bodies.length; i++) {
+            MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+            converter.write(bodies[i], types[i], output);
+
+            assertEquals(xmlMapper.writeValueAsString(bodies[i]), output.getBodyAsString(StandardCharsets.UTF_8));
+        }
+
+        verify(writer, never()).write(any(), any());
+    }
+
+    @Test
+    void testReportsStreamFailuresAsNotWritable() {
+        HttpOutputMessage failing = new HttpOutputMessage() {
+            private final HttpHeaders headers = new HttpHeaders();
+
+            @Override
+            public OutputStream getBody() {
+                return new OutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        throw new IOException("Broken pipe");
+                    }
+                };
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+        };
+
+        assertThrows(HttpMessageNotWritableException.class,
+                () -> converter.write(new Person(), MediaType.APPLICATION_XML, failing));
+        assertEquals(1, registry.get("http.body.write").tags("outcome", "failure").timer().count());
+    }
+
+    private static MockHttpInputMessage input(String body, String contentType) {
+        MockHttpInputMessage input = new MockHttpInputMessage(body.getBytes(StandardCharsets.UTF_8));
+        if (contentType != null) {
+            input.getHeaders().set(HttpHeaders.CONTENT_TYPE, contentType);
+        }
+        return input;
+    }
+}
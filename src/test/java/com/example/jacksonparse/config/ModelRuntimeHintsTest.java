@@ -0,0 +1,38 @@
+package com.example.jacksonparse.config;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.ReflectionHintsPredicates;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import com.example.jacksonparse.model.Address;
+import com.example.jacksonparse.model.Person;
+import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlElementWrapper;
+import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
+import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlRootElement;
+
+class ModelRuntimeHintsTest {
+    private final RuntimeHints hints = new RuntimeHints();
+    private final ReflectionHintsPredicates reflection = RuntimeHintsPredicates.reflection();
+
+    @Test
+    void testRegistersModelBinding() throws NoSuchMethodException {
+        new ModelRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        assertTrue(reflection.onType(Person.class).withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)
+                .test(hints));
+        assertTrue(reflection.onMethod(Person.class.getMethod("setAddresses", List.class)).test(hints));
+        assertTrue(reflection.onMethod(Person.class.getMethod("setExtra", String.class, Object.class)).test(hints));
+        assertTrue(reflection.onMethod(Person.class.getMethod("extraProperties")).test(hints));
+        assertTrue(reflection.onMethod(Address.class.getMethod("setCreatedAt", LocalDateTime.class)).test(hints));
+        assertTrue(reflection.onType(JacksonXmlRootElement.class).test(hints));
+        assertTrue(reflection.onType(JacksonXmlProperty.class).test(hints));
+        assertTrue(reflection.onType(JacksonXmlElementWrapper.class).test(hints));
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.jacksonparse.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.jacksonparse.config.MapperProperties.BindingMode;
+import com.example.jacksonparse.model.Person;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.DefaultDeserializationContext;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.BeanSerializerBase;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ReflectiveAccessMetricsTest {
+    @Test
+    void testBeanBindingIsFullyReflective() {
+        SimpleMeterRegistry registry = bind(BindingMode.BEAN);
+
+        assertTrue(registry.find(ReflectiveAccessMetrics.METRIC).gauges().size() > 0);
+        assertEquals(0, registry.find(ReflectiveAccessMetrics.METRIC).gauges().stream()
+                .filter(gauge -> gauge.value() == 0).count());
+    }
+
+    @Test
+    void testBlackbirdBindingReportsFallbacks() {
+        SimpleMeterRegistry registry = bind(BindingMode.BLACKBIRD);
+
+        for (String format : new String[] { "json", "xml", "smile", "cbor" }) {
+            for (String direction : new String[] { "serialize", "deserialize" }) {
+                assertEquals(0, gauge(registry, format, "Person", "name", direction));
+                assertEquals(1, gauge(registry, format, "Person", "birthDate", direction));
+                assertEquals(1, gauge(registry, format, "Address", "createdAt", direction));
+            }
+            assertEquals(0, gauge(registry, format, "Address", "primary", "deserialize"));
+        }
+        assertEquals(0, gauge(registry, "json", "Person", "addresses", "serialize"));
+    }
+
+    @Test
+    void testCodecBindingHasNoBeanProperties() {
+        SimpleMeterRegistry registry = bind(BindingMode.CODEC);
+
+        assertTrue(registry.find(ReflectiveAccessMetrics.METRIC).gauges().isEmpty());
+    }
+
+    @Test
+    void testToStringSerializerFallsBackToReflection() throws JsonMappingException {
+        ObjectMapper mapper = JsonMapper.builder().addModule(new BlackbirdModule())
+                .addModule(new SimpleModule().addSerializer(Long.class, ToStringSerializer.instance)).build();
+        BeanSerializerBase serializer = (BeanSerializerBase) mapper.getSerializerProviderInstance()
+                .findValueSerializer(Person.class);
+
+        serializer.properties().forEachRemaining(writer -> {
+            if (writer.getName().equals("id") || writer.getName().equals("name")) {
+                assertEquals(writer.getName().equals("id"), ReflectiveAccessMetrics.isReflective(writer));
+            }
+        });
+    }
+
+    @Test
+    void testUnresolvableSerializerIsReported() throws JsonMappingException {
+        ObjectMapper mapper = mock(ObjectMapper.class);
+        SerializerProvider provider = mock(SerializerProvider.class);
+        when(mapper.getSerializerProviderInstance()).thenReturn(provider);
+        when(provider.findValueSerializer(any(Class.class))).thenThrow(JsonMappingException.class);
+
+        JacksonConfig config = config(BindingMode.BEAN);
+        ReflectiveAccessMetrics metrics = new ReflectiveAccessMetrics(mapper, config.xmlMapper(), config.smileMapper(),
+                config.cborMapper());
+
+        assertThrows(IllegalStateException.class, () -> metrics.bindTo(new SimpleMeterRegistry()));
+    }
+
+    @Test
+    void testUnresolvableDeserializerIsReported() throws JsonMappingException {
+        ObjectMapper mapper = mock(ObjectMapper.class);
+        SerializerProvider provider = mock(SerializerProvider.class);
+        DefaultDeserializationContext context = mock(DefaultDeserializationContext.class);
+        when(mapper.getSerializerProviderInstance()).thenReturn(provider);
+        when(mapper.getDeserializationContext()).thenReturn(context);
+        when(context.createDummyInstance(any())).thenReturn(context);
+        when(context.findRootValueDeserializer(any())).thenThrow(JsonMappingException.class);
+
+        JacksonConfig config = config(BindingMode.BEAN);
+        ReflectiveAccessMetrics metrics = new ReflectiveAccessMetrics(mapper, config.xmlMapper(), config.smileMapper(),
+                config.cborMapper());
+
+        assertThrows(IllegalStateException.class, () -> metrics.bindTo(new SimpleMeterRegistry()));
+    }
+
+    private static SimpleMeterRegistry bind(BindingMode binding) {
+        JacksonConfig config = config(binding);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new ReflectiveAccessMetrics(config.objectMapper(), config.xmlMapper(), config.smileMapper(),
+                config.cborMapper()).bindTo(registry);
+        return registry;
+    }
+
+    private static double gauge(SimpleMeterRegistry registry, String format, String type, String property,
+            String direction) {
+        return registry.get(ReflectiveAccessMetrics.METRIC).tags("format", format, "type", type, "property", property,
+                "direction", direction).gauge().value();
+    }
+
+    private static JacksonConfig config(BindingMode binding) {
+        MapperProperties properties = new MapperProperties();
+        properties.setBinding(binding);
+        return new JacksonConfig(properties);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.jacksonparse.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import com.example.jacksonparse.service.ResponseCache;
+import com.example.jacksonparse.service.ResponseCache.CachedResponse;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ResponseCacheConfigTest {
+    @Test
+    void testCacheIsSizedByPropertiesAndBindsItsMeters() {
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setMaxSize(DataSize.ofKilobytes(1));
+        ResponseCache cache = new ResponseCacheConfig().responseCache(properties);
+        MeterBinder binder = cache;
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        binder.bindTo(registry);
+        CachedResponse response = new CachedResponse("application/json", new byte[100]);
+
+        cache.put(new byte[0], "application/json", null, response);
+        assertSame(response, cache.get(new byte[0], "application/json", null));
+        for (int i = 0; i < 20; i++) {
+            cache.put(new byte[] { (byte) i }, "application/json", null, response);
+        }
+
+        // Each entry weighs 1 + 100 bytes plus the overhead, so no more than four fit in 1 KB
+        assertTrue(cache.size() <= 4, "size " + cache.size());
+        assertEquals(cache.size(), registry.get("cache.size").tags("cache", "person.responses").gauge().value());
+        assertEquals(1, registry.get("cache.gets").tags("cache", "person.responses", "result", "hit")
+                .functionCounter().count());
+    }
+}
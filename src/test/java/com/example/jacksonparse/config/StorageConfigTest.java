@@ -0,0 +1,66 @@
+package com.example.jacksonparse.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.util.unit.DataSize;
+
+import com.example.jacksonparse.model.Person;
+import com.example.jacksonparse.service.BufferPool;
+import com.example.jacksonparse.storage.PersonStore;
+import com.example.jacksonparse.storage.PersonStore.Ack;
+import com.example.jacksonparse.storage.SegmentLogRepository;
+import com.example.jacksonparse.storage.StoredPersons;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class StorageConfigTest {
+    private final StorageConfig storageConfig = new StorageConfig();
+    private final JacksonConfig config = new JacksonConfig(new MapperProperties());
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testStoreWritesToSegmentLogOfProperties() throws IOException {
+        StorageProperties properties = new StorageProperties();
+        properties.setDirectory(directory);
+        properties.setSegmentSize(DataSize.ofKilobytes(64));
+        properties.setQueueCapacity(4);
+        properties.setBatchSize(2);
+        properties.setAck(Ack.FSYNC);
+        properties.setAckTimeout(Duration.ofSeconds(5));
+        Person person = new Person();
+        person.setId(1L);
+        person.setName("A");
+
+        try (SegmentLogRepository repository = storageConfig.personRepository(properties, config.objectMapper())) {
+            PersonStore store = storageConfig.personStore(repository, properties, registry);
+            store.start();
+            store.save(person);
+            store.stop();
+
+            assertEquals(person, config.objectMapper().readValue(repository.findById(1), Person.class));
+        }
+        assertEquals(1, registry.get("storage.batch.size").summary().count());
+    }
+
+    @Test
+    void testConverterWritesStoredPersons() {
+        HttpMessageConverter<StoredPersons> converter = storageConfig.storedPersonsHttpMessageConverter(
+                config.objectMapper(), config.xmlMapper(), config.smileMapper(), config.cborMapper(),
+                config.personTranscoder(), new BufferPool(64, 4), new BodyMetrics(registry));
+
+        assertTrue(converter.canWrite(StoredPersons.class, MediaType.APPLICATION_JSON));
+        assertTrue(converter.canWrite(StoredPersons.class, MediaType.APPLICATION_CBOR));
+    }
+}
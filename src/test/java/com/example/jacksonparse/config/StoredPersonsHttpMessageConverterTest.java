@@ -0,0 +1,109 @@
+package com.example.jacksonparse.config;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import com.example.jacksonparse.model.Person;
+import com.example.jacksonparse.service.BufferPool;
+import com.example.jacksonparse.storage.StoredPersons;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class StoredPersonsHttpMessageConverterTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final JacksonConfig config = new JacksonConfig(new MapperProperties());
+    private final ObjectMapper objectMapper = config.objectMapper();
+    /** Stored as the repository stores persons. */
+    private final byte[] first = stored("{\"id\":1,\"name\":\"A\",\"addresses\":[{\"city\":\"B\"}]}");
+    /** Has a null unknown property, which the transcoder leaves to binding in XML. */
+    private final byte[] second = stored("{\"id\":2,\"x\":null}");
+    private final XmlMapper xmlMapper = config.xmlMapper();
+    private final StoredPersonsHttpMessageConverter converter = new StoredPersonsHttpMessageConverter(objectMapper,
+            xmlMapper, config.smileMapper(), config.cborMapper(), config.personTranscoder(), new BufferPool(64, 4),
+            new BodyMetrics(registry));
+
+    @Test
+    void testWritesStoredJsonAsItIs() throws IOException {
+        MockHttpOutputMessage one = write(StoredPersons.one(first), MediaType.APPLICATION_JSON);
+        MockHttpOutputMessage all = write(StoredPersons.all(List.of(first, second)), MediaType.APPLICATION_JSON);
+        MockHttpOutputMessage none = write(StoredPersons.all(List.of()), MediaType.APPLICATION_JSON);
+
+        assertArrayEquals(first, one.getBodyAsBytes());
+        assertEquals(first.length, one.getHeaders().getContentLength());
+        assertEquals("[" + string(first) + "," + string(second) + "]", all.getBodyAsString());
+        assertEquals(all.getBodyAsBytes().length, all.getHeaders().getContentLength());
+        assertEquals("[]", none.getBodyAsString());
+        assertEquals(2, none.getHeaders().getContentLength());
+        assertEquals(3, registry.get("http.body.write.bytes").tag("accept", "json").summary().count());
+    }
+
+    @Test
+    void testTranscodesPersonsToXml() throws IOException {
+        String firstXml = xmlMapper.writeValueAsString(person(first));
+        String secondXml = xmlMapper.writeValueAsString(person(second));
+
+        MockHttpOutputMessage one = write(StoredPersons.one(first), MediaType.APPLICATION_XML);
+        MockHttpOutputMessage all = write(StoredPersons.all(List.of(first, second)), MediaType.APPLICATION_XML);
+
+        assertEquals(firstXml, one.getBodyAsString());
+        assertEquals(-1, one.getHeaders().getContentLength());
+        assertEquals("<persons>" + firstXml + secondXml + "</persons>", all.getBodyAsString());
+    }
+
+    @Test
+    void testCopiesPersonsToBinaryFormats() throws IOException {
+        MockHttpOutputMessage smile = write(StoredPersons.all(List.of(first, second)),
+                MediaType.parseMediaType(JacksonConfig.APPLICATION_SMILE_VALUE));
+        MockHttpOutputMessage cbor = write(StoredPersons.one(first), MediaType.APPLICATION_CBOR);
+
+        assertArrayEquals(new Person[] { person(first), person(second) },
+                config.smileMapper().readValue(smile.getBodyAsBytes(), Person[].class));
+        assertEquals(person(first), config.cborMapper().readValue(cbor.getBodyAsBytes(), Person.class));
+    }
+
+    @Test
+    void testOnlyWrites() {
+        assertTrue(converter.canWrite(StoredPersons.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canWrite(Person.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canRead(StoredPersons.class, MediaType.APPLICATION_JSON));
+        assertThrows(UnsupportedOperationException.class,
+                () -> converter.readInternal(StoredPersons.class, new MockHttpInputMessage(first)));
+    }
+
+    private MockHttpOutputMessage write(StoredPersons persons, MediaType contentType) throws IOException {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(persons, contentType, output);
+        return output;
+    }
+
+    private Person person(byte[] json) throws IOException {
+        return objectMapper.readValue(json, Person.class);
+    }
+
+    private byte[] stored(String json) {
+        try {
+            return objectMapper.writeValueAsBytes(objectMapper.readValue(json, Person.class));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String string(byte[] json) {
+        return new String(json, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.jacksonparse.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import jdk.jfr.Event;
+import jdk.jfr.Name;
+
+class VirtualThreadPinningMonitorTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    /**
+     * Stands in for {@code jdk.VirtualThreadPinned}, which JDK 17 does not emit.
+     */
+    @Name("com.example.jacksonparse.Pinned")
+    static class PinnedEvent extends Event {
+    }
+
+    @Test
+    void testCountsEventsByFirstFrameOutsideJdk() throws InterruptedException {
+        VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(registry,
+                "com.example.jacksonparse.Pinned", Duration.ZERO);
+        monitor.start();
+        try {
+            assertTrue(monitor.isRunning());
+            pin(new PinnedEvent());
+            pin(new PinnedEvent());
+
+            List<Counter> counters = awaitCount(2);
+            assertEquals(1, counters.size());
+            assertTrue(counters.get(0).getId().getTag("frame").startsWith(getClass().getName() + "."),
+                    counters.get(0).getId().getTag("frame"));
+        } finally {
+            monitor.stop();
+        }
+        assertFalse(monitor.isRunning());
+    }
+
+    @Test
+    void testSkipsJdkFrames() throws InterruptedException {
+        VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(registry, "jdk.ThreadSleep",
+                Duration.ofMillis(5));
+        String frame = getClass().getName() + ".sleep";
+        monitor.start();
+        try {
+            long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+            while (registry.find(VirtualThreadPinningMonitor.METRIC).tag("frame", frame).counter() == null
+                    && System.nanoTime() < deadline) {
+                sleep();
+            }
+        } finally {
+            monitor.stop();
+        }
+        assertNotNull(registry.find(VirtualThreadPinningMonitor.METRIC).tag("frame", frame).counter());
+    }
+
+    @Test
+    void testEventsWithoutStackTrace() {
+        assertEquals(VirtualThreadPinningMonitor.UNKNOWN_FRAME, VirtualThreadPinningMonitor.culprit(null));
+        assertEquals("\t(no stack trace)", VirtualThreadPinningMonitor.format(null));
+    }
+
+    @Test
+    void testListensForPinnedVirtualThreads() {
+        VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(registry, Duration.ofMillis(20));
+
+        monitor.start();
+        monitor.stop();
+
+        assertTrue(registry.find(VirtualThreadPinningMonitor.METRIC).counters().isEmpty());
+    }
+
+    private static void pin(Event event) throws InterruptedException {
+        event.begin();
+        Thread.sleep(2);
+        event.commit();
+    }
+
+    private static void sleep() throws InterruptedException {
+        Thread.sleep(10);
+    }
+
+    private List<Counter> awaitCount(long count) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (total() < count && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(count, total());
+        return List.copyOf(registry.find(VirtualThreadPinningMonitor.METRIC).counters());
+    }
+
+    private long total() {
+        return (long) registry.find(VirtualThreadPinningMonitor.METRIC).counters().stream()
+                .mapToDouble(Counter::count).sum();
+    }
+}
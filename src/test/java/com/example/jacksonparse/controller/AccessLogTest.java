@@ -0,0 +1,162 @@
+package com.example.jacksonparse.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.example.jacksonparse.model.Person;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.read.ListAppender;
+
+class AccessLogTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final Logger logger = (Logger) LoggerFactory.getLogger(AccessLog.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void testBuffersEntriesUntilWrittenAndDropsWhenFull() {
+        AccessLog accessLog = new AccessLog(registry, true, 1.0, 4);
+        assertTrue(accessLog.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), new Object()));
+
+        for (long id = 1; id <= 5; id++) {
+            accessLog.record("application/json", "application/xml", person(id, "N" + id));
+        }
+
+        assertTrue(appender.list.isEmpty());
+        assertEquals(1, registry.get(AccessLog.DROPPED_METRIC).functionCounter().count());
+        assertEquals(4, accessLog.writeBatch());
+        assertEquals(0, accessLog.writeBatch());
+        accessLog.record("application/xml", null, person(null, null));
+        assertEquals(1, accessLog.writeBatch());
+
+        List<String> lines = messages();
+        assertEquals(5, lines.size());
+        assertTrue(lines.get(0).startsWith("POST /api/person - Content-Type: application/json, Accept: "
+                + "application/xml, Person[id=1, name=N1], received "), lines.get(0));
+        assertTrue(lines.get(0).endsWith(" us"), lines.get(0));
+        assertTrue(lines.get(3).contains("Person[id=4, name=N4]"), lines.get(3));
+        assertTrue(lines.get(4).contains("Accept: null, Person[id=null, name=null]"), lines.get(4));
+    }
+
+    @Test
+    void testWriterThreadDrainsEntriesUntilStopped() throws InterruptedException {
+        AccessLog accessLog = new AccessLog(registry, true, 1.0, 1024);
+        accessLog.start();
+        assertTrue(accessLog.isRunning());
+
+        accessLog.record("application/json", "application/json", person(1L, "A"));
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (appender.list.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        accessLog.record("application/json", "application/json", person(2L, "B"));
+        accessLog.stop();
+
+        assertFalse(accessLog.isRunning());
+        assertEquals(2, appender.list.size());
+        assertTrue(messages().get(1).contains("Person[id=2, name=B]"));
+    }
+
+    @Test
+    void testStopKeepsInterruptStatus() throws InterruptedException {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AppenderBase<ILoggingEvent> blocking = new AppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                writing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        blocking.start();
+        logger.addAppender(blocking);
+        AccessLog accessLog = new AccessLog(registry, true, 1.0, 2);
+        accessLog.start();
+        accessLog.record("application/json", "application/json", person(1L, "A"));
+        assertTrue(writing.await(10, TimeUnit.SECONDS));
+
+        // The writer is still busy, so waiting for it is interrupted right away
+        Thread.currentThread().interrupt();
+        accessLog.stop();
+
+        assertTrue(Thread.interrupted());
+        assertFalse(accessLog.isRunning());
+        release.countDown();
+        logger.detachAppender(blocking);
+    }
+
+    @Test
+    void testSynchronousModeLogsOnRequestThread() {
+        AccessLog accessLog = new AccessLog(registry, false, 1.0, 2);
+        accessLog.start();
+
+        assertFalse(accessLog.isRunning());
+        accessLog.record("application/json", "application/json", person(7L, "S"));
+        accessLog.stop();
+
+        assertEquals(1, appender.list.size());
+        assertEquals(Thread.currentThread().getName(), appender.list.get(0).getThreadName());
+        assertTrue(messages().get(0).contains("Person[id=7, name=S]"));
+    }
+
+    @Test
+    void testSampleRateSelectsRequests() {
+        AccessLog none = new AccessLog(registry, true, 0.0, 2);
+        AccessLog almostAll = new AccessLog(registry, true, Math.nextDown(1.0), 2);
+
+        none.record("application/json", "application/json", person(1L, "N"));
+        almostAll.record("application/json", "application/json", person(1L, "N"));
+
+        assertEquals(0, none.writeBatch());
+        assertEquals(1, almostAll.writeBatch());
+    }
+
+    @Test
+    void testRejectsBufferSizeThatIsNotAPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new AccessLog(registry, true, 1.0, 1000));
+    }
+
+    private List<String> messages() {
+        return appender.list.stream().map(ILoggingEvent::getFormattedMessage).toList();
+    }
+
+    private static Person person(Long id, String name) {
+        Person person = new Person();
+        person.setId(id);
+        person.setName(name);
+        return person;
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.jacksonparse.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import com.example.jacksonparse.codec.InputLimitException;
+import com.example.jacksonparse.config.MapperProperties;
+import com.example.jacksonparse.exception.GlobalExceptionHandler;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BodySizeLimitFilterTest {
+    private final BodySizeLimitFilter filter = new BodySizeLimitFilter(properties(),
+            new GlobalExceptionHandler(new SimpleMeterRegistry(), 10));
+
+    @Test
+    void testPassesBodiesWithinLimit() throws ServletException, IOException {
+        for (String charset : new String[] { null, "UTF-8" }) {
+            MockHttpServletRequest request = request("/api/person", "\"é\"");
+            request.setCharacterEncoding(charset);
+            MockFilterChain chain = new MockFilterChain();
+
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+            HttpServletRequest limited = (HttpServletRequest) chain.getRequest();
+            String expected = charset == null ? "\"Ã©\"" : "\"é\"";
+            assertEquals(expected, limited.getReader().readLine());
+        }
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request("/api/person/batch", "x".repeat(20)), new MockHttpServletResponse(), chain);
+
+        ServletInputStream in = ((HttpServletRequest) chain.getRequest()).getInputStream();
+        assertSame(in, ((HttpServletRequest) chain.getRequest()).getInputStream());
+        assertFalse(in.isFinished());
+        assertTrue(in.isReady());
+        assertEquals('x', in.read());
+        assertEquals(19, in.readAllBytes().length);
+        assertEquals(-1, in.read());
+        assertTrue(in.isFinished());
+        in.close();
+    }
+
+    @Test
+    void testHandsReadListenerToContainerStream() throws IOException {
+        ServletInputStream source = mock(ServletInputStream.class);
+        ReadListener listener = mock(ReadListener.class);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/person") {
+            @Override
+            public ServletInputStream getInputStream() {
+                return source;
+            }
+        };
+
+        new BodySizeLimitFilter.LimitedRequest(request, 10).getInputStream().setReadListener(listener);
+
+        verify(source).setReadListener(listener);
+    }
+
+    @Test
+    void testRejectsDeclaredLengthOverLimitBeforeReading() throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request("/api/person", "x".repeat(11)), response, chain);
+
+        assertNull(chain.getRequest());
+        assertTooLarge(response, 10);
+    }
+
+    @Test
+    void testStopsStreamedBodiesAtLimit() throws ServletException, IOException {
+        ServletInputStream in = limitedBody("/api/person", 11);
+        assertEquals(10, in.readNBytes(10).length);
+        assertThrows(InputLimitException.class, in::read);
+
+        ServletInputStream batch = limitedBody("/api/person/batch", 21);
+        assertEquals(20, batch.readNBytes(20).length);
+        assertThrows(InputLimitException.class, batch::read);
+
+        ServletInputStream arrayRead = limitedBody("/api/person", 11);
+        assertThrows(InputLimitException.class, () -> arrayRead.read(new byte[16], 0, 16));
+    }
+
+    @Test
+    void testAnswersLimitCrossedByLaterFilter() throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setStatus(HttpStatus.OK.value());
+        response.getWriter().write("partial");
+
+        filter.doFilter(unknownLength(request("/api/person", "x".repeat(11))), response,
+                (request, res) -> request.getInputStream().readAllBytes());
+
+        assertTooLarge(response, 10);
+    }
+
+    @Test
+    void testRethrowsLimitOnceResponseIsCommitted() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setCommitted(true);
+
+        assertThrows(InputLimitException.class, () -> filter.doFilter(unknownLength(request("/api/person",
+                "x".repeat(11))), response, (request, res) -> request.getInputStream().readAllBytes()));
+    }
+
+    @Test
+    void testLeavesBulkStreamsUnlimited() throws ServletException, IOException {
+        MockHttpServletRequest request = request("/api/person/bulk", "x".repeat(100));
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertSame(request, chain.getRequest());
+    }
+
+    private static void assertTooLarge(MockHttpServletResponse response, long limit) throws IOException {
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE.value(), response.getStatus());
+        assertEquals(MediaType.APPLICATION_PROBLEM_JSON_VALUE, response.getContentType());
+        JsonNode problem = new ObjectMapper().readTree(response.getContentAsByteArray());
+        assertEquals(response.getContentAsByteArray().length, response.getContentLength());
+        assertEquals("max-body-size", problem.get("limit").asText());
+        assertEquals("Request body size exceeds the limit of " + limit + " (app.jackson.limits.max-body-size)",
+                problem.get("detail").asText());
+    }
+
+    private ServletInputStream limitedBody(String path, int length) throws ServletException, IOException {
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(unknownLength(request(path, "x".repeat(length))), new MockHttpServletResponse(), chain);
+        return ((HttpServletRequest) chain.getRequest()).getInputStream();
+    }
+
+    private static MockHttpServletRequest request(String path, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    /**
+     * Hides the length of the body, like a chunked or compressed upload.
+     */
+    private static HttpServletRequest unknownLength(HttpServletRequest request) {
+        return new HttpServletRequestWrapper(request) {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+    }
+
+    private static MapperProperties properties() {
+        MapperProperties properties = new MapperProperties();
+        properties.getLimits().setMaxBodySize(DataSize.ofBytes(10));
+        properties.getLimits().setMaxBatchBodySize(DataSize.ofBytes(20));
+        return properties;
+    }
+}
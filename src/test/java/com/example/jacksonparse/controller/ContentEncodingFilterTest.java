@@ -0,0 +1,383 @@
+package com.example.jacksonparse.controller;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.DelegatingServletInputStream;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.example.jacksonparse.codec.ContentEncoding;
+import com.example.jacksonparse.config.CompressionProperties;
+import com.example.jacksonparse.service.BufferPool;
+
+class ContentEncodingFilterTest {
+    private static final byte[] LARGE = "{\"name\":\"N\"}".repeat(200).getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SMALL = "{\"name\":\"N\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final BufferPool bufferPool = new BufferPool(256, 64);
+    private final ContentEncodingFilter filter = new ContentEncodingFilter(new CompressionProperties(), bufferPool);
+
+    @Test
+    void testDecodesRequestBodies() throws ServletException, IOException {
+        for (ContentEncoding encoding : ContentEncoding.values()) {
+            byte[] compressed = encode(encoding, LARGE);
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/person");
+            request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            request.addHeader(HttpHeaders.CONTENT_ENCODING, encoding.token().toUpperCase());
+            request.addHeader(HttpHeaders.CONTENT_LENGTH, compressed.length);
+            request.setContent(compressed);
+            MockFilterChain chain = new MockFilterChain();
+
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+            HttpServletRequest decoded = (HttpServletRequest) chain.getRequest();
+            ServletInputStream in = decoded.getInputStream();
+            assertSame(in, decoded.getInputStream());
+            assertFalse(in.isFinished());
+            assertTrue(in.isReady());
+            assertEquals(LARGE[0], in.read());
+            byte[] rest = in.readAllBytes();
+            assertTrue(in.isFinished());
+            assertEquals(LARGE.length - 1, rest.length);
+            assertEquals(-1, in.read());
+            in.close();
+            assertEquals(-1, decoded.getContentLength());
+            assertEquals(-1L, decoded.getContentLengthLong());
+            assertNull(decoded.getHeader(HttpHeaders.CONTENT_ENCODING));
+            assertFalse(decoded.getHeaders("content-length").hasMoreElements());
+            assertEquals(List.of(HttpHeaders.CONTENT_TYPE), Collections.list(decoded.getHeaderNames()));
+            assertEquals(MediaType.APPLICATION_JSON_VALUE, decoded.getHeader(HttpHeaders.CONTENT_TYPE));
+            assertTrue(decoded.getHeaders(HttpHeaders.CONTENT_TYPE).hasMoreElements());
+        }
+    }
+
+    @Test
+    void testDecodesRequestBodiesThroughReader() throws ServletException, IOException {
+        for (String charset : new String[] { null, "UTF-8" }) {
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/person");
+            request.addHeader(HttpHeaders.CONTENT_ENCODING, "x-gzip");
+            request.setCharacterEncoding(charset);
+            request.setContent(encode(ContentEncoding.GZIP, "é".getBytes(StandardCharsets.UTF_8)));
+            MockFilterChain chain = new MockFilterChain();
+
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+            String expected = charset == null ? "Ã©" : "é";
+            assertEquals(expected, ((HttpServletRequest) chain.getRequest()).getReader().readLine());
+        }
+    }
+
+    @Test
+    void testRejectsUnsupportedRequestCodings() throws ServletException, IOException {
+        CompressionProperties properties = new CompressionProperties();
+        properties.setEncodings(List.of(ContentEncoding.GZIP));
+        ContentEncodingFilter gzipOnly = new ContentEncodingFilter(properties, bufferPool);
+        for (String coding : new String[] { "br", "zstd" }) {
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/person");
+            request.addHeader(HttpHeaders.CONTENT_ENCODING, coding);
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            MockFilterChain chain = new MockFilterChain();
+
+            gzipOnly.doFilter(request, response, chain);
+
+            assertNull(chain.getRequest());
+            assertEquals(HttpStatus.UNSUPPORTED_MEDIA_TYPE.value(), response.getStatus());
+            assertEquals("gzip", response.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        }
+    }
+
+    @Test
+    void testPassesIdentityAndUnencodedRequestsThrough() throws ServletException, IOException {
+        for (String coding : new String[] { null, "identity" }) {
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/person");
+            if (coding != null) {
+                request.addHeader(HttpHeaders.CONTENT_ENCODING, coding);
+            }
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            MockFilterChain chain = new MockFilterChain();
+
+            filter.doFilter(request, response, chain);
+
+            assertSame(request, chain.getRequest());
+            assertSame(response, chain.getResponse());
+            assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeader(HttpHeaders.VARY));
+        }
+    }
+
+    @Test
+    void testNegotiatesPreferredAcceptedCoding() {
+        assertNull(filter.negotiate(null));
+        assertNull(filter.negotiate("identity, br"));
+        assertNull(filter.negotiate("gzip;q=0, zstd;q=0"));
+        assertNull(filter.negotiate("gzip;q=high"));
+        assertNull(filter.negotiate("*;q=0"));
+        assertEquals(ContentEncoding.GZIP, filter.negotiate("GZIP"));
+        assertEquals(ContentEncoding.GZIP, filter.negotiate("gzip;level=9"));
+        assertEquals(ContentEncoding.ZSTD, filter.negotiate("gzip, deflate, br, zstd"));
+        assertEquals(ContentEncoding.GZIP, filter.negotiate("gzip;q=1.0, zstd;q=0.5"));
+        assertEquals(ContentEncoding.ZSTD, filter.negotiate("*"));
+        assertEquals(ContentEncoding.GZIP, filter.negotiate("br, *;q=0.1, zstd;q=0"));
+    }
+
+    @Test
+    void testCompressesResponsesFromThreshold() throws ServletException, IOException {
+        for (ContentEncoding encoding : ContentEncoding.values()) {
+            MockHttpServletResponse response = respond(encoding.token(), (request, servlet) -> {
+                servlet.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                servlet.setContentLength(LARGE.length);
+                servlet.getOutputStream().write(LARGE, 0, 1000);
+                servlet.getOutputStream().write(LARGE, 1000, 1400);
+                servlet.getOutputStream().write(LARGE, 2400, LARGE.length - 2400);
+                servlet.flushBuffer();
+                servlet.getOutputStream().flush();
+                assertFalse(servlet.isCommitted());
+            });
+
+            assertEquals(encoding.token(), response.getHeader(HttpHeaders.CONTENT_ENCODING));
+            assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeader(HttpHeaders.VARY));
+            assertEquals(response.getContentAsByteArray().length, response.getContentLength());
+            assertTrue(response.getContentLength() < LARGE.length / 10);
+            assertArrayEquals(LARGE, decode(encoding, response.getContentAsByteArray()));
+        }
+        assertTrue(bufferPool.idle() > 0);
+    }
+
+    @Test
+    void testSendsSmallResponsesWithLength() throws ServletException, IOException {
+        MockHttpServletResponse response = respond("gzip", (request, servlet) -> {
+            servlet.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            servlet.setHeader(HttpHeaders.CONTENT_LENGTH, "999");
+            servlet.addHeader(HttpHeaders.CONTENT_LENGTH, "998");
+            servlet.setHeader("X-Test", "1");
+            servlet.addHeader("X-Test", "2");
+            servlet.getOutputStream().write(SMALL[0]);
+            servlet.getOutputStream().write(SMALL, 1, SMALL.length - 1);
+        });
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(SMALL.length, response.getContentLength());
+        assertArrayEquals(SMALL, response.getContentAsByteArray());
+        assertEquals(List.of("1", "2"), response.getHeaders("X-Test"));
+    }
+
+    @Test
+    void testSendsOtherResponsesDirectlyFromThreshold() throws ServletException, IOException {
+        String[][] cases = { { MediaType.IMAGE_PNG_VALUE, null }, { "not a type", null }, { null, null },
+                { MediaType.APPLICATION_JSON_VALUE, "br" } };
+        for (String[] headers : cases) {
+            MockHttpServletResponse response = respond("gzip", (request, servlet) -> {
+                servlet.setContentType(headers[0]);
+                if (headers[1] != null) {
+                    servlet.setHeader(HttpHeaders.CONTENT_ENCODING, headers[1]);
+                }
+                servlet.setContentLengthLong(LARGE.length + 1L);
+                servlet.getOutputStream().write(LARGE);
+                servlet.getOutputStream().write('\n');
+                servlet.getOutputStream().flush();
+                servlet.flushBuffer();
+                assertTrue(servlet.isCommitted());
+            });
+
+            assertEquals(headers[1], response.getHeader(HttpHeaders.CONTENT_ENCODING));
+            assertEquals(LARGE.length + 1, response.getContentLength());
+            assertEquals(LARGE.length + 1, response.getContentAsByteArray().length);
+        }
+    }
+
+    @Test
+    void testSendsDirectResponsesWithoutLength() throws ServletException, IOException {
+        MockHttpServletResponse response = respond("gzip", (request, servlet) -> {
+            servlet.setContentType(MediaType.IMAGE_PNG_VALUE);
+            servlet.setHeader(HttpHeaders.CONTENT_LENGTH, String.valueOf(LARGE.length));
+            servlet.setHeader(HttpHeaders.CONTENT_LENGTH, null);
+            servlet.getOutputStream().write(LARGE);
+        });
+
+        assertEquals(0, response.getContentLength());
+        assertArrayEquals(LARGE, response.getContentAsByteArray());
+    }
+
+    @Test
+    void testCompressesWriterOutput() throws ServletException, IOException {
+        MockHttpServletResponse response = respond("zstd", (request, servlet) -> {
+            servlet.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            servlet.setCharacterEncoding("UTF-8");
+            PrintWriter writer = servlet.getWriter();
+            assertSame(writer, servlet.getWriter());
+            assertThrows(IllegalStateException.class, servlet::getOutputStream);
+            writer.print(new String(LARGE, StandardCharsets.UTF_8));
+        });
+
+        assertEquals("zstd", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(LARGE, decode(ContentEncoding.ZSTD, response.getContentAsByteArray()));
+    }
+
+    @Test
+    void testDiscardsHeldBackBodyOnReset() throws ServletException, IOException {
+        MockHttpServletResponse response = respond("gzip", (request, servlet) -> {
+            servlet.setContentType(MediaType.IMAGE_PNG_VALUE);
+            servlet.setContentLength(1);
+            servlet.getOutputStream().write(LARGE);
+            servlet.reset();
+            servlet.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            servlet.getOutputStream().write(LARGE);
+            servlet.resetBuffer();
+            servlet.getOutputStream().write(SMALL);
+        });
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(SMALL.length, response.getContentLength());
+        assertArrayEquals(SMALL, response.getContentAsByteArray());
+    }
+
+    @Test
+    void testHandsListenersToContainerStreams() throws ServletException, IOException {
+        ServletInputStream source = spy(new DelegatingServletInputStream(
+                new ByteArrayInputStream(encode(ContentEncoding.GZIP, SMALL))));
+        ServletOutputStream target = mock(ServletOutputStream.class);
+        ReadListener readListener = mock(ReadListener.class);
+        WriteListener writeListener = mock(WriteListener.class);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/person") {
+            @Override
+            public ServletInputStream getInputStream() {
+                return source;
+            }
+        };
+        request.addHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        doNothing().when(source).setReadListener(readListener);
+        MockHttpServletResponse response = new MockHttpServletResponse() {
+            @Override
+            public ServletOutputStream getOutputStream() {
+                return target;
+            }
+        };
+
+        filter.doFilter(request, response, (servletRequest, servletResponse) -> {
+            servletRequest.getInputStream().setReadListener(readListener);
+            servletResponse.getOutputStream().setWriteListener(writeListener);
+        });
+
+        verify(source).setReadListener(readListener);
+        verify(target).setWriteListener(writeListener);
+    }
+
+    @Test
+    void testFailsWriteListenerWithoutContainerStream() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/person");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        HttpServletResponse response = new HttpServletResponseWrapper(new MockHttpServletResponse()) {
+            @Override
+            public ServletOutputStream getOutputStream() throws IOException {
+                throw new IOException("closed");
+            }
+        };
+
+        assertThrows(IOException.class, () -> filter.doFilter(request, response,
+                (servletRequest, servletResponse) -> assertThrows(UncheckedIOException.class,
+                        () -> servletResponse.getOutputStream().setWriteListener(mock(WriteListener.class)))));
+    }
+
+    @Test
+    void testLeavesResponsesWithoutBodyAlone() throws ServletException, IOException {
+        MockHttpServletResponse response = respond("gzip", (request, servlet) -> {
+            ServletOutputStream out = servlet.getOutputStream();
+            assertTrue(out.isReady());
+            assertThrows(IllegalStateException.class, servlet::getWriter);
+        });
+        MockHttpServletResponse error = respond("gzip", (request, servlet) -> servlet.sendError(404));
+
+        assertEquals(0, response.getContentLength());
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(404, error.getStatus());
+        assertNull(error.getHeader(HttpHeaders.CONTENT_LENGTH));
+    }
+
+    @Test
+    void testLeavesHeadRequestsAndFailuresUnencoded() throws ServletException, IOException {
+        MockHttpServletRequest head = new MockHttpServletRequest("HEAD", "/api/person");
+        head.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(head, response, chain);
+        assertSame(response, chain.getResponse());
+
+        assertThrows(IOException.class, () -> respond("gzip", (request, servlet) -> {
+            servlet.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            servlet.getOutputStream().write(LARGE);
+            throw new IOException("failed");
+        }));
+        assertEquals(LARGE.length / 256 + 1, bufferPool.idle());
+    }
+
+    private MockHttpServletResponse respond(String acceptEncoding, Handler handler)
+            throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/person");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                assertInstanceOf(ContentEncodingFilter.EncodedResponse.class, response);
+                handler.handle(request, response);
+            }
+        }));
+        return response;
+    }
+
+    private static byte[] encode(ContentEncoding encoding, byte[] content) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (OutputStream out = encoding.encode(buffer)) {
+            out.write(content);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static byte[] decode(ContentEncoding encoding, byte[] content) throws IOException {
+        try (InputStream in = encoding.decode(new ByteArrayInputStream(content))) {
+            return in.readAllBytes();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        void handle(HttpServletRequest request, HttpServletResponse response) throws IOException;
+    }
+}
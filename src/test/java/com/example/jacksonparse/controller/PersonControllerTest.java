@@ -3,8 +3,14 @@ package com.example.jacksonparse.controller;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -15,22 +21,45 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 
 import com.example.jacksonparse.model.Address;
 import com.example.jacksonparse.model.Person;
+import com.example.jacksonparse.service.BulkSummary;
+import com.example.jacksonparse.service.PersonBatchService;
+import com.example.jacksonparse.service.PersonBulkService;
+import com.example.jacksonparse.storage.PersonStore;
 
 @ExtendWith(MockitoExtension.class)
 class PersonControllerTest {
     @Mock
     private HttpServletRequest request;
 
+    @Mock
+    private PersonBulkService bulkService;
+
+    @Mock
+    private PersonBatchService batchService;
+
+    @Mock
+    private AccessLog accessLog;
+
+    @Mock
+    private ObjectProvider<PersonStore> storeProvider;
+
+    @Mock
+    private PersonStore store;
+
     private PersonController controller;
 
     @BeforeEach
     void setUp() {
-        controller = new PersonController();
+        controller = new PersonController(bulkService, batchService, accessLog, storeProvider);
     }
 
     @Test
@@ -46,6 +75,7 @@ class PersonControllerTest {
         assertNotNull(responseBody);
         assertEquals(person.getId(), responseBody.getId());
         assertEquals(person.getName(), responseBody.getName());
+        verify(accessLog).record("application/json", "application/json", person);
     }
 
     @Test
@@ -109,6 +139,46 @@ class PersonControllerTest {
         assertSame(person, response.getBody());
     }
 
+    @Test
+    void testCreatePersonStoresPersonWhenStorageIsEnabled() {
+        Person person = createTestPerson();
+        when(storeProvider.getIfAvailable()).thenReturn(store);
+
+        ResponseEntity<Person> response = controller.createPerson(person, request);
+
+        assertSame(person, response.getBody());
+        verify(store).save(person);
+    }
+
+    @Test
+    void testCreatePersonsDelegatesToBulkService() throws IOException {
+        MockHttpServletRequest bulkRequest = new MockHttpServletRequest("POST", "/api/person/bulk");
+        bulkRequest.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        MockHttpServletResponse bulkResponse = new MockHttpServletResponse();
+        when(bulkService.process(any(InputStream.class), eq(MediaType.APPLICATION_NDJSON), any(OutputStream.class)))
+                .thenReturn(new BulkSummary(2, 1));
+
+        controller.createPersons(bulkRequest, bulkResponse);
+
+        assertEquals(HttpStatus.OK.value(), bulkResponse.getStatus());
+        assertEquals(MediaType.APPLICATION_NDJSON_VALUE, bulkResponse.getContentType());
+    }
+
+    @Test
+    void testCreateBatchDelegatesToBatchService() throws IOException {
+        MockHttpServletRequest batchRequest = new MockHttpServletRequest("POST", "/api/person/batch");
+        batchRequest.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        batchRequest.setContent("[{},{}]".getBytes());
+        MockHttpServletResponse batchResponse = new MockHttpServletResponse();
+        when(batchService.process(eq("[{},{}]".getBytes()), eq(MediaType.APPLICATION_JSON), any(OutputStream.class)))
+                .thenReturn(new BulkSummary(2, 0));
+
+        controller.createBatch(batchRequest, batchResponse);
+
+        assertEquals(HttpStatus.OK.value(), batchResponse.getStatus());
+        assertEquals(MediaType.APPLICATION_NDJSON_VALUE, batchResponse.getContentType());
+    }
+
     private Person createTestPerson() {
         Address address = new Address();
         address.setStreet("123 Main St");
@@ -5,13 +5,21 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
@@ -22,24 +30,33 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.test.context.TestConstructor;
 import org.springframework.util.StreamUtils;
+import org.springframework.web.client.RestTemplate;
 
+import com.example.jacksonparse.config.JacksonConfig;
 import com.example.jacksonparse.model.Address;
 import com.example.jacksonparse.model.Person;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import com.fasterxml.jackson.dataformat.xml.XmlMapper;
 
 import lombok.RequiredArgsConstructor;
 
 @Tag("integration")
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "app.compression.enabled=true")
+@AutoConfigureObservability(tracing = false)
 @TestConstructor(autowireMode = TestConstructor.AutowireMode.ALL)
 @RequiredArgsConstructor
 class PersonIntegrationTest {
     private final TestRestTemplate restTemplate;
     private final ObjectMapper objectMapper;
     private final XmlMapper xmlMapper;
+    private final SmileMapper smileMapper;
+    private final CBORMapper cborMapper;
 
     @LocalServerPort
     private int port;
@@ -85,7 +102,64 @@ class PersonIntegrationTest {
     }
 
     @Test
-    void testInvalidJsonTriggersExceptionHandler() {
+    void testBinaryFormatsRoundTrip() throws IOException {
+        Person expected = objectMapper.readValue(loadResource("person.json"), Person.class);
+        MediaType smile = MediaType.parseMediaType(JacksonConfig.APPLICATION_SMILE_VALUE);
+        MediaType[][] cases = { { smile, MediaType.APPLICATION_CBOR }, { MediaType.APPLICATION_CBOR, smile },
+                { smile, smile } };
+        for (MediaType[] types : cases) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(types[0]);
+            headers.setAccept(Collections.singletonList(types[1]));
+
+            var response = restTemplate.exchange(getBaseUrl(), HttpMethod.POST,
+                    new HttpEntity<>(mapperFor(types[0]).writeValueAsBytes(expected), headers), byte[].class);
+
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertEquals(types[1], response.getHeaders().getContentType());
+            assertEquals(expected, mapperFor(types[1]).readValue(response.getBody(), Person.class));
+        }
+    }
+
+    @Test
+    void testCompressedRequestAndResponse() throws IOException {
+        Person person = objectMapper.readValue(loadResource("person.json"), Person.class);
+        person.setAddresses(Collections.nCopies(40, person.getAddresses().get(0)));
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(body)) {
+            objectMapper.writeValue(out, person);
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(Collections.singletonList(MediaType.APPLICATION_XML));
+        headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        headers.set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+
+        // The JDK client leaves the response as sent, where others may decompress it
+        var response = new RestTemplate(new JdkClientHttpRequestFactory()).exchange(getBaseUrl(), HttpMethod.POST,
+                new HttpEntity<>(body.toByteArray(), headers), byte[].class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(response.getBody().length, response.getHeaders().getContentLength());
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getBody()))) {
+            assertEquals(person, xmlMapper.readValue(in, Person.class));
+        }
+    }
+
+    @Test
+    void testBodyMetricsArePublishedForPrometheus() throws IOException {
+        fetch("person.xml", MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON);
+
+        var metrics = restTemplate.getForObject("http://localhost:" + port + "/actuator/prometheus", String.class);
+
+        assertTrue(metrics.contains("http_body_read_seconds_bucket{accept=\"json\",content_type=\"xml\""), metrics);
+        assertTrue(metrics.contains("http_body_write_bytes_count{accept=\"json\",content_type=\"xml\""), metrics);
+        assertTrue(metrics.contains("person_addresses_count{direction=\"read\",format=\"xml\""), metrics);
+    }
+
+    @Test
+    void testInvalidJsonTriggersExceptionHandler() throws IOException {
         var invalidJson = "{ invalid json }";
         var headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
@@ -94,12 +168,14 @@ class PersonIntegrationTest {
         var response = restTemplate.exchange(getBaseUrl(), HttpMethod.POST, entity, String.class);
 
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
-        assertNotNull(response.getBody());
-        assertTrue(response.getBody().contains("Error:"));
+        assertEquals(MediaType.APPLICATION_PROBLEM_JSON, response.getHeaders().getContentType());
+        var problem = objectMapper.readTree(response.getBody());
+        assertEquals("JsonParseException", problem.get("exception").asText());
+        assertEquals(1, problem.get("line").asInt());
     }
 
     @Test
-    void testInvalidXmlTriggersExceptionHandler() {
+    void testInvalidXmlTriggersExceptionHandler() throws IOException {
         var invalidXml = "<person><invalid>";
         var headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_XML);
@@ -108,8 +184,83 @@ class PersonIntegrationTest {
         var response = restTemplate.exchange(getBaseUrl(), HttpMethod.POST, entity, String.class);
 
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
-        assertNotNull(response.getBody());
-        assertTrue(response.getBody().contains("Error:"));
+        assertEquals(MediaType.APPLICATION_PROBLEM_JSON, response.getHeaders().getContentType());
+        var problem = objectMapper.readTree(response.getBody());
+        assertEquals("JsonParseException", problem.get("exception").asText());
+        assertEquals(1, problem.get("line").asInt());
+    }
+
+    @Test
+    void testInvalidPersonsAreAnsweredWithViolations() throws IOException {
+        var cases = new Object[][] {
+                { MediaType.APPLICATION_JSON, "{\"id\":1,\"name\":\" \",\"addresses\":[{\"zipCode\":\"1\"}]}",
+                        "/name", "/addresses/0/zipCode" },
+                { MediaType.APPLICATION_XML, "<person><id>1</id><name> </name><address><zipCode>1</zipCode></address>"
+                        + "</person>", "/person/name", "/person/address[1]/zipCode" } };
+        for (Object[] c : cases) {
+            var headers = new HttpHeaders();
+            headers.setContentType((MediaType) c[0]);
+
+            var response = restTemplate.exchange(getBaseUrl(), HttpMethod.POST, new HttpEntity<>(c[1], headers),
+                    String.class);
+
+            assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+            var problem = objectMapper.readTree(response.getBody());
+            assertEquals("Invalid person", problem.get("title").asText());
+            assertEquals(c[2], problem.at("/violations/0/location").asText());
+            assertEquals(c[3], problem.at("/violations/1/location").asText());
+        }
+    }
+
+    @Test
+    void testBodiesOverSizeLimitAreAnsweredWithPayloadTooLarge() throws IOException {
+        var padded = "{\"id\":1," + " ".repeat(1024 * 1024) + "\"name\":\"N\"}";
+        var headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(padded.getBytes(StandardCharsets.UTF_8));
+        }
+        var gzipHeaders = new HttpHeaders();
+        gzipHeaders.setContentType(MediaType.APPLICATION_JSON);
+        gzipHeaders.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+
+        for (var entity : List.of(new HttpEntity<>(padded.getBytes(StandardCharsets.UTF_8), headers),
+                new HttpEntity<>(compressed.toByteArray(), gzipHeaders))) {
+            var response = restTemplate.exchange(getBaseUrl(), HttpMethod.POST, entity, String.class);
+
+            assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, response.getStatusCode());
+            var problem = objectMapper.readTree(response.getBody());
+            assertEquals("Input limit exceeded", problem.get("title").asText());
+            assertEquals("max-body-size", problem.get("limit").asText());
+        }
+        var bulkHeaders = new HttpHeaders();
+        bulkHeaders.setContentType(MediaType.APPLICATION_NDJSON);
+        var bulk = restTemplate.exchange(getBaseUrl() + "/bulk", HttpMethod.POST, new HttpEntity<>(padded,
+                bulkHeaders), String.class);
+        assertEquals("{\"index\":0,\"status\":\"ok\",\"id\":1}", bulk.getBody().strip());
+    }
+
+    @Test
+    void testBodiesOverInputLimitsAreAnsweredAndCounted() throws IOException {
+        var cases = new Object[][] {
+                { MediaType.APPLICATION_JSON, "{\"x\":" + "[".repeat(40) + "]".repeat(40) + "}", "max-depth" },
+                { MediaType.APPLICATION_JSON, "{\"name\":\"" + "n".repeat(70000) + "\"}", "max-string-length" },
+                { MediaType.APPLICATION_XML, "<person" + " a=\"1\"".repeat(17) + "/>", "max-attributes" },
+                { MediaType.APPLICATION_XML, "<person>" + "<address/>".repeat(1001) + "</person>", "max-addresses" },
+                { MediaType.APPLICATION_XML, "<person>" + "<x/>".repeat(257) + "</person>", "max-extras" } };
+        for (Object[] c : cases) {
+            var headers = new HttpHeaders();
+            headers.setContentType((MediaType) c[0]);
+
+            var response = restTemplate.exchange(getBaseUrl(), HttpMethod.POST, new HttpEntity<>(c[1], headers),
+                    String.class);
+
+            assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode(), (String) c[2]);
+            assertEquals(c[2], objectMapper.readTree(response.getBody()).get("limit").asText());
+        }
+        var metrics = restTemplate.getForObject("http://localhost:" + port + "/actuator/prometheus", String.class);
+        assertTrue(metrics.contains("http_server_requests_limited_total{limit=\"max-extras\"} "), metrics);
     }
 
     @Test
@@ -139,12 +290,66 @@ class PersonIntegrationTest {
         assertNotNull(response.getBody());
     }
 
+    @Test
+    void testBulkNdjsonStreamsResultPerRecord() {
+        var body = "{\"id\":1,\"name\":\"John Doe\"}\n{\"id\":2,\"name\":\"Jane Doe\"}\n";
+        var headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_NDJSON);
+        var entity = new HttpEntity<>(body, headers);
+
+        var response = restTemplate.exchange(getBaseUrl() + "/bulk", HttpMethod.POST, entity, String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        var lines = response.getBody().lines().toList();
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(1).contains("\"id\":2"));
+    }
+
+    @Test
+    void testBulkXmlStreamsResultPerRecord() throws IOException {
+        var person = loadResource("person.xml").replaceFirst("<\\?xml[^>]*>", "");
+        var body = "<persons>" + person + person + "</persons>";
+        var headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_XML);
+        var entity = new HttpEntity<>(body, headers);
+
+        var response = restTemplate.exchange(getBaseUrl() + "/bulk", HttpMethod.POST, entity, String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(2, response.getBody().lines().filter(line -> line.contains("\"status\":\"ok\"")).count());
+    }
+
+    @Test
+    void testBatchJsonArrayReturnsResultPerRecordInOrder() {
+        var body = new StringBuilder("[");
+        for (int i = 0; i < 2000; i++) {
+            body.append(i > 0 ? "," : "").append("{\"id\":").append(i).append(",\"name\":\"N\"}");
+        }
+        var headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        var entity = new HttpEntity<>(body.append(']').toString(), headers);
+
+        var response = restTemplate.exchange(getBaseUrl() + "/batch", HttpMethod.POST, entity, String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        var lines = response.getBody().lines().toList();
+        assertEquals(2000, lines.size());
+        assertEquals("{\"index\":1999,\"status\":\"ok\",\"id\":1999}", lines.get(1999).strip());
+    }
+
     private ResponseEntity<String> fetch(String path, MediaType contentType, MediaType acceptType) throws IOException {
         var body = loadResource(path);
         var entity = createEntity(body, contentType, acceptType);
         return restTemplate.exchange(getBaseUrl(), HttpMethod.POST, entity, String.class);
     }
 
+    private ObjectMapper mapperFor(MediaType type) {
+        return type.equals(MediaType.APPLICATION_CBOR) ? cborMapper : smileMapper;
+    }
+
     private String loadResource(String path) throws IOException {
         ClassPathResource resource = new ClassPathResource(path);
         return StreamUtils.copyToString(resource.getInputStream(), StandardCharsets.UTF_8);
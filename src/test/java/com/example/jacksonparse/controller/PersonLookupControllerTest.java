@@ -0,0 +1,75 @@
+package com.example.jacksonparse.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.example.jacksonparse.storage.PersonQuery;
+import com.example.jacksonparse.storage.PersonRepository;
+import com.example.jacksonparse.storage.StoredPersons;
+
+@ExtendWith(MockitoExtension.class)
+class PersonLookupControllerTest {
+    private static final byte[] JSON = "{\"id\":1}".getBytes();
+
+    @Mock
+    private PersonRepository repository;
+
+    @InjectMocks
+    private PersonLookupController controller;
+
+    @Test
+    void testGetPersonAnswersStoredJson() throws IOException {
+        when(repository.findById(1)).thenReturn(JSON);
+
+        ResponseEntity<StoredPersons> response = controller.getPerson(1);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(JSON), response.getBody().json());
+        assertFalse(response.getBody().array());
+    }
+
+    @Test
+    void testGetPersonAnswersNotFound() throws IOException {
+        ResponseEntity<StoredPersons> response = controller.getPerson(2);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertNull(response.getBody());
+    }
+
+    @Test
+    void testFindPersonsAnswersArray() throws IOException {
+        when(repository.find(any())).thenReturn(List.of(JSON));
+
+        StoredPersons persons = controller.findPersons(null, "Berlin", null, 10);
+
+        assertSame(JSON, persons.json().get(0));
+        assertTrue(persons.array());
+        verify(repository).find(new PersonQuery(null, "Berlin", null, 10));
+    }
+
+    @Test
+    void testFindPersonsRequiresCriterion() {
+        assertThrows(IllegalArgumentException.class, () -> controller.findPersons(null, null, null, 100));
+
+        verifyNoInteractions(repository);
+    }
+}
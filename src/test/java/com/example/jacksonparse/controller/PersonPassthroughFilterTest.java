@@ -0,0 +1,203 @@
+package com.example.jacksonparse.controller;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.example.jacksonparse.config.JacksonConfig;
+import com.example.jacksonparse.config.MapperProperties;
+import com.example.jacksonparse.model.Person;
+import com.example.jacksonparse.service.BufferPool;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+class PersonPassthroughFilterTest {
+    private static final String JSON = "{ \"version\": \"1.1\", \"id\": 1, \"name\": \"N\", \"unknown\": [1, 2] }";
+    private static final String XML = "<person version=\"1.1\"><id>1</id><name>N</name><unknown>1</unknown></person>";
+
+    private final JacksonConfig config = new JacksonConfig(new MapperProperties());
+    private final ObjectMapper objectMapper = config.objectMapper();
+    private final XmlMapper xmlMapper = config.xmlMapper();
+    private final BufferPool bufferPool = new BufferPool(64, 4);
+    private final PersonPassthroughFilter filter = new PersonPassthroughFilter(objectMapper, xmlMapper,
+            config.personTranscoder(), bufferPool);
+
+    @Test
+    void testEchoesBodyInSameFormat() throws ServletException, IOException {
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request(MediaType.APPLICATION_JSON_VALUE, "application/json;charset=UTF-8", JSON), response,
+                chain);
+
+        assertNull(chain.getRequest());
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, response.getContentType());
+        assertEquals(JSON, response.getContentAsString());
+        assertEquals(JSON.length(), response.getContentLength());
+    }
+
+    @Test
+    void testTranscodesBetweenFormats() throws ServletException, IOException {
+        MockHttpServletResponse toXml = new MockHttpServletResponse();
+        MockHttpServletResponse toJson = new MockHttpServletResponse();
+
+        filter.doFilter(request(MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, JSON), toXml,
+                new MockFilterChain());
+        filter.doFilter(request(MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_JSON_VALUE, XML), toJson,
+                new MockFilterChain());
+
+        assertEquals(MediaType.APPLICATION_XML_VALUE, toXml.getContentType());
+        assertEquals("<person version=\"1.1\"><id>1</id><name>N</name><unknown>1</unknown><unknown>2</unknown>"
+                + "</person>", toXml.getContentAsString());
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, toJson.getContentType());
+        assertEquals(xmlMapper.readValue(XML, Person.class),
+                objectMapper.readValue(toJson.getContentAsString(), Person.class));
+        assertEquals(toJson.getContentAsByteArray().length, toJson.getContentLength());
+        assertEquals(2, bufferPool.idle());
+    }
+
+    @Test
+    void testPassesRejectedBodiesToBinding() throws ServletException, IOException {
+        String[][] cases = { { MediaType.APPLICATION_JSON_VALUE, "{\"id\":\"x\"}" },
+                { MediaType.APPLICATION_JSON_VALUE, "{\"id\":" }, { MediaType.APPLICATION_XML_VALUE, "{\"x\":null}" },
+                { MediaType.APPLICATION_XML_VALUE, "{\"id\":" } };
+        for (String[] accepted : cases) {
+            String body = accepted[1];
+            MockFilterChain chain = new MockFilterChain();
+
+            filter.doFilter(request(MediaType.APPLICATION_JSON_VALUE, accepted[0], body),
+                    new MockHttpServletResponse(), chain);
+
+            HttpServletRequest replay = (HttpServletRequest) chain.getRequest();
+            assertArrayEquals(body.getBytes(StandardCharsets.UTF_8), replay.getInputStream().readAllBytes(), body);
+            assertEquals(body.length(), replay.getContentLength());
+        }
+    }
+
+    @Test
+    void testPassesExtrasBeyondRawLimitsToBinding() throws ServletException, IOException {
+        MapperProperties properties = new MapperProperties();
+        properties.getExtras().setMode(MapperProperties.ExtrasMode.RAW);
+        properties.getExtras().setMaxDepth(1);
+        JacksonConfig raw = new JacksonConfig(properties);
+        PersonPassthroughFilter rawFilter = new PersonPassthroughFilter(raw.objectMapper(), raw.xmlMapper(),
+                raw.personTranscoder(), bufferPool);
+        for (String accept : List.of(MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE)) {
+            MockFilterChain chain = new MockFilterChain();
+
+            rawFilter.doFilter(request(MediaType.APPLICATION_JSON_VALUE, accept, "{\"id\":1,\"x\":[[1]]}"),
+                    new MockHttpServletResponse(), chain);
+
+            assertNotNull(chain.getRequest(), accept);
+        }
+    }
+
+    @Test
+    void testLeavesOtherNegotiationToBinding() throws ServletException, IOException {
+        String[][] cases = { { MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_JSON_VALUE },
+                { MediaType.APPLICATION_JSON_VALUE, null }, { null, MediaType.APPLICATION_JSON_VALUE },
+                { MediaType.APPLICATION_JSON_VALUE, "application/json, application/xml" },
+                { MediaType.APPLICATION_JSON_VALUE, "*/*" }, { "application/json;charset=UTF-16", "application/json" },
+                { MediaType.APPLICATION_JSON_VALUE, "not a type" } };
+        for (String[] types : cases) {
+            MockHttpServletRequest request = request(types[0], types[1], JSON);
+            MockFilterChain chain = new MockFilterChain();
+
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+            assertSame(request, chain.getRequest(), String.join(" / ", String.valueOf(types[0]), types[1]));
+        }
+    }
+
+    @Test
+    void testOnlyFiltersPostsToPersonPath() throws ServletException {
+        MockHttpServletRequest get = request(MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE, JSON);
+        get.setMethod("GET");
+        MockHttpServletRequest bulk = request(MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE, JSON);
+        bulk.setRequestURI(PersonPassthroughFilter.PATH + "/bulk");
+
+        assertTrue(filter.shouldNotFilter(get));
+        assertTrue(filter.shouldNotFilter(bulk));
+        assertFalse(filter.shouldNotFilter(
+                request(MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE, JSON)));
+    }
+
+    @Test
+    void testBufferedBodyRequestReplaysBody() throws IOException {
+        MockHttpServletRequest original = new MockHttpServletRequest();
+        PersonPassthroughFilter.BufferedBodyRequest request = new PersonPassthroughFilter.BufferedBodyRequest(
+                original, "é".getBytes(StandardCharsets.UTF_8));
+        ServletInputStream in = request.getInputStream();
+
+        assertTrue(in.isReady());
+        assertFalse(in.isFinished());
+        assertEquals(0xC3, in.read());
+        assertEquals(1, in.read(new byte[4], 0, 4));
+        assertTrue(in.isFinished());
+        assertEquals(2L, request.getContentLengthLong());
+        assertEquals("Ã©", request.getReader().readLine());
+        original.setCharacterEncoding("UTF-8");
+        assertEquals("é", request.getReader().readLine());
+    }
+
+    @Test
+    void testBufferedBodyNotifiesReadListener() throws IOException {
+        ServletInputStream in = new PersonPassthroughFilter.BufferedBodyRequest(new MockHttpServletRequest(),
+                new byte[] { 1, 2 }).getInputStream();
+        ReadListener listener = mock(ReadListener.class);
+        byte[][] read = new byte[1][];
+        doAnswer(invocation -> read[0] = in.readAllBytes()).when(listener).onDataAvailable();
+        IOException failure = new IOException("read failed");
+        ReadListener failing = mock(ReadListener.class);
+        doThrow(failure).when(failing).onDataAvailable();
+
+        in.setReadListener(listener);
+        in.setReadListener(failing);
+
+        InOrder order = inOrder(listener);
+        order.verify(listener).onDataAvailable();
+        order.verify(listener).onAllDataRead();
+        verify(listener, never()).onError(any());
+        verify(failing).onError(failure);
+        verify(failing, never()).onAllDataRead();
+        assertArrayEquals(new byte[] { 1, 2 }, read[0]);
+    }
+
+    private static MockHttpServletRequest request(String contentType, String accept, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", PersonPassthroughFilter.PATH);
+        request.setContentType(contentType);
+        if (accept != null) {
+            request.addHeader(HttpHeaders.ACCEPT, accept);
+        }
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
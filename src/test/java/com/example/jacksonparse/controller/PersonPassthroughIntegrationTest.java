@@ -0,0 +1,93 @@
+package com.example.jacksonparse.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestConstructor;
+import org.springframework.util.StreamUtils;
+
+import com.example.jacksonparse.model.Person;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+import lombok.RequiredArgsConstructor;
+
+@Tag("integration")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "app.passthrough.enabled=true")
+@TestConstructor(autowireMode = TestConstructor.AutowireMode.ALL)
+@RequiredArgsConstructor
+class PersonPassthroughIntegrationTest {
+    private final TestRestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+    private final XmlMapper xmlMapper;
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void testSameFormatReturnsRequestBytes() throws IOException {
+        for (String path : new String[] { "person.json", "person.xml" }) {
+            MediaType type = path.endsWith(".json") ? MediaType.APPLICATION_JSON : MediaType.APPLICATION_XML;
+
+            var response = post(loadResource(path), type, type);
+
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertEquals(loadResource(path), response.getBody());
+        }
+    }
+
+    @Test
+    void testCrossFormatTranscodesToEquivalentDocument() throws IOException {
+        var toXml = post(loadResource("person.json"), MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML);
+        var toJson = post(loadResource("person.xml"), MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON);
+
+        assertEquals(HttpStatus.OK, toXml.getStatusCode());
+        assertTrue(toXml.getBody().startsWith("<person version=\"1.1\">"), toXml.getBody());
+        assertEquals(objectMapper.readValue(loadResource("person.json"), Person.class),
+                xmlMapper.readValue(toXml.getBody(), Person.class));
+        assertEquals(HttpStatus.OK, toJson.getStatusCode());
+        assertEquals(xmlMapper.readValue(loadResource("person.xml"), Person.class),
+                objectMapper.readValue(toJson.getBody(), Person.class));
+    }
+
+    @Test
+    void testRejectedBodiesAreBound() throws IOException {
+        var coerced = post("{\"id\":\"1\",\"name\":2}", MediaType.APPLICATION_JSON, MediaType.APPLICATION_JSON);
+        var invalid = post("{ invalid json }", MediaType.APPLICATION_JSON, MediaType.APPLICATION_JSON);
+
+        assertEquals(HttpStatus.OK, coerced.getStatusCode());
+        assertEquals("2", objectMapper.readValue(coerced.getBody(), Person.class).getName());
+        assertEquals(HttpStatus.BAD_REQUEST, invalid.getStatusCode());
+        assertEquals(MediaType.APPLICATION_PROBLEM_JSON, invalid.getHeaders().getContentType());
+        assertEquals("JsonParseException", objectMapper.readTree(invalid.getBody()).get("exception").asText());
+    }
+
+    private ResponseEntity<String> post(String body, MediaType contentType, MediaType acceptType) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(contentType);
+        headers.setAccept(Collections.singletonList(acceptType));
+        return restTemplate.exchange("http://localhost:" + port + "/api/person", HttpMethod.POST,
+                new HttpEntity<>(body, headers), String.class);
+    }
+
+    private String loadResource(String path) throws IOException {
+        ClassPathResource resource = new ClassPathResource(path);
+        return StreamUtils.copyToString(resource.getInputStream(), StandardCharsets.UTF_8);
+    }
+}
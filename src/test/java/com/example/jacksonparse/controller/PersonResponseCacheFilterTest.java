@@ -0,0 +1,134 @@
+package com.example.jacksonparse.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import com.example.jacksonparse.config.ResponseCacheProperties;
+import com.example.jacksonparse.service.ResponseCache;
+
+class PersonResponseCacheFilterTest {
+    private static final String JSON = "{\"id\":1,\"name\":\"N\"}";
+    private static final String XML = "<person><id>1</id><name>N</name></person>";
+
+    private final ResponseCache cache = new ResponseCache(1024 * 1024, Duration.ofMinutes(1));
+    private final PersonResponseCacheFilter filter = new PersonResponseCacheFilter(cache, properties(64));
+    private int calls;
+    private int status = HttpServletResponse.SC_OK;
+    private String contentType = MediaType.APPLICATION_XML_VALUE;
+
+    @Test
+    void testAnswersRepeatedRequestFromCache() throws ServletException, IOException {
+        MockHttpServletResponse first = send(filter, request(JSON, MediaType.APPLICATION_XML_VALUE));
+        MockHttpServletResponse second = send(filter, request(JSON, MediaType.APPLICATION_XML_VALUE));
+
+        assertEquals(1, calls);
+        for (MockHttpServletResponse response : new MockHttpServletResponse[] { first, second }) {
+            assertEquals(MediaType.APPLICATION_XML_VALUE, response.getContentType());
+            assertEquals(XML, response.getContentAsString());
+            assertEquals(XML.length(), response.getContentLength());
+        }
+    }
+
+    @Test
+    void testBindsOtherNegotiationsAndBodies() throws ServletException, IOException {
+        send(filter, request(JSON, MediaType.APPLICATION_XML_VALUE));
+
+        send(filter, request(JSON, MediaType.APPLICATION_JSON_VALUE));
+        send(filter, request("{\"id\":2}", MediaType.APPLICATION_XML_VALUE));
+        MockHttpServletRequest xml = request(XML, MediaType.APPLICATION_XML_VALUE);
+        xml.setContentType(MediaType.APPLICATION_XML_VALUE);
+        send(filter, xml);
+
+        assertEquals(4, calls);
+        assertEquals(4, cache.size());
+    }
+
+    @Test
+    void testDoesNotCacheErrorsOrUntypedResponses() throws ServletException, IOException {
+        status = HttpServletResponse.SC_BAD_REQUEST;
+        send(filter, request(JSON, null));
+        MockHttpServletResponse error = send(filter, request(JSON, null));
+        status = HttpServletResponse.SC_OK;
+        contentType = null;
+        send(filter, request(JSON, null));
+        send(filter, request(JSON, null));
+
+        assertEquals(4, calls);
+        assertEquals(0, cache.size());
+        assertEquals(HttpServletResponse.SC_BAD_REQUEST, error.getStatus());
+        assertEquals(XML, error.getContentAsString());
+    }
+
+    @Test
+    void testBindsLargeAndUnsizedBodies() throws ServletException, IOException {
+        PersonResponseCacheFilter small = new PersonResponseCacheFilter(cache, properties(JSON.length() - 1));
+        MockHttpServletRequest unsized = request(JSON, null);
+        unsized.setContent(null);
+
+        send(small, request(JSON, null));
+        send(small, request(JSON, null));
+        send(filter, unsized);
+
+        assertEquals(3, calls);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testSkipsOtherRequests() throws ServletException, IOException {
+        MockHttpServletRequest get = request(JSON, null);
+        get.setMethod("GET");
+        MockHttpServletRequest other = request(JSON, null);
+        other.setRequestURI("/api/person/bulk");
+
+        send(filter, get);
+        send(filter, other);
+
+        assertEquals(2, calls);
+        assertEquals(0, cache.size());
+    }
+
+    private MockHttpServletResponse send(PersonResponseCacheFilter filter, MockHttpServletRequest request)
+            throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+            calls++;
+            req.getInputStream().readAllBytes();
+            HttpServletResponse http = (HttpServletResponse) res;
+            http.setStatus(status);
+            http.setContentType(contentType);
+            http.getOutputStream().write(XML.getBytes(StandardCharsets.UTF_8));
+        };
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String body, String accept) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", PersonPassthroughFilter.PATH);
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        if (accept != null) {
+            request.addHeader(HttpHeaders.ACCEPT, accept);
+        }
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private static ResponseCacheProperties properties(int maxBodySize) {
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setMaxBodySize(DataSize.ofBytes(maxBodySize));
+        return properties;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.jacksonparse.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestConstructor;
+import org.springframework.util.StreamUtils;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.RequiredArgsConstructor;
+
+@Tag("integration")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "app.response-cache.enabled=true")
+@TestConstructor(autowireMode = TestConstructor.AutowireMode.ALL)
+@RequiredArgsConstructor
+class PersonResponseCacheIntegrationTest {
+    private final TestRestTemplate restTemplate;
+    private final MeterRegistry registry;
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void testRepeatedRequestGetsSameResponseFromCache() throws IOException {
+        double hits = hits();
+
+        var first = post(loadResource("person.json"), MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML);
+        var second = post(loadResource("person.json"), MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML);
+
+        assertEquals(HttpStatus.OK, second.getStatusCode());
+        assertEquals(first.getHeaders().getContentType(), second.getHeaders().getContentType());
+        assertEquals(first.getBody(), second.getBody());
+        assertEquals(hits + 1, hits());
+    }
+
+    @Test
+    void testErrorsAreNotCached() {
+        double hits = hits();
+
+        var first = post("{ invalid json }", MediaType.APPLICATION_JSON, MediaType.APPLICATION_JSON);
+        var second = post("{ invalid json }", MediaType.APPLICATION_JSON, MediaType.APPLICATION_JSON);
+
+        assertEquals(HttpStatus.BAD_REQUEST, first.getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, second.getStatusCode());
+        assertEquals(hits, hits());
+    }
+
+    private double hits() {
+        return registry.get("cache.gets").tags("cache", "person.responses", "result", "hit").functionCounter().count();
+    }
+
+    private ResponseEntity<String> post(String body, MediaType contentType, MediaType acceptType) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(contentType);
+        headers.setAccept(Collections.singletonList(acceptType));
+        return restTemplate.exchange("http://localhost:" + port + "/api/person", HttpMethod.POST,
+                new HttpEntity<>(body, headers), String.class);
+    }
+
+    private String loadResource(String path) throws IOException {
+        ClassPathResource resource = new ClassPathResource(path);
+        return StreamUtils.copyToString(resource.getInputStream(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.jacksonparse.controller;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestConstructor;
+import org.springframework.util.StreamUtils;
+
+import com.example.jacksonparse.model.Person;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+import lombok.RequiredArgsConstructor;
+
+@Tag("integration")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = { "app.storage.enabled=true", "app.passthrough.enabled=true", "app.response-cache.enabled=true" })
+@TestConstructor(autowireMode = TestConstructor.AutowireMode.ALL)
+@RequiredArgsConstructor
+// The segment is checked before the lookups append to it
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class PersonStorageIntegrationTest {
+    @TempDir
+    static Path directory;
+
+    private final TestRestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+    private final XmlMapper xmlMapper;
+    private final ApplicationContext context;
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void storageDirectory(DynamicPropertyRegistry registry) {
+        registry.add("app.storage.directory", directory::toString);
+    }
+
+    @Test
+    void testAcceptedPersonIsOnDiskWhenAnswered() throws IOException {
+        String body = personJson();
+
+        var response = post(body);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        ByteBuffer segment = ByteBuffer.wrap(Files.readAllBytes(directory.resolve("segment-0000000000.log")));
+        int length = segment.getInt();
+        assertEquals(segment.capacity(), 8 + length);
+        assertEquals(objectMapper.readValue(body, Person.class),
+                objectMapper.readValue(segment.array(), 8, length, Person.class));
+    }
+
+    @Test
+    void testPassthroughIsOffWhilePersonsAreStored() {
+        assertEquals(0, context.getBeanNamesForType(PersonPassthroughFilter.class).length);
+    }
+
+    @Test
+    void testRepeatedBodiesAreStoredEachTime() throws IOException {
+        String body = personJson();
+        int stored = records();
+
+        assertEquals(HttpStatus.OK, post(body).getStatusCode());
+        assertEquals(HttpStatus.OK, post(body).getStatusCode());
+
+        assertEquals(stored + 2, records());
+        assertEquals(objectMapper.readValue(body, Person.class),
+                objectMapper.readValue(get("/api/person/1", MediaType.APPLICATION_JSON).getBody(), Person.class));
+        assertEquals(0, context.getBeanNamesForType(PersonResponseCacheFilter.class).length);
+    }
+
+    @Test
+    void testStoredPersonsAreLookedUp() throws IOException {
+        String body = personJson();
+        Person person = objectMapper.readValue(body, Person.class);
+        assertEquals(HttpStatus.OK, post(body).getStatusCode());
+
+        var json = get("/api/person/1", MediaType.APPLICATION_JSON);
+        var xml = get("/api/person/1", MediaType.APPLICATION_XML);
+        var found = get("/api/person?city=Springfield&zipCode=12346", MediaType.APPLICATION_JSON);
+
+        assertEquals(person, objectMapper.readValue(json.getBody(), Person.class));
+        assertEquals(MediaType.APPLICATION_XML, xml.getHeaders().getContentType());
+        assertEquals(person, xmlMapper.readValue(xml.getBody(), Person.class));
+        assertArrayEquals(new Person[] { person }, objectMapper.readValue(found.getBody(), Person[].class));
+        assertEquals(HttpStatus.NOT_FOUND, get("/api/person/2", MediaType.APPLICATION_JSON).getStatusCode());
+        assertEquals("[]", get("/api/person?email=x@example.com", MediaType.APPLICATION_JSON).getBody());
+        assertEquals(HttpStatus.BAD_REQUEST, get("/api/person", MediaType.APPLICATION_JSON).getStatusCode());
+    }
+
+    private ResponseEntity<String> post(String body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(Collections.singletonList(MediaType.APPLICATION_XML));
+        return restTemplate.exchange("http://localhost:" + port + "/api/person", HttpMethod.POST,
+                new HttpEntity<>(body, headers), String.class);
+    }
+
+    private ResponseEntity<String> get(String path, MediaType accept) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(Collections.singletonList(accept));
+        return restTemplate.exchange("http://localhost:" + port + path, HttpMethod.GET, new HttpEntity<>(headers),
+                String.class);
+    }
+
+    private static int records() throws IOException {
+        ByteBuffer segment = ByteBuffer.wrap(Files.readAllBytes(directory.resolve("segment-0000000000.log")));
+        int count = 0;
+        for (int position = 0; position < segment.capacity(); position += 8 + segment.getInt(position)) {
+            count++;
+        }
+        return count;
+    }
+
+    private static String personJson() throws IOException {
+        return StreamUtils.copyToString(new ClassPathResource("person.json").getInputStream(), StandardCharsets.UTF_8);
+    }
+}
@@ -2,9 +2,17 @@ package com.example.jacksonparse.exception;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
 import jakarta.servlet.http.HttpServletRequest;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -12,19 +20,39 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.mock.http.MockHttpInputMessage;
+
+import com.example.jacksonparse.codec.InputLimitException;
+import com.example.jacksonparse.codec.InputLimitException.Limit;
+import com.example.jacksonparse.codec.PersonValidationException;
+import com.example.jacksonparse.config.JacksonConfig;
+import com.example.jacksonparse.config.MapperProperties;
+import com.example.jacksonparse.model.Person;
+import com.example.jacksonparse.storage.StorageException;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @ExtendWith(MockitoExtension.class)
 class GlobalExceptionHandlerTest {
     @Mock
     private HttpServletRequest request;
 
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
     private GlobalExceptionHandler handler;
 
     @BeforeEach
     void setUp() {
-        handler = new GlobalExceptionHandler();
+        handler = new GlobalExceptionHandler(registry, new LogRateLimiter(1, Duration.ofMinutes(1), () -> 0L));
     }
 
     @Test
@@ -70,4 +98,144 @@ class GlobalExceptionHandlerTest {
         assertNotNull(response.getBody());
         assertTrue(response.getBody().contains("Error: null"));
     }
+
+    @Test
+    void testMalformedJsonReturnsProblemWithLocation() throws IOException {
+        when(request.getMethod()).thenReturn("POST");
+        when(request.getRequestURI()).thenReturn("/api/person");
+        JsonProcessingException cause = parseError(new ObjectMapper(), "{\n  \"name\": \"N\",\n  invalid }");
+
+        ResponseEntity<byte[]> response = handler.handleMalformedInput(
+                new HttpMessageNotReadableException("JSON parse error", cause, new MockHttpInputMessage(new byte[0])),
+                request);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_PROBLEM_JSON, response.getHeaders().getContentType());
+        assertEquals(response.getBody().length, response.getHeaders().getContentLength());
+        JsonNode problem = new ObjectMapper().readTree(response.getBody());
+        assertEquals(400, problem.get("status").asInt());
+        assertEquals("JsonParseException", problem.get("exception").asText());
+        assertEquals(cause.getOriginalMessage(), problem.get("detail").asText());
+        assertEquals(3, problem.get("line").asInt());
+        assertEquals(3, problem.get("column").asInt());
+    }
+
+    @Test
+    void testMalformedBodiesWithoutLocation() throws IOException {
+        JsonProcessingException noLocation = new JsonProcessingException("Tab\there \"quoted\"") {
+        };
+        JsonProcessingException unknownLocation = new JsonProcessingException("unknown", JsonLocation.NA) {
+        };
+
+        for (Exception e : List.of(noLocation, unknownLocation,
+                new HttpMessageNotReadableException("Required request body is missing",
+                        new MockHttpInputMessage(new byte[0])),
+                new HttpMessageNotReadableException(null, new MockHttpInputMessage(new byte[0])))) {
+            JsonNode problem = new ObjectMapper().readTree(handler.handleMalformedInput(e, request).getBody());
+
+            String detail = e instanceof JsonProcessingException jackson ? jackson.getOriginalMessage()
+                    : e.getMessage();
+            assertEquals(String.valueOf(detail), problem.get("detail").asText());
+            assertNull(problem.get("line"));
+        }
+    }
+
+    @Test
+    void testInvalidPersonReturnsProblemWithViolations() throws IOException {
+        when(request.getMethod()).thenReturn("POST");
+        when(request.getRequestURI()).thenReturn("/api/person");
+        MapperProperties properties = new MapperProperties();
+        properties.setValidation(true);
+        ObjectMapper mapper = new JacksonConfig(properties).objectMapper();
+        PersonValidationException cause = assertThrows(PersonValidationException.class,
+                () -> mapper.readValue("{\"name\":\"\",\"email\":\"e\"}", Person.class));
+
+        JsonNode problem = new ObjectMapper().readTree(handler.handleMalformedInput(
+                new HttpMessageNotReadableException("JSON parse error", cause, new MockHttpInputMessage(new byte[0])),
+                request).getBody());
+
+        assertEquals("Invalid person", problem.get("title").asText());
+        assertEquals("PersonValidationException", problem.get("exception").asText());
+        assertEquals(cause.getOriginalMessage(), problem.get("detail").asText());
+        assertNull(problem.get("line"));
+        assertEquals(new ObjectMapper().readTree("""
+                [{"location":"/name","detail":"must not be blank"},
+                 {"location":"/email","detail":"must be a valid email address"},
+                 {"location":"/id","detail":"is required"}]
+                """), problem.get("violations"));
+        assertEquals(1, registry.get(MalformedInputResponder.METRIC).tag("exception", "PersonValidationException")
+                .counter().count());
+    }
+
+    @Test
+    void testLimitsReturnProblemAndAreCountedPerLimit() throws IOException {
+        MapperProperties properties = new MapperProperties();
+        properties.getLimits().setMaxDepth(2);
+        JacksonConfig config = new JacksonConfig(properties);
+        Exception json = new HttpMessageNotReadableException("JSON parse error",
+                assertThrows(JsonProcessingException.class, () -> config.objectMapper().readValue(
+                        "{\"x\":{\"y\":{}}}", Person.class)), new MockHttpInputMessage(new byte[0]));
+        Exception xml = parseError(config.xmlMapper(), "<person><x><y/></x></person>");
+
+        for (Exception e : List.of(json, xml)) {
+            ResponseEntity<byte[]> response = handler.handleMalformedInput(e, request);
+
+            assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+            JsonNode problem = new ObjectMapper().readTree(response.getBody());
+            assertEquals("Input limit exceeded", problem.get("title").asText());
+            assertEquals(400, problem.get("status").asInt());
+            assertEquals("max-depth", problem.get("limit").asText());
+        }
+        ResponseEntity<byte[]> tooLarge = handler.handleMalformedInput(new InputLimitException(Limit.BODY_SIZE, 10),
+                request);
+
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, tooLarge.getStatusCode());
+        JsonNode problem = new ObjectMapper().readTree(tooLarge.getBody());
+        assertEquals(413, problem.get("status").asInt());
+        assertEquals("InputLimitException", problem.get("exception").asText());
+        assertEquals("Request body size exceeds the limit of 10 (app.jackson.limits.max-body-size)",
+                problem.get("detail").asText());
+        assertEquals(2, registry.get(MalformedInputResponder.LIMITED_METRIC).tag("limit", "max-depth").counter()
+                .count());
+        assertEquals(1, registry.get(MalformedInputResponder.LIMITED_METRIC).tag("limit", "max-body-size").counter()
+                .count());
+        assertEquals(0, registry.get(MalformedInputResponder.LIMITED_METRIC).tag("limit", "max-extras").counter()
+                .count());
+        assertEquals(1, registry.get(MalformedInputResponder.METRIC).tag("exception", "InputLimitException").counter()
+                .count());
+    }
+
+    @Test
+    void testMalformedBodiesAreCountedAndRateLimited() throws IOException {
+        Exception xml = new HttpMessageNotReadableException("XML parse error",
+                parseError(new XmlMapper(), "<person><invalid>"), new MockHttpInputMessage(new byte[0]));
+
+        for (int i = 0; i < 3; i++) {
+            handler.handleMalformedInput(xml, request);
+        }
+        handler.handleMalformedInput(new HttpMessageNotReadableException("missing", new MockHttpInputMessage(
+                new byte[0])), request);
+
+        assertEquals(3, registry.get(MalformedInputResponder.METRIC).tag("exception", "JsonParseException").counter()
+                .count());
+        assertEquals(1, registry.get(MalformedInputResponder.METRIC)
+                .tag("exception", "HttpMessageNotReadableException").counter().count());
+        verify(request, times(1)).getRequestURI();
+    }
+
+    @Test
+    void testUnstoredPersonIsRetriedLater() throws IOException {
+        ResponseEntity<byte[]> response = handler.handleStorageFailure(new StorageException("Storage queue is full"));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(MediaType.APPLICATION_PROBLEM_JSON, response.getHeaders().getContentType());
+        JsonNode problem = new ObjectMapper().readTree(response.getBody());
+        assertEquals("Person not stored", problem.get("title").asText());
+        assertEquals("Storage queue is full", problem.get("detail").asText());
+    }
+
+    private static JsonProcessingException parseError(ObjectMapper mapper, String content) {
+        return assertThrows(JsonProcessingException.class, () -> mapper.readTree(content));
+    }
 }
@@ -0,0 +1,28 @@
+package com.example.jacksonparse.exception;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class LogRateLimiterTest {
+    private final AtomicLong now = new AtomicLong(1_000);
+    private final LogRateLimiter limiter = new LogRateLimiter(2, Duration.ofNanos(100), now::get);
+
+    @Test
+    void testGivesPermitsPerWindowAndReportsDenials() {
+        assertEquals(0, limiter.acquire());
+        assertEquals(0, limiter.acquire());
+        assertEquals(LogRateLimiter.DENIED, limiter.acquire());
+        assertEquals(LogRateLimiter.DENIED, limiter.acquire());
+
+        now.addAndGet(99);
+        assertEquals(LogRateLimiter.DENIED, limiter.acquire());
+        now.addAndGet(1);
+        assertEquals(3, limiter.acquire());
+        assertEquals(0, limiter.acquire());
+        assertEquals(LogRateLimiter.DENIED, limiter.acquire());
+    }
+}
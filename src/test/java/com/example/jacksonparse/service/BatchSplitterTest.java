@@ -0,0 +1,94 @@
+package com.example.jacksonparse.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.jacksonparse.service.BatchSplitter.Records;
+
+class BatchSplitterTest {
+    @Test
+    void testFindsJsonArrayElements() {
+        assertEquals(List.of(), json("[]"));
+        assertEquals(List.of(), json("\uFEFF [\t]\r\n"));
+        assertEquals(List.of("1", "\"a,]\\\"\"", "{\"a\":[1,{\"b\":\"}\"}]}", "[ ]", "é"),
+                json(" [ 1 ,\"a,]\\\"\",\n{\"a\":[1,{\"b\":\"}\"}]}, [ ] ,é] "));
+    }
+
+    @Test
+    void testDoesNotSplitOtherJson() {
+        for (String body : List.of("", " ", "{}", "[", "[1", "[1,", "[,1]", "[1,]", "[1,,2]", "[1] 2", "[\"a]",
+                "[\"a\\\"]")) {
+            assertNull(BatchSplitter.json(body.getBytes(StandardCharsets.UTF_8)), body);
+        }
+    }
+
+    @Test
+    void testFindsXmlPersonElements() {
+        assertEquals(List.of(), xml("<?xml version=\"1.0\"?><persons/>"));
+        assertEquals(List.of(), xml("<persons a=\"1\"><person/><person></person><person>text</person></persons>"));
+        assertEquals(List.of("<person a=\"x>y\"/>", "<p:person><id>1</id></p:person><other><id/></other><person/>"
+                + "<xperson><id/></xperson><person >t</person><!-- <person> -->", "<person\n><id>1</id>"
+                + "<![CDATA[</persons>]]><?pi </person>?></person>", "<person\tb='2'/>x"),
+                xml("\uFEFF<?xml version=\"1.0\" encoding='utf-8'?>\n<!-- c --><?pi?>\r\n<persons\tb='x'>"
+                        + "<person a=\"x>y\"/><p:person><id>1</id></p:person><other><id/></other><person/>"
+                        + "<xperson><id/></xperson><person >t</person><!-- <person> --><person\n><id>1</id>"
+                        + "<![CDATA[</persons>]]><?pi </person>?></person><person\tb='2'/>x</persons> trailing"));
+        assertEquals(List.of("<person><id>1</id></person><persona a=\"1\"/>"),
+                xml("<?xml-stylesheet href=\"s\"?><persons xmlnsx=\"1\"><person><id>1</id></person>"
+                        + "<persona a=\"1\"/></persons>"));
+        assertEquals(List.of("<person a=\"1\"/>"),
+                xml("<?xml version=\"1.0\"?><persons encoding=\"1\"><person a=\"1\"/></persons>"));
+    }
+
+    @Test
+    void testDoesNotSplitOtherXml() {
+        for (String body : List.of("", " ", "text<persons/>", "<", "<!DOCTYPE persons><persons/>",
+                "<![CDATA[x]]><persons/>", "<?xml", "<?xml version=\"1.0\"", "<!-- c", "<?pi",
+                "<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?><persons/>",
+                "<?xml version=\"1.0\" encoding\"UTF-8\"?><persons/>", "<?xml version=\"1.0\" encoding=\"UTF\"?><p/>",
+                "<?xml version=\"1.0\" encoding=\"UTF-8'?><persons/>", "<?xml version=\"1.0\" encoding?><p/>",
+                "<persons", "<persons a=\"1>",
+                "<persons xmlns=\"u\"/>", "<persons xmlns:a=\"u\"/>", "<persons xmlns =\"u\"/>",
+                "<persons><person><id>1</id></person>", "<persons><person a='1", "<persons><!-- c",
+                "<persons><![CDATA[x", "<persons><?pi", "<persons><")) {
+            assertNull(BatchSplitter.xml(body.getBytes(StandardCharsets.UTF_8)), body);
+        }
+        assertNull(BatchSplitter.xml("<persons/>".getBytes(StandardCharsets.UTF_16LE)));
+        assertNull(BatchSplitter.xml("<persons/>".getBytes(StandardCharsets.UTF_16)));
+    }
+
+    @Test
+    void testGrowsBounds() {
+        Records records = new Records();
+        for (int i = 0; i < 1000; i++) {
+            records.add(i, i + 1);
+        }
+
+        assertEquals(1000, records.size());
+        assertEquals(999, records.start(999));
+        assertEquals(1000, records.end(999));
+    }
+
+    private static List<String> json(String body) {
+        return slices(body, BatchSplitter.json(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static List<String> xml(String body) {
+        return slices(body, BatchSplitter.xml(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static List<String> slices(String body, Records records) {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        List<String> slices = new ArrayList<>();
+        for (int i = 0; i < records.size(); i++) {
+            slices.add(new String(bytes, records.start(i), records.end(i) - records.start(i), StandardCharsets.UTF_8));
+        }
+        return slices;
+    }
+}
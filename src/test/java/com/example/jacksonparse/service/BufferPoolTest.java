@@ -0,0 +1,49 @@
+package com.example.jacksonparse.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+class BufferPoolTest {
+    private final BufferPool pool = new BufferPool(4, 2);
+
+    @Test
+    void testWritesAcrossSegments() throws IOException {
+        byte[] expected = new byte[23];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = (byte) i;
+        }
+        PooledOutputStream stream = pool.newOutputStream();
+
+        stream.write(expected[0]);
+        stream.write(expected, 1, 3);
+        stream.write(expected[4]);
+        stream.write(expected, 5, expected.length - 5);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        stream.writeTo(out);
+        assertEquals(expected.length, stream.size());
+        assertArrayEquals(expected, out.toByteArray());
+        assertArrayEquals(expected, stream.toByteArray());
+    }
+
+    @Test
+    void testReleaseKeepsSegmentsUpToCapacity() throws IOException {
+        PooledOutputStream stream = pool.newOutputStream();
+        stream.write(new byte[12]);
+
+        stream.release();
+
+        assertEquals(2, pool.idle());
+        assertEquals(0, stream.size());
+        assertArrayEquals(new byte[0], stream.toByteArray());
+        stream.write(new byte[] { 1, 2, 3, 4, 5 });
+        stream.write(6);
+        assertEquals(0, pool.idle());
+        assertArrayEquals(new byte[] { 1, 2, 3, 4, 5, 6 }, stream.toByteArray());
+    }
+}
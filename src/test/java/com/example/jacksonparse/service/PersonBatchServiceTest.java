@@ -0,0 +1,206 @@
+package com.example.jacksonparse.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import com.example.jacksonparse.config.JacksonConfig;
+import com.example.jacksonparse.config.MapperProperties;
+import com.example.jacksonparse.model.Person;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+class PersonBatchServiceTest {
+    private final JacksonConfig config = new JacksonConfig(new MapperProperties());
+    private final ObjectMapper jsonMapper = config.objectMapper();
+    private final XmlMapper xmlMapper = config.xmlMapper();
+    private final PersonBulkService bulkService = spy(new PersonBulkService(jsonMapper, xmlMapper));
+    private final PersonBatchService service = new PersonBatchService(bulkService, jsonMapper, 2, 0, 2);
+
+    @AfterEach
+    void tearDown() {
+        service.destroy();
+    }
+
+    @Test
+    void testBindsJsonArraysLikeBulkStream() throws IOException {
+        for (String body : List.of("[]", " [ {\"id\":1} , {\"id\":\"x\"} ,\n{\"name\":\"é\\\"]\"}, {} ] ",
+                "[{\"id\":1,\"addresses\":[{\"city\":\"A\"},{}],\"meta\":{\"a\":[1,{\"b\":null}]}},\"s\",2,true,[3]]",
+                "[{\"id\":1},null,{\"id\":2,\"birthDate\":\"2024-02-30T00:00:00\"},{\"id\":3}]")) {
+            assertEquals(bulk(body, MediaType.APPLICATION_JSON), batch(body, MediaType.APPLICATION_JSON), body);
+        }
+
+        verify(bulkService, never()).process(any(), any(), any());
+    }
+
+    @Test
+    void testBindsXmlDocumentsLikeBulkStream() throws IOException {
+        for (String body : List.of("<persons/>", "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\r\n<persons a=\"1\">\r\n"
+                + "<person version=\"1\"><id>1</id>\r\n<name>é &amp; <![CDATA[<x>]]></name></person><!-- c -->"
+                + "<person a=\"&lt;\"/><person/><person>text</person><other><id>9</id></other><?pi x?>"
+                + "<person>\r\n<id>x</id></person><person><address><city>C</city></address><address/></person>"
+                + "</persons>", "\uFEFF<persons><person><id>1</id></person>text<person><id>2</id></person></persons>",
+                "<persons><a:person xmlns:a=\"u\"><id>1</id></a:person><person><x><y>1</y></x></person></persons>")) {
+            assertEquals(bulk(body, MediaType.APPLICATION_XML), batch(body, MediaType.APPLICATION_XML), body);
+        }
+
+        verify(bulkService, never()).process(any(), any(), any());
+    }
+
+    @Test
+    void testKeepsOrderAcrossChunks() throws IOException {
+        StringBuilder json = new StringBuilder("[");
+        StringBuilder xml = new StringBuilder("<persons>");
+        for (int i = 0; i < 1000; i++) {
+            json.append(i > 0 ? "," : "").append(i % 7 == 0 ? "{\"id\":\"x\"}" : "{\"id\":" + i + "}");
+            xml.append("<person><id>").append(i).append("</id></person>");
+        }
+
+        assertEquals(bulk(json.append(']').toString(), MediaType.APPLICATION_JSON),
+                batch(json.toString(), MediaType.APPLICATION_JSON));
+        assertEquals(bulk(xml.append("</persons>").toString(), MediaType.APPLICATION_XML),
+                batch(xml.toString(), MediaType.APPLICATION_XML));
+    }
+
+    @Test
+    void testStreamsSmallAndUnsplittableBatchesThroughBulkStream() throws IOException {
+        PersonBatchService sequential = new PersonBatchService(bulkService, jsonMapper, 0, 3, 256);
+        String json = "[{\"id\":1},{\"id\":2}]";
+        String xml = "<persons><person><id>1</id></person><person><id>2</id></person></persons>";
+
+        try {
+            assertEquals(bulk(json, MediaType.APPLICATION_JSON), process(sequential, json.getBytes(),
+                    MediaType.APPLICATION_JSON));
+            assertEquals(bulk(xml, MediaType.APPLICATION_XML), process(sequential, xml.getBytes(),
+                    MediaType.APPLICATION_XML));
+        } finally {
+            sequential.destroy();
+        }
+        for (String body : List.of("{\"id\":1}\n{\"id\":2}", "[{\"id\":1},{\"id\":]", "[{\"id\":1}",
+                "[{\"id\":1},{\"id\":2},{\"id\":}]")) {
+            assertEquals(bulk(body, MediaType.APPLICATION_JSON), batch(body, MediaType.APPLICATION_JSON), body);
+        }
+        for (String body : List.of("<persons><person><id>1</id></persons>", "",
+                "<persons xmlns:a=\"u\"><person a:b=\"1\"><id>1</id></person></persons>",
+                "<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?><persons><person><id>1</id></person></persons>",
+                "<persons><person><id>1</id></person><person><id>2</id></person><person><id>3</i></person></persons>",
+                "<persons>&bogus;<person><id>1</id></person></persons>",
+                "<persons><person xmlns=\"u\"/><person><id>1</id></person><person><id>2</id></person></persons>")) {
+            assertEquals(bulk(body, MediaType.APPLICATION_XML), batch(body, MediaType.APPLICATION_XML), body);
+        }
+        byte[] utf16 = "[{\"id\":1}]".getBytes(StandardCharsets.UTF_16);
+        assertEquals(bulk(utf16, MediaType.APPLICATION_JSON), process(service, utf16, MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void testStreamsBatchesBeyondLimitsThroughBulkStream() throws IOException {
+        MapperProperties properties = new MapperProperties();
+        properties.getLimits().setMaxDepth(3);
+        properties.getLimits().setMaxAddresses(1);
+        JacksonConfig limited = new JacksonConfig(properties);
+        PersonBulkService limitedBulk = spy(new PersonBulkService(limited.objectMapper(), limited.xmlMapper()));
+        PersonBatchService limitedService = new PersonBatchService(limitedBulk, limited.objectMapper(), 1, 0, 1);
+
+        try {
+            for (String body : List.of("[{\"id\":1},{\"id\":2,\"x\":{\"y\":[]}},{\"id\":3}]",
+                    "[{\"id\":1},{\"id\":2,\"addresses\":[{},{}]},{\"id\":3}]")) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                limitedBulk.process(new ByteArrayInputStream(body.getBytes()), MediaType.APPLICATION_JSON, out);
+
+                assertEquals(out.toString(StandardCharsets.UTF_8),
+                        process(limitedService, body.getBytes(), MediaType.APPLICATION_JSON), body);
+            }
+            verify(limitedBulk, times(4)).process(any(), any(), any());
+        } finally {
+            limitedService.destroy();
+        }
+    }
+
+    @Test
+    void testWritesTheMapperRootSeparatorBetweenChunks() throws IOException {
+        ObjectMapper unseparated = config.objectMapper();
+        unseparated.getFactory().setRootValueSeparator(null);
+        PersonBatchService unseparatedService = new PersonBatchService(bulkService, unseparated, 1, 0, 1);
+
+        try {
+            assertEquals("{\"index\":0,\"status\":\"ok\",\"id\":1}\n{\"index\":1,\"status\":\"ok\",\"id\":2}\n",
+                    process(unseparatedService, "[{\"id\":1},{\"id\":2}]".getBytes(), MediaType.APPLICATION_JSON));
+        } finally {
+            unseparatedService.destroy();
+        }
+    }
+
+    @Test
+    void testPropagatesOtherReadFailures() {
+        ObjectMapper failing = config.objectMapper().registerModule(new SimpleModule().addDeserializer(Person.class,
+                new JsonDeserializer<Person>() {
+                    @Override
+                    public Person deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+                        throw new IOException("Disk on fire");
+                    }
+                }));
+        PersonBulkService failingBulk = new PersonBulkService(failing, xmlMapper);
+        PersonBatchService failingService = new PersonBatchService(failingBulk, failing, 1, 0, 1);
+
+        try {
+            assertThrows(UncheckedIOException.class,
+                    () -> process(failingService, "[{}]".getBytes(), MediaType.APPLICATION_JSON));
+        } finally {
+            failingService.destroy();
+        }
+    }
+
+    @Test
+    void testRejectsEmptyChunks() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new PersonBatchService(bulkService, jsonMapper, 1, 0, 0));
+    }
+
+    @Test
+    void testStopsBindingOnceDestroyed() {
+        service.destroy();
+
+        assertThrows(RejectedExecutionException.class, () -> batch("[{}]", MediaType.APPLICATION_JSON));
+    }
+
+    private String batch(String body, MediaType contentType) throws IOException {
+        return process(service, body.getBytes(StandardCharsets.UTF_8), contentType);
+    }
+
+    private String bulk(String body, MediaType contentType) throws IOException {
+        return bulk(body.getBytes(StandardCharsets.UTF_8), contentType);
+    }
+
+    private String bulk(byte[] body, MediaType contentType) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new PersonBulkService(jsonMapper, xmlMapper).process(new ByteArrayInputStream(body), contentType, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static String process(PersonBatchService service, byte[] body, MediaType contentType)
+            throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.process(body, contentType, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.jacksonparse.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import com.example.jacksonparse.config.JacksonConfig;
+import com.example.jacksonparse.config.MapperProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class PersonBulkServiceTest {
+    private final ObjectMapper jsonMapper = new JacksonConfig(new MapperProperties()).objectMapper();
+
+    private PersonBulkService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new PersonBulkService(jsonMapper, new JacksonConfig(new MapperProperties()).xmlMapper());
+    }
+
+    @Test
+    void testProcessNdjson() throws IOException {
+        String body = """
+                {"id":1,"name":"John Doe"}
+                {"id":"not-a-number","name":"Broken"}
+                {"id":3,"name":"Jane Doe","unknownA":"A"}
+                {"name":"No Id"}
+                """;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        BulkSummary summary = service.process(input(body), MediaType.APPLICATION_NDJSON, out);
+
+        assertEquals(new BulkSummary(3, 1), summary);
+        List<JsonNode> results = results(out);
+        assertEquals(4, results.size());
+        assertEquals(1L, results.get(0).get("id").asLong());
+        assertEquals("ok", results.get(0).get("status").asText());
+        assertEquals(1, results.get(1).get("index").asInt());
+        assertEquals("error", results.get(1).get("status").asText());
+        assertTrue(results.get(1).has("error"));
+        assertEquals(3L, results.get(2).get("id").asLong());
+        assertEquals("ok", results.get(3).get("status").asText());
+        assertTrue(results.get(3).path("id").isMissingNode());
+    }
+
+    @Test
+    void testProcessNdjsonStopsOnMalformedRecord() throws IOException {
+        String body = """
+                {"id":1,"name":"John Doe"}
+                {"id":2,"name":]
+                {"id":3,"name":"Jane Doe"}
+                """;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        BulkSummary summary = service.process(input(body), MediaType.APPLICATION_NDJSON, out);
+
+        assertEquals(new BulkSummary(1, 1), summary);
+        assertEquals("error", results(out).get(1).get("status").asText());
+    }
+
+    @Test
+    void testProcessNdjsonWithMalformedFirstToken() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        BulkSummary summary = service.process(input("}"), MediaType.APPLICATION_NDJSON, out);
+
+        assertEquals(new BulkSummary(0, 1), summary);
+    }
+
+    @Test
+    void testProcessNdjsonFlushesPeriodically() throws IOException {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < PersonBulkService.FLUSH_INTERVAL + 1; i++) {
+            body.append("{\"id\":").append(i).append("}\n");
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        BulkSummary summary = service.process(input(body.toString()), MediaType.APPLICATION_NDJSON, out);
+
+        assertEquals(PersonBulkService.FLUSH_INTERVAL + 1, summary.accepted());
+        assertEquals(PersonBulkService.FLUSH_INTERVAL + 1, results(out).size());
+    }
+
+    @Test
+    void testProcessXmlStream() throws IOException {
+        String body = """
+                <persons>
+                    <person version="1.1">
+                        <id>1</id>
+                        <name>John Doe</name>
+                        <address primary="true"><street>123 Main St</street></address>
+                        <address><street>456 Oak Ave</street></address>
+                        <unknownA>A</unknownA>
+                    </person>
+                    <comment>ignored</comment>
+                    <person>
+                        <id>not-a-number</id>
+                        <address><street>789 Elm St</street></address>
+                    </person>
+                    <person><id>3</id><name>Jane Doe</name></person>
+                    <person/>
+                </persons>
+                """;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        BulkSummary summary = service.process(input(body), MediaType.APPLICATION_XML, out);
+
+        assertEquals(new BulkSummary(2, 1), summary);
+        List<JsonNode> results = results(out);
+        assertEquals(1L, results.get(0).get("id").asLong());
+        assertEquals("error", results.get(1).get("status").asText());
+        assertEquals(3L, results.get(2).get("id").asLong());
+    }
+
+    @Test
+    void testProcessEmptyXmlStream() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        BulkSummary summary = service.process(input("<persons/>"), MediaType.APPLICATION_XML, out);
+
+        assertEquals(new BulkSummary(0, 0), summary);
+    }
+
+    @Test
+    void testProcessMalformedXmlStream() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        BulkSummary summary = service.process(input("<persons><person><id>1</id></persons>"),
+                MediaType.APPLICATION_XML, out);
+
+        assertEquals(1, summary.rejected());
+    }
+
+    @Test
+    void testProcessStopsAtRecordBeyondLimits() throws IOException {
+        MapperProperties properties = new MapperProperties();
+        properties.getLimits().setMaxDepth(3);
+        properties.getLimits().setMaxExtras(1);
+        JacksonConfig config = new JacksonConfig(properties);
+        PersonBulkService limited = new PersonBulkService(config.objectMapper(), config.xmlMapper());
+
+        for (String ndjson : List.of("{\"id\":1,\"x\":{}}\n{\"id\":2,\"x\":{\"y\":[[]]}}\n{\"id\":3}",
+                "{\"id\":1,\"x\":{}}\n{\"id\":2,\"x\":1,\"y\":2}\n{\"id\":3}")) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            assertEquals(new BulkSummary(1, 1), limited.process(input(ndjson), MediaType.APPLICATION_NDJSON, out));
+            assertTrue(results(out).get(1).get("error").asText().contains("app.jackson.limits."), ndjson);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(new BulkSummary(1, 1), limited.process(input("<persons><person><id>1</id></person><person>"
+                + "<x>1</x><y>2</y></person><person><id>3</id></person></persons>"), MediaType.APPLICATION_XML, out));
+        assertEquals("Number of unknown properties exceeds the limit of 1 (app.jackson.limits.max-extras)",
+                results(out).get(1).get("error").asText());
+    }
+
+    @Test
+    void testProcessRejectsInvalidRecordsWhenValidating() throws IOException {
+        MapperProperties properties = new MapperProperties();
+        properties.setValidation(true);
+        JacksonConfig config = new JacksonConfig(properties);
+        PersonBulkService validating = new PersonBulkService(config.objectMapper(), config.xmlMapper());
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        ByteArrayOutputStream xml = new ByteArrayOutputStream();
+
+        BulkSummary ndjsonSummary = validating.process(input("""
+                {"id":1,"name":"","addresses":[{"zipCode":"1"}],"x":{"y":[1]}}
+                {"id":2,"name":"N"}
+                """), MediaType.APPLICATION_NDJSON, ndjson);
+        BulkSummary xmlSummary = validating.process(input("""
+                <persons><person><id>1</id><address><zipCode>1</zipCode></address><x><y/></x></person>
+                <person><id>2</id><name>N</name></person></persons>
+                """), MediaType.APPLICATION_XML, xml);
+
+        assertEquals(new BulkSummary(1, 1), ndjsonSummary);
+        assertEquals(new BulkSummary(1, 1), xmlSummary);
+        for (List<JsonNode> results : List.of(results(ndjson), results(xml))) {
+            assertEquals("error", results.get(0).get("status").asText());
+            assertTrue(results.get(0).get("error").asText().startsWith("Invalid person: "));
+            assertEquals(2L, results.get(1).get("id").asLong());
+        }
+    }
+
+    private static ByteArrayInputStream input(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<JsonNode> results(ByteArrayOutputStream out) throws IOException {
+        return jsonMapper.readerFor(JsonNode.class).<JsonNode> readValues(out.toByteArray()).readAll();
+    }
+}
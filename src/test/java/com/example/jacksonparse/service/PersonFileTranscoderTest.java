@@ -0,0 +1,89 @@
+package com.example.jacksonparse.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+
+import com.example.jacksonparse.config.JacksonConfig;
+import com.example.jacksonparse.config.MapperProperties;
+import com.example.jacksonparse.model.Person;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+class PersonFileTranscoderTest {
+    private final JacksonConfig config = new JacksonConfig(new MapperProperties());
+    private final ObjectMapper jsonMapper = config.objectMapper();
+    private final XmlMapper xmlMapper = config.xmlMapper();
+    private final PersonFileTranscoder transcoder = new PersonFileTranscoder(jsonMapper, xmlMapper,
+            config.personTranscoder());
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testStreamsFixturesBetweenFormats() throws IOException {
+        Path xml = write("person.xml", fixture("person.xml"));
+        Path json = write("person.json", fixture("person.json"));
+        Path toJson = dir.resolve("out.json");
+        Path toXml = dir.resolve("out.xml");
+
+        assertTrue(transcoder.xmlToJson(xml, toJson));
+        assertTrue(transcoder.jsonToXml(json, toXml));
+
+        assertEquals(xmlMapper.readValue(xml.toFile(), Person.class),
+                jsonMapper.readValue(toJson.toFile(), Person.class));
+        assertEquals(jsonMapper.readValue(json.toFile(), Person.class),
+                xmlMapper.readValue(toXml.toFile(), Person.class));
+    }
+
+    @Test
+    void testBindsDocumentsTheTranscoderRejects() throws IOException {
+        Path json = write("coerced.json", "{\"id\":1,\"name\":2,\"tags\":[1,2]}");
+        Path xml = write("out.xml", "<previous>" + "x".repeat(1000) + "</previous>");
+
+        assertFalse(transcoder.jsonToXml(json, xml));
+
+        assertEquals(xmlMapper.writeValueAsString(jsonMapper.readValue(json.toFile(), Person.class)),
+                Files.readString(xml));
+    }
+
+    @Test
+    void testMappedInputReadsAcrossWindows() throws IOException {
+        byte[] content = fixture("person.json").getBytes();
+        Path file = write("person.json", fixture("person.json"));
+        try (FileChannel channel = FileChannel.open(file); InputStream in = new MappedFileInputStream(channel, 3)) {
+            ByteArrayOutputStream read = new ByteArrayOutputStream();
+            read.write(in.read());
+            assertEquals(0, in.read(new byte[1], 0, 0));
+            in.transferTo(read);
+
+            assertArrayEquals(content, read.toByteArray());
+            assertEquals(-1, in.read());
+            in.close();
+            assertEquals(-1, in.read(new byte[1], 0, 1));
+            assertTrue(channel.isOpen());
+        }
+    }
+
+    private Path write(String name, String content) throws IOException {
+        return Files.writeString(dir.resolve(name), content);
+    }
+
+    private static String fixture(String path) throws IOException {
+        try (InputStream in = new ClassPathResource(path).getInputStream()) {
+            return new String(in.readAllBytes());
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.jacksonparse.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.jacksonparse.service.ResponseCache.CachedResponse;
+import com.example.jacksonparse.service.ResponseCache.Key;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ResponseCacheTest {
+    private static final byte[] BODY = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+    private static final CachedResponse RESPONSE = new CachedResponse("application/xml",
+            "<person><id>1</id></person>".getBytes(StandardCharsets.UTF_8));
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final ResponseCache cache = new ResponseCache(1024, Duration.ofMinutes(1), nanos::get);
+
+    @Test
+    void testReturnsResponseOfSameRequestOnly() {
+        cache.put(BODY, "application/json", "application/xml", RESPONSE);
+
+        assertSame(RESPONSE, cache.get(BODY.clone(), "application/json", "application/xml"));
+        assertNull(cache.get("{\"id\":2}".getBytes(StandardCharsets.UTF_8), "application/json", "application/xml"));
+        assertNull(cache.get(BODY, "application/xml", "application/xml"));
+        assertNull(cache.get(BODY, "application/json", "application/json"));
+        assertNull(cache.get(BODY, "application/json", null));
+    }
+
+    @Test
+    void testExpiresEntriesAfterTtl() {
+        cache.put(BODY, "application/json", null, RESPONSE);
+        nanos.addAndGet(Duration.ofSeconds(59).toNanos());
+        assertSame(RESPONSE, cache.get(BODY, "application/json", null));
+
+        nanos.addAndGet(Duration.ofSeconds(1).toNanos());
+
+        assertNull(cache.get(BODY, "application/json", null));
+    }
+
+    @Test
+    void testEvictsBeyondMaxSize() {
+        for (int i = 0; i < 20; i++) {
+            cache.put(new byte[] { (byte) i }, "application/json", null, new CachedResponse("application/json",
+                    new byte[100]));
+        }
+
+        // Each entry weighs 1 + 100 bytes plus the overhead, so no more than four fit in 1024
+        assertTrue(cache.size() <= 4, "size " + cache.size());
+    }
+
+    @Test
+    void testTellsRequestsWithEqualHashesApart() {
+        Key key = new Key(BODY, "Aa", "Aa", 1);
+
+        assertEquals(key, new Key(BODY.clone(), "Aa", "Aa", 1));
+        assertEquals(key.hashCode(), new Key(BODY, "Aa", "Aa", 1).hashCode());
+        assertFalse(key.equals(new Key(BODY, "Aa", "Aa", 2)));
+        assertFalse(key.equals(new Key(BODY, "BB", "Aa", 1)));
+        assertFalse(key.equals(new Key(BODY, "Aa", "BB", 1)));
+        assertFalse(key.equals(new Key(new byte[0], "Aa", "Aa", 1)));
+        assertFalse(key.equals(BODY));
+        // "Aa" and "BB" have the same String hash code, so the derived hashes collide too
+        assertEquals(new Key(BODY, "Aa", null), new Key(BODY, "Aa", null));
+        assertFalse(new Key(BODY, "Aa", null).equals(new Key(BODY, "BB", null)));
+    }
+
+    @Test
+    void testPublishesCacheMeters() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+
+        cache.get(BODY, "application/json", null);
+        cache.put(BODY, "application/json", null, RESPONSE);
+        cache.get(BODY, "application/json", null);
+
+        assertEquals(1, registry.get("cache.gets").tags("cache", "person.responses", "result", "hit")
+                .functionCounter().count());
+        assertEquals(1, registry.get("cache.gets").tags("cache", "person.responses", "result", "miss")
+                .functionCounter().count());
+        assertEquals(1, registry.get("cache.size").tags("cache", "person.responses").gauge().value());
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.jacksonparse.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+class Xxh64Test {
+    @Test
+    void testMatchesReferenceImplementation() {
+        // Lengths that reach each stage: the 32-byte stripes, then 8-byte, 4-byte and 1-byte tails
+        String[][] cases = { { "", "ef46db3751d8e999", "98b1582b0977e704" },
+                { "a", "d24ec4f1a98c6e5b", "88e4fe59adf7b0cc" }, { "abcd", "de0327b0d25d92cc", "a17b5eb5dc364dff" },
+                { "abcdefgh", "3ad351775b4634b7", "22485cf81472cabc" },
+                { "Nobody inspects the spammish repetition", "fbcea83c8a378bf1", "44582824ca1018b5" } };
+
+        for (String[] c : cases) {
+            byte[] data = c[0].getBytes(StandardCharsets.UTF_8);
+            assertEquals(Long.parseUnsignedLong(c[1], 16), Xxh64.hash(data, 0), c[0]);
+            assertEquals(Long.parseUnsignedLong(c[2], 16), Xxh64.hash(data, 42), c[0]);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.jacksonparse.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+
+class IndexKeysTest {
+    @Test
+    void testReadsKeysAndSkipsEverythingElse() throws IOException {
+        String json = "{\"name\":\"A\",\"id\":7,\"email\":\"a@example.com\",\"extra\":{\"city\":\"X\"},\"addresses\":"
+                + "[{\"street\":\"S\",\"city\":\"B\",\"zipCode\":\"1\",\"primary\":true,\"extra\":[\"C\"]},null,"
+                + "{\"city\":null,\"zipCode\":\"2\"}],\"city\":\"Y\"}";
+        try (JsonParser parser = new JsonFactory().createParser(json)) {
+            assertEquals(new IndexKeys(7L, "a@example.com", Set.of("B"), Set.of("1", "2")), IndexKeys.read(parser));
+        }
+        try (JsonParser parser = new JsonFactory().createParser("{\"id\":null,\"email\":null,\"addresses\":null}")) {
+            assertEquals(new IndexKeys(null, null, Set.of(), Set.of()), IndexKeys.read(parser));
+        }
+    }
+
+    @Test
+    void testMatchesEveryCriterion() {
+        IndexKeys keys = new IndexKeys(7L, "a@example.com", Set.of("B"), Set.of("1"));
+
+        assertTrue(keys.matches(new PersonQuery("a@example.com", "B", "1", 1)));
+        assertTrue(keys.matches(new PersonQuery(null, null, "1", 1)));
+        assertFalse(keys.matches(new PersonQuery("b@example.com", null, null, 1)));
+        assertFalse(keys.matches(new PersonQuery(null, "C", null, 1)));
+        assertFalse(keys.matches(new PersonQuery(null, null, "2", 1)));
+    }
+}
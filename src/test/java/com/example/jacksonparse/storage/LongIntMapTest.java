@@ -0,0 +1,42 @@
+package com.example.jacksonparse.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class LongIntMapTest {
+    private final LongIntMap map = new LongIntMap();
+
+    @Test
+    void testMapsKeysToLatestValue() {
+        map.put(7, 0);
+        map.put(-7, 1);
+        map.put(7, 2);
+
+        assertEquals(2, map.get(7));
+        assertEquals(1, map.get(-7));
+        assertEquals(LongIntMap.MISSING, map.get(0));
+        assertEquals(2, map.size());
+        assertEquals(12 * 16, map.bytes());
+    }
+
+    @Test
+    void testKeepsEntriesWhileGrowing() {
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            long key = random.nextInt(50_000) * 1_000_003L;
+            map.put(key, i);
+            expected.put(key, i);
+        }
+
+        expected.forEach((key, value) -> assertEquals(value, map.get(key)));
+        assertEquals(expected.size(), map.size());
+        assertEquals(12L * 65_536, map.bytes());
+        assertEquals(LongIntMap.MISSING, map.get(1));
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.jacksonparse.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class PersonIndexTest {
+    private final PersonIndex index = new PersonIndex();
+
+    @Test
+    void testFindsLocationsByEveryKey() {
+        index.addAll(List.of(entry(1L, "a@example.com", Set.of("Springfield"), Set.of("12345"), 100),
+                entry(2L, null, Set.of("Springfield", "Shelbyville"), Set.of("12346"), 200),
+                entry(null, "a@example.com", Set.of(), Set.of("12345"), 300)));
+
+        assertEquals(100, index.location(1));
+        assertEquals(200, index.location(2));
+        assertEquals(PersonIndex.NONE, index.location(3));
+        assertEquals(List.of(300L, 100L), locations(new PersonQuery("a@example.com", "Shelbyville", "12346", 10)));
+        assertEquals(List.of(300L, 100L), locations(new PersonQuery(null, "Springfield", "12345", 10)));
+        assertEquals(List.of(200L, 100L), locations(new PersonQuery(null, "Springfield", null, 10)));
+        assertEquals(List.of(), locations(new PersonQuery(null, "Ogdenville", null, 10)));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void testNewerRecordOfAnIdReplacesItAndGrowsTheArrays() {
+        List<PersonIndex.Entry> entries = IntStream.range(0, 3000)
+                .mapToObj(i -> entry((long) i % 10, "p" + i + "@example.com", Set.of("Springfield"), Set.of(), i))
+                .toList();
+        long empty = index.bytes();
+
+        index.addAll(entries);
+
+        assertEquals(2999, index.location(9));
+        assertEquals(List.of(1234L), locations(new PersonQuery("p1234@example.com", null, null, 10)));
+        assertEquals(3000, locations(new PersonQuery(null, "Springfield", null, 10)).size());
+        // Locations, email hashes, and the postings of emails and cities grew
+        assertEquals(empty + 8 * (4096 - 1024) + 12 * (4096 - 16) + 2 * 4 * (8192 - 2048), index.bytes());
+    }
+
+    @Test
+    void testReadsUnderTheLockWhileAWriteIsUnderWay() throws Exception {
+        index.addAll(List.of(entry(1L, null, Set.of("Springfield"), Set.of(), 100)));
+
+        assertEquals(100L, (long) whileWriteLocked(() -> index.location(1)));
+        assertEquals(List.of(100L), whileWriteLocked(() -> locations(new PersonQuery(null, "Springfield", null, 1))));
+    }
+
+    /**
+     * @return what {@code read} returns on another thread once the write lock held when it started is released
+     */
+    private <T> T whileWriteLocked(Supplier<T> read) throws InterruptedException, ExecutionException {
+        long stamp = index.lock.writeLock();
+        AtomicReference<Thread> reader = new AtomicReference<>();
+        CompletableFuture<T> result = CompletableFuture.supplyAsync(() -> {
+            reader.set(Thread.currentThread());
+            return read.get();
+        }, runnable -> new Thread(runnable).start());
+        while (reader.get() == null || reader.get().getState() != Thread.State.WAITING) {
+            Thread.onSpinWait();
+        }
+        index.lock.unlockWrite(stamp);
+        return result.get();
+    }
+
+    private List<Long> locations(PersonQuery query) {
+        List<Long> locations = new ArrayList<>();
+        PersonIndex.Cursor cursor = index.find(query);
+        for (long location = cursor.next(); location != PersonIndex.NONE; location = cursor.next()) {
+            locations.add(location);
+        }
+        return locations;
+    }
+
+    private static PersonIndex.Entry entry(Long id, String email, Set<String> cities, Set<String> zipCodes,
+            long location) {
+        return new PersonIndex.Entry(new IndexKeys(id, email, cities, zipCodes), location);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.jacksonparse.storage;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class PersonQueryTest {
+    @Test
+    void testRequiresACriterionAndABoundedLimit() {
+        new PersonQuery(null, null, "1", PersonQuery.MAX_LIMIT);
+
+        assertThrows(IllegalArgumentException.class, () -> new PersonQuery(null, null, null, 1));
+        assertThrows(IllegalArgumentException.class, () -> new PersonQuery("a@example.com", null, null, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new PersonQuery(null, "B", null, PersonQuery.MAX_LIMIT + 1));
+    }
+}
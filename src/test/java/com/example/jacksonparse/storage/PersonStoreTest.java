@@ -0,0 +1,207 @@
+package com.example.jacksonparse.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+
+import com.example.jacksonparse.model.Person;
+import com.example.jacksonparse.storage.PersonStore.Ack;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PersonStoreTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RecordingRepository repository = new RecordingRepository();
+
+    @Test
+    void testCommitsQueuedPersonsInBatches() {
+        PersonStore store = store(10, 3, Ack.ENQUEUE);
+        List<Person> persons = persons(5);
+        persons.forEach(store::save);
+        assertEquals(5, registry.get(PersonStore.QUEUE_METRIC).gauge().value());
+
+        store.start();
+        store.stop();
+
+        assertEquals(List.of(persons.subList(0, 3), persons.subList(3, 5)), repository.batches);
+        assertEquals(2, repository.syncs);
+        assertEquals(2, registry.get(PersonStore.BATCH_METRIC).summary().count());
+        assertEquals(5, registry.get(PersonStore.BATCH_METRIC).summary().totalAmount());
+        assertEquals(2, registry.get(PersonStore.COMMIT_METRIC).timer().count());
+        assertEquals(0, registry.get(PersonStore.QUEUE_METRIC).gauge().value());
+    }
+
+    @Test
+    void testCommitsPersonsStillQueuedWhenStopped() {
+        PersonStore store = store(10, 3, Ack.ENQUEUE);
+        List<Person> persons = persons(5);
+        persons.forEach(store::save);
+
+        // Not started, so the writer loop sees the store as stopped from its first batch
+        store.drain();
+
+        assertEquals(List.of(persons.subList(0, 3), persons.subList(3, 5)), repository.batches);
+    }
+
+    @Test
+    void testFsyncAckReturnsOnceForced() {
+        PersonStore store = store(10, 3, Ack.FSYNC);
+        assertFalse(store.isRunning());
+        store.start();
+        assertTrue(store.isRunning());
+        Person person = persons(1).get(0);
+
+        store.save(person);
+
+        assertEquals(List.of(List.of(person)), repository.batches);
+        assertEquals(1, repository.syncs);
+        store.stop();
+        assertFalse(store.isRunning());
+    }
+
+    @Test
+    void testFsyncAckReportsFailedWrite() {
+        repository.failure = new IOException("disk full");
+        PersonStore store = store(10, 3, Ack.FSYNC);
+        store.start();
+
+        StorageException e = assertThrows(StorageException.class, () -> store.save(persons(1).get(0)));
+
+        assertSame(repository.failure, e.getCause());
+        assertEquals(1, registry.get(PersonStore.FAILED_METRIC).counter().count());
+        store.stop();
+    }
+
+    @Test
+    void testEnqueueAckOnlyCountsFailedWrite() {
+        repository.failure = new IOException("disk full");
+        PersonStore store = store(10, 3, Ack.ENQUEUE);
+        store.start();
+
+        persons(2).forEach(store::save);
+        store.stop();
+
+        assertEquals(2, registry.get(PersonStore.FAILED_METRIC).counter().count());
+    }
+
+    @Test
+    void testRefusesPersonsWhileQueueStaysFull() {
+        PersonStore store = store(1, 3, Ack.ENQUEUE);
+        store.save(persons(1).get(0));
+
+        assertThrows(StorageException.class, () -> store.save(persons(1).get(0)));
+
+        assertEquals(1, registry.get(PersonStore.REJECTED_METRIC).counter().count());
+    }
+
+    @Test
+    void testReportsPersonNotForcedInTime() {
+        PersonStore store = new PersonStore(repository, 10, 3, Ack.FSYNC, Duration.ofMillis(1), Duration.ofMillis(1),
+                registry);
+
+        StorageException e = assertThrows(StorageException.class, () -> store.save(persons(1).get(0)));
+
+        assertInstanceOf(TimeoutException.class, e.getCause());
+    }
+
+    @Test
+    void testKeepsInterruptOfWaitingThreads() {
+        PersonStore store = store(10, 3, Ack.FSYNC);
+        Thread.currentThread().interrupt();
+
+        assertThrows(StorageException.class, () -> store.save(persons(1).get(0)));
+
+        assertTrue(Thread.interrupted());
+        store.start();
+        Thread.currentThread().interrupt();
+        store.stop();
+        assertTrue(Thread.interrupted());
+    }
+
+    @Test
+    void testWriterEndsWhenInterrupted() throws InterruptedException {
+        PersonStore store = store(10, 3, Ack.ENQUEUE);
+        store.start();
+        Thread writer = Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().equals("person-store"))
+                .findFirst()
+                .orElseThrow();
+
+        writer.interrupt();
+        writer.join();
+
+        store.stop();
+    }
+
+    @Test
+    void testStopsAfterWebServer() {
+        // The web server stops in phase SMART_LIFECYCLE_PHASE - 1024, and later phases stop first
+        int webServerPhase = WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 1024;
+
+        assertTrue(store(10, 3, Ack.FSYNC).getPhase() < webServerPhase);
+    }
+
+    @Test
+    void testRejectsEmptyBatches() {
+        assertThrows(IllegalArgumentException.class, () -> store(10, 0, Ack.FSYNC));
+    }
+
+    private PersonStore store(int queueCapacity, int batchSize, Ack ack) {
+        return new PersonStore(repository, queueCapacity, batchSize, ack, Duration.ofMillis(1), Duration.ofSeconds(5),
+                registry);
+    }
+
+    private static List<Person> persons(int count) {
+        return LongStream.rangeClosed(1, count).mapToObj(id -> {
+            Person person = new Person();
+            person.setId(id);
+            return person;
+        }).toList();
+    }
+
+    private static final class RecordingRepository implements PersonRepository {
+        private final List<List<Person>> batches = new CopyOnWriteArrayList<>();
+        private volatile int syncs;
+        private IOException failure;
+
+        @Override
+        public void append(List<Person> persons) throws IOException {
+            if (failure != null) {
+                throw failure;
+            }
+            batches.add(List.copyOf(persons));
+        }
+
+        @Override
+        public void sync() {
+            syncs++;
+        }
+
+        @Override
+        public byte[] findById(long id) {
+            return null;
+        }
+
+        @Override
+        public List<byte[]> find(PersonQuery query) {
+            return List.of();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
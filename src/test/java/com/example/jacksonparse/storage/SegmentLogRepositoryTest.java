@@ -0,0 +1,270 @@
+package com.example.jacksonparse.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.jacksonparse.config.JacksonConfig;
+import com.example.jacksonparse.config.MapperProperties;
+import com.example.jacksonparse.model.Address;
+import com.example.jacksonparse.model.Person;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SegmentLogRepositoryTest {
+    private final ObjectMapper mapper = new JacksonConfig(new MapperProperties()).objectMapper();
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testAppendsRecordsThatReadBack() throws IOException {
+        try (SegmentLogRepository repository = new SegmentLogRepository(dir, 1024, mapper)) {
+            repository.append(persons(1, 2));
+            repository.append(persons(3));
+            repository.sync();
+
+            assertEquals(persons(1, 2, 3), read(repository.path(0)));
+        }
+        try (SegmentLogRepository reopened = new SegmentLogRepository(dir, 1024, mapper)) {
+            reopened.append(persons(4));
+
+            assertEquals(0, reopened.segment());
+            assertEquals(persons(1, 2, 3, 4), read(reopened.path(0)));
+        }
+    }
+
+    @Test
+    void testSkipsFilesOnlyNamedLikeSegments() throws IOException {
+        try (SegmentLogRepository repository = new SegmentLogRepository(dir, 1024, mapper)) {
+            repository.append(persons(1));
+        }
+        for (String name : new String[] { "segment-old.log", "segment-00000000x1.log", "segment-9999999999.log" }) {
+            Files.write(dir.resolve(name), new byte[] { 1 });
+        }
+
+        try (SegmentLogRepository reopened = new SegmentLogRepository(dir, 1024, mapper)) {
+            reopened.append(persons(2));
+
+            assertEquals(0, reopened.segment());
+            assertEquals(persons(1, 2), read(reopened.path(0)));
+        }
+    }
+
+    @Test
+    void testRollsSegmentsWithinABatch() throws IOException {
+        int record = SegmentLogRepository.HEADER + mapper.writeValueAsBytes(persons(1).get(0)).length;
+        try (SegmentLogRepository repository = new SegmentLogRepository(dir, 2L * record, mapper)) {
+            repository.append(persons(1, 2, 3, 4, 5));
+
+            assertEquals(2, repository.segment());
+            assertEquals(persons(1, 2), read(repository.path(0)));
+            assertEquals(persons(3, 4), read(repository.path(1)));
+            assertEquals(persons(5), read(repository.path(2)));
+        }
+        Files.writeString(dir.resolve("other.log"), "not a segment");
+        Files.writeString(dir.resolve("segment-0000000000.tmp"), "not a segment");
+        try (SegmentLogRepository reopened = new SegmentLogRepository(dir, 2L * record, mapper)) {
+            assertEquals(2, reopened.segment());
+        }
+    }
+
+    @Test
+    void testGivesLargeRecordsASegmentOfTheirOwn() throws IOException {
+        try (SegmentLogRepository repository = new SegmentLogRepository(dir, 16, mapper)) {
+            repository.append(persons(1, 2));
+
+            assertEquals(1, repository.segment());
+            assertEquals(persons(1), read(repository.path(0)));
+            assertEquals(persons(2), read(repository.path(1)));
+        }
+    }
+
+    @Test
+    void testTruncatesTornTailWhenOpened() throws IOException {
+        Path segment;
+        try (SegmentLogRepository repository = new SegmentLogRepository(dir, 1 << 20, mapper)) {
+            repository.append(persons(1, 2));
+            segment = repository.path(0);
+        }
+        byte[] complete = Files.readAllBytes(segment);
+        byte[] corrupt = complete.clone();
+        corrupt[corrupt.length - 2] ^= 1;
+
+        assertRecovers(segment, concat(complete, new byte[12]), persons(1, 2));
+        assertRecovers(segment, concat(complete, new byte[4]), persons(1, 2));
+        assertRecovers(segment, Arrays.copyOf(complete, complete.length - 3), persons(1));
+        assertRecovers(segment, corrupt, persons(1));
+    }
+
+    @Test
+    void testFailedRecordLeavesNothingBehind() throws IOException {
+        Person unwritable = persons(2).get(0);
+        unwritable.setExtra("value", new Object());
+        try (SegmentLogRepository repository = new SegmentLogRepository(dir, 1024, mapper)) {
+            assertThrows(JsonMappingException.class, () -> repository.append(List.of(persons(1).get(0), unwritable)));
+            repository.append(persons(3));
+            repository.sync();
+
+            assertEquals(persons(3), read(repository.path(0)));
+            assertNull(repository.findById(1));
+            assertEquals(persons(3).get(0), mapper.readValue(repository.findById(3), Person.class));
+        }
+    }
+
+    @Test
+    void testLooksUpSyncedRecords() throws IOException {
+        try (SegmentLogRepository repository = new SegmentLogRepository(dir, 1024, mapper)) {
+            repository.append(persons(1, 2, 3));
+
+            assertNull(repository.findById(1));
+            repository.sync();
+
+            assertEquals(persons(2).get(0), mapper.readValue(repository.findById(2), Person.class));
+            assertNull(repository.findById(4));
+            assertEquals(persons(3, 1), found(repository, new PersonQuery(null, "City 1", null, 10)));
+            assertEquals(persons(3), found(repository, new PersonQuery(null, "City 1", null, 1)));
+            assertEquals(persons(2), found(repository, new PersonQuery("person2@example.com", null, null, 10)));
+            assertEquals(persons(3), found(repository, new PersonQuery(null, "City 1", "00003", 10)));
+            assertEquals(List.of(), found(repository, new PersonQuery("person2@example.com", "City 1", null, 10)));
+        }
+    }
+
+    @Test
+    void testFindsOnlyTheNewestRecordOfAnId() throws IOException {
+        Person moved = persons(1).get(0);
+        moved.getAddresses().get(0).setCity("City 2");
+        Person anonymous = persons(3).get(0);
+        anonymous.setId(null);
+        try (SegmentLogRepository repository = new SegmentLogRepository(dir, 1024, mapper)) {
+            repository.append(persons(1));
+            repository.append(List.of(moved, anonymous));
+            repository.sync();
+
+            assertEquals(moved, mapper.readValue(repository.findById(1), Person.class));
+            assertEquals(List.of(anonymous), found(repository, new PersonQuery(null, "City 1", null, 10)));
+            assertEquals(List.of(moved), found(repository, new PersonQuery(null, "City 2", null, 10)));
+        }
+    }
+
+    @Test
+    void testRebuildsIndexOfEverySegmentWhenOpened() throws IOException {
+        int record = SegmentLogRepository.HEADER + mapper.writeValueAsBytes(persons(1).get(0)).length;
+        try (SegmentLogRepository repository = new SegmentLogRepository(dir, 2L * record, mapper)) {
+            repository.append(persons(1, 2, 3, 4, 5));
+            repository.sync();
+        }
+        try (SegmentLogRepository reopened = new SegmentLogRepository(dir, 2L * record, mapper)) {
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            reopened.bindTo(registry);
+
+            assertEquals(persons(4).get(0), mapper.readValue(reopened.findById(4), Person.class));
+            assertEquals(persons(5, 3, 1), found(reopened, new PersonQuery(null, "City 1", null, 10)));
+            assertEquals(5, registry.get(SegmentLogRepository.RECORDS_METRIC).gauge().value());
+            assertTrue(registry.get(SegmentLogRepository.BYTES_METRIC).gauge().value() > 0);
+        }
+    }
+
+    @Test
+    void testReportsRecordPastEndOfSegment() throws IOException {
+        Path file = Files.write(dir.resolve("short"), new byte[4]);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(8);
+
+            assertThrows(EOFException.class, () -> SegmentLogRepository.readFully(channel, buffer, 2));
+            assertEquals(2, buffer.position());
+        }
+    }
+
+    @Test
+    void testRejectsUnusableSegmentSize() {
+        assertThrows(IllegalArgumentException.class, () -> new SegmentLogRepository(dir, 8, mapper));
+        assertThrows(IllegalArgumentException.class, () -> new SegmentLogRepository(dir, 1L << 31, mapper));
+    }
+
+    /**
+     * Checks that the repository opened on {@code content} keeps {@code expected} and appends after it.
+     */
+    private void assertRecovers(Path segment, byte[] content, List<Person> expected) throws IOException {
+        Files.write(segment, content);
+        try (SegmentLogRepository reopened = new SegmentLogRepository(dir, 1 << 20, mapper)) {
+            reopened.append(persons(3));
+        }
+        List<Person> appended = new ArrayList<>(expected);
+        appended.addAll(persons(3));
+        assertEquals(appended, read(segment));
+        assertEquals(appended.size(), count(segment));
+    }
+
+    private List<Person> read(Path segment) throws IOException {
+        List<Person> persons = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            SegmentLogRepository.scan(channel, (offset, json) -> persons
+                    .add(mapper.readValue(new ByteBufferBackedInputStream(json), Person.class)));
+        }
+        return persons;
+    }
+
+    /**
+     * @return the number of records in the file, which all have to be complete
+     */
+    private static int count(Path segment) throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(segment));
+        int count = 0;
+        while (bytes.hasRemaining()) {
+            bytes.position(bytes.position() + SegmentLogRepository.HEADER + bytes.getInt(bytes.position()));
+            count++;
+        }
+        return count;
+    }
+
+    private List<Person> found(SegmentLogRepository repository, PersonQuery query) throws IOException {
+        List<Person> persons = new ArrayList<>();
+        for (byte[] json : repository.find(query)) {
+            persons.add(mapper.readValue(json, Person.class));
+        }
+        return persons;
+    }
+
+    /**
+     * @return persons with an email of their own, living in City 0 or 1 by the parity of their id
+     */
+    private static List<Person> persons(long... ids) {
+        return LongStream.of(ids).mapToObj(id -> {
+            Address address = new Address();
+            address.setCity("City " + id % 2);
+            address.setZipCode(String.format("%05d", id));
+            Person person = new Person();
+            person.setId(id);
+            person.setName("Person " + id);
+            person.setEmail("person" + id + "@example.com");
+            person.setAddresses(new ArrayList<>(Arrays.asList(address, null)));
+            return person;
+        }).toList();
+    }
+
+    private static byte[] concat(byte[] a, byte[] b) {
+        byte[] joined = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, joined, a.length, b.length);
+        return joined;
+    }
+}